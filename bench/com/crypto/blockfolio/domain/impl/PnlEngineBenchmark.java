@@ -0,0 +1,99 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.domain.dto.PortfolioPnl;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Вимірює обчислення PNL портфеля з нуля за всіма його транзакціями.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PnlEngineBenchmark {
+
+    private static final int SYMBOLS = 20;
+
+    /**
+     * Кількість транзакцій портфеля.
+     */
+    @Param({"10000", "100000"})
+    private int size;
+
+    private PnlEngine engine;
+    private Portfolio portfolio;
+    private PriceSnapshot prices;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Cryptocurrency> cryptocurrencies = new ArrayList<>();
+        for (int i = 0; i < SYMBOLS; i++) {
+            cryptocurrencies.add(Cryptocurrency.restore("C" + i, "Coin " + i, 10.0 + i, 1, 1, 0,
+                start));
+        }
+        prices = PriceSnapshot.of(1, cryptocurrencies);
+
+        UUID portfolioId = UUID.randomUUID();
+        Set<Transaction> transactions = new LinkedHashSet<>();
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            Cryptocurrency cryptocurrency = cryptocurrencies.get(i % SYMBOLS);
+            TransactionType type = random.nextInt(3) == 0
+                ? TransactionType.SELL : TransactionType.BUY;
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 100));
+            Transaction transaction = Transaction.restore(UUID.randomUUID(), portfolioId,
+                cryptocurrency, BigDecimal.TEN, type, amount, amount.multiply(BigDecimal.TEN),
+                null, BigDecimal.ONE, null, start.plusMinutes(random.nextInt(1_000_000)));
+            transactions.add(transaction);
+            ids.add(transaction.getId());
+        }
+        portfolio = Portfolio.restore(portfolioId, UUID.randomUUID(), "Bench", start,
+            new HashMap<>(), ids, BigDecimal.ZERO);
+
+        TransactionRepository repository = (TransactionRepository) Proxy.newProxyInstance(
+            TransactionRepository.class.getClassLoader(),
+            new Class<?>[]{TransactionRepository.class}, (proxy, method, args) -> {
+                if (method.getName().equals("findByPortfolioId")) {
+                    return transactions;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        engine = new PnlEngine(repository);
+    }
+
+    @Benchmark
+    public PortfolioPnl calculate() {
+        return engine.calculate(portfolio, prices);
+    }
+}
@@ -0,0 +1,82 @@
+package com.crypto.blockfolio.persistence.repository.impl.jdbc;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Вимірює запис і пошук криптовалют у JDBC-репозиторії на вбудованій базі даних H2: пакетне
+ * збереження {@code addAll} порівнюється із записом кожного об'єкта в окремій транзакції.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdbcWriteBenchmark {
+
+    /**
+     * Кількість криптовалют у кожному записі.
+     */
+    @Param({"1000"})
+    private int size;
+
+    private JdbcConnectionPool pool;
+    private CryptocurrencyJdbcRepositoryImpl repository;
+    private List<Cryptocurrency> cryptocurrencies;
+
+    @Setup
+    public void setUp() {
+        pool = new JdbcConnectionPool("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+            null, null, 2);
+        JdbcSchema.create(pool);
+        repository = new CryptocurrencyJdbcRepositoryImpl(pool);
+        cryptocurrencies = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            cryptocurrencies.add(Cryptocurrency.restore("C" + i, "Coin " + i, 1.0 + i,
+                1e6 + i, 1e3 + i, 0.5, now));
+        }
+        repository.addAll(cryptocurrencies);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public void addAllBatched() {
+        repository.addAll(cryptocurrencies);
+    }
+
+    @Benchmark
+    public void addEachInOwnTransaction() {
+        for (Cryptocurrency cryptocurrency : cryptocurrencies) {
+            repository.add(cryptocurrency);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Optional<Cryptocurrency> findByNameIndexed() {
+        return repository.findByName("coin " + (size / 2));
+    }
+}
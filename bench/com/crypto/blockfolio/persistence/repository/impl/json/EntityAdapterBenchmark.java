@@ -0,0 +1,131 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Порівнює потокові адаптери транзакцій з рефлексивним адаптером Gson, яким репозиторії
+ * користувалися раніше. Кожен варіант читає JSON у власному форматі з байтів UTF-8, як під час
+ * завантаження файлу. Розмір у мільйон транзакцій потребує кількох гігабайт купи.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EntityAdapterBenchmark {
+
+    private static final Type LIST_TYPE =
+        TypeToken.getParameterized(List.class, Transaction.class).getType();
+
+    /**
+     * Кількість транзакцій у файлі.
+     */
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private Gson streaming;
+    private Gson reflective;
+    private List<Transaction> transactions;
+    private byte[] streamingJson;
+    private byte[] reflectiveJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        CryptocurrencyTypeAdapter cryptocurrencyAdapter = new CryptocurrencyTypeAdapter();
+        streaming = new GsonBuilder()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeTypeAdapter())
+            .registerTypeAdapter(Cryptocurrency.class, cryptocurrencyAdapter)
+            .registerTypeAdapter(Transaction.class,
+                new TransactionTypeAdapter(cryptocurrencyAdapter))
+            .create();
+        reflective = new GsonBuilder()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeTypeAdapter())
+            .create();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TransactionType[] types = TransactionType.values();
+        LocalDateTime now = LocalDateTime.now();
+        List<Cryptocurrency> cryptocurrencies = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            cryptocurrencies.add(new Cryptocurrency("C" + i, "Coin " + i, 1.0 + i, 1e9, 1e6,
+                0.5, now));
+        }
+        transactions = new ArrayList<>(size);
+        UUID portfolioId = UUID.randomUUID();
+        for (int i = 0; i < size; i++) {
+            Cryptocurrency cryptocurrency = cryptocurrencies.get(i % cryptocurrencies.size());
+            BigDecimal amount = BigDecimal.valueOf(random.nextDouble(0.01, 100.0));
+            transactions.add(Transaction.restore(UUID.randomUUID(), portfolioId, cryptocurrency,
+                BigDecimal.valueOf(cryptocurrency.getCurrentPrice()), types[i % types.length],
+                amount, amount.multiply(BigDecimal.TEN), BigDecimal.ZERO, BigDecimal.ONE,
+                "Транзакція " + i, now.minusMinutes(i)));
+        }
+        streamingJson = toJson(streaming);
+        reflectiveJson = toJson(reflective);
+    }
+
+    @Benchmark
+    public void writeStreaming() {
+        streaming.toJson(transactions, LIST_TYPE, Writer.nullWriter());
+    }
+
+    @Benchmark
+    public void writeReflective() {
+        reflective.toJson(transactions, LIST_TYPE, Writer.nullWriter());
+    }
+
+    @Benchmark
+    public List<Transaction> readStreaming() {
+        return streaming.fromJson(reader(streamingJson), LIST_TYPE);
+    }
+
+    @Benchmark
+    public List<Transaction> readReflective() {
+        return reflective.fromJson(reader(reflectiveJson), LIST_TYPE);
+    }
+
+    private byte[] toJson(Gson gson) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(json, StandardCharsets.UTF_8)) {
+            gson.toJson(transactions, LIST_TYPE, writer);
+        }
+        return json.toByteArray();
+    }
+
+    private static Reader reader(byte[] json) {
+        return new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8);
+    }
+}
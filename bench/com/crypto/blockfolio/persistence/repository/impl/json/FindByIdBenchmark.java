@@ -0,0 +1,105 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Порівнює пошук криптовалюти за ідентифікатором через індекс репозиторію з повним переглядом
+ * усіх об'єктів, яким {@code findById} користувався до появи індексу.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindByIdBenchmark {
+
+    /**
+     * Кількість криптовалют у репозиторії.
+     */
+    @Param({"100", "10000"})
+    private int size;
+
+    /**
+     * Репозиторій, заповнений криптовалютами.
+     */
+    private CryptocurrencyJsonRepositoryImpl repository;
+
+    /**
+     * Символи, за якими виконується пошук.
+     */
+    private String[] symbols;
+
+    /**
+     * Індекс наступного символу для пошуку.
+     */
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Files.deleteIfExists(JsonPathFactory.CRYPTOCURRENCIES_FILE.getPath());
+        Gson gson = new GsonBuilder()
+            .registerTypeAdapter(Cryptocurrency.class, new CryptocurrencyTypeAdapter())
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeTypeAdapter())
+            .create();
+        repository = new CryptocurrencyJsonRepositoryImpl(gson, PersistenceMode.SNAPSHOT);
+
+        List<Cryptocurrency> cryptocurrencies = new ArrayList<>(size);
+        symbols = new String[size];
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            symbols[i] = "C" + i;
+            cryptocurrencies.add(new Cryptocurrency(symbols[i], "Coin " + i, 1.0 + i,
+                1_000.0 + i, 100.0 + i, 0.5, now));
+        }
+        repository.addAll(cryptocurrencies);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Path path = JsonPathFactory.CRYPTOCURRENCIES_FILE.getPath();
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public Optional<Cryptocurrency> indexedLookup() {
+        return repository.findById(nextSymbol());
+    }
+
+    @Benchmark
+    public Optional<Cryptocurrency> fullScan() {
+        String symbol = nextSymbol();
+        return repository.findAll().stream()
+            .filter(cryptocurrency -> cryptocurrency.getSymbol().equals(symbol))
+            .findFirst();
+    }
+
+    private String nextSymbol() {
+        String symbol = symbols[next];
+        next = next + 1 == symbols.length ? 0 : next + 1;
+        return symbol;
+    }
+}
@@ -2,6 +2,7 @@ package com.crypto.blockfolio.domain.contract;
 
 import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Інтерфейс CoinGeckoApiService визначає методи для взаємодії з API CoinGecko. Забезпечує отримання
@@ -23,5 +24,14 @@ public interface CoinGeckoApiService {
      * @return список об'єктів {@link Cryptocurrency}.
      */
     List<Cryptocurrency> getAllCryptocurrencies();
+
+    /**
+     * Асинхронно отримує список усіх доступних криптовалют і зберігає їх у репозиторії. Потік,
+     * що викликає метод, не блокується; якщо оновлення вже виконується, повертається його
+     * результат. Якщо API недоступне, результатом є криптовалюти з репозиторію.
+     *
+     * @return майбутній список об'єктів {@link Cryptocurrency}.
+     */
+    CompletableFuture<List<Cryptocurrency>> getAllCryptocurrenciesAsync();
 }
 
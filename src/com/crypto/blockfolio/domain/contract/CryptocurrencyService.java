@@ -3,7 +3,12 @@ package com.crypto.blockfolio.domain.contract;
 import com.crypto.blockfolio.domain.Reportable;
 import com.crypto.blockfolio.domain.Service;
 import com.crypto.blockfolio.domain.dto.CryptocurrencyAddDto;
+import com.crypto.blockfolio.persistence.OhlcSeries;
+import com.crypto.blockfolio.persistence.PriceResolution;
+import com.crypto.blockfolio.persistence.PriceSeries;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
 import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -35,5 +40,44 @@ public interface CryptocurrencyService extends Service<Cryptocurrency, String>,
      *                          криптовалюти.
      */
     void addCryptocurrency(CryptocurrencyAddDto cryptocurrencyDto);
+
+    /**
+     * Повертає останній опублікований знімок цін криптовалют. Знімок не змінюється після
+     * публікації; кожне оновлення цін публікує новий знімок з більшою версією.
+     *
+     * @return поточний знімок цін.
+     */
+    PriceSnapshot getPriceSnapshot();
+
+    /**
+     * Повертає історію цін криптовалюти за проміжок часу.
+     *
+     * @param symbol символ криптовалюти.
+     * @param from   початок проміжку (включно).
+     * @param to     кінець проміжку (не включно).
+     * @return ряд цін у порядку зростання часу.
+     */
+    PriceSeries getPriceHistory(String symbol, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Повертає останні збережені ціни криптовалюти.
+     *
+     * @param symbol символ криптовалюти.
+     * @param count  максимальна кількість цін.
+     * @return ряд з не більш ніж {@code count} останніх цін у порядку зростання часу.
+     */
+    PriceSeries getLatestPrices(String symbol, int count);
+
+    /**
+     * Агрегує історію цін криптовалюти за проміжок часу у свічки OHLC.
+     *
+     * @param symbol     символ криптовалюти.
+     * @param from       початок проміжку (включно).
+     * @param to         кінець проміжку (не включно).
+     * @param resolution роздільна здатність свічок: хвилина, година або день.
+     * @return ряд свічок у порядку зростання часу.
+     */
+    OhlcSeries getOhlc(String symbol, LocalDateTime from, LocalDateTime to,
+        PriceResolution resolution);
 }
 
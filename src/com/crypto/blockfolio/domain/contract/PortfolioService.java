@@ -2,10 +2,18 @@ package com.crypto.blockfolio.domain.contract;
 
 import com.crypto.blockfolio.domain.Reportable;
 import com.crypto.blockfolio.domain.Service;
+import com.crypto.blockfolio.domain.dto.CostBasisMethod;
+import com.crypto.blockfolio.domain.dto.PerformancePeriod;
 import com.crypto.blockfolio.domain.dto.PortfolioAddDto;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl;
+import com.crypto.blockfolio.domain.dto.PortfolioReturn;
+import com.crypto.blockfolio.domain.dto.ValuationCacheStats;
 import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
 import com.crypto.blockfolio.persistence.entity.Portfolio;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -61,12 +69,70 @@ public interface PortfolioService extends Service<Portfolio, UUID>, Reportable<P
     void removeCryptocurrencyFromPortfolio(UUID portfolioId, Cryptocurrency cryptocurrency);
 
     /**
-     * Обчислює загальну вартість портфеля, враховуючи всі криптовалюти в ньому.
+     * Обчислює загальну вартість портфеля, враховуючи всі криптовалюти в ньому. Якщо ні баланси
+     * портфеля, ні ціни не змінилися після попереднього обчислення, вартість береться з кешу.
      *
      * @param portfolio об'єкт {@link Portfolio}, для якого виконується обчислення.
      */
     void calculateTotalValue(Portfolio portfolio);
 
+    /**
+     * Перераховує баланси портфеля з нуля за його транзакціями та порівнює їх з поточними
+     * балансами.
+     *
+     * @param portfolioId унікальний ідентифікатор портфеля.
+     * @return розбіжності за символами криптовалют (поточний баланс мінус перерахований); порожня
+     * мапа, якщо баланси збігаються.
+     */
+    Map<String, BigDecimal> verifyBalances(UUID portfolioId);
+
+    /**
+     * Обчислює прибутки та збитки (PNL) портфеля за всіма криптовалютами одночасно.
+     *
+     * @param portfolioId унікальний ідентифікатор портфеля.
+     * @return PNL за символами криптовалют та сумарний PNL.
+     */
+    PortfolioPnl calculatePnl(UUID portfolioId);
+
+    /**
+     * Обчислює прибутки та збитки (PNL) портфеля за обліком лотів: реалізований PNL враховує
+     * собівартість саме тих лотів, які списав продаж за вказаним методом.
+     *
+     * @param portfolioId унікальний ідентифікатор портфеля.
+     * @param method      метод визначення собівартості.
+     * @return PNL за символами криптовалют та сумарний PNL.
+     */
+    PortfolioPnl calculatePnl(UUID portfolioId, CostBasisMethod method);
+
+    /**
+     * Повертає вартість портфеля на кінець дня за UTC із щоденного ряду вартості портфеля. Ряд
+     * будується з часу створення транзакцій, балансів портфеля та історії цін і далі оновлюється
+     * лише з дня зміненої транзакції або нових цін.
+     *
+     * @param portfolioId унікальний ідентифікатор портфеля.
+     * @param date        день.
+     * @return вартість портфеля; 0 для днів до першої транзакції портфеля.
+     */
+    BigDecimal getValueOn(UUID portfolioId, LocalDate date);
+
+    /**
+     * Обчислює дохідність портфеля за період, що закінчується поточним днем, за щоденним рядом
+     * вартості портфеля.
+     *
+     * @param portfolioId унікальний ідентифікатор портфеля.
+     * @param period      період.
+     * @return вартість портфеля на початок і кінець періоду та її зміна.
+     */
+    PortfolioReturn calculateReturn(UUID portfolioId, PerformancePeriod period);
+
+    /**
+     * Повертає статистику кешу оцінок портфелів, який використовує
+     * {@link #calculateTotalValue(Portfolio)}.
+     *
+     * @return кількість влучань, промахів і витіснень та поточний розмір кешу.
+     */
+    ValuationCacheStats getValuationCacheStats();
+
     /**
      * Видаляє транзакцію з портфеля.
      *
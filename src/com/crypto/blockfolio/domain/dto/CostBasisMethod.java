@@ -0,0 +1,22 @@
+package com.crypto.blockfolio.domain.dto;
+
+/**
+ * Метод визначення собівартості проданої криптовалюти.
+ */
+public enum CostBasisMethod {
+
+    /**
+     * Першими продаються найстаріші лоти (first in, first out).
+     */
+    FIFO,
+
+    /**
+     * Першими продаються найновіші лоти (last in, first out).
+     */
+    LIFO,
+
+    /**
+     * Усі куплені лоти об'єднуються, а продаж списує собівартість за середньою ціною.
+     */
+    AVERAGE_COST
+}
@@ -63,7 +63,7 @@ public final class CryptocurrencyAddDto extends CryptoEntity {
      */
     private double validatePositiveNumber(double value, String fieldName) {
         if (value <= 0) {
-            errors.add(fieldName + " повинно бути додатнім числом.");
+            addError(fieldName + " повинно бути додатнім числом.");
         }
         return value;
     }
@@ -76,7 +76,7 @@ public final class CryptocurrencyAddDto extends CryptoEntity {
      */
     private LocalDateTime validateLastUpdated(LocalDateTime lastUpdated) {
         if (lastUpdated == null || lastUpdated.isAfter(LocalDateTime.now())) {
-            errors.add("Час останнього оновлення не може бути в майбутньому або пустим.");
+            addError("Час останнього оновлення не може бути в майбутньому або пустим.");
         }
         return lastUpdated;
     }
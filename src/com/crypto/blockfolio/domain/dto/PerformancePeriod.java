@@ -0,0 +1,32 @@
+package com.crypto.blockfolio.domain.dto;
+
+/**
+ * Період, за який обчислюється дохідність портфеля. Усі періоди закінчуються поточним днем.
+ */
+public enum PerformancePeriod {
+
+    /**
+     * Останній день: від кінця вчорашнього дня.
+     */
+    ONE_DAY,
+
+    /**
+     * Останні 7 днів.
+     */
+    SEVEN_DAYS,
+
+    /**
+     * Останні 30 днів.
+     */
+    THIRTY_DAYS,
+
+    /**
+     * З початку року: від кінця останнього дня попереднього року.
+     */
+    YEAR_TO_DATE,
+
+    /**
+     * Увесь час: від кінця першого дня історії портфеля.
+     */
+    ALL_TIME
+}
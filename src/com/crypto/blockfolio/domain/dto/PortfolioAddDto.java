@@ -57,8 +57,8 @@ public final class PortfolioAddDto extends Entity {
         this.balances = validateBalances(balances);
         this.transactionIds = transactionIds != null ? Set.copyOf(transactionIds) : Set.of();
 
-        if (!errors.isEmpty()) {
-            throw new IllegalArgumentException("Некоректні дані портфеля: " + errors);
+        if (!isValid()) {
+            throw new IllegalArgumentException("Некоректні дані портфеля: " + getErrors());
         }
     }
 
@@ -70,7 +70,7 @@ public final class PortfolioAddDto extends Entity {
      */
     private UUID validateOwnerId(UUID ownerId) {
         if (ownerId == null) {
-            errors.add(ErrorTemplates.REQUIRED.getTemplate().formatted("ідентифікатор власника"));
+            addError(ErrorTemplates.REQUIRED.getTemplate().formatted("ідентифікатор власника"));
         }
         return ownerId;
     }
@@ -82,10 +82,10 @@ public final class PortfolioAddDto extends Entity {
      * @return перевірена назва.
      */
     private String validateName(String name) {
-        ValidationUtils.validateRequired(name, "назва портфоліо", errors);
-        ValidationUtils.validateLength(name, 1, 64, "назва портфоліо", errors);
+        ValidationUtils.validateRequired(name, "назва портфоліо", this::addError);
+        ValidationUtils.validateLength(name, 1, 64, "назва портфоліо", this::addError);
         ValidationUtils.validatePattern(name, "^[а-яА-ЯёЁa-zA-Z0-9_\\s]+$", "назва портфоліо",
-            errors);
+            this::addError);
         return name;
     }
 
@@ -102,10 +102,10 @@ public final class PortfolioAddDto extends Entity {
 
         balances.forEach((symbol, amount) -> {
             if (symbol == null || symbol.trim().isEmpty()) {
-                errors.add("Символ криптовалюти не може бути порожнім.");
+                addError("Символ криптовалюти не може бути порожнім.");
             }
             if (amount == null || amount.compareTo(BigDecimal.ZERO) < 0) {
-                errors.add("Баланс криптовалюти не може бути від'ємним або null.");
+                addError("Баланс криптовалюти не може бути від'ємним або null.");
             }
         });
 
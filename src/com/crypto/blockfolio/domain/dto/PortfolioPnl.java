@@ -0,0 +1,70 @@
+package com.crypto.blockfolio.domain.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Прибутки та збитки (PNL) портфеля, обчислені за одним знімком цін: окремо для кожної
+ * криптовалюти та загалом.
+ *
+ * @param bySymbol     PNL за символами криптовалют.
+ * @param total        сумарний PNL портфеля.
+ * @param priceVersion версія знімка цін, за яким обчислено PNL.
+ */
+public record PortfolioPnl(Map<String, SymbolPnl> bySymbol, SymbolPnl total,
+                           long priceVersion) {
+
+    /**
+     * Створює результат з незмінною копією PNL за символами.
+     *
+     * @param bySymbol     PNL за символами криптовалют.
+     * @param total        сумарний PNL портфеля.
+     * @param priceVersion версія знімка цін, за яким обчислено PNL.
+     */
+    public PortfolioPnl {
+        bySymbol = Map.copyOf(bySymbol);
+    }
+
+    /**
+     * Повертає PNL для криптовалюти.
+     *
+     * @param symbol символ криптовалюти.
+     * @return PNL криптовалюти або нульовий PNL, якщо транзакцій з нею немає.
+     */
+    public SymbolPnl forSymbol(String symbol) {
+        return bySymbol.getOrDefault(symbol, SymbolPnl.ZERO);
+    }
+
+    /**
+     * PNL однієї криптовалюти.
+     *
+     * @param realized   реалізований PNL (продажі та виведення).
+     * @param unrealized нереалізований PNL (позиції, оцінені за поточною ціною).
+     */
+    public record SymbolPnl(BigDecimal realized, BigDecimal unrealized) {
+
+        /**
+         * Нульовий PNL.
+         */
+        public static final SymbolPnl ZERO = new SymbolPnl(BigDecimal.ZERO, BigDecimal.ZERO);
+
+        /**
+         * Повертає сумарний PNL.
+         *
+         * @return реалізований плюс нереалізований PNL.
+         */
+        public BigDecimal total() {
+            return realized.add(unrealized);
+        }
+
+        /**
+         * Додає інший PNL.
+         *
+         * @param other PNL для додавання.
+         * @return сума PNL.
+         */
+        public SymbolPnl plus(SymbolPnl other) {
+            return new SymbolPnl(realized.add(other.realized), unrealized.add(other.unrealized));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.crypto.blockfolio.domain.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Дохідність портфеля за період: вартість портфеля на кінець початкового та кінцевого дня.
+ *
+ * @param period     період.
+ * @param from       початковий день; не раніше першого дня історії портфеля.
+ * @param to         кінцевий день.
+ * @param startValue вартість портфеля на кінець початкового дня.
+ * @param endValue   вартість портфеля на кінець кінцевого дня.
+ */
+public record PortfolioReturn(PerformancePeriod period, LocalDate from, LocalDate to,
+                              BigDecimal startValue, BigDecimal endValue) {
+
+    /**
+     * Повертає зміну вартості за період.
+     *
+     * @return кінцева вартість мінус початкова.
+     */
+    public BigDecimal change() {
+        return endValue.subtract(startValue);
+    }
+
+    /**
+     * Повертає зміну вартості за період у відсотках від початкової вартості.
+     *
+     * @return відсоток зміни з двома знаками після коми; 0, якщо початкова вартість нульова.
+     */
+    public BigDecimal percentChange() {
+        if (startValue.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return change().multiply(BigDecimal.valueOf(100))
+            .divide(startValue, 2, RoundingMode.HALF_UP);
+    }
+}
@@ -79,8 +79,8 @@ public final class TransactionAddDto extends Entity {
         this.description = validateDescription(description);
         this.createdAt = LocalDateTime.now();
 
-        if (!errors.isEmpty()) {
-            throw new IllegalArgumentException("Некоректні дані транзакції: " + errors);
+        if (!isValid()) {
+            throw new IllegalArgumentException("Некоректні дані транзакції: " + getErrors());
         }
     }
 
@@ -92,7 +92,7 @@ public final class TransactionAddDto extends Entity {
      */
     private String validateCryptocurrencySymbol(String symbol) {
         if (symbol == null || symbol.trim().isEmpty()) {
-            errors.add("Символ криптовалюти не може бути порожнім.");
+            addError("Символ криптовалюти не може бути порожнім.");
         }
         return symbol != null ? symbol.trim() : null;
     }
@@ -105,7 +105,7 @@ public final class TransactionAddDto extends Entity {
      */
     private TransactionType validateTransactionType(TransactionType transactionType) {
         if (transactionType == null) {
-            errors.add(ErrorTemplates.REQUIRED.getTemplate().formatted("тип транзакції"));
+            addError(ErrorTemplates.REQUIRED.getTemplate().formatted("тип транзакції"));
         }
         return transactionType;
     }
@@ -118,7 +118,7 @@ public final class TransactionAddDto extends Entity {
      */
     private BigDecimal validateAmount(BigDecimal amount) {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
-            errors.add("Кількість монет повинна бути більше 0.");
+            addError("Кількість монет повинна бути більше 0.");
         }
         return amount;
     }
@@ -131,7 +131,7 @@ public final class TransactionAddDto extends Entity {
      */
     private BigDecimal validateCosts(BigDecimal costs) {
         if (costs == null || costs.compareTo(BigDecimal.ZERO) < 0) {
-            errors.add("Витрати не можуть бути від’ємними.");
+            addError("Витрати не можуть бути від’ємними.");
         }
         return costs != null ? costs : BigDecimal.ZERO;
     }
@@ -144,7 +144,7 @@ public final class TransactionAddDto extends Entity {
      */
     private BigDecimal validateFees(BigDecimal fees) {
         if (fees == null || fees.compareTo(BigDecimal.ZERO) < 0) {
-            errors.add("Комісії не можуть бути від’ємними.");
+            addError("Комісії не можуть бути від’ємними.");
         }
         return fees;
     }
@@ -157,7 +157,7 @@ public final class TransactionAddDto extends Entity {
      */
     private String validateDescription(String description) {
         if (description != null && description.length() > 256) {
-            errors.add("Опис транзакції не може перевищувати 256 символів.");
+            addError("Опис транзакції не може перевищувати 256 символів.");
         }
         return description != null ? description.trim() : null;
     }
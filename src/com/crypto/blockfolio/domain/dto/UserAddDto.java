@@ -37,8 +37,8 @@ public final class UserAddDto extends Entity {
         this.email = validateEmail(email);
         this.portfolios = validatePortfolios(portfolios);
 
-        if (!errors.isEmpty()) {
-            throw new EntityArgumentException(errors);
+        if (!isValid()) {
+            throw new EntityArgumentException(getErrors());
         }
     }
 
@@ -49,9 +49,9 @@ public final class UserAddDto extends Entity {
      * @return перевірений логін.
      */
     private String validateUsername(String username) {
-        ValidationUtils.validateRequired(username, "логіну", errors);
-        ValidationUtils.validateLength(username, 4, 24, "логіну", errors);
-        ValidationUtils.validatePattern(username, "^[a-zA-Z0-9_]+$", "логіну", errors);
+        ValidationUtils.validateRequired(username, "логіну", this::addError);
+        ValidationUtils.validateLength(username, 4, 24, "логіну", this::addError);
+        ValidationUtils.validatePattern(username, "^[a-zA-Z0-9_]+$", "логіну", this::addError);
         return username;
     }
 
@@ -62,12 +62,12 @@ public final class UserAddDto extends Entity {
      * @return перевірений пароль.
      */
     private String validatePassword(String password) {
-        ValidationUtils.validateRequired(password, "паролю", errors);
+        ValidationUtils.validateRequired(password, "паролю", this::addError);
         if (password != null && password.length() < 8) {
-            errors.add(ErrorTemplates.MIN_LENGTH.getTemplate().formatted("паролю", 8));
+            addError(ErrorTemplates.MIN_LENGTH.getTemplate().formatted("паролю", 8));
         }
         if (password != null && !password.matches("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d).*$")) {
-            errors.add(ErrorTemplates.PASSWORD.getTemplate().formatted("паролю"));
+            addError(ErrorTemplates.PASSWORD.getTemplate().formatted("паролю"));
         }
         return password;
     }
@@ -79,9 +79,9 @@ public final class UserAddDto extends Entity {
      * @return перевірена електронна пошта.
      */
     private String validateEmail(String email) {
-        ValidationUtils.validateRequired(email, "електронної пошти", errors);
+        ValidationUtils.validateRequired(email, "електронної пошти", this::addError);
         ValidationUtils.validatePattern(email, "^[\\w.%+-]+@[\\w.-]+\\.[a-zA-Z]{2,}$",
-            "електронної пошти", errors);
+            "електронної пошти", this::addError);
         return email;
     }
 
@@ -97,7 +97,7 @@ public final class UserAddDto extends Entity {
             return new LinkedHashSet<>();
         }
         if (portfolios.size() > 10) {
-            errors.add("Користувач не може мати більше ніж 10 портфелів.");
+            addError("Користувач не може мати більше ніж 10 портфелів.");
         }
         return new LinkedHashSet<>(portfolios);
     }
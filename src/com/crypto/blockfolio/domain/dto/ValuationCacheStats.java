@@ -0,0 +1,22 @@
+package com.crypto.blockfolio.domain.dto;
+
+/**
+ * Статистика кешу оцінок портфелів.
+ *
+ * @param hits      кількість звернень, для яких оцінку взято з кешу.
+ * @param misses    кількість звернень, для яких оцінку обчислено заново.
+ * @param evictions кількість оцінок, витіснених через обмеження розміру кешу.
+ * @param size      поточна кількість оцінок у кеші.
+ */
+public record ValuationCacheStats(long hits, long misses, long evictions, int size) {
+
+    /**
+     * Повертає частку звернень, для яких оцінку взято з кешу.
+     *
+     * @return частка влучань від 0 до 1; 0, якщо звернень ще не було.
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
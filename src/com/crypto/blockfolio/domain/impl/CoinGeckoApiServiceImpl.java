@@ -2,27 +2,144 @@ package com.crypto.blockfolio.domain.impl;
 
 import com.crypto.blockfolio.domain.contract.CoinGeckoApiService;
 import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.exception.EntityArgumentException;
 import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
 
+/**
+ * Клієнт API CoinGecko. Усі запити виконуються через один {@link HttpClient}, який повторно
+ * використовує з'єднання, за можливості працює за HTTP/2 і запитує стиснені gzip відповіді.
+ * Одночасні запити на оновлення криптовалют об'єднуються в одне оновлення.
+ *
+ * <p>Ринок завантажується сторінками по 250 монет, кілька сторінок одночасно. Обмежувач частоти
+ * з маркерним кошиком тримає кількість запитів у межах квоти API, а результати всіх сторінок
+ * зберігаються в репозиторії одним пакетним оновленням.
+ *
+ * <p>Тайм-аути задаються в мілісекундах системними властивостями
+ * {@value #CONNECT_TIMEOUT_PROPERTY} (встановлення з'єднання) та {@value #READ_TIMEOUT_PROPERTY}
+ * (очікування відповіді).
+ */
 class CoinGeckoApiServiceImpl implements CoinGeckoApiService {
 
+    /**
+     * Назва системної властивості з тайм-аутом встановлення з'єднання в мілісекундах.
+     */
+    static final String CONNECT_TIMEOUT_PROPERTY = "blockfolio.coingecko.connect-timeout";
+
+    /**
+     * Назва системної властивості з тайм-аутом очікування відповіді в мілісекундах. Тайм-аут
+     * охоплює і заголовки, і тіло відповіді.
+     */
+    static final String READ_TIMEOUT_PROPERTY = "blockfolio.coingecko.read-timeout";
+
+    /**
+     * Назва системної властивості з базовою адресою API; дозволяє спрямувати запити на локальний
+     * сервер-заглушку.
+     */
+    static final String BASE_URL_PROPERTY = "blockfolio.coingecko.base-url";
+
+    /**
+     * Назва системної властивості з допустимою кількістю запитів до API за хвилину.
+     */
+    static final String REQUESTS_PER_MINUTE_PROPERTY = "blockfolio.coingecko.requests-per-minute";
+
+    /**
+     * Назва системної властивості з кількістю сторінок ринку, що завантажуються одночасно.
+     * Вона ж визначає, скільки запитів можна виконати одразу без очікування маркера.
+     */
+    static final String PAGE_CONCURRENCY_PROPERTY = "blockfolio.coingecko.page-concurrency";
+
+    /**
+     * Назва системної властивості з максимальною кількістю сторінок ринку. Запити сторінок
+     * проходять через обмежувач частоти, тому повне оновлення ринку не перевищує частоти
+     * запитів, заданої властивістю {@value #REQUESTS_PER_MINUTE_PROPERTY}.
+     */
+    static final String MAX_PAGES_PROPERTY = "blockfolio.coingecko.max-pages";
+
     private static final String API_BASE_URL = "https://api.coingecko.com/api/v3";
     private static final Gson GSON = new Gson();
+    private static final long DEFAULT_CONNECT_TIMEOUT_MILLIS = 5_000;
+    private static final long DEFAULT_READ_TIMEOUT_MILLIS = 10_000;
+    private static final int DEFAULT_REQUESTS_PER_MINUTE = 30;
+    private static final int DEFAULT_PAGE_CONCURRENCY = 4;
+    private static final int DEFAULT_MAX_PAGES = 60;
+
+    /**
+     * Найбільший розмір сторінки, який дозволяє API.
+     */
+    private static final int PER_PAGE = 250;
 
     private final CryptocurrencyRepository cryptocurrencyRepository;
+    private final PriceSnapshots priceSnapshots;
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final String baseUrl;
+    private final int pageConcurrency;
+    private final int maxPages;
+    private final TokenBucket rateLimiter;
+    private final AtomicReference<CompletableFuture<List<Cryptocurrency>>> pendingRefresh =
+        new AtomicReference<>();
 
-    public CoinGeckoApiServiceImpl(CryptocurrencyRepository cryptocurrencyRepository) {
+    public CoinGeckoApiServiceImpl(CryptocurrencyRepository cryptocurrencyRepository,
+        PriceSnapshots priceSnapshots) {
         this.cryptocurrencyRepository = cryptocurrencyRepository;
+        this.priceSnapshots = priceSnapshots;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(timeout(CONNECT_TIMEOUT_PROPERTY, DEFAULT_CONNECT_TIMEOUT_MILLIS))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.readTimeout = timeout(READ_TIMEOUT_PROPERTY, DEFAULT_READ_TIMEOUT_MILLIS);
+        this.baseUrl = System.getProperty(BASE_URL_PROPERTY, API_BASE_URL);
+        this.pageConcurrency = positive(PAGE_CONCURRENCY_PROPERTY, DEFAULT_PAGE_CONCURRENCY);
+        this.maxPages = positive(MAX_PAGES_PROPERTY, DEFAULT_MAX_PAGES);
+        this.rateLimiter = new TokenBucket(pageConcurrency,
+            positive(REQUESTS_PER_MINUTE_PROPERTY, DEFAULT_REQUESTS_PER_MINUTE) / 60.0);
+    }
+
+    private static int positive(String property, int defaultValue) {
+        int value = Integer.getInteger(property, defaultValue);
+        if (value <= 0) {
+            throw new IllegalArgumentException(
+                "Значення %s має бути додатним.".formatted(property));
+        }
+        return value;
+    }
+
+    private static Duration timeout(String property, long defaultMillis) {
+        long millis = Long.getLong(property, defaultMillis);
+        if (millis <= 0) {
+            throw new IllegalArgumentException(
+                "Тайм-аут %s має бути додатним.".formatted(property));
+        }
+        return Duration.ofMillis(millis);
     }
 
     @Override
@@ -36,85 +153,217 @@ class CoinGeckoApiServiceImpl implements CoinGeckoApiService {
     @Override
     public List<Cryptocurrency> getAllCryptocurrencies() {
         try {
-            // Спроба отримати дані з API
-            List<Cryptocurrency> cryptocurrencies = fetchAllCryptocurrenciesFromApi();
-            if (cryptocurrencies.isEmpty()) {
-                throw new RuntimeException("API повернуло порожній список криптовалют.");
+            return getAllCryptocurrenciesAsync().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
+        }
+    }
 
-            // Збереження даних у репозиторій
-            cryptocurrencies.forEach(cryptocurrencyRepository::add);
-            return cryptocurrencies;
-
-        } catch (Exception e) {
-            // Логування помилки API
-            System.err.printf("Помилка запиту до API: %s%n", e.getMessage());
+    @Override
+    public CompletableFuture<List<Cryptocurrency>> getAllCryptocurrenciesAsync() {
+        CompletableFuture<List<Cryptocurrency>> refresh = new CompletableFuture<>();
+        CompletableFuture<List<Cryptocurrency>> pending =
+            pendingRefresh.compareAndExchange(null, refresh);
+        if (pending != null) {
+            // Оновлення вже виконується: чекаємо на його результат
+            return pending;
+        }
 
-            // Використання даних із файлу
-            try {
-                List<Cryptocurrency> fallbackData = List.copyOf(cryptocurrencyRepository.findAll());
-                if (fallbackData.isEmpty()) {
-                    throw new RuntimeException("Дані з репозиторію недоступні.");
+        fetchAllCryptocurrenciesFromApi()
+            .thenApply(this::storeFetched)
+            .exceptionally(this::loadFallback)
+            .whenComplete((cryptocurrencies, error) -> {
+                pendingRefresh.set(null);
+                if (error != null) {
+                    refresh.completeExceptionally(error);
+                } else {
+                    refresh.complete(cryptocurrencies);
                 }
-                System.out.println("Дані завантажено з файлу.");
-                return fallbackData;
+            });
+        return refresh;
+    }
 
-            } catch (Exception fallbackException) {
-                System.err.printf("Помилка доступу до даних з файлу: %s%n",
-                    fallbackException.getMessage());
-                throw new RuntimeException("Не вдалося отримати дані ні з API, ні з файлу.");
-            }
+    private List<Cryptocurrency> storeFetched(List<Cryptocurrency> cryptocurrencies) {
+        if (cryptocurrencies.isEmpty()) {
+            throw new RuntimeException("API повернуло порожній список криптовалют.");
         }
+
+        // Збереження даних у репозиторій одним пакетним оновленням
+        cryptocurrencyRepository.addAll(cryptocurrencies);
+        priceSnapshots.refresh();
+        return cryptocurrencies;
     }
 
+    private List<Cryptocurrency> loadFallback(Throwable error) {
+        // Логування помилки API
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        System.err.printf("Помилка запиту до API: %s%n",
+            cause.getMessage() != null ? cause.getMessage() : cause);
 
-    private List<Cryptocurrency> fetchAllCryptocurrenciesFromApi() throws Exception {
+        // Використання даних із файлу
         try {
-            String endpoint = String.format("%s/coins/markets?vs_currency=usd", API_BASE_URL);
-            JsonArray jsonResponse = makeApiRequest(endpoint).getAsJsonArray();
-
-            List<Cryptocurrency> cryptocurrencies = new ArrayList<>();
-            for (JsonElement element : jsonResponse) {
-                JsonObject coinData = element.getAsJsonObject();
-                cryptocurrencies.add(new Cryptocurrency(
-                    coinData.get("symbol").getAsString().toUpperCase(),
-                    coinData.get("name").getAsString(),
-                    coinData.get("current_price").getAsDouble(),
-                    coinData.has("market_cap") ? coinData.get("market_cap").getAsDouble() : 0.0,
-                    coinData.has("total_volume") ? coinData.get("total_volume").getAsDouble() : 0.0,
-                    coinData.has("price_change_percentage_24h")
-                        ? coinData.get("price_change_percentage_24h").getAsDouble() : 0.0,
-                    LocalDateTime.now()
-                ));
+            List<Cryptocurrency> fallbackData = List.copyOf(cryptocurrencyRepository.findAll());
+            if (fallbackData.isEmpty()) {
+                throw new RuntimeException("Дані з репозиторію недоступні.");
             }
+            System.out.println("Дані завантажено з файлу.");
+            return fallbackData;
+
+        } catch (Exception fallbackException) {
+            System.err.printf("Помилка доступу до даних з файлу: %s%n",
+                fallbackException.getMessage());
+            throw new RuntimeException("Не вдалося отримати дані ні з API, ні з файлу.");
+        }
+    }
+
+
+    /**
+     * Завантажує весь ринок посторінково. Кілька сторінок завантажуються одночасно, а кожен запит
+     * спершу отримує маркер обмежувача частоти. Завантаження припиняється після першої неповної
+     * сторінки або після {@link #maxPages} сторінок. Помилка першої сторінки завершує все
+     * завантаження з помилкою, помилка наступних лише обриває ринок на попередній сторінці.
+     *
+     * @return криптовалюти з усіх сторінок у порядку спадання капіталізації; з кількох монет з
+     * однаковим символом залишається монета з найбільшою капіталізацією.
+     */
+    private CompletableFuture<List<Cryptocurrency>> fetchAllCryptocurrenciesFromApi() {
+        Map<Integer, List<Cryptocurrency>> pages = new ConcurrentSkipListMap<>();
+        AtomicInteger nextPage = new AtomicInteger(1);
+        AtomicInteger lastPage = new AtomicInteger(maxPages);
 
-            return cryptocurrencies;
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[pageConcurrency];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = fetchPages(pages, nextPage, lastPage);
+        }
+        return CompletableFuture.allOf(workers).thenApply(ignored -> {
+            Map<String, Cryptocurrency> merged = new LinkedHashMap<>();
+            pages.forEach((page, cryptocurrencies) -> {
+                if (page <= lastPage.get()) {
+                    cryptocurrencies.forEach(
+                        crypto -> merged.putIfAbsent(crypto.getSymbol(), crypto));
+                }
+            });
+            return List.copyOf(merged.values());
+        });
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException(
-                "Не вдалося отримати дані від CoinGecko API. " + e.getMessage());
+    private CompletableFuture<Void> fetchPages(Map<Integer, List<Cryptocurrency>> pages,
+        AtomicInteger nextPage, AtomicInteger lastPage) {
+        int page = nextPage.getAndIncrement();
+        if (page > lastPage.get()) {
+            return CompletableFuture.completedFuture(null);
         }
+        return rateLimiter.acquire()
+            .thenCompose(ignored -> fetchPage(page))
+            .handle((marketPage, error) -> {
+                if (error == null) {
+                    pages.put(page, marketPage.cryptocurrencies());
+                    if (marketPage.last()) {
+                        lastPage.accumulateAndGet(page, Math::min);
+                    }
+                    return true;
+                }
+                if (page == 1) {
+                    throw error instanceof CompletionException completion
+                        ? completion : new CompletionException(error);
+                }
+                System.err.printf("Не вдалося завантажити сторінку %d ринку: %s%n", page,
+                    error.getMessage());
+                lastPage.accumulateAndGet(page - 1, Math::min);
+                return false;
+            })
+            .thenCompose(loaded -> fetchPages(pages, nextPage, lastPage));
     }
 
+    private CompletableFuture<MarketPage> fetchPage(int page) {
+        String endpoint = String.format(
+            "%s/coins/markets?vs_currency=usd&order=market_cap_desc&per_page=%d&page=%d",
+            baseUrl, PER_PAGE, page);
+        return makeApiRequest(endpoint).thenApply(response -> {
+            try {
+                JsonArray jsonResponse = response.getAsJsonArray();
+
+                List<Cryptocurrency> cryptocurrencies = new ArrayList<>(jsonResponse.size());
+                for (JsonElement element : jsonResponse) {
+                    JsonObject coinData = element.getAsJsonObject();
+                    try {
+                        cryptocurrencies.add(new Cryptocurrency(
+                            coinData.get("symbol").getAsString().toUpperCase(),
+                            coinData.get("name").getAsString(),
+                            numberOrZero(coinData, "current_price"),
+                            numberOrZero(coinData, "market_cap"),
+                            numberOrZero(coinData, "total_volume"),
+                            numberOrZero(coinData, "price_change_percentage_24h"),
+                            LocalDateTime.now()
+                        ));
+                    } catch (EntityArgumentException e) {
+                        // Монети без ціни, капіталізації чи обсягу торгів пропускаємо
+                    }
+                }
+                return new MarketPage(cryptocurrencies, jsonResponse.size() < PER_PAGE);
+
+            } catch (Exception e) {
+                throw new RuntimeException(
+                    "Не вдалося отримати дані від CoinGecko API. " + e.getMessage());
+            }
+        });
+    }
 
-    private JsonElement makeApiRequest(String endpoint) throws Exception {
+    private CompletableFuture<JsonElement> makeApiRequest(String endpoint) {
         //System.out.printf("Запит до API: %s%n", endpoint);
 
-        URL url = new URL(endpoint);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("GET");
-        connection.setRequestProperty("Accept", "application/json");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint))
+            .timeout(readTimeout)
+            .header("Accept", "application/json")
+            .header("Accept-Encoding", "gzip")
+            .GET()
+            .build();
 
-        int responseCode = connection.getResponseCode();
-        if (responseCode != HttpURLConnection.HTTP_OK) {
-            throw new RuntimeException(
-                "Не вдалося отримати дані від CoinGecko API" + endpoint + ". Код помилки: "
-                    + responseCode);
-        }
+        // Тайм-аут запиту обмежує лише очікування заголовків, тому тіло читається повністю
+        // в масив, а весь обмін обмежено тим самим тайм-аутом.
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .orTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .thenApply(response -> {
+                if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                    throw new RuntimeException(
+                        "Не вдалося отримати дані від CoinGecko API" + endpoint
+                            + ". Код помилки: " + response.statusCode());
+                }
+                try (InputStream body = decode(response)) {
+                    return GSON.fromJson(
+                        new InputStreamReader(body, StandardCharsets.UTF_8), JsonElement.class);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    private static InputStream decode(HttpResponse<byte[]> response) throws IOException {
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+            .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+            .orElse(false);
+        InputStream body = new ByteArrayInputStream(response.body());
+        return gzip ? new GZIPInputStream(body) : body;
+    }
+
+    private static double numberOrZero(JsonObject object, String field) {
+        JsonElement value = object.get(field);
+        return value != null && value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()
+            ? value.getAsDouble() : 0.0;
+    }
+
+    /**
+     * Сторінка ринку.
+     *
+     * @param cryptocurrencies криптовалюти сторінки.
+     * @param last             {@code true}, якщо сторінка неповна і наступних сторінок немає.
+     */
+    private record MarketPage(List<Cryptocurrency> cryptocurrencies, boolean last) {
 
-        try (InputStreamReader reader = new InputStreamReader(connection.getInputStream())) {
-            return GSON.fromJson(reader, JsonElement.class);
-        }
     }
 
 }
@@ -0,0 +1,31 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Облік лотів портфелів, спільний для сервісів портфелів і транзакцій. Облік портфеля
+ * створюється під час першого звернення з транзакцій зі списку транзакцій портфеля, так само як
+ * журнал портфеля.
+ */
+final class CostBasisBooks {
+
+    private final TransactionRepository transactionRepository;
+    private final Map<UUID, PortfolioCostBasis> portfolios = new ConcurrentHashMap<>();
+
+    CostBasisBooks(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    PortfolioCostBasis forPortfolio(Portfolio portfolio) {
+        return portfolios.computeIfAbsent(portfolio.getId(), id -> new PortfolioCostBasis(
+            PortfolioTransactions.of(transactionRepository, portfolio)));
+    }
+
+    void evict(UUID portfolioId) {
+        portfolios.remove(portfolioId);
+    }
+}
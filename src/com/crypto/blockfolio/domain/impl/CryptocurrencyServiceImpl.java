@@ -3,11 +3,18 @@ package com.crypto.blockfolio.domain.impl;
 import com.crypto.blockfolio.domain.contract.CoinGeckoApiService;
 import com.crypto.blockfolio.domain.contract.CryptocurrencyService;
 import com.crypto.blockfolio.domain.dto.CryptocurrencyAddDto;
+import com.crypto.blockfolio.persistence.OhlcSeries;
+import com.crypto.blockfolio.persistence.PriceResolution;
+import com.crypto.blockfolio.persistence.PriceSeries;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
 import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
 import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
+import com.crypto.blockfolio.persistence.repository.contracts.PriceHistoryRepository;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.function.Predicate;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
@@ -20,12 +27,17 @@ class CryptocurrencyServiceImpl extends GenericService<Cryptocurrency, String> i
 
     private final CryptocurrencyRepository cryptocurrencyRepository;
     private final CoinGeckoApiService apiService;
+    private final PriceSnapshots priceSnapshots;
+    private final PriceHistoryRepository priceHistoryRepository;
 
     public CryptocurrencyServiceImpl(CryptocurrencyRepository cryptocurrencyRepository,
-        CoinGeckoApiService apiService) {
+        CoinGeckoApiService apiService, PriceSnapshots priceSnapshots,
+        PriceHistoryRepository priceHistoryRepository) {
         super(cryptocurrencyRepository);
         this.cryptocurrencyRepository = cryptocurrencyRepository;
         this.apiService = apiService;
+        this.priceSnapshots = priceSnapshots;
+        this.priceHistoryRepository = priceHistoryRepository;
     }
 
     @Override
@@ -36,18 +48,9 @@ class CryptocurrencyServiceImpl extends GenericService<Cryptocurrency, String> i
     @Override
     public List<Cryptocurrency> getAllCryptocurrencies() {
         try {
-            // Fetch cryptocurrencies from the API
-            List<Cryptocurrency> cryptocurrencies = apiService.getAllCryptocurrencies();
-
-            // Save or update each cryptocurrency in the repository
-            cryptocurrencies.forEach(crypto -> {
-                try {
-                    cryptocurrencyRepository.updateCryptocurrency(crypto);
-                } catch (IllegalArgumentException e) {
-                    System.err.printf("Помилка оновлення криптовалюти %s: %s%n", crypto.getSymbol(),
-                        e.getMessage());
-                }
-            });
+            // Fetch cryptocurrencies from the API; the API service stores them in the repository
+            // in one bulk update and publishes a new price snapshot
+            apiService.getAllCryptocurrencies();
 
             // Return the updated list of cryptocurrencies
             return List.copyOf(cryptocurrencyRepository.findAll());
@@ -74,6 +77,33 @@ class CryptocurrencyServiceImpl extends GenericService<Cryptocurrency, String> i
 
         // Використовуємо репозиторій для збереження даних
         cryptocurrencyRepository.add(cryptocurrency);
+        priceSnapshots.refresh();
+    }
+
+    @Override
+    public PriceSnapshot getPriceSnapshot() {
+        return priceSnapshots.current();
+    }
+
+    @Override
+    public PriceSeries getPriceHistory(String symbol, LocalDateTime from, LocalDateTime to) {
+        return priceHistoryRepository.findRange(symbol, toEpochMilli(from), toEpochMilli(to));
+    }
+
+    @Override
+    public PriceSeries getLatestPrices(String symbol, int count) {
+        return priceHistoryRepository.findLast(symbol, count);
+    }
+
+    @Override
+    public OhlcSeries getOhlc(String symbol, LocalDateTime from, LocalDateTime to,
+        PriceResolution resolution) {
+        return priceHistoryRepository.findOhlc(symbol, toEpochMilli(from), toEpochMilli(to),
+            resolution);
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
 
@@ -0,0 +1,42 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Незмінний стан транзакції, що впливає на баланс портфеля: символ криптовалюти, тип, кількість
+ * і час створення. Журнал портфеля зберігає такі знімки, щоб відмінити вплив транзакції навіть
+ * після того, як сам об'єкт транзакції було змінено на місці.
+ *
+ * @param symbol    символ криптовалюти.
+ * @param type      тип транзакції.
+ * @param amount    кількість криптовалюти.
+ * @param createdAt час створення транзакції або {@code null}, якщо він невідомий.
+ */
+record LedgerEntry(String symbol, TransactionType type, BigDecimal amount,
+                   LocalDateTime createdAt) {
+
+    /**
+     * Перевіряє, чи містить транзакція всі дані, потрібні для обчислення її впливу на баланс.
+     *
+     * @param transaction транзакція.
+     * @return {@code true}, якщо вказані криптовалюта, тип і кількість.
+     */
+    static boolean isApplicable(Transaction transaction) {
+        return transaction.getCryptocurrency() != null
+            && transaction.getTransactionType() != null
+            && transaction.getAmount() != null;
+    }
+
+    static LedgerEntry of(Transaction transaction) {
+        return new LedgerEntry(transaction.getCryptocurrency().getSymbol(),
+            transaction.getTransactionType(), transaction.getAmount(),
+            transaction.getCreatedAt());
+    }
+
+    BigDecimal signedAmount() {
+        return type.signed(amount);
+    }
+}
@@ -0,0 +1,31 @@
+package com.crypto.blockfolio.domain.impl;
+
+import java.util.UUID;
+
+/**
+ * Подія журналу портфеля. Містить стан транзакції до і після зміни, тому застосування події до
+ * балансів не потребує звернення до репозиторію транзакцій. Події додавання і видалення
+ * криптовалюти з портфеля не стосуються транзакцій і містять лише символ.
+ *
+ * @param sequence      порядковий номер події у журналі портфеля, починаючи з 1.
+ * @param kind          вид події.
+ * @param transactionId ідентифікатор транзакції або {@code null} для подій криптовалют.
+ * @param before        стан транзакції до події або {@code null} для доданої транзакції.
+ * @param after         стан транзакції після події або {@code null} для видаленої транзакції.
+ * @param symbol        символ доданої чи видаленої криптовалюти або {@code null} для подій
+ *                      транзакцій.
+ */
+record LedgerEvent(long sequence, Kind kind, UUID transactionId, LedgerEntry before,
+                   LedgerEntry after, String symbol) {
+
+    /**
+     * Вид події журналу.
+     */
+    enum Kind {
+        ADDED,
+        EDITED,
+        REMOVED,
+        HOLDING_ADDED,
+        HOLDING_REMOVED
+    }
+}
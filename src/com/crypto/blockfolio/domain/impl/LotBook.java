@@ -0,0 +1,220 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.domain.dto.CostBasisMethod;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl.SymbolPnl;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Книга лотів однієї криптовалюти портфеля для одного методу собівартості. Купівлі та
+ * поповнення відкривають лоти, продажі та виведення списують їх у порядку, заданому методом.
+ * Книга підтримує суми відкритих лотів і реалізований PNL, тому читання PNL не залежить від
+ * кількості транзакцій.
+ *
+ * <p>Транзакції зберігаються у хронологічному порядку. Нова транзакція в кінці застосовується
+ * одразу. Вставка, редагування чи видалення транзакції всередині історії відтворює книгу з
+ * найближчої попередньої контрольної точки; контрольна точка робиться кожні
+ * {@link #CHECKPOINT_INTERVAL} транзакцій.
+ *
+ * <p>Продаж, для якого не вистачає відкритих лотів, списує всі наявні лоти, а решта продажу
+ * вважається такою, що має нульову собівартість.
+ */
+final class LotBook {
+
+    /**
+     * Кількість транзакцій між контрольними точками книги.
+     */
+    static final int CHECKPOINT_INTERVAL = 256;
+
+    private static final int SCALE = 2;
+
+    private final CostBasisMethod method;
+    private final List<LotTrade> trades = new ArrayList<>();
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private final Deque<Lot> lots = new ArrayDeque<>();
+    private BigDecimal openAmount = BigDecimal.ZERO;
+    private BigDecimal openCost = BigDecimal.ZERO;
+    private BigDecimal realized = BigDecimal.ZERO;
+
+    LotBook(CostBasisMethod method) {
+        this.method = method;
+    }
+
+    void add(LotTrade trade) {
+        int index = Collections.binarySearch(trades, trade, LotTrade.CHRONOLOGICAL);
+        if (index >= 0) {
+            throw new IllegalArgumentException("Транзакція вже врахована у книзі лотів.");
+        }
+        index = -index - 1;
+        trades.add(index, trade);
+        if (index == trades.size() - 1) {
+            apply(trade);
+            checkpointIfDue(trades.size());
+        } else {
+            replayFrom(index);
+        }
+    }
+
+    void remove(LotTrade trade) {
+        int index = Collections.binarySearch(trades, trade, LotTrade.CHRONOLOGICAL);
+        if (index >= 0) {
+            trades.remove(index);
+            replayFrom(index);
+        }
+    }
+
+    /**
+     * Повертає PNL криптовалюти за поточною ціною.
+     *
+     * @param price поточна ціна криптовалюти; якщо ціна невідома, нереалізований PNL нульовий.
+     * @return реалізований і нереалізований PNL.
+     */
+    SymbolPnl pnl(double price) {
+        BigDecimal unrealized = price > 0
+            ? BigDecimal.valueOf(price).multiply(openAmount).subtract(openCost)
+            : BigDecimal.ZERO;
+        return new SymbolPnl(realized.setScale(SCALE, RoundingMode.HALF_UP),
+            unrealized.setScale(SCALE, RoundingMode.HALF_UP));
+    }
+
+    private void apply(LotTrade trade) {
+        switch (trade.type()) {
+            case BUY, TRANSFER_DEPOSIT -> open(trade.amount(), trade.value().add(trade.fees()));
+            case SELL -> realized = realized.add(trade.value()).subtract(trade.fees())
+                .subtract(close(trade.amount()));
+            case TRANSFER_WITHDRAWAL -> {
+                // Виведення не є продажем: собівартість лотів списується без прибутку
+                close(trade.amount());
+                realized = realized.subtract(trade.fees());
+            }
+        }
+    }
+
+    private void open(BigDecimal amount, BigDecimal cost) {
+        if (method != CostBasisMethod.AVERAGE_COST) {
+            lots.addLast(new Lot(amount, cost));
+        }
+        openAmount = openAmount.add(amount);
+        openCost = openCost.add(cost);
+    }
+
+    /**
+     * Списує лоти на вказану кількість.
+     *
+     * @param amount кількість криптовалюти.
+     * @return собівартість списаних лотів.
+     */
+    private BigDecimal close(BigDecimal amount) {
+        BigDecimal taken = amount.min(openAmount);
+        if (taken.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal cost = method == CostBasisMethod.AVERAGE_COST
+            ? proportionalCost(openCost, openAmount, taken)
+            : closeLots(taken);
+        openAmount = openAmount.subtract(taken);
+        openCost = openCost.subtract(cost);
+        return cost;
+    }
+
+    private BigDecimal closeLots(BigDecimal amount) {
+        BigDecimal remaining = amount;
+        BigDecimal cost = BigDecimal.ZERO;
+        while (remaining.signum() > 0 && !lots.isEmpty()) {
+            Lot lot = method == CostBasisMethod.FIFO ? lots.pollFirst() : lots.pollLast();
+            if (lot.amount().compareTo(remaining) <= 0) {
+                cost = cost.add(lot.cost());
+                remaining = remaining.subtract(lot.amount());
+            } else {
+                BigDecimal part = proportionalCost(lot.cost(), lot.amount(), remaining);
+                Lot rest = new Lot(lot.amount().subtract(remaining), lot.cost().subtract(part));
+                if (method == CostBasisMethod.FIFO) {
+                    lots.addFirst(rest);
+                } else {
+                    lots.addLast(rest);
+                }
+                cost = cost.add(part);
+                remaining = BigDecimal.ZERO;
+            }
+        }
+        return cost;
+    }
+
+    private static BigDecimal proportionalCost(BigDecimal cost, BigDecimal amount,
+        BigDecimal taken) {
+        if (taken.compareTo(amount) >= 0) {
+            return cost;
+        }
+        return cost.multiply(taken).divide(amount, MathContext.DECIMAL128);
+    }
+
+    private void checkpointIfDue(int tradeCount) {
+        int last = checkpoints.isEmpty()
+            ? 0 : checkpoints.get(checkpoints.size() - 1).tradeCount();
+        if (tradeCount - last >= CHECKPOINT_INTERVAL) {
+            checkpoints.add(new Checkpoint(tradeCount, List.copyOf(lots), openAmount, openCost,
+                realized));
+        }
+    }
+
+    /**
+     * Відтворює книгу з останньої контрольної точки, що не зачіпає транзакцію з вказаним
+     * індексом.
+     *
+     * @param index індекс першої зміненої транзакції.
+     */
+    private void replayFrom(int index) {
+        while (!checkpoints.isEmpty()
+            && checkpoints.get(checkpoints.size() - 1).tradeCount() > index) {
+            checkpoints.remove(checkpoints.size() - 1);
+        }
+        lots.clear();
+        int from = 0;
+        if (checkpoints.isEmpty()) {
+            openAmount = BigDecimal.ZERO;
+            openCost = BigDecimal.ZERO;
+            realized = BigDecimal.ZERO;
+        } else {
+            Checkpoint checkpoint = checkpoints.get(checkpoints.size() - 1);
+            lots.addAll(checkpoint.lots());
+            openAmount = checkpoint.openAmount();
+            openCost = checkpoint.openCost();
+            realized = checkpoint.realized();
+            from = checkpoint.tradeCount();
+        }
+        for (int i = from; i < trades.size(); i++) {
+            apply(trades.get(i));
+            checkpointIfDue(i + 1);
+        }
+    }
+
+    /**
+     * Відкритий лот.
+     *
+     * @param amount кількість криптовалюти, що залишилася в лоті.
+     * @param cost   собівартість цієї кількості разом з комісіями.
+     */
+    private record Lot(BigDecimal amount, BigDecimal cost) {
+
+    }
+
+    /**
+     * Стан книги після перших {@code tradeCount} транзакцій.
+     *
+     * @param tradeCount кількість врахованих транзакцій.
+     * @param lots       відкриті лоти.
+     * @param openAmount кількість криптовалюти у відкритих лотах.
+     * @param openCost   собівартість відкритих лотів.
+     * @param realized   реалізований PNL.
+     */
+    private record Checkpoint(int tradeCount, List<Lot> lots, BigDecimal openAmount,
+                              BigDecimal openCost, BigDecimal realized) {
+
+    }
+}
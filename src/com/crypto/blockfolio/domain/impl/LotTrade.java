@@ -0,0 +1,47 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Незмінний стан транзакції, потрібний для обліку лотів. Як і {@link LedgerEntry}, знімок
+ * дозволяє відмінити вплив транзакції після того, як сам об'єкт транзакції змінено на місці.
+ *
+ * @param id        ідентифікатор транзакції.
+ * @param createdAt час створення транзакції; визначає порядок списання лотів.
+ * @param symbol    символ криптовалюти.
+ * @param type      тип транзакції.
+ * @param amount    кількість криптовалюти.
+ * @param value     вартість транзакції: ціна купівлі або виручка від продажу.
+ * @param fees      комісія.
+ */
+record LotTrade(UUID id, LocalDateTime createdAt, String symbol, TransactionType type,
+                BigDecimal amount, BigDecimal value, BigDecimal fees) {
+
+    /**
+     * Хронологічний порядок транзакцій; транзакції з однаковим часом упорядковуються за
+     * ідентифікатором, щоб порядок був повним.
+     */
+    static final Comparator<LotTrade> CHRONOLOGICAL = Comparator
+        .comparing(LotTrade::createdAt)
+        .thenComparing(LotTrade::id);
+
+    static boolean isApplicable(Transaction transaction) {
+        return LedgerEntry.isApplicable(transaction)
+            && transaction.getAmount().signum() > 0
+            && transaction.getCosts() != null
+            && transaction.getFees() != null;
+    }
+
+    static LotTrade of(Transaction transaction) {
+        LocalDateTime createdAt = transaction.getCreatedAt() != null
+            ? transaction.getCreatedAt() : LocalDateTime.MIN;
+        return new LotTrade(transaction.getId(), createdAt,
+            transaction.getCryptocurrency().getSymbol(), transaction.getTransactionType(),
+            transaction.getAmount(), transaction.getCosts(), transaction.getFees());
+    }
+}
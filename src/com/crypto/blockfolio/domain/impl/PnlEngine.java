@@ -0,0 +1,65 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.domain.dto.CostBasisMethod;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl.SymbolPnl;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Обчислює PNL портфеля за один прохід. Транзакції портфеля отримуються одним запитом за
+ * індексом, групуються за символом, а ціна кожної криптовалюти читається один раз з одного
+ * знімка цін.
+ *
+ * <p>Транзакції кожного символу застосовуються у хронологічному порядку до книги лотів за
+ * середньою собівартістю. Купівлі та поповнення збільшують утримувану кількість, продажі та
+ * виведення зменшують її, списуючи пропорційну частку собівартості. Нереалізований PNL —
+ * вартість утримуваної кількості за поточною ціною мінус її собівартість, реалізований — виручка
+ * від продажів мінус собівартість проданого та комісії. Для кожного символу виконується одне
+ * множення на ціну замість множення для кожної транзакції.
+ */
+final class PnlEngine {
+
+    /**
+     * Репозиторій, з якого читаються транзакції портфеля.
+     */
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Створює обчислювач PNL.
+     *
+     * @param transactionRepository репозиторій транзакцій.
+     */
+    PnlEngine(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Обчислює PNL портфеля за транзакціями з його списку транзакцій.
+     *
+     * @param portfolio портфель.
+     * @param prices    знімок цін, за яким оцінюються утримувані кількості.
+     * @return PNL за символами та загальний PNL.
+     */
+    PortfolioPnl calculate(Portfolio portfolio, PriceSnapshot prices) {
+        Map<String, LotBook> books = new HashMap<>();
+        PortfolioTransactions.of(transactionRepository, portfolio).stream()
+            .filter(LotTrade::isApplicable)
+            .map(LotTrade::of)
+            .sorted(LotTrade.CHRONOLOGICAL)
+            .forEach(trade -> books.computeIfAbsent(trade.symbol(),
+                symbol -> new LotBook(CostBasisMethod.AVERAGE_COST)).add(trade));
+
+        Map<String, SymbolPnl> bySymbol = new HashMap<>();
+        SymbolPnl total = SymbolPnl.ZERO;
+        for (Map.Entry<String, LotBook> entry : books.entrySet()) {
+            SymbolPnl pnl = entry.getValue().pnl(prices.getPrice(entry.getKey()));
+            bySymbol.put(entry.getKey(), pnl);
+            total = total.plus(pnl);
+        }
+        return new PortfolioPnl(bySymbol, total, prices.getVersion());
+    }
+}
@@ -0,0 +1,83 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.domain.dto.CostBasisMethod;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl.SymbolPnl;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Облік лотів портфеля: книги лотів для кожної криптовалюти та кожного методу собівартості.
+ * Книги оновлюються разом із журналом портфеля під час додавання, редагування та видалення
+ * транзакцій, тому PNL за будь-яким методом читається без перерахунку історії.
+ *
+ * <p>Методи класу синхронізовані на екземплярі.
+ */
+final class PortfolioCostBasis {
+
+    private final Map<UUID, LotTrade> trades = new HashMap<>();
+    private final Map<String, Map<CostBasisMethod, LotBook>> books = new HashMap<>();
+
+    PortfolioCostBasis(Collection<Transaction> transactions) {
+        transactions.stream()
+            .filter(LotTrade::isApplicable)
+            .map(LotTrade::of)
+            .sorted(LotTrade.CHRONOLOGICAL)
+            .forEach(this::add);
+    }
+
+    synchronized void recordAdded(Transaction transaction) {
+        if (LotTrade.isApplicable(transaction)) {
+            add(LotTrade.of(transaction));
+        }
+    }
+
+    synchronized void recordEdited(Transaction transaction) {
+        recordRemoved(transaction.getId());
+        recordAdded(transaction);
+    }
+
+    synchronized void recordRemoved(UUID transactionId) {
+        LotTrade trade = trades.remove(transactionId);
+        if (trade != null) {
+            books.get(trade.symbol()).values().forEach(book -> book.remove(trade));
+        }
+    }
+
+    /**
+     * Повертає PNL портфеля за вказаним методом собівартості.
+     *
+     * @param method метод собівартості.
+     * @param prices знімок цін криптовалют.
+     * @return PNL за символами та загальний PNL.
+     */
+    synchronized PortfolioPnl pnl(CostBasisMethod method, PriceSnapshot prices) {
+        Map<String, SymbolPnl> bySymbol = new HashMap<>();
+        SymbolPnl total = SymbolPnl.ZERO;
+        for (Map.Entry<String, Map<CostBasisMethod, LotBook>> entry : books.entrySet()) {
+            SymbolPnl pnl = entry.getValue().get(method)
+                .pnl(prices.getPrice(entry.getKey()));
+            bySymbol.put(entry.getKey(), pnl);
+            total = total.plus(pnl);
+        }
+        return new PortfolioPnl(bySymbol, total, prices.getVersion());
+    }
+
+    private void add(LotTrade trade) {
+        if (trades.putIfAbsent(trade.id(), trade) != null) {
+            throw new IllegalArgumentException("Транзакція вже врахована у книзі лотів.");
+        }
+        books.computeIfAbsent(trade.symbol(), symbol -> {
+            Map<CostBasisMethod, LotBook> symbolBooks = new EnumMap<>(CostBasisMethod.class);
+            for (CostBasisMethod method : CostBasisMethod.values()) {
+                symbolBooks.put(method, new LotBook(method));
+            }
+            return symbolBooks;
+        }).values().forEach(book -> book.add(trade));
+    }
+}
@@ -0,0 +1,270 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.domain.impl.LedgerEvent.Kind;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Журнал змін портфеля, що лише дописується. Кожне додавання, редагування чи видалення
+ * транзакції, а також додавання і видалення криптовалюти з портфеля стає подією, а баланси
+ * портфеля є проєкцією цих подій: застосування події змінює лише баланси її символів, тому
+ * читання балансу — це звернення до мапи.
+ *
+ * <p>Початковий стан журналу береться зі збережених балансів і транзакцій портфеля. Кожні
+ * {@link #SNAPSHOT_INTERVAL} подій журнал робить знімок проєкції і відкидає події до нього, тому
+ * журнал зберігає не більше {@link #SNAPSHOT_INTERVAL} подій, а {@link #rebuild()} відтворює
+ * лише події після останнього знімка.
+ *
+ * <p>Методи класу синхронізовані на екземплярі журналу.
+ */
+final class PortfolioLedger {
+
+    /**
+     * Кількість подій між знімками проєкції.
+     */
+    static final int SNAPSHOT_INTERVAL = 256;
+
+    private final List<LedgerEvent> events = new ArrayList<>();
+    private final Map<String, BigDecimal> balances;
+    private final Map<UUID, LedgerEntry> entries;
+    private Snapshot snapshot;
+    private long sequence;
+
+    PortfolioLedger(Map<String, BigDecimal> openingBalances,
+        Collection<Transaction> transactions) {
+        this.balances = new HashMap<>();
+        openingBalances.forEach((symbol, amount) -> {
+            if (amount != null) {
+                balances.put(symbol, amount);
+            }
+        });
+        this.entries = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (LedgerEntry.isApplicable(transaction)) {
+                entries.put(transaction.getId(), LedgerEntry.of(transaction));
+            }
+        }
+        this.snapshot = new Snapshot(0, Map.copyOf(balances), Map.copyOf(entries));
+    }
+
+    synchronized LedgerEvent recordAdded(Transaction transaction) {
+        if (entries.containsKey(transaction.getId())) {
+            throw new IllegalArgumentException("Транзакція вже існує в портфелі.");
+        }
+        return append(Kind.ADDED, transaction.getId(), null, LedgerEntry.of(transaction));
+    }
+
+    synchronized LedgerEvent recordEdited(Transaction transaction) {
+        LedgerEntry before = entries.get(transaction.getId());
+        if (before == null) {
+            throw new IllegalArgumentException("Транзакцію не знайдено у портфелі.");
+        }
+        return append(Kind.EDITED, transaction.getId(), before, LedgerEntry.of(transaction));
+    }
+
+    /**
+     * Записує видалення транзакції. Транзакція, якої немає у журналі, не впливає на баланси,
+     * але її видалення однаково потрапляє в журнал.
+     *
+     * @param transactionId ідентифікатор транзакції.
+     * @return записана подія.
+     */
+    synchronized LedgerEvent recordRemoved(UUID transactionId) {
+        return append(Kind.REMOVED, transactionId, entries.get(transactionId), null);
+    }
+
+    /**
+     * Записує додавання криптовалюти до портфеля з нульовим балансом.
+     *
+     * @param symbol символ криптовалюти.
+     * @return записана подія.
+     * @throws IllegalArgumentException якщо криптовалюта вже є у портфелі.
+     */
+    synchronized LedgerEvent recordHoldingAdded(String symbol) {
+        if (balances.containsKey(symbol)) {
+            throw new IllegalArgumentException("Криптовалюта вже є у портфелі.");
+        }
+        return append(new LedgerEvent(nextSequence(), Kind.HOLDING_ADDED, null, null, null,
+            symbol));
+    }
+
+    /**
+     * Записує видалення криптовалюти з портфеля разом з її балансом. Баланс є проєкцією
+     * транзакцій, тому криптовалюту з транзакціями у портфелі видалити не можна.
+     *
+     * @param symbol символ криптовалюти.
+     * @return записана подія.
+     * @throws IllegalArgumentException якщо криптовалюти немає у портфелі або портфель має її
+     *                                  транзакції.
+     */
+    synchronized LedgerEvent recordHoldingRemoved(String symbol) {
+        if (!balances.containsKey(symbol)) {
+            throw new IllegalArgumentException("Криптовалюта відсутня у портфелі.");
+        }
+        for (LedgerEntry entry : entries.values()) {
+            if (entry.symbol().equals(symbol)) {
+                throw new IllegalArgumentException(
+                    "Спочатку видаліть транзакції цієї криптовалюти з портфеля.");
+            }
+        }
+        return append(new LedgerEvent(nextSequence(), Kind.HOLDING_REMOVED, null, null, null,
+            symbol));
+    }
+
+    synchronized BigDecimal balance(String symbol) {
+        return balances.getOrDefault(symbol, BigDecimal.ZERO);
+    }
+
+    /**
+     * Повертає баланс символу без урахування вказаної транзакції. Використовується для перевірки
+     * достатності коштів під час редагування транзакції.
+     *
+     * @param symbol        символ криптовалюти.
+     * @param transactionId ідентифікатор транзакції, вплив якої не враховується.
+     * @return баланс.
+     */
+    synchronized BigDecimal balanceWithout(String symbol, UUID transactionId) {
+        BigDecimal balance = balance(symbol);
+        LedgerEntry entry = entries.get(transactionId);
+        if (entry != null && entry.symbol().equals(symbol)) {
+            balance = balance.subtract(entry.signedAmount());
+        }
+        return balance;
+    }
+
+    synchronized Map<String, BigDecimal> balances() {
+        return new HashMap<>(balances);
+    }
+
+    /**
+     * Повертає номер останньої події журналу. Номер змінюється з кожною подією, тому його можна
+     * використовувати як версію балансів портфеля.
+     *
+     * @return номер останньої події або 0, якщо подій ще не було.
+     */
+    synchronized long version() {
+        return sequence;
+    }
+
+    /**
+     * Переносить баланси символів, яких торкнулася подія, у портфель. Інші баланси портфеля,
+     * зокрема відстежувані криптовалюти без транзакцій, не змінюються.
+     *
+     * @param portfolio портфель цього журналу.
+     * @param event     застосована подія.
+     */
+    synchronized void project(Portfolio portfolio, LedgerEvent event) {
+        if (event.kind() == Kind.HOLDING_ADDED) {
+            portfolio.getBalances().put(event.symbol(), balance(event.symbol()));
+        } else if (event.kind() == Kind.HOLDING_REMOVED) {
+            portfolio.getBalances().remove(event.symbol());
+        }
+        if (event.before() != null) {
+            portfolio.getBalances().put(event.before().symbol(), balance(event.before().symbol()));
+        }
+        if (event.after() != null) {
+            portfolio.getBalances().put(event.after().symbol(), balance(event.after().symbol()));
+        }
+    }
+
+    /**
+     * Порівнює баланси журналу з балансами, перерахованими з нуля за транзакціями портфеля.
+     *
+     * @param transactions транзакції портфеля.
+     * @return розбіжності за символами: баланс журналу мінус перерахований баланс; порожня мапа,
+     * якщо розбіжностей немає.
+     */
+    synchronized Map<String, BigDecimal> drift(Collection<Transaction> transactions) {
+        Map<String, BigDecimal> recomputed = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (LedgerEntry.isApplicable(transaction)) {
+                LedgerEntry entry = LedgerEntry.of(transaction);
+                recomputed.merge(entry.symbol(), entry.signedAmount(), BigDecimal::add);
+            }
+        }
+        Set<String> symbols = new HashSet<>(balances.keySet());
+        symbols.addAll(recomputed.keySet());
+        Map<String, BigDecimal> drift = new TreeMap<>();
+        for (String symbol : symbols) {
+            BigDecimal difference = balance(symbol)
+                .subtract(recomputed.getOrDefault(symbol, BigDecimal.ZERO));
+            if (difference.signum() != 0) {
+                drift.put(symbol, difference);
+            }
+        }
+        return drift;
+    }
+
+    /**
+     * Відтворює проєкцію з останнього знімка та подій після нього.
+     */
+    synchronized void rebuild() {
+        balances.clear();
+        balances.putAll(snapshot.balances());
+        entries.clear();
+        entries.putAll(snapshot.entries());
+        for (LedgerEvent event : events) {
+            apply(event);
+        }
+    }
+
+    private LedgerEvent append(Kind kind, UUID transactionId, LedgerEntry before,
+        LedgerEntry after) {
+        return append(new LedgerEvent(nextSequence(), kind, transactionId, before, after, null));
+    }
+
+    private long nextSequence() {
+        return sequence + 1;
+    }
+
+    private LedgerEvent append(LedgerEvent event) {
+        sequence = event.sequence();
+        events.add(event);
+        apply(event);
+        if (events.size() >= SNAPSHOT_INTERVAL) {
+            snapshot = new Snapshot(sequence, Map.copyOf(balances), Map.copyOf(entries));
+            events.clear();
+        }
+        return event;
+    }
+
+    private void apply(LedgerEvent event) {
+        if (event.kind() == Kind.HOLDING_ADDED) {
+            balances.put(event.symbol(), BigDecimal.ZERO);
+        } else if (event.kind() == Kind.HOLDING_REMOVED) {
+            balances.remove(event.symbol());
+        }
+        if (event.before() != null) {
+            balances.merge(event.before().symbol(), event.before().signedAmount().negate(),
+                BigDecimal::add);
+            entries.remove(event.transactionId());
+        }
+        if (event.after() != null) {
+            balances.merge(event.after().symbol(), event.after().signedAmount(),
+                BigDecimal::add);
+            entries.put(event.transactionId(), event.after());
+        }
+    }
+
+    /**
+     * Знімок проєкції журналу.
+     *
+     * @param sequence номер останньої події, врахованої у знімку.
+     * @param balances баланси криптовалют.
+     * @param entries  стан транзакцій портфеля.
+     */
+    private record Snapshot(long sequence, Map<String, BigDecimal> balances,
+                            Map<UUID, LedgerEntry> entries) {
+
+    }
+}
@@ -0,0 +1,73 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Журнали змін портфелів, спільні для сервісів портфелів і транзакцій. Журнал портфеля
+ * створюється під час першого звернення зі збережених балансів портфеля та транзакцій з його
+ * списку транзакцій.
+ *
+ * <p>Якщо встановлено системну властивість {@value #VERIFY_PROPERTY}, після кожної зміни балансів
+ * журнал звіряється з балансами, перерахованими з нуля, і розбіжності виводяться у потік
+ * помилок.
+ */
+final class PortfolioLedgers {
+
+    /**
+     * Назва системної властивості, що вмикає звірку балансів після кожної зміни.
+     */
+    static final String VERIFY_PROPERTY = "blockfolio.ledger.verify";
+
+    private final TransactionRepository transactionRepository;
+    private final Map<UUID, PortfolioLedger> ledgers = new ConcurrentHashMap<>();
+    private final boolean verifying;
+
+    PortfolioLedgers(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+        this.verifying = Boolean.getBoolean(VERIFY_PROPERTY);
+    }
+
+    PortfolioLedger forPortfolio(Portfolio portfolio) {
+        return ledgers.computeIfAbsent(portfolio.getId(), id -> new PortfolioLedger(
+            portfolio.getBalances(), PortfolioTransactions.of(transactionRepository, portfolio)));
+    }
+
+    /**
+     * Переносить баланси, змінені подією, у портфель і, якщо увімкнено звірку, перевіряє журнал.
+     *
+     * @param portfolio портфель.
+     * @param event     записана подія журналу портфеля.
+     */
+    void project(Portfolio portfolio, LedgerEvent event) {
+        forPortfolio(portfolio).project(portfolio, event);
+        if (verifying) {
+            Map<String, BigDecimal> drift = verify(portfolio);
+            if (!drift.isEmpty()) {
+                System.err.printf("Розбіжність балансів портфеля %s після події %d: %s%n",
+                    portfolio.getId(), event.sequence(), drift);
+            }
+        }
+    }
+
+    /**
+     * Відтворює проєкцію журналу з останнього знімка, перераховує баланси портфеля з нуля за його
+     * транзакціями та порівнює їх з журналом.
+     *
+     * @param portfolio портфель.
+     * @return розбіжності за символами; порожня мапа, якщо розбіжностей немає.
+     */
+    Map<String, BigDecimal> verify(Portfolio portfolio) {
+        PortfolioLedger ledger = forPortfolio(portfolio);
+        ledger.rebuild();
+        return ledger.drift(PortfolioTransactions.of(transactionRepository, portfolio));
+    }
+
+    void evict(UUID portfolioId) {
+        ledgers.remove(portfolioId);
+    }
+}
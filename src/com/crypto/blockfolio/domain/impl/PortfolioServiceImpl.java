@@ -1,8 +1,14 @@
 package com.crypto.blockfolio.domain.impl;
 
 import com.crypto.blockfolio.domain.contract.PortfolioService;
+import com.crypto.blockfolio.domain.dto.CostBasisMethod;
+import com.crypto.blockfolio.domain.dto.PerformancePeriod;
 import com.crypto.blockfolio.domain.dto.PortfolioAddDto;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl;
+import com.crypto.blockfolio.domain.dto.PortfolioReturn;
+import com.crypto.blockfolio.domain.dto.ValuationCacheStats;
 import com.crypto.blockfolio.domain.exception.EntityNotFoundException;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
 import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
 import com.crypto.blockfolio.persistence.entity.Portfolio;
 import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
@@ -10,9 +16,12 @@ import com.crypto.blockfolio.persistence.repository.contracts.PortfolioRepositor
 import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.Predicate;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
@@ -27,14 +36,28 @@ class PortfolioServiceImpl extends GenericService<Portfolio, UUID> implements
     private final PortfolioRepository portfolioRepository;
     private final CryptocurrencyRepository cryptocurrencyRepository;
     private final TransactionRepository transactionRepository;
+    private final PortfolioLedgers ledgers;
+    private final CostBasisBooks costBasisBooks;
+    private final PriceSnapshots priceSnapshots;
+    private final PnlEngine pnlEngine;
+    private final ValuationCache valuationCache;
+    private final PortfolioValueHistories valueHistories;
 
     public PortfolioServiceImpl(PortfolioRepository portfolioRepository,
         CryptocurrencyRepository cryptocurrencyRepository,
-        TransactionRepository transactionRepository) {
+        TransactionRepository transactionRepository, PortfolioLedgers ledgers,
+        CostBasisBooks costBasisBooks, PriceSnapshots priceSnapshots,
+        PortfolioValueHistories valueHistories) {
         super(portfolioRepository);
         this.portfolioRepository = portfolioRepository;
         this.transactionRepository = transactionRepository;
         this.cryptocurrencyRepository = cryptocurrencyRepository;
+        this.ledgers = ledgers;
+        this.costBasisBooks = costBasisBooks;
+        this.priceSnapshots = priceSnapshots;
+        this.pnlEngine = new PnlEngine(transactionRepository);
+        this.valuationCache = new ValuationCache();
+        this.valueHistories = valueHistories;
     }
 
     @Override
@@ -51,16 +74,21 @@ class PortfolioServiceImpl extends GenericService<Portfolio, UUID> implements
     @Override
     public boolean removeTransactionFromPortfolio(UUID portfolioId, UUID transactionId) {
         Portfolio portfolio = getPortfolioById(portfolioId);
-        boolean removed = portfolio.removeTransaction(transactionId, transactionRepository,
-            cryptocurrencyRepository);
-
-        if (removed) {
-            // Зберігаємо оновлений портфель у репозиторії
+        PortfolioLedger ledger = ledgers.forPortfolio(portfolio);
+        PortfolioCostBasis costBasis = costBasisBooks.forPortfolio(portfolio);
+
+        if (portfolio.getTransactionsList().remove(transactionId)) {
+            // Відміняємо вплив транзакції на баланс і зберігаємо портфель у репозиторії
+            LedgerEvent event = ledger.recordRemoved(transactionId);
+            ledgers.project(portfolio, event);
+            valueHistories.record(portfolio, event);
+            costBasis.recordRemoved(transactionId);
+            portfolio.calculateTotalValue(priceSnapshots.current());
             portfolioRepository.update(portfolio);
             return true;
         }
 
-        return false; // Транзакція не знайдена або не видалена
+        return false; // Транзакція не знайдена у портфелі
     }
 
     public Portfolio getPortfolioById(UUID id) {
@@ -78,20 +106,39 @@ class PortfolioServiceImpl extends GenericService<Portfolio, UUID> implements
     public void deletePortfolio(UUID id) {
         Portfolio portfolio = getPortfolioById(id);
         portfolioRepository.remove(portfolio);
+        ledgers.evict(id);
+        costBasisBooks.evict(id);
+        valuationCache.invalidate(id);
+        valueHistories.evict(id);
     }
 
     @Override
     public void addCryptocurrencyToPortfolio(UUID portfolioId, Cryptocurrency cryptocurrency) {
         Portfolio portfolio = getPortfolioById(portfolioId);
-        portfolio.addCryptocurrency(cryptocurrency);
-        portfolioRepository.add(portfolio);
+        requireValid(cryptocurrency);
+        applyHoldingEvent(portfolio,
+            ledgers.forPortfolio(portfolio).recordHoldingAdded(cryptocurrency.getSymbol()));
     }
 
     @Override
     public void removeCryptocurrencyFromPortfolio(UUID portfolioId, Cryptocurrency cryptocurrency) {
         Portfolio portfolio = getPortfolioById(portfolioId);
-        portfolio.removeCryptocurrency(cryptocurrency);
-        portfolioRepository.add(portfolio);
+        requireValid(cryptocurrency);
+        applyHoldingEvent(portfolio,
+            ledgers.forPortfolio(portfolio).recordHoldingRemoved(cryptocurrency.getSymbol()));
+    }
+
+    private static void requireValid(Cryptocurrency cryptocurrency) {
+        if (cryptocurrency == null || !cryptocurrency.isValid()) {
+            throw new IllegalArgumentException("Криптовалюта не є валідною.");
+        }
+    }
+
+    private void applyHoldingEvent(Portfolio portfolio, LedgerEvent event) {
+        ledgers.project(portfolio, event);
+        valueHistories.record(portfolio, event);
+        calculateTotalValue(portfolio);
+        portfolioRepository.update(portfolio);
     }
 
     @Override
@@ -132,9 +179,45 @@ class PortfolioServiceImpl extends GenericService<Portfolio, UUID> implements
         }
     }
 
+    @Override
+    public Map<String, BigDecimal> verifyBalances(UUID portfolioId) {
+        return ledgers.verify(getPortfolioById(portfolioId));
+    }
+
+    @Override
+    public PortfolioPnl calculatePnl(UUID portfolioId) {
+        return pnlEngine.calculate(getPortfolioById(portfolioId), priceSnapshots.current());
+    }
+
+    @Override
+    public PortfolioPnl calculatePnl(UUID portfolioId, CostBasisMethod method) {
+        Portfolio portfolio = getPortfolioById(portfolioId);
+        return costBasisBooks.forPortfolio(portfolio)
+            .pnl(method, priceSnapshots.current());
+    }
+
     @Override
     public void calculateTotalValue(Portfolio portfolio) {
-        portfolio.calculateTotalValue(cryptocurrencyRepository);
+        PriceSnapshot prices = priceSnapshots.current();
+        long balancesVersion = ledgers.forPortfolio(portfolio).version();
+        BigDecimal totalValue = valuationCache.get(portfolio.getId(), balancesVersion,
+            prices.getVersion(), () -> prices.valueOf(portfolio.getBalances()));
+        portfolio.setTotalValue(totalValue, prices.getVersion());
+    }
+
+    @Override
+    public BigDecimal getValueOn(UUID portfolioId, LocalDate date) {
+        return valueHistories.valueOn(getPortfolioById(portfolioId), date);
+    }
+
+    @Override
+    public PortfolioReturn calculateReturn(UUID portfolioId, PerformancePeriod period) {
+        return valueHistories.calculateReturn(getPortfolioById(portfolioId), period);
+    }
+
+    @Override
+    public ValuationCacheStats getValuationCacheStats() {
+        return valuationCache.stats();
     }
 
 }
@@ -0,0 +1,35 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Вибірка транзакцій, що належать портфелю. Репозиторій може містити транзакції з ідентифікатором
+ * портфеля, яких немає у списку транзакцій самого портфеля, наприклад після невдалого додавання.
+ * Баланси портфеля такі транзакції не враховують, тому журнали, облік лотів, PNL та ряди вартості
+ * мають будуватися лише з транзакцій зі списку портфеля.
+ */
+final class PortfolioTransactions {
+
+    private PortfolioTransactions() {
+    }
+
+    /**
+     * Повертає транзакції портфеля, що є в його списку транзакцій.
+     *
+     * @param transactionRepository репозиторій транзакцій.
+     * @param portfolio             портфель.
+     * @return транзакції портфеля у порядку репозиторію.
+     */
+    static List<Transaction> of(TransactionRepository transactionRepository,
+        Portfolio portfolio) {
+        Set<UUID> listed = portfolio.getTransactionsList();
+        return transactionRepository.findByPortfolioId(portfolio.getId()).stream()
+            .filter(transaction -> listed.contains(transaction.getId()))
+            .toList();
+    }
+}
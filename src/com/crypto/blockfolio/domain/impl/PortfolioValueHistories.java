@@ -0,0 +1,134 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.domain.dto.PerformancePeriod;
+import com.crypto.blockfolio.domain.dto.PortfolioReturn;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.repository.contracts.PriceHistoryRepository;
+import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Щоденні ряди вартості портфелів, спільні для сервісів портфелів і транзакцій. Ряд портфеля
+ * будується під час першого запиту, після чого до нього застосовуються лише події журналу
+ * портфеля та нові знімки цін. Якщо баланси портфеля змінено в обхід журналу, ряд будується
+ * заново.
+ */
+final class PortfolioValueHistories {
+
+    /**
+     * Репозиторій, з якого беруться транзакції портфеля під час побудови ряду.
+     */
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Історія цін для минулих днів ряду.
+     */
+    private final PriceHistoryRepository priceHistoryRepository;
+
+    /**
+     * Джерело поточного знімка цін.
+     */
+    private final PriceSnapshots priceSnapshots;
+
+    /**
+     * Побудовані ряди за ідентифікаторами портфелів.
+     */
+    private final Map<UUID, PortfolioValueSeries> histories = new ConcurrentHashMap<>();
+
+    PortfolioValueHistories(TransactionRepository transactionRepository,
+        PriceHistoryRepository priceHistoryRepository, PriceSnapshots priceSnapshots) {
+        this.transactionRepository = transactionRepository;
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.priceSnapshots = priceSnapshots;
+    }
+
+    /**
+     * Застосовує подію журналу до ряду портфеля, якщо ряд уже побудовано. Якщо транзакція
+     * створена раніше початку ряду або баланси портфеля після події не збігаються з балансами
+     * ряду, ряд відкидається і буде побудований заново під час наступного запиту.
+     *
+     * @param portfolio портфель.
+     * @param event     записана подія журналу портфеля.
+     */
+    void record(Portfolio portfolio, LedgerEvent event) {
+        PortfolioValueSeries series = histories.get(portfolio.getId());
+        if (series == null) {
+            return;
+        }
+        PriceSnapshot snapshot = priceSnapshots.current();
+        series.sync(today().toEpochDay(), snapshot);
+        if (!series.apply(event, snapshot) || !series.reflects(portfolio.getBalances())) {
+            histories.remove(portfolio.getId(), series);
+        }
+    }
+
+    /**
+     * Повертає вартість портфеля на кінець дня за UTC.
+     *
+     * @param portfolio портфель.
+     * @param date      день.
+     * @return вартість; 0 для днів до першої транзакції портфеля, поточна вартість для майбутніх
+     * днів.
+     */
+    BigDecimal valueOn(Portfolio portfolio, LocalDate date) {
+        return toMoney(forPortfolio(portfolio, today()).valueOn(date.toEpochDay()));
+    }
+
+    /**
+     * Обчислює дохідність портфеля за період, що закінчується поточним днем. Початок періоду не
+     * може бути раніше першого дня ряду.
+     *
+     * @param portfolio портфель.
+     * @param period    період.
+     * @return вартість на початок і кінець періоду.
+     */
+    PortfolioReturn calculateReturn(Portfolio portfolio, PerformancePeriod period) {
+        LocalDate today = today();
+        PortfolioValueSeries series = forPortfolio(portfolio, today);
+        LocalDate start = LocalDate.ofEpochDay(series.startDay());
+        LocalDate from = switch (period) {
+            case ONE_DAY -> today.minusDays(1);
+            case SEVEN_DAYS -> today.minusDays(7);
+            case THIRTY_DAYS -> today.minusDays(30);
+            case YEAR_TO_DATE -> today.withDayOfYear(1).minusDays(1);
+            case ALL_TIME -> start;
+        };
+        if (from.isBefore(start)) {
+            from = start;
+        }
+        return new PortfolioReturn(period, from, today,
+            toMoney(series.valueOn(from.toEpochDay())),
+            toMoney(series.valueOn(today.toEpochDay())));
+    }
+
+    void evict(UUID portfolioId) {
+        histories.remove(portfolioId);
+    }
+
+    private PortfolioValueSeries forPortfolio(Portfolio portfolio, LocalDate today) {
+        long day = today.toEpochDay();
+        PortfolioValueSeries series = histories.compute(portfolio.getId(),
+            (id, current) -> current != null && current.reflects(portfolio.getBalances())
+                ? current
+                : PortfolioValueSeries.build(portfolio.getBalances(),
+                    PortfolioTransactions.of(transactionRepository, portfolio), day,
+                    priceSnapshots.current(), priceHistoryRepository));
+        series.sync(day, priceSnapshots.current());
+        return series;
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static BigDecimal toMoney(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
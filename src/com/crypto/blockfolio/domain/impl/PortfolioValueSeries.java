@@ -0,0 +1,369 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.persistence.OhlcSeries;
+import com.crypto.blockfolio.persistence.PriceResolution;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.repository.contracts.PriceHistoryRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Щоденний ряд вартості портфеля. Дні рахуються за UTC, як і денні свічки історії цін. Для кожної
+ * криптовалюти ряд зберігає баланс і ціну закриття на кінець кожного дня, а вартість дня є сумою
+ * їх добутків.
+ *
+ * <p>Ряд будується один раз з балансів портфеля та часу створення його транзакцій: початковий
+ * баланс криптовалюти дорівнює поточному балансу мінус сума всіх її транзакцій, тому баланси,
+ * внесені без транзакцій, враховуються з першого дня ряду. Далі оновлюється лише хвіст ряду:
+ * транзакція змінює баланси та вартість від дня свого створення, а нові ціни перераховують дні,
+ * починаючи з останнього синхронізованого.
+ *
+ * <p>Ряд пам'ятає баланси портфеля, які він відображає, щоб виявити зміни балансів в обхід
+ * журналу портфеля; такий ряд потрібно побудувати заново.
+ */
+final class PortfolioValueSeries {
+
+    /**
+     * Тривалість дня в мілісекундах.
+     */
+    private static final long DAY_MILLIS = PriceResolution.DAY.getMillis();
+
+    /**
+     * Найменша місткість масивів ряду в днях.
+     */
+    private static final int MIN_CAPACITY = 32;
+
+    /**
+     * Історія цін для минулих днів.
+     */
+    private final PriceHistoryRepository priceHistoryRepository;
+
+    /**
+     * Перший день ряду (номер дня від епохи за UTC).
+     */
+    private final long startDay;
+
+    /**
+     * Баланси та ціни за днями для кожної криптовалюти ряду.
+     */
+    private final Map<String, Column> columns = new HashMap<>();
+
+    /**
+     * Баланси портфеля на кінець останнього дня ряду.
+     */
+    private final Map<String, BigDecimal> balances = new HashMap<>();
+
+    /**
+     * Кількість днів у ряду.
+     */
+    private int days;
+
+    /**
+     * Вартість портфеля за днями; місткість масиву може перевищувати кількість днів.
+     */
+    private double[] values;
+
+    /**
+     * Версія знімка цін, з яким ряд синхронізовано востаннє.
+     */
+    private long priceVersion;
+
+    private PortfolioValueSeries(PriceHistoryRepository priceHistoryRepository, long startDay,
+        long today) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.startDay = startDay;
+        this.days = (int) (today - startDay + 1);
+        this.values = new double[capacityFor(days)];
+    }
+
+    /**
+     * Будує ряд від дня першої транзакції портфеля до поточного дня.
+     *
+     * @param balances               поточні баланси портфеля.
+     * @param transactions           транзакції портфеля.
+     * @param today                  поточний день (номер дня від епохи за UTC).
+     * @param snapshot               поточний знімок цін; його ціни використовуються для
+     *                               поточного дня.
+     * @param priceHistoryRepository історія цін для попередніх днів.
+     * @return побудований ряд.
+     */
+    static PortfolioValueSeries build(Map<String, BigDecimal> balances,
+        Collection<Transaction> transactions, long today, PriceSnapshot snapshot,
+        PriceHistoryRepository priceHistoryRepository) {
+        List<LedgerEntry> entries = transactions.stream()
+            .filter(LedgerEntry::isApplicable)
+            .map(LedgerEntry::of)
+            .toList();
+
+        long startDay = today;
+        for (LedgerEntry entry : entries) {
+            if (entry.createdAt() != null) {
+                startDay = Math.min(startDay, dayOf(entry.createdAt()));
+            }
+        }
+
+        PortfolioValueSeries series = new PortfolioValueSeries(priceHistoryRepository,
+            startDay, today);
+        Map<String, BigDecimal> opening = new HashMap<>(balances);
+        Map<String, BigDecimal[]> deltas = new HashMap<>();
+        for (LedgerEntry entry : entries) {
+            BigDecimal signed = entry.signedAmount();
+            opening.merge(entry.symbol(), signed.negate(), BigDecimal::add);
+            BigDecimal[] symbolDeltas = deltas.computeIfAbsent(entry.symbol(),
+                symbol -> new BigDecimal[series.days]);
+            int index = series.indexOf(entry.createdAt());
+            symbolDeltas[index] = symbolDeltas[index] == null
+                ? signed : symbolDeltas[index].add(signed);
+        }
+
+        for (Map.Entry<String, BigDecimal> symbolOpening : opening.entrySet()) {
+            String symbol = symbolOpening.getKey();
+            Column column = series.newColumn(symbol, snapshot);
+            BigDecimal[] symbolDeltas = deltas.get(symbol);
+            BigDecimal balance = symbolOpening.getValue() != null
+                ? symbolOpening.getValue() : BigDecimal.ZERO;
+            for (int day = 0; day < series.days; day++) {
+                if (symbolDeltas != null && symbolDeltas[day] != null) {
+                    balance = balance.add(symbolDeltas[day]);
+                }
+                column.balances[day] = balance.doubleValue();
+            }
+        }
+        series.recomputeValues(0);
+        series.priceVersion = snapshot.getVersion();
+        series.balances.putAll(balances);
+        return series;
+    }
+
+    /**
+     * Переводить час створення транзакції, заданий у системному часовому поясі, у номер дня від
+     * епохи за UTC.
+     */
+    static long dayOf(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault())
+            .withZoneSameInstant(ZoneOffset.UTC)
+            .toLocalDate()
+            .toEpochDay();
+    }
+
+    /**
+     * Доводить ряд до поточного дня та враховує ціни нового знімка. Перераховуються лише дні,
+     * починаючи з останнього синхронізованого: його ціна зі знімка замінюється ціною закриття з
+     * історії, якщо день уже минув.
+     *
+     * @param today    поточний день (номер дня від епохи за UTC).
+     * @param snapshot поточний знімок цін.
+     */
+    synchronized void sync(long today, PriceSnapshot snapshot) {
+        long lastDay = lastDay();
+        if (today <= lastDay && snapshot.getVersion() == priceVersion) {
+            return;
+        }
+        int from = days - 1;
+        if (today > lastDay) {
+            extendTo(today);
+        }
+        for (Column column : columns.values()) {
+            loadPrices(column, from, snapshot);
+        }
+        recomputeValues(from);
+        priceVersion = snapshot.getVersion();
+    }
+
+    /**
+     * Застосовує подію журналу портфеля до хвоста ряду, починаючи з дня створення транзакції.
+     *
+     * @param event    подія журналу портфеля.
+     * @param snapshot поточний знімок цін для криптовалют, яких ще немає в ряду.
+     * @return {@code false}, якщо транзакція створена раніше першого дня ряду і ряд потрібно
+     * побудувати заново; у цьому разі ряд не змінюється.
+     */
+    synchronized boolean apply(LedgerEvent event, PriceSnapshot snapshot) {
+        if (!covers(event.before()) || !covers(event.after())) {
+            return false;
+        }
+        shift(event.before(), -1, snapshot);
+        shift(event.after(), 1, snapshot);
+        return true;
+    }
+
+    /**
+     * Перевіряє, чи відображає ряд вказані баланси портфеля. Баланси порівнюються за значенням,
+     * без урахування масштабу; баланс {@code null} вважається нульовим.
+     *
+     * @param portfolioBalances поточні баланси портфеля.
+     * @return {@code false}, якщо баланси змінено в обхід журналу і ряд потрібно побудувати
+     * заново.
+     */
+    synchronized boolean reflects(Map<String, BigDecimal> portfolioBalances) {
+        if (!balances.keySet().equals(portfolioBalances.keySet())) {
+            return false;
+        }
+        for (Map.Entry<String, BigDecimal> entry : balances.entrySet()) {
+            if (valueOf(entry.getValue()).compareTo(
+                valueOf(portfolioBalances.get(entry.getKey()))) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Повертає вартість портфеля на кінець дня.
+     *
+     * @param day номер дня від епохи за UTC.
+     * @return вартість; 0 для днів до початку ряду, вартість останнього дня для пізніших днів.
+     */
+    synchronized double valueOn(long day) {
+        if (day < startDay) {
+            return 0.0;
+        }
+        return values[(int) (Math.min(day, lastDay()) - startDay)];
+    }
+
+    long startDay() {
+        return startDay;
+    }
+
+    private long lastDay() {
+        return startDay + days - 1;
+    }
+
+    private boolean covers(LedgerEntry entry) {
+        return entry == null || entry.createdAt() == null || dayOf(entry.createdAt()) >= startDay;
+    }
+
+    /**
+     * Повертає індекс дня створення транзакції в ряду. Транзакції без часу створення належать
+     * першому дню, а транзакції з майбутнім часом — останньому.
+     */
+    private int indexOf(LocalDateTime createdAt) {
+        if (createdAt == null) {
+            return 0;
+        }
+        return (int) (Math.min(dayOf(createdAt), lastDay()) - startDay);
+    }
+
+    private void shift(LedgerEntry entry, int sign, PriceSnapshot snapshot) {
+        if (entry == null) {
+            return;
+        }
+        Column column = columns.get(entry.symbol());
+        if (column == null) {
+            column = newColumn(entry.symbol(), snapshot);
+        }
+        BigDecimal signed = sign < 0 ? entry.signedAmount().negate() : entry.signedAmount();
+        balances.merge(entry.symbol(), signed, (balance, amount) -> valueOf(balance).add(amount));
+        double delta = sign * entry.signedAmount().doubleValue();
+        for (int day = indexOf(entry.createdAt()); day < days; day++) {
+            column.balances[day] += delta;
+            values[day] += delta * column.prices[day];
+        }
+    }
+
+    private Column newColumn(String symbol, PriceSnapshot snapshot) {
+        Column column = new Column(symbol, values.length);
+        loadPrices(column, 0, snapshot);
+        columns.put(symbol, column);
+        return column;
+    }
+
+    /**
+     * Заповнює ціни криптовалюти від вказаного дня цінами закриття денних свічок. Дні без свічок
+     * отримують ціну попереднього дня, дні до першої свічки — ціну першої свічки, а поточний день
+     * — ціну зі знімка. Якщо історії немає, для всіх днів використовується ціна зі знімка.
+     */
+    private void loadPrices(Column column, int from, PriceSnapshot snapshot) {
+        OhlcSeries candles = priceHistoryRepository.findOhlc(column.symbol,
+            (startDay + from) * DAY_MILLIS, (lastDay() + 1) * DAY_MILLIS, PriceResolution.DAY);
+        double price;
+        if (from > 0) {
+            price = column.prices[from - 1];
+        } else if (candles.size() > 0) {
+            price = candles.getClose(0);
+        } else {
+            price = snapshot.getPrice(column.symbol);
+        }
+
+        int candle = 0;
+        for (int day = from; day < days; day++) {
+            long bucketEnd = (startDay + day + 1) * DAY_MILLIS;
+            while (candle < candles.size() && candles.getBucketStart(candle) < bucketEnd) {
+                price = candles.getClose(candle++);
+            }
+            column.prices[day] = price;
+        }
+        if (snapshot.contains(column.symbol)) {
+            column.prices[days - 1] = snapshot.getPrice(column.symbol);
+        }
+    }
+
+    private void recomputeValues(int from) {
+        Arrays.fill(values, from, days, 0.0);
+        for (Column column : columns.values()) {
+            for (int day = from; day < days; day++) {
+                values[day] += column.balances[day] * column.prices[day];
+            }
+        }
+    }
+
+    private void extendTo(long today) {
+        int previousDays = days;
+        days = (int) (today - startDay + 1);
+        if (days > values.length) {
+            int capacity = capacityFor(days);
+            values = Arrays.copyOf(values, capacity);
+            for (Column column : columns.values()) {
+                column.balances = Arrays.copyOf(column.balances, capacity);
+                column.prices = Arrays.copyOf(column.prices, capacity);
+            }
+        }
+        for (Column column : columns.values()) {
+            Arrays.fill(column.balances, previousDays, days,
+                column.balances[previousDays - 1]);
+        }
+    }
+
+    private static BigDecimal valueOf(BigDecimal balance) {
+        return balance != null ? balance : BigDecimal.ZERO;
+    }
+
+    private static int capacityFor(int days) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(days) << 1);
+    }
+
+    /**
+     * Баланси та ціни однієї криптовалюти за днями ряду.
+     */
+    private static final class Column {
+
+        /**
+         * Символ криптовалюти.
+         */
+        private final String symbol;
+
+        /**
+         * Баланс криптовалюти на кінець кожного дня.
+         */
+        private double[] balances;
+
+        /**
+         * Ціна криптовалюти на кінець кожного дня.
+         */
+        private double[] prices;
+
+        private Column(String symbol, int capacity) {
+            this.symbol = symbol;
+            this.balances = new double[capacity];
+            this.prices = new double[capacity];
+        }
+    }
+}
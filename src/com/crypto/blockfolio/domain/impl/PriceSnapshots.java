@@ -0,0 +1,50 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.persistence.PriceSnapshot;
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
+import com.crypto.blockfolio.persistence.repository.contracts.PriceHistoryRepository;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Публікує знімки цін криптовалют. Після кожного оновлення цін у репозиторії створюється новий
+ * знімок з наступною версією та атомарно замінює попередній. Читання поточного знімка не
+ * блокується, а оцінки, що почалися до оновлення, дочитують свій знімок до кінця.
+ *
+ * <p>Під час публікації ціни, оновлені після попередньої публікації, дописуються до історії
+ * цін.
+ */
+final class PriceSnapshots {
+
+    private final CryptocurrencyRepository cryptocurrencyRepository;
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final AtomicReference<PriceSnapshot> current;
+
+    PriceSnapshots(CryptocurrencyRepository cryptocurrencyRepository,
+        PriceHistoryRepository priceHistoryRepository) {
+        this.cryptocurrencyRepository = cryptocurrencyRepository;
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.current = new AtomicReference<>(
+            PriceSnapshot.of(1, cryptocurrencyRepository.findAll()));
+    }
+
+    PriceSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Публікує знімок поточних цін з репозиторію. Оновлення виконуються по черзі, тому версії
+     * знімків зростають у порядку публікації.
+     *
+     * @return опублікований знімок.
+     */
+    synchronized PriceSnapshot refresh() {
+        Set<Cryptocurrency> cryptocurrencies = cryptocurrencyRepository.findAll();
+        PriceSnapshot snapshot = PriceSnapshot.of(current.get().getVersion() + 1,
+            cryptocurrencies);
+        current.set(snapshot);
+        priceHistoryRepository.appendAll(cryptocurrencies);
+        return snapshot;
+    }
+}
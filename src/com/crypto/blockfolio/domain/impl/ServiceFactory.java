@@ -35,14 +35,23 @@ public final class ServiceFactory {
         this.authService = new AuthServiceImpl(userRepository, authDataRepository);
         this.userService = new UserServiceImpl(userRepository);
         this.signUpService = new SignUpServiceImpl(userService, authService);
+        var ledgers = new PortfolioLedgers(transactionRepository);
+        var costBasisBooks = new CostBasisBooks(transactionRepository);
+        var priceHistoryRepository = repositoryFactory.getPriceHistoryRepository();
+        var priceSnapshots = new PriceSnapshots(cryptocurrencyRepository,
+            priceHistoryRepository);
+        var valueHistories = new PortfolioValueHistories(transactionRepository,
+            priceHistoryRepository, priceSnapshots);
         this.portfolioService = new PortfolioServiceImpl(portfolioRepository,
-            cryptocurrencyRepository, transactionRepository);
+            cryptocurrencyRepository, transactionRepository, ledgers, costBasisBooks,
+            priceSnapshots, valueHistories);
         this.transactionService = new TransactionServiceImpl(transactionRepository,
-            portfolioRepository, cryptocurrencyRepository);
+            portfolioRepository, cryptocurrencyRepository, ledgers, costBasisBooks,
+            priceSnapshots, valueHistories);
         this.coinGeckoApiService = new CoinGeckoApiServiceImpl(
-            cryptocurrencyRepository); // Ініціалізація з репозиторієм
+            cryptocurrencyRepository, priceSnapshots); // Ініціалізація з репозиторієм
         this.cryptocurrencyService = new CryptocurrencyServiceImpl(cryptocurrencyRepository,
-            coinGeckoApiService);
+            coinGeckoApiService, priceSnapshots, priceHistoryRepository);
     }
 
     /**
@@ -0,0 +1,58 @@
+package com.crypto.blockfolio.domain.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обмежувач частоти запитів за алгоритмом маркерного кошика. Кошик вміщує не більше
+ * {@code capacity} маркерів і поповнюється з рівномірною швидкістю; кожен запит забирає один
+ * маркер. Якщо маркерів немає, запит резервує наступний маркер і отримує затримку до його появи,
+ * тому очікування не блокує потоки.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int capacity, double tokensPerSecond) {
+        if (capacity <= 0 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                "Місткість і швидкість поповнення кошика мають бути додатними.");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Резервує маркер. Кількість маркерів може стати від'ємною: наступні запити чекають, доки
+     * кошик не поповниться для всіх раніше зарезервованих маркерів.
+     *
+     * @return затримка в наносекундах, після якої запит можна виконати; 0, якщо маркер доступний
+     * одразу.
+     */
+    synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+
+    /**
+     * Резервує маркер і повертає майбутнє, що завершується, коли запит можна виконати.
+     *
+     * @return майбутнє, завершене після затримки.
+     */
+    CompletableFuture<Void> acquire() {
+        long delay = reserve();
+        if (delay == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS));
+    }
+}
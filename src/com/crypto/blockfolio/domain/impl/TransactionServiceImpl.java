@@ -16,10 +16,10 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
@@ -32,15 +32,24 @@ class TransactionServiceImpl extends GenericService<Transaction, UUID> implement
     private final TransactionRepository transactionRepository;
     private final PortfolioRepository portfolioRepository;
     private final CryptocurrencyRepository cryptocurrencyRepository;
-
+    private final PortfolioLedgers ledgers;
+    private final CostBasisBooks costBasisBooks;
+    private final PriceSnapshots priceSnapshots;
+    private final PortfolioValueHistories valueHistories;
 
     public TransactionServiceImpl(TransactionRepository transactionRepository,
         PortfolioRepository portfolioRepository,
-        CryptocurrencyRepository cryptocurrencyRepository) {
+        CryptocurrencyRepository cryptocurrencyRepository, PortfolioLedgers ledgers,
+        CostBasisBooks costBasisBooks, PriceSnapshots priceSnapshots,
+        PortfolioValueHistories valueHistories) {
         super(transactionRepository);
         this.transactionRepository = transactionRepository;
         this.portfolioRepository = portfolioRepository;
         this.cryptocurrencyRepository = cryptocurrencyRepository;
+        this.ledgers = ledgers;
+        this.costBasisBooks = costBasisBooks;
+        this.priceSnapshots = priceSnapshots;
+        this.valueHistories = valueHistories;
     }
 
     @Override
@@ -78,9 +87,7 @@ class TransactionServiceImpl extends GenericService<Transaction, UUID> implement
         portfolioRepository.findById(portfolioId)
             .orElseThrow(() -> new EntityNotFoundException("Портфоліо з таким ID не знайдено."));
 
-        return transactionRepository.findAll().stream()
-            .filter(transaction -> portfolioId.equals(transaction.getPortfolioId()))
-            .collect(Collectors.toList());
+        return new ArrayList<>(transactionRepository.findByPortfolioId(portfolioId));
     }
     /*
     @Override
@@ -98,6 +105,8 @@ class TransactionServiceImpl extends GenericService<Transaction, UUID> implement
         // Отримуємо портфель, до якого належить транзакція
         Portfolio portfolio = portfolioRepository.findById(transaction.getPortfolioId())
             .orElseThrow(() -> new EntityNotFoundException("Портфоліо з таким ID не знайдено."));
+        PortfolioLedger ledger = ledgers.forPortfolio(portfolio);
+        PortfolioCostBasis costBasis = costBasisBooks.forPortfolio(portfolio);
 
         // Видаляємо транзакцію з репозиторію
         transactionRepository.remove(transaction);
@@ -106,8 +115,9 @@ class TransactionServiceImpl extends GenericService<Transaction, UUID> implement
         boolean removed = portfolio.getTransactionsList().remove(transaction.getId());
 
         if (removed) {
-            // Оновлюємо баланс портфеля
-            updatePortfolioBalance(portfolio, transaction, true);
+            // Відміняємо вплив транзакції на баланс портфеля
+            applyToPortfolio(portfolio, ledger.recordRemoved(transaction.getId()));
+            costBasis.recordRemoved(transaction.getId());
 
             // Зберігаємо оновлений портфель у репозиторії
             portfolioRepository.update(portfolio);
@@ -194,6 +204,7 @@ class TransactionServiceImpl extends GenericService<Transaction, UUID> implement
 
         cryptocurrencyRepository.add(
             existingCryptocurrency); // Використовуємо `add`, щоб оновити дані
+        priceSnapshots.refresh();
     }
 
     @Override
@@ -205,23 +216,19 @@ class TransactionServiceImpl extends GenericService<Transaction, UUID> implement
         // Отримання портфеля
         Portfolio portfolio = portfolioRepository.findById(existingTransaction.getPortfolioId())
             .orElseThrow(() -> new EntityNotFoundException("Портфоліо не знайдено."));
+        PortfolioLedger ledger = ledgers.forPortfolio(portfolio);
+        PortfolioCostBasis costBasis = costBasisBooks.forPortfolio(portfolio);
 
-        // Видалення впливу існуючої транзакції
-        updatePortfolioBalance(portfolio, existingTransaction, true);
-
-        if (updatedTransactionDto.getTransactionType() == TransactionType.SELL) {
-            BigDecimal currentBalance = portfolio.getBalances()
-                .getOrDefault(updatedTransactionDto.getCryptocurrencySymbol(), BigDecimal.ZERO);
-
-            if (currentBalance.compareTo(updatedTransactionDto.getAmount()) < 0) {
-                throw new IllegalArgumentException("Недостатньо балансу для продажу.");
-            }
-        }
-        // Оновлення полів транзакції
         Cryptocurrency cryptocurrency = cryptocurrencyRepository
             .findBySymbol(updatedTransactionDto.getCryptocurrencySymbol())
             .orElseThrow(() -> new EntityNotFoundException("Криптовалюта не знайдена."));
 
+        // Баланс без урахування існуючої транзакції
+        requireSufficientBalance(updatedTransactionDto,
+            ledger.balanceWithout(cryptocurrency.getSymbol(), transactionId));
+
+        // Оновлення полів транзакції
+
         existingTransaction.setCryptocurrency(cryptocurrency);
         existingTransaction.setTransactionType(updatedTransactionDto.getTransactionType());
         existingTransaction.setAmount(updatedTransactionDto.getAmount());
@@ -232,46 +239,25 @@ class TransactionServiceImpl extends GenericService<Transaction, UUID> implement
         // Збереження змін у транзакції
         transactionRepository.updateTransaction(transactionId, existingTransaction);
 
-        // Додавання впливу оновленої транзакції
-        updatePortfolioBalance(portfolio, existingTransaction, false);
-
-        // Збереження оновленого портфеля
+        // Заміна впливу транзакції на баланс портфеля та збереження портфеля
+        applyToPortfolio(portfolio, ledger.recordEdited(existingTransaction));
+        costBasis.recordEdited(existingTransaction);
         portfolioRepository.update(portfolio);
     }
 
-    private void updatePortfolioBalance(Portfolio portfolio, Transaction transaction,
-        boolean reverse) {
-        BigDecimal amount = transaction.getAmount();
-        if (reverse) {
-            amount = amount.negate(); // Зворотна операція для відміни
+    private void requireSufficientBalance(TransactionAddDto transactionDto,
+        BigDecimal available) {
+        TransactionType type = transactionDto.getTransactionType();
+        if ((type == TransactionType.SELL || type == TransactionType.TRANSFER_WITHDRAWAL)
+            && available.compareTo(transactionDto.getAmount()) < 0) {
+            throw new IllegalArgumentException("Недостатньо балансу для продажу.");
         }
+    }
 
-        // Оновлення балансу відповідної криптовалюти
-        String symbol = transaction.getCryptocurrency().getSymbol();
-        BigDecimal currentBalance = portfolio.getBalances().getOrDefault(symbol, BigDecimal.ZERO);
-
-        BigDecimal updatedBalance;
-        if (transaction.getTransactionType() == TransactionType.BUY ||
-            transaction.getTransactionType() == TransactionType.TRANSFER_DEPOSIT) {
-            if (!reverse && currentBalance.compareTo(amount) < 0) {
-                throw new IllegalArgumentException(
-                    "Недостатньо балансу для виконання операції з символом " + symbol);
-            }
-            updatedBalance = currentBalance.add(amount);
-        } else {
-            updatedBalance = currentBalance.subtract(amount);
-            // Якщо оновлений баланс стає від'ємним, встановлюємо 0
-            if (updatedBalance.compareTo(BigDecimal.ZERO) < 0) {
-                updatedBalance = BigDecimal.ZERO;
-            }
-        }
-
-        // Оновлюємо баланс у портфелі
-        portfolio.getBalances().put(symbol, updatedBalance);
-
-        // Оновлюємо загальну вартість портфеля
-        portfolioRepository.calculateTotalValue(portfolio.getId());
-        System.out.println("Баланс для криптовалюти " + symbol + " оновлено: " + updatedBalance);
+    private void applyToPortfolio(Portfolio portfolio, LedgerEvent event) {
+        ledgers.project(portfolio, event);
+        valueHistories.record(portfolio, event);
+        portfolio.calculateTotalValue(priceSnapshots.current());
     }
 
 
@@ -294,14 +280,20 @@ class TransactionServiceImpl extends GenericService<Transaction, UUID> implement
             transactionAddDto.getDescription(),
             LocalDateTime.now()
         );
+        Portfolio portfolio = portfolioRepository.findById(transactionAddDto.getPortfolioId())
+            .orElseThrow(() -> new EntityNotFoundException("Портфоліо з таким ID не знайдено."));
+        PortfolioLedger ledger = ledgers.forPortfolio(portfolio);
+        PortfolioCostBasis costBasis = costBasisBooks.forPortfolio(portfolio);
+        requireSufficientBalance(transactionAddDto, ledger.balance(cryptocurrency.getSymbol()));
+
         System.out.println("Додано транзакцію до репозиторію: " + transaction.getId());
         // Зберігаємо транзакцію
         transactionRepository.add(transaction);
 
         // Оновлюємо портфель
-        Portfolio portfolio = portfolioRepository.findById(transactionAddDto.getPortfolioId())
-            .orElseThrow(() -> new EntityNotFoundException("Портфоліо з таким ID не знайдено."));
         portfolio.getTransactionsList().add(transaction.getId());
+        applyToPortfolio(portfolio, ledger.recordAdded(transaction));
+        costBasis.recordAdded(transaction);
         portfolioRepository.update(portfolio);
         System.out.println(
             "Оновлено список транзакцій у портфелі: " + portfolio.getTransactionsList());
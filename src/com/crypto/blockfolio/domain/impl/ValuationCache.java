@@ -0,0 +1,99 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.domain.dto.ValuationCacheStats;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Обмежений кеш оцінок портфелів з витісненням найдавніше використаних записів (LRU). Оцінка
+ * портфеля зберігається разом з версією балансів (номером останньої події журналу портфеля) і
+ * версією знімка цін, за якими її обчислено. Звернення з іншою версією балансів або цін є
+ * промахом і замінює запис, тому окремої інвалідації при зміні цін чи балансів не потрібно.
+ * Баланси портфеля, зокрема набір його криптовалют, змінюються лише подіями журналу, тому
+ * перевірка влучання не залежить від кількості криптовалют.
+ *
+ * <p>Розмір кешу задається системною властивістю {@value #SIZE_PROPERTY}. Методи класу
+ * синхронізовані на екземплярі.
+ */
+final class ValuationCache {
+
+    /**
+     * Назва системної властивості з максимальною кількістю оцінок у кеші.
+     */
+    static final String SIZE_PROPERTY = "blockfolio.valuation.cache-size";
+
+    private static final int DEFAULT_SIZE = 1024;
+
+    private final int maxSize;
+    private final Map<UUID, Valuation> valuations;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    ValuationCache() {
+        this(Integer.getInteger(SIZE_PROPERTY, DEFAULT_SIZE));
+    }
+
+    ValuationCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Розмір кешу оцінок має бути додатним.");
+        }
+        this.maxSize = maxSize;
+        this.valuations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Valuation> eldest) {
+                if (size() > ValuationCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Повертає оцінку портфеля з кешу або обчислює її, якщо в кеші немає оцінки для вказаних
+     * версій балансів і цін.
+     *
+     * @param portfolioId     ідентифікатор портфеля.
+     * @param balancesVersion версія балансів портфеля.
+     * @param priceVersion    версія знімка цін.
+     * @param valuation       обчислення оцінки.
+     * @return загальна вартість портфеля.
+     */
+    synchronized BigDecimal get(UUID portfolioId, long balancesVersion, long priceVersion,
+        Supplier<BigDecimal> valuation) {
+        Valuation cached = valuations.get(portfolioId);
+        if (cached != null && cached.balancesVersion() == balancesVersion
+            && cached.priceVersion() == priceVersion) {
+            hits++;
+            return cached.value();
+        }
+        misses++;
+        BigDecimal value = valuation.get();
+        valuations.put(portfolioId, new Valuation(balancesVersion, priceVersion, value));
+        return value;
+    }
+
+    synchronized void invalidate(UUID portfolioId) {
+        valuations.remove(portfolioId);
+    }
+
+    synchronized ValuationCacheStats stats() {
+        return new ValuationCacheStats(hits, misses, evictions, valuations.size());
+    }
+
+    /**
+     * Оцінка портфеля.
+     *
+     * @param balancesVersion версія балансів, за якими обчислено оцінку.
+     * @param priceVersion    версія знімка цін, за яким обчислено оцінку.
+     * @param value           загальна вартість портфеля.
+     */
+    private record Valuation(long balancesVersion, long priceVersion, BigDecimal value) {
+
+    }
+}
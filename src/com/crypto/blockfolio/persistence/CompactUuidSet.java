@@ -0,0 +1,250 @@
+package com.crypto.blockfolio.persistence;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Компактний набір ідентифікаторів {@link UUID}, що зберігає порядок додавання. Ідентифікатори
+ * зберігаються як пари чисел {@code long} в одному масиві, а пошук виконується через відкриту
+ * хеш-таблицю індексів. На відміну від {@link java.util.LinkedHashSet}, набір не створює окремих
+ * об'єктів {@link UUID} і вузлів для кожного елемента.
+ *
+ * <p>Додавання та пошук виконуються за сталий час. Видалення зсуває елементи та перебудовує
+ * хеш-таблицю, тому виконується за лінійний час; для наборів ідентифікаторів сутностей, з яких
+ * елементи видаляються рідко, це прийнятно. Набір не є потокобезпечним і не допускає
+ * {@code null}.
+ */
+public final class CompactUuidSet extends AbstractSet<UUID> {
+
+    /**
+     * Порожній масив ідентифікаторів для набору без елементів.
+     */
+    private static final long[] EMPTY_BITS = new long[0];
+
+    /**
+     * Порожня хеш-таблиця для набору без елементів.
+     */
+    private static final int[] EMPTY_TABLE = new int[0];
+
+    /**
+     * Старші та молодші біти ідентифікаторів у порядку додавання.
+     */
+    private long[] bits = EMPTY_BITS;
+
+    /**
+     * Хеш-таблиця з відкритою адресацією. Кожна комірка містить позицію елемента, збільшену на
+     * одиницю, або {@code 0}, якщо комірка порожня.
+     */
+    private int[] table = EMPTY_TABLE;
+
+    /**
+     * Кількість елементів у наборі.
+     */
+    private int size;
+
+    /**
+     * Лічильник структурних змін для виявлення змін під час ітерації.
+     */
+    private int modCount;
+
+    /**
+     * Створює порожній набір.
+     */
+    public CompactUuidSet() {
+    }
+
+    /**
+     * Створює набір з елементами заданої колекції у порядку її ітерації.
+     *
+     * @param values початкові елементи.
+     */
+    public CompactUuidSet(Collection<UUID> values) {
+        ensureCapacity(values.size());
+        addAll(values);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof UUID uuid
+            && indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    @Override
+    public boolean add(UUID uuid) {
+        Objects.requireNonNull(uuid, "Ідентифікатор не може бути null.");
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        if (indexOf(most, least) >= 0) {
+            return false;
+        }
+        ensureCapacity(size + 1);
+        bits[2 * size] = most;
+        bits[2 * size + 1] = least;
+        insert(size, most, least);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof UUID uuid)) {
+            return false;
+        }
+        int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        Arrays.fill(table, 0);
+        modCount++;
+    }
+
+    @Override
+    public Iterator<UUID> iterator() {
+        return new Iterator<>() {
+
+            private int next;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public UUID next() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                last = next++;
+                return new UUID(bits[2 * last], bits[2 * last + 1]);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                removeAt(last);
+                next = last;
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Видаляє елемент за позицією, зсуваючи наступні елементи, і перебудовує хеш-таблицю.
+     *
+     * @param index позиція елемента.
+     */
+    private void removeAt(int index) {
+        System.arraycopy(bits, 2 * index + 2, bits, 2 * index, 2 * (size - index - 1));
+        size--;
+        rehash(table.length);
+        modCount++;
+    }
+
+    /**
+     * Знаходить позицію ідентифікатора у наборі.
+     *
+     * @param most  старші біти ідентифікатора.
+     * @param least молодші біти ідентифікатора.
+     * @return позиція елемента або {@code -1}, якщо його немає.
+     */
+    private int indexOf(long most, long least) {
+        if (size == 0) {
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int slot = hash(most, least) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (bits[2 * index] == most && bits[2 * index + 1] == least) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Записує позицію елемента у першу вільну комірку хеш-таблиці.
+     *
+     * @param index позиція елемента.
+     * @param most  старші біти ідентифікатора.
+     * @param least молодші біти ідентифікатора.
+     */
+    private void insert(int index, long most, long least) {
+        int mask = table.length - 1;
+        int slot = hash(most, least) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    /**
+     * Забезпечує місце для заданої кількості елементів. Хеш-таблиця підтримується заповненою не
+     * більше ніж наполовину.
+     *
+     * @param capacity потрібна кількість елементів.
+     */
+    private void ensureCapacity(int capacity) {
+        if (bits.length < 2 * capacity) {
+            int grown = Math.max(capacity, size + (size >> 1));
+            bits = Arrays.copyOf(bits, 2 * Math.max(grown, 2));
+        }
+        if (table.length < 2 * capacity) {
+            rehash(Integer.highestOneBit(Math.max(2 * capacity, 2) - 1) << 1);
+        }
+    }
+
+    /**
+     * Перебудовує хеш-таблицю заданого розміру для поточних елементів.
+     *
+     * @param length розмір таблиці (степінь двійки).
+     */
+    private void rehash(int length) {
+        table = new int[length];
+        for (int i = 0; i < size; i++) {
+            insert(i, bits[2 * i], bits[2 * i + 1]);
+        }
+    }
+
+    /**
+     * Обчислює хеш ідентифікатора.
+     *
+     * @param most  старші біти ідентифікатора.
+     * @param least молодші біти ідентифікатора.
+     * @return хеш.
+     */
+    private static int hash(long most, long least) {
+        long mixed = most ^ least;
+        int hash = (int) (mixed ^ (mixed >>> 32));
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,5 +1,6 @@
 package com.crypto.blockfolio.persistence;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -22,15 +23,11 @@ public class CryptoEntity implements Identifiable<String> {
 
     /**
      * Набір для зберігання повідомлень про помилки. Позначений як transient, щоб уникнути
-     * серіалізації.
+     * серіалізації. Створюється лише під час додавання першої помилки, тому валідні об'єкти не
+     * тримають порожній набір.
      */
     protected transient Set<String> errors;
 
-    /**
-     * Поле для перевірки валідності об'єкта. Позначене як transient, щоб уникнути серіалізації.
-     */
-    protected transient boolean isValid;
-
     /**
      * Конструктор для створення криптовалюти з символом і назвою. Виконує валідацію даних під час
      * ініціалізації.
@@ -39,7 +36,6 @@ public class CryptoEntity implements Identifiable<String> {
      * @param name   назва криптовалюти.
      */
     public CryptoEntity(String symbol, String name) {
-        errors = new HashSet<>();
         this.symbol = validatedSymbol(symbol);
         this.name = validatedName(name);
     }
@@ -52,7 +48,7 @@ public class CryptoEntity implements Identifiable<String> {
      */
     private String validatedName(String name) {
         if (name == null || name.trim().isEmpty()) {
-            errors.add("Назва криптовалюти не може бути порожньою.");
+            addError("Назва криптовалюти не може бути порожньою.");
         }
         return name.trim();
     }
@@ -61,13 +57,14 @@ public class CryptoEntity implements Identifiable<String> {
      * Виконує валідацію символу криптовалюти.
      *
      * @param symbol символ криптовалюти для перевірки.
-     * @return перевірений символ криптовалюти у верхньому регістрі.
+     * @return перевірений символ криптовалюти у верхньому регістрі. Символ інтернується, тому
+     * всі об'єкти з однаковим символом посилаються на один рядок.
      */
     private String validatedSymbol(String symbol) {
         if (symbol == null || symbol.trim().isEmpty()) {
-            errors.add("Символ криптовалюти не може бути порожнім.");
+            addError("Символ криптовалюти не може бути порожнім.");
         }
-        return symbol.trim().toUpperCase();
+        return symbol.trim().toUpperCase().intern();
     }
 
     /**
@@ -91,10 +88,22 @@ public class CryptoEntity implements Identifiable<String> {
     /**
      * Повертає набір повідомлень про помилки.
      *
-     * @return набір помилок.
+     * @return набір помилок; порожній, якщо помилок немає.
      */
     public Set<String> getErrors() {
-        return errors;
+        return errors != null ? errors : Collections.emptySet();
+    }
+
+    /**
+     * Додає повідомлення про помилку, створюючи набір помилок за потреби.
+     *
+     * @param error повідомлення про помилку.
+     */
+    protected void addError(String error) {
+        if (errors == null) {
+            errors = new HashSet<>();
+        }
+        errors.add(error);
     }
 
     /**
@@ -103,7 +112,7 @@ public class CryptoEntity implements Identifiable<String> {
      * @return {@code true}, якщо об'єкт валідний, інакше {@code false}.
      */
     public boolean isValid() {
-        return errors.isEmpty();
+        return errors == null || errors.isEmpty();
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.crypto.blockfolio.persistence;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -18,22 +19,17 @@ public class Entity implements Identifiable<UUID> {
 
     /**
      * Набір для зберігання повідомлень про помилки. Позначений як transient, щоб уникнути
-     * серіалізації.
+     * серіалізації. Створюється лише під час додавання першої помилки, тому валідні об'єкти не
+     * тримають порожній набір.
      */
     protected transient Set<String> errors;
 
-    /**
-     * Поле для перевірки валідності об'єкта. Позначене як transient, щоб уникнути серіалізації.
-     */
-    protected transient boolean isValid;
-
     /**
      * Конструктор для створення сутності з унікальним ідентифікатором.
      *
      * @param id унікальний ідентифікатор.
      */
     public Entity(UUID id) {
-        errors = new HashSet<>();
         this.id = id;
     }
 
@@ -52,16 +48,28 @@ public class Entity implements Identifiable<UUID> {
      * @return {@code true}, якщо об'єкт валідний, інакше {@code false}.
      */
     public boolean isValid() {
-        return errors.isEmpty();
+        return errors == null || errors.isEmpty();
     }
 
     /**
      * Повертає набір повідомлень про помилки.
      *
-     * @return набір помилок.
+     * @return набір помилок; порожній, якщо помилок немає.
      */
     public Set<String> getErrors() {
-        return errors;
+        return errors != null ? errors : Collections.emptySet();
+    }
+
+    /**
+     * Додає повідомлення про помилку, створюючи набір помилок за потреби.
+     *
+     * @param error повідомлення про помилку.
+     */
+    protected void addError(String error) {
+        if (errors == null) {
+            errors = new HashSet<>();
+        }
+        errors.add(error);
     }
 
     /**
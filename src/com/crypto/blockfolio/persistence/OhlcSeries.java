@@ -0,0 +1,226 @@
+package com.crypto.blockfolio.persistence;
+
+import java.util.Arrays;
+
+/**
+ * Незмінний ряд свічок OHLC: ціни відкриття, максимуму, мінімуму та закриття для кожного
+ * інтервалу заданої роздільної здатності. Інтервали без жодної ціни у ряд не потрапляють.
+ * Значення зберігаються у масивах примітивів.
+ */
+public final class OhlcSeries {
+
+    /**
+     * Роздільна здатність ряду.
+     */
+    private final PriceResolution resolution;
+
+    /**
+     * Початки інтервалів у мілісекундах від епохи.
+     */
+    private final long[] bucketStarts;
+
+    /**
+     * Ціни відкриття.
+     */
+    private final double[] open;
+
+    /**
+     * Максимальні ціни.
+     */
+    private final double[] high;
+
+    /**
+     * Мінімальні ціни.
+     */
+    private final double[] low;
+
+    /**
+     * Ціни закриття.
+     */
+    private final double[] close;
+
+    /**
+     * Конструктор ряду, що використовується {@link Builder}.
+     *
+     * @param builder будівельник з накопиченими свічками.
+     */
+    private OhlcSeries(Builder builder) {
+        this.resolution = builder.resolution;
+        this.bucketStarts = Arrays.copyOf(builder.bucketStarts, builder.size);
+        this.open = Arrays.copyOf(builder.open, builder.size);
+        this.high = Arrays.copyOf(builder.high, builder.size);
+        this.low = Arrays.copyOf(builder.low, builder.size);
+        this.close = Arrays.copyOf(builder.close, builder.size);
+    }
+
+    /**
+     * Створює будівельник ряду свічок.
+     *
+     * @param resolution роздільна здатність свічок.
+     * @return новий будівельник.
+     */
+    public static Builder builder(PriceResolution resolution) {
+        return new Builder(resolution);
+    }
+
+    /**
+     * Повертає роздільну здатність ряду.
+     *
+     * @return роздільна здатність.
+     */
+    public PriceResolution getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Повертає кількість свічок.
+     *
+     * @return кількість свічок.
+     */
+    public int size() {
+        return bucketStarts.length;
+    }
+
+    /**
+     * Повертає початок інтервалу свічки.
+     *
+     * @param index індекс свічки.
+     * @return початок інтервалу в мілісекундах від епохи.
+     */
+    public long getBucketStart(int index) {
+        return bucketStarts[index];
+    }
+
+    /**
+     * Повертає ціну відкриття свічки.
+     *
+     * @param index індекс свічки.
+     * @return перша ціна інтервалу.
+     */
+    public double getOpen(int index) {
+        return open[index];
+    }
+
+    /**
+     * Повертає максимальну ціну свічки.
+     *
+     * @param index індекс свічки.
+     * @return максимальна ціна інтервалу.
+     */
+    public double getHigh(int index) {
+        return high[index];
+    }
+
+    /**
+     * Повертає мінімальну ціну свічки.
+     *
+     * @param index індекс свічки.
+     * @return мінімальна ціна інтервалу.
+     */
+    public double getLow(int index) {
+        return low[index];
+    }
+
+    /**
+     * Повертає ціну закриття свічки.
+     *
+     * @param index індекс свічки.
+     * @return остання ціна інтервалу.
+     */
+    public double getClose(int index) {
+        return close[index];
+    }
+
+    /**
+     * Будівельник ряду свічок. Приймає ціни в порядку зростання часу та агрегує їх у свічки без
+     * проміжного ряду точок.
+     */
+    public static final class Builder {
+
+        /**
+         * Роздільна здатність свічок.
+         */
+        private final PriceResolution resolution;
+
+        /**
+         * Початки інтервалів.
+         */
+        private long[] bucketStarts = new long[16];
+
+        /**
+         * Ціни відкриття.
+         */
+        private double[] open = new double[16];
+
+        /**
+         * Максимальні ціни.
+         */
+        private double[] high = new double[16];
+
+        /**
+         * Мінімальні ціни.
+         */
+        private double[] low = new double[16];
+
+        /**
+         * Ціни закриття.
+         */
+        private double[] close = new double[16];
+
+        /**
+         * Кількість свічок.
+         */
+        private int size;
+
+        /**
+         * Конструктор будівельника.
+         *
+         * @param resolution роздільна здатність свічок.
+         */
+        private Builder(PriceResolution resolution) {
+            this.resolution = resolution;
+        }
+
+        /**
+         * Додає ціну до свічки її інтервалу.
+         *
+         * @param timestamp момент часу в мілісекундах від епохи, не менший за попередній.
+         * @param price     ціна.
+         * @return цей будівельник.
+         */
+        public Builder add(long timestamp, double price) {
+            long bucket = resolution.bucketStart(timestamp);
+            if (size > 0 && bucketStarts[size - 1] == bucket) {
+                int last = size - 1;
+                high[last] = Math.max(high[last], price);
+                low[last] = Math.min(low[last], price);
+                close[last] = price;
+                return this;
+            }
+            if (size == bucketStarts.length) {
+                int capacity = size * 2;
+                bucketStarts = Arrays.copyOf(bucketStarts, capacity);
+                open = Arrays.copyOf(open, capacity);
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+                close = Arrays.copyOf(close, capacity);
+            }
+            bucketStarts[size] = bucket;
+            open[size] = price;
+            high[size] = price;
+            low[size] = price;
+            close[size] = price;
+            size++;
+            return this;
+        }
+
+        /**
+         * Створює ряд з накопичених свічок.
+         *
+         * @return ряд свічок.
+         */
+        public OhlcSeries build() {
+            return new OhlcSeries(this);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.crypto.blockfolio.persistence;
+
+/**
+ * Роздільна здатність агрегування історії цін у свічки OHLC. Межі інтервалів вирівнюються за
+ * UTC.
+ */
+public enum PriceResolution {
+
+    /**
+     * Хвилинні свічки.
+     */
+    MINUTE(60_000L),
+
+    /**
+     * Годинні свічки.
+     */
+    HOUR(3_600_000L),
+
+    /**
+     * Денні свічки.
+     */
+    DAY(86_400_000L);
+
+    /**
+     * Тривалість інтервалу в мілісекундах.
+     */
+    private final long millis;
+
+    /**
+     * Конструктор роздільної здатності.
+     *
+     * @param millis тривалість інтервалу в мілісекундах.
+     */
+    PriceResolution(long millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * Повертає тривалість інтервалу.
+     *
+     * @return тривалість інтервалу в мілісекундах.
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Повертає початок інтервалу, до якого належить момент часу.
+     *
+     * @param timestamp момент часу в мілісекундах від епохи.
+     * @return початок інтервалу в мілісекундах від епохи.
+     */
+    public long bucketStart(long timestamp) {
+        return Math.floorDiv(timestamp, millis) * millis;
+    }
+}
@@ -0,0 +1,96 @@
+package com.crypto.blockfolio.persistence;
+
+import java.util.Arrays;
+
+/**
+ * Незмінний ряд цін криптовалюти: моменти часу та ціни у двох масивах примітивів, упорядковані
+ * за часом. Точки не упаковуються в об'єкти, тому ряд з мільйонів точок займає 16 байт на точку.
+ */
+public final class PriceSeries {
+
+    /**
+     * Порожній ряд.
+     */
+    public static final PriceSeries EMPTY = new PriceSeries(new long[0], new double[0]);
+
+    /**
+     * Моменти часу в мілісекундах від епохи.
+     */
+    private final long[] timestamps;
+
+    /**
+     * Ціни у відповідні моменти часу.
+     */
+    private final double[] prices;
+
+    /**
+     * Створює ряд цін. Масиви не копіюються, тому після створення ряду їх не можна змінювати.
+     *
+     * @param timestamps моменти часу в мілісекундах від епохи у порядку зростання.
+     * @param prices     ціни у відповідні моменти часу.
+     * @throws IllegalArgumentException якщо довжини масивів не збігаються.
+     */
+    public PriceSeries(long[] timestamps, double[] prices) {
+        if (timestamps.length != prices.length) {
+            throw new IllegalArgumentException("Кількість моментів часу і цін не збігається.");
+        }
+        this.timestamps = timestamps;
+        this.prices = prices;
+    }
+
+    /**
+     * Повертає кількість точок ряду.
+     *
+     * @return кількість точок.
+     */
+    public int size() {
+        return timestamps.length;
+    }
+
+    /**
+     * Перевіряє, чи ряд порожній.
+     *
+     * @return {@code true}, якщо ряд не містить точок.
+     */
+    public boolean isEmpty() {
+        return timestamps.length == 0;
+    }
+
+    /**
+     * Повертає момент часу точки.
+     *
+     * @param index індекс точки.
+     * @return момент часу в мілісекундах від епохи.
+     */
+    public long getTimestamp(int index) {
+        return timestamps[index];
+    }
+
+    /**
+     * Повертає ціну точки.
+     *
+     * @param index індекс точки.
+     * @return ціна.
+     */
+    public double getPrice(int index) {
+        return prices[index];
+    }
+
+    /**
+     * Повертає копію моментів часу ряду.
+     *
+     * @return масив моментів часу.
+     */
+    public long[] toTimestampArray() {
+        return Arrays.copyOf(timestamps, timestamps.length);
+    }
+
+    /**
+     * Повертає копію цін ряду.
+     *
+     * @return масив цін.
+     */
+    public double[] toPriceArray() {
+        return Arrays.copyOf(prices, prices.length);
+    }
+}
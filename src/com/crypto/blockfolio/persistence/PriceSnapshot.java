@@ -0,0 +1,137 @@
+package com.crypto.blockfolio.persistence;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Незмінний знімок цін криптовалют. Ціни зберігаються в масиві {@code double}, а символи
+ * відображаються в індекси масиву. Кожне оновлення цін публікує новий знімок з більшою
+ * версією, тому оцінка, що читає один знімок, не бачить цін, змінених посеред обчислення, а її
+ * результат можна кешувати за версією знімка.
+ */
+public final class PriceSnapshot {
+
+    /**
+     * Порожній знімок з версією 0.
+     */
+    public static final PriceSnapshot EMPTY = new PriceSnapshot(0, Map.of(), new double[0]);
+
+    /**
+     * Версія знімка.
+     */
+    private final long version;
+
+    /**
+     * Індекси цін у масиві за символом криптовалюти.
+     */
+    private final Map<String, Integer> indexes;
+
+    /**
+     * Ціни криптовалют.
+     */
+    private final double[] prices;
+
+    /**
+     * Конструктор знімка.
+     *
+     * @param version версія знімка.
+     * @param indexes індекси цін за символом.
+     * @param prices  ціни криптовалют.
+     */
+    private PriceSnapshot(long version, Map<String, Integer> indexes, double[] prices) {
+        this.version = version;
+        this.indexes = indexes;
+        this.prices = prices;
+    }
+
+    /**
+     * Створює знімок поточних цін криптовалют.
+     *
+     * @param version          версія знімка.
+     * @param cryptocurrencies криптовалюти, ціни яких потрапляють у знімок.
+     * @return новий знімок.
+     */
+    public static PriceSnapshot of(long version, Collection<Cryptocurrency> cryptocurrencies) {
+        Map<String, Integer> indexes = new HashMap<>();
+        double[] prices = new double[cryptocurrencies.size()];
+        for (Cryptocurrency cryptocurrency : cryptocurrencies) {
+            Integer index = indexes.get(cryptocurrency.getSymbol());
+            if (index == null) {
+                index = indexes.size();
+                indexes.put(cryptocurrency.getSymbol(), index);
+            }
+            prices[index] = cryptocurrency.getCurrentPrice();
+        }
+        return new PriceSnapshot(version, Map.copyOf(indexes), prices);
+    }
+
+    /**
+     * Повертає версію знімка.
+     *
+     * @return версія знімка.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Перевіряє, чи містить знімок ціну криптовалюти.
+     *
+     * @param symbol символ криптовалюти.
+     * @return {@code true}, якщо ціна є у знімку.
+     */
+    public boolean contains(String symbol) {
+        return indexes.containsKey(symbol);
+    }
+
+    /**
+     * Повертає ціну криптовалюти.
+     *
+     * @param symbol символ криптовалюти.
+     * @return ціна або 0, якщо криптовалюти немає у знімку.
+     */
+    public double getPrice(String symbol) {
+        Integer index = indexes.get(symbol);
+        return index != null ? prices[index] : 0.0;
+    }
+
+    /**
+     * Обчислює вартість балансів за цінами знімка. Баланси криптовалют, яких немає у знімку, не
+     * враховуються.
+     *
+     * @param balances баланси криптовалют за символом.
+     * @return загальна вартість.
+     */
+    public BigDecimal valueOf(Map<String, BigDecimal> balances) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<String, BigDecimal> entry : balances.entrySet()) {
+            Integer index = indexes.get(entry.getKey());
+            if (index != null && entry.getValue() != null) {
+                total = total.add(BigDecimal.valueOf(prices[index]).multiply(entry.getValue()));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Повертає кількість цін у знімку.
+     *
+     * @return кількість криптовалют.
+     */
+    public int size() {
+        return indexes.size();
+    }
+
+    /**
+     * Повертає строкове представлення знімка.
+     *
+     * @return рядок з версією та кількістю цін.
+     */
+    @Override
+    public String toString() {
+        return "PriceSnapshot{version=" + version + ", size=" + indexes.size() + '}';
+    }
+}
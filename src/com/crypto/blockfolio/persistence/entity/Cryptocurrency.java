@@ -53,10 +53,45 @@ public class Cryptocurrency extends CryptoEntity implements Comparable<Cryptocur
         this.lastUpdated = validateLastUpdated(lastUpdated);
 
         if (!isValid()) {
-            throw new EntityArgumentException(errors);
+            throw new EntityArgumentException(getErrors());
         }
     }
 
+    /**
+     * Конструктор для відновлення збереженої криптовалюти. Ринкові показники заповнюються у
+     * {@link #restore}.
+     *
+     * @param symbol символ криптовалюти.
+     * @param name   назва криптовалюти.
+     */
+    private Cryptocurrency(String symbol, String name) {
+        super(symbol, name);
+    }
+
+    /**
+     * Відновлює збережену криптовалюту без перевірки ринкових показників. Дані у сховищі могли
+     * бути отримані давно, тому вони не повинні перевірятися відносно поточного часу.
+     *
+     * @param symbol           символ криптовалюти.
+     * @param name             назва криптовалюти.
+     * @param currentPrice     поточна ціна криптовалюти.
+     * @param marketCap        ринкова капіталізація криптовалюти.
+     * @param volume24h        обсяг торгів за останні 24 години.
+     * @param percentChange24h відсоткова зміна ціни за останні 24 години.
+     * @param lastUpdated      час останнього оновлення даних.
+     * @return відновлена криптовалюта.
+     */
+    public static Cryptocurrency restore(String symbol, String name, double currentPrice,
+        double marketCap, double volume24h, double percentChange24h, LocalDateTime lastUpdated) {
+        Cryptocurrency cryptocurrency = new Cryptocurrency(symbol, name);
+        cryptocurrency.currentPrice = currentPrice;
+        cryptocurrency.marketCap = marketCap;
+        cryptocurrency.volume24h = volume24h;
+        cryptocurrency.percentChange24h = percentChange24h;
+        cryptocurrency.lastUpdated = lastUpdated;
+        return cryptocurrency;
+    }
+
     /**
      * Перевіряє, чи є значення додатнім числом.
      *
@@ -66,7 +101,7 @@ public class Cryptocurrency extends CryptoEntity implements Comparable<Cryptocur
      */
     private double validatePositiveNumber(double value, String fieldName) {
         if (value <= 0) {
-            errors.add(fieldName + " повинно бути додатнім числом.");
+            addError(fieldName + " повинно бути додатнім числом.");
         }
         return value;
     }
@@ -79,7 +114,7 @@ public class Cryptocurrency extends CryptoEntity implements Comparable<Cryptocur
      */
     private LocalDateTime validateLastUpdated(LocalDateTime lastUpdated) {
         if (lastUpdated == null || lastUpdated.isAfter(LocalDateTime.now())) {
-            errors.add("Час останнього оновлення не може бути в майбутньому або пустим.");
+            addError("Час останнього оновлення не може бути в майбутньому або пустим.");
         }
         return lastUpdated;
     }
@@ -1,6 +1,8 @@
 package com.crypto.blockfolio.persistence.entity;
 
+import com.crypto.blockfolio.persistence.CompactUuidSet;
 import com.crypto.blockfolio.persistence.Entity;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
 import com.crypto.blockfolio.persistence.exception.EntityArgumentException;
 import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
 import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
@@ -9,9 +11,7 @@ import com.crypto.blockfolio.presentation.ApplicationContext;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -42,6 +42,11 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
      * Загальна вартість портфеля.
      */
     private BigDecimal totalValue;
+    /**
+     * Версія знімка цін, за яким обчислено загальну вартість, або 0, якщо вартість обчислено не
+     * за знімком. Не зберігається разом з портфелем.
+     */
+    private long priceVersion;
     /**
      * Назва портфеля.
      */
@@ -61,39 +66,54 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
         this.name = name;
         this.totalValue = BigDecimal.ZERO;
         this.balances = new HashMap<>();
-        this.transactionsList = new LinkedHashSet<>();
+        this.transactionsList = new CompactUuidSet();
         this.createdAt = LocalDateTime.now();
 
         if (!this.isValid()) {
-            throw new EntityArgumentException(errors);
+            throw new EntityArgumentException(getErrors());
         }
     }
 
     /**
-     * Додає криптовалюту до портфеля, якщо вона ще не існує.
+     * Конструктор для відновлення збереженого портфеля без повторної валідації.
      *
-     * @param cryptocurrency об'єкт криптовалюти, яку додають.
+     * @param id               унікальний ідентифікатор портфеля.
+     * @param ownerId          ідентифікатор власника портфеля.
+     * @param name             назва портфеля.
+     * @param createdAt        час створення портфеля.
+     * @param balances         баланси криптовалют.
+     * @param transactionsList ідентифікатори транзакцій портфеля.
+     * @param totalValue       загальна вартість портфеля.
      */
-    public void addCryptocurrency(Cryptocurrency cryptocurrency) {
-        if (cryptocurrency == null || !cryptocurrency.isValid()) {
-            errors.add("Криптовалюта не є валідною.");
-            return;
-        }
-
-        balances.putIfAbsent(cryptocurrency.getSymbol(), BigDecimal.ZERO);
+    private Portfolio(UUID id, UUID ownerId, String name, LocalDateTime createdAt,
+        Map<String, BigDecimal> balances, Set<UUID> transactionsList, BigDecimal totalValue) {
+        super(id);
+        this.ownerId = ownerId;
+        this.name = name;
+        this.createdAt = createdAt;
+        this.balances = balances != null ? new HashMap<>(balances) : new HashMap<>();
+        this.transactionsList = transactionsList != null
+            ? new CompactUuidSet(transactionsList) : new CompactUuidSet();
+        this.totalValue = totalValue;
     }
 
     /**
-     * Видаляє криптовалюту з портфеля.
+     * Відновлює збережений портфель без повторної валідації. Використовується шаром збереження
+     * даних для читання портфелів, які вже пройшли перевірку під час створення.
      *
-     * @param cryptocurrency об'єкт криптовалюти, яку потрібно видалити.
+     * @param id               унікальний ідентифікатор портфеля.
+     * @param ownerId          ідентифікатор власника портфеля.
+     * @param name             назва портфеля.
+     * @param createdAt        час створення портфеля.
+     * @param balances         баланси криптовалют.
+     * @param transactionsList ідентифікатори транзакцій портфеля.
+     * @param totalValue       загальна вартість портфеля.
+     * @return відновлений портфель.
      */
-    public void removeCryptocurrency(Cryptocurrency cryptocurrency) {
-        if (cryptocurrency == null || !balances.containsKey(cryptocurrency)) {
-            errors.add("Криптовалюта не знайдена у портфелі.");
-        } else {
-            balances.remove(cryptocurrency);
-        }
+    public static Portfolio restore(UUID id, UUID ownerId, String name, LocalDateTime createdAt,
+        Map<String, BigDecimal> balances, Set<UUID> transactionsList, BigDecimal totalValue) {
+        return new Portfolio(id, ownerId, name, createdAt, balances, transactionsList,
+            totalValue);
     }
 
     /**
@@ -108,26 +128,24 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
     public void addTransaction(UUID transactionId, Cryptocurrency cryptocurrency, BigDecimal amount,
         TransactionType transactionType, CryptocurrencyRepository cryptocurrencyRepository) {
         if (transactionId == null) {
-            errors.add("ID транзакції не може бути null.");
+            addError("ID транзакції не може бути null.");
             return;
         }
 
         if (cryptocurrency == null || !cryptocurrency.isValid()) {
-            errors.add("Криптовалюта не є валідною.");
+            addError("Криптовалюта не є валідною.");
             return;
         }
 
         if (!transactionsList.add(transactionId)) {
-            errors.add("Транзакція вже існує в портфелі.");
+            addError("Транзакція вже існує в портфелі.");
             return;
         }
 
         balances.putIfAbsent(cryptocurrency.getSymbol(), BigDecimal.ZERO);
 
         BigDecimal currentBalance = balances.get(cryptocurrency.getSymbol());
-        BigDecimal updatedBalance = currentBalance.add(
-            transactionType == TransactionType.BUY ? amount : amount.negate()
-        );
+        BigDecimal updatedBalance = currentBalance.add(transactionType.signed(amount));
 
         balances.put(cryptocurrency.getSymbol(), updatedBalance);
         calculateTotalValue(cryptocurrencyRepository);
@@ -139,6 +157,7 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
      * @param cryptocurrencyRepository репозиторій криптовалют для отримання актуальних цін.
      */
     public void calculateTotalValue(CryptocurrencyRepository cryptocurrencyRepository) {
+        this.priceVersion = 0;
         this.totalValue = balances.entrySet().stream()
             .map(entry -> {
                 String symbol = entry.getKey();
@@ -153,7 +172,18 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
     }
 
     /**
-     * Видаляє транзакцію з портфеля та оновлює баланси та загальну вартість.
+     * Перераховує загальну вартість портфеля за одним знімком цін і позначає її версією знімка.
+     *
+     * @param prices знімок цін криптовалют.
+     */
+    public void calculateTotalValue(PriceSnapshot prices) {
+        this.totalValue = prices.valueOf(balances);
+        this.priceVersion = prices.getVersion();
+    }
+
+    /**
+     * Видаляє транзакцію з портфеля та оновлює баланси та загальну вартість. Баланс криптовалюти
+     * транзакції зменшується на її внесок, без перерахунку за всіма транзакціями.
      *
      * @param transactionId            ідентифікатор транзакції, яку потрібно видалити.
      * @param transactionRepository    репозиторій транзакцій для доступу до деталей транзакцій.
@@ -164,32 +194,34 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
         TransactionRepository transactionRepository,
         CryptocurrencyRepository cryptocurrencyRepository) {
         if (transactionId == null) {
-            errors.add("ID транзакції не може бути null.");
+            addError("ID транзакції не може бути null.");
             return false;
         }
 
         boolean removed = transactionsList.remove(transactionId);
         if (!removed) {
-            errors.add("Транзакція з ID " + transactionId + " не знайдена в портфелі.");
+            addError("Транзакція з ID " + transactionId + " не знайдена в портфелі.");
             return false;
         }
 
-        transactionRepository.findById(transactionId).ifPresent(transaction -> {
-            String symbol = transaction.getCryptocurrency().getSymbol();
+        transactionRepository.findById(transactionId)
+            .filter(transaction -> transaction.getCryptocurrency() != null
+                && transaction.getTransactionType() != null && transaction.getAmount() != null)
+            .ifPresent(transaction -> {
+                balances.merge(transaction.getCryptocurrency().getSymbol(),
+                    transaction.getTransactionType().signed(transaction.getAmount()).negate(),
+                    BigDecimal::add);
 
-            BigDecimal updatedBalance = calculateBalanceForCryptocurrency(symbol,
-                transactionRepository);
-
-            balances.put(symbol, updatedBalance);
-
-            calculateTotalValue(cryptocurrencyRepository);
-        });
+                calculateTotalValue(cryptocurrencyRepository);
+            });
 
         return true;
     }
 
     /**
-     * Обчислює баланс для заданої криптовалюти на основі транзакцій у портфелі.
+     * Обчислює баланс для заданої криптовалюти на основі транзакцій у портфелі. Купівля та
+     * поповнення збільшують баланс, продаж і виведення — зменшують. Переглядаються лише
+     * транзакції цього портфеля.
      *
      * @param symbol                символ криптовалюти, для якої обчислюється баланс.
      * @param transactionRepository репозиторій транзакцій для отримання даних про транзакції.
@@ -199,21 +231,16 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
     public BigDecimal calculateBalanceForCryptocurrency(String symbol,
         TransactionRepository transactionRepository) {
         if (symbol == null || symbol.trim().isEmpty()) {
-            errors.add("Символ криптовалюти не може бути null або порожнім.");
+            addError("Символ криптовалюти не може бути null або порожнім.");
             return BigDecimal.ZERO;
         }
 
-        Set<Transaction> relevantTransactions = transactionRepository.findAll(transaction ->
-            transaction.getCryptocurrency().getSymbol().equalsIgnoreCase(symbol) &&
-                transactionsList.contains(transaction.getId())
-        );
-
-        return relevantTransactions.stream()
-            .map(transaction -> {
-                BigDecimal amount = transaction.getAmount();
-                return transaction.getTransactionType() == TransactionType.BUY ? amount
-                    : amount.negate();
-            })
+        return transactionRepository.findByPortfolioId(getId()).stream()
+            .filter(transaction -> transactionsList.contains(transaction.getId())
+                && transaction.getCryptocurrency() != null
+                && transaction.getCryptocurrency().getSymbol().equalsIgnoreCase(symbol)
+                && transaction.getTransactionType() != null && transaction.getAmount() != null)
+            .map(transaction -> transaction.getTransactionType().signed(transaction.getAmount()))
             .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
@@ -230,16 +257,11 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
 
             BigDecimal totalPnl = BigDecimal.ZERO;
 
-            for (UUID transactionId : transactionsList) {
-                Optional<Transaction> transactionOpt = transactionRepository.findById(
-                    transactionId);
-
-                if (transactionOpt.isPresent()) {
-                    Transaction transaction = transactionOpt.get();
-                    if (transaction.getCryptocurrency().getSymbol().equalsIgnoreCase(symbol)) {
-                        BigDecimal pnl = transaction.calculatePnl();
-                        totalPnl = totalPnl.add(pnl != null ? pnl : BigDecimal.ZERO);
-                    }
+            for (Transaction transaction : transactionRepository.findByPortfolioId(getId())) {
+                if (transactionsList.contains(transaction.getId())
+                    && transaction.getCryptocurrency().getSymbol().equalsIgnoreCase(symbol)) {
+                    BigDecimal pnl = transaction.calculatePnl();
+                    totalPnl = totalPnl.add(pnl != null ? pnl : BigDecimal.ZERO);
                 }
             }
 
@@ -261,12 +283,8 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
             TransactionRepository transactionRepository = ApplicationContext.getInstance()
                 .getTransactionRepository();
             BigDecimal totalPnl = BigDecimal.ZERO;
-            for (UUID transactionId : transactionsList) {
-                Optional<Transaction> transactionOpt = transactionRepository.findById(
-                    transactionId);
-
-                if (transactionOpt.isPresent()) {
-                    Transaction transaction = transactionOpt.get();
+            for (Transaction transaction : transactionRepository.findByPortfolioId(getId())) {
+                if (transactionsList.contains(transaction.getId())) {
                     totalPnl = totalPnl.add(transaction.calculatePnl());
                 }
             }
@@ -343,9 +361,10 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
         final String templateName = "назви";
         name = name != null ? name.trim() : null;
 
-        ValidationUtils.validateRequired(name, templateName, errors);
-        ValidationUtils.validateLength(name, 1, 64, templateName, errors);
-        ValidationUtils.validatePattern(name, "^[а-яА-ЯёЁa-zA-Z0-9_\\s]+$", templateName, errors);
+        ValidationUtils.validateRequired(name, templateName, this::addError);
+        ValidationUtils.validateLength(name, 1, 64, templateName, this::addError);
+        ValidationUtils.validatePattern(name, "^[а-яА-ЯёЁa-zA-Z0-9_\\s]+$", templateName,
+            this::addError);
         this.name = name;
     }
 
@@ -365,6 +384,27 @@ public class Portfolio extends Entity implements Comparable<Portfolio> {
      */
     public void setTotalValue(BigDecimal totalValue) {
         this.totalValue = totalValue;
+        this.priceVersion = 0;
+    }
+
+    /**
+     * Встановлює загальну вартість портфеля, обчислену за знімком цін.
+     *
+     * @param totalValue   нова загальна вартість портфеля.
+     * @param priceVersion версія знімка цін, за яким обчислено вартість.
+     */
+    public void setTotalValue(BigDecimal totalValue, long priceVersion) {
+        this.totalValue = totalValue;
+        this.priceVersion = priceVersion;
+    }
+
+    /**
+     * Повертає версію знімка цін, за яким обчислено загальну вартість.
+     *
+     * @return версія знімка цін або 0, якщо вартість обчислено не за знімком.
+     */
+    public long getPriceVersion() {
+        return priceVersion;
     }
 
     /**
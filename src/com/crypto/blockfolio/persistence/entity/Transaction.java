@@ -26,6 +26,10 @@ public class Transaction extends Entity implements Comparable<Transaction> {
      * Об'єкт криптовалюти, яка бере участь у транзакції.
      */
     private Cryptocurrency cryptocurrency;
+    /**
+     * Ціна криптовалюти на момент виконання транзакції.
+     */
+    private BigDecimal executionPrice;
     /**
      * Тип транзакції (купівля, продаж, переказ тощо).
      */
@@ -82,11 +86,57 @@ public class Transaction extends Entity implements Comparable<Transaction> {
         this.createdAt = validateCreatedAt(createdAt);
 
         if (!this.isValid()) {
-            System.err.println("Помилки транзакції: " + errors);
-            throw new EntityArgumentException(errors);
+            System.err.println("Помилки транзакції: " + getErrors());
+            throw new EntityArgumentException(getErrors());
         }
     }
 
+    /**
+     * Конструктор для відновлення збереженої транзакції. Поля заповнюються у
+     * {@link #restore}.
+     *
+     * @param id унікальний ідентифікатор транзакції.
+     */
+    private Transaction(UUID id) {
+        super(id);
+    }
+
+    /**
+     * Відновлює збережену транзакцію без повторної валідації. Дані вже пройшли перевірку під час
+     * створення транзакції, тому повторна перевірка (наприклад, дати створення відносно поточного
+     * часу) не повинна унеможливлювати читання сховища.
+     *
+     * @param id              унікальний ідентифікатор транзакції.
+     * @param portfolioId     ідентифікатор портфеля, до якого належить транзакція.
+     * @param cryptocurrency  об'єкт криптовалюти, яка бере участь у транзакції.
+     * @param executionPrice  ціна криптовалюти на момент виконання транзакції.
+     * @param transactionType тип транзакції.
+     * @param amount          кількість криптовалюти.
+     * @param costs           витрати, пов'язані з транзакцією.
+     * @param profit          прибуток (для продажу).
+     * @param fees            комісії за транзакцію.
+     * @param description     опис транзакції.
+     * @param createdAt       дата створення транзакції.
+     * @return відновлена транзакція.
+     */
+    public static Transaction restore(UUID id, UUID portfolioId, Cryptocurrency cryptocurrency,
+        BigDecimal executionPrice, TransactionType transactionType, BigDecimal amount,
+        BigDecimal costs, BigDecimal profit, BigDecimal fees, String description,
+        LocalDateTime createdAt) {
+        Transaction transaction = new Transaction(id);
+        transaction.portfolioId = portfolioId;
+        transaction.cryptocurrency = cryptocurrency;
+        transaction.executionPrice = executionPrice;
+        transaction.transactionType = transactionType;
+        transaction.amount = amount;
+        transaction.costs = costs;
+        transaction.profit = profit;
+        transaction.fees = fees;
+        transaction.description = description;
+        transaction.createdAt = createdAt;
+        return transaction;
+    }
+
     /**
      * Порівнює транзакції за часом їх створення.
      *
@@ -108,18 +158,32 @@ public class Transaction extends Entity implements Comparable<Transaction> {
     }
 
     /**
-     * Встановлює криптовалюту для транзакції.
+     * Встановлює криптовалюту для транзакції. Якщо транзакція ще не має ціни виконання або
+     * криптовалюта змінюється на іншу, ціною виконання стає поточна ціна нової криптовалюти.
      *
      * @param cryptocurrency об'єкт криптовалюти.
      */
     public void setCryptocurrency(Cryptocurrency cryptocurrency) {
         if (cryptocurrency == null || !cryptocurrency.isValid()) {
-            errors.add("Криптомонета не є валідною.");
+            addError("Криптомонета не є валідною.");
         } else {
+            if (executionPrice == null || this.cryptocurrency == null
+                || !this.cryptocurrency.getSymbol().equalsIgnoreCase(cryptocurrency.getSymbol())) {
+                executionPrice = BigDecimal.valueOf(cryptocurrency.getCurrentPrice());
+            }
             this.cryptocurrency = cryptocurrency;
         }
     }
 
+    /**
+     * Повертає ціну криптовалюти на момент виконання транзакції.
+     *
+     * @return ціна виконання.
+     */
+    public BigDecimal getExecutionPrice() {
+        return executionPrice;
+    }
+
     /**
      * Обчислює прибуток або збиток (PNL) для даної транзакції.
      *
@@ -165,7 +229,7 @@ public class Transaction extends Entity implements Comparable<Transaction> {
      */
     private LocalDateTime validateCreatedAt(LocalDateTime createdAt) {
         if (createdAt == null || createdAt.isAfter(LocalDateTime.now())) {
-            errors.add("Дата створення не може бути в майбутньому або пустою.");
+            addError("Дата створення не може бути в майбутньому або пустою.");
         }
         return createdAt;
     }
@@ -187,7 +251,7 @@ public class Transaction extends Entity implements Comparable<Transaction> {
      */
     public void setCosts(BigDecimal costs) {
         if (costs == null || costs.compareTo(BigDecimal.ZERO) < 0) {
-            errors.add("Витрати не можуть бути від'ємними.");
+            addError("Витрати не можуть бути від'ємними.");
         }
         this.costs = costs;
     }
@@ -209,7 +273,7 @@ public class Transaction extends Entity implements Comparable<Transaction> {
      */
     public void setAmount(BigDecimal amount) {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
-            errors.add("Кількість монет має бути більше 0.");
+            addError("Кількість монет має бути більше 0.");
         } else {
             this.amount = amount;
         }
@@ -231,7 +295,7 @@ public class Transaction extends Entity implements Comparable<Transaction> {
      */
     public void setProfit(BigDecimal profit) {
         if (profit != null && profit.compareTo(BigDecimal.ZERO) < 0) {
-            errors.add("Прибуток не може бути від’ємним.");
+            addError("Прибуток не може бути від’ємним.");
         }
         this.profit = profit;
     }
@@ -253,7 +317,7 @@ public class Transaction extends Entity implements Comparable<Transaction> {
      */
     public void setFees(BigDecimal fees) {
         if (fees == null || fees.compareTo(BigDecimal.ZERO) < 0) {
-            errors.add("Комісії не можуть бути від'ємними.");
+            addError("Комісії не можуть бути від'ємними.");
         }
         this.fees = fees;
     }
@@ -274,7 +338,7 @@ public class Transaction extends Entity implements Comparable<Transaction> {
      */
     public void setDescription(String description) {
         if (description != null && description.length() > 256) {
-            errors.add("Опис не має бути довшим за 256 символів.");
+            addError("Опис не має бути довшим за 256 символів.");
         }
         this.description = description != null ? description.trim() : null;
     }
@@ -333,9 +397,9 @@ public class Transaction extends Entity implements Comparable<Transaction> {
      */
     public void setTransactionType(TransactionType transactionType) {
         if (transactionType == null) {
-            errors.add("Тип транзакції не може бути порожнім.");
+            addError("Тип транзакції не може бути порожнім.");
         } else if (!EnumSet.allOf(TransactionType.class).contains(transactionType)) {
-            errors.add("Такого типу транзакції не існує.");
+            addError("Такого типу транзакції не існує.");
         } else {
             this.transactionType = transactionType;
         }
@@ -1,5 +1,7 @@
 package com.crypto.blockfolio.persistence.entity;
 
+import java.math.BigDecimal;
+
 /**
  * Перелічення типів транзакцій, які підтримує система. Визначає різні операції, що можуть бути
  * виконані з криптовалютами.
@@ -24,6 +26,20 @@ public enum TransactionType {
     /**
      * Переказ або депозит криптовалюти.
      */
-    TRANSFER_DEPOSIT
+    TRANSFER_DEPOSIT;
+
+    /**
+     * Повертає зміну балансу криптовалюти, яку вносить транзакція цього типу: купівля та
+     * поповнення збільшують баланс, продаж і виведення — зменшують.
+     *
+     * @param amount кількість криптовалюти у транзакції.
+     * @return зміна балансу зі знаком.
+     */
+    public BigDecimal signed(BigDecimal amount) {
+        return switch (this) {
+            case BUY, TRANSFER_DEPOSIT -> amount;
+            case SELL, TRANSFER_WITHDRAWAL -> amount.negate();
+        };
+    }
 }
 
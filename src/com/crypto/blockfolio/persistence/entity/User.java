@@ -1,12 +1,12 @@
 package com.crypto.blockfolio.persistence.entity;
 
+import com.crypto.blockfolio.persistence.CompactUuidSet;
 import com.crypto.blockfolio.persistence.Entity;
 import com.crypto.blockfolio.persistence.exception.EntityArgumentException;
 import com.crypto.blockfolio.persistence.repository.contracts.PortfolioRepository;
 import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
 import com.crypto.blockfolio.persistence.validation.ValidationUtils;
 import java.time.LocalDateTime;
-import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Pattern;
@@ -40,7 +40,7 @@ public class User extends Entity implements Comparable<User> {
     /**
      * Список портфелів користувача (за їх унікальними ID).
      */
-    private Set<UUID> portfolios = new LinkedHashSet<>();
+    private Set<UUID> portfolios;
 
     /**
      * Конструктор для створення нового об'єкта {@link User}.
@@ -57,13 +57,50 @@ public class User extends Entity implements Comparable<User> {
         setEmail(email);
         setUsername(username);
         this.createdAt = LocalDateTime.now();
-        this.portfolios = new LinkedHashSet<>();
+        this.portfolios = new CompactUuidSet();
 
         if (!this.isValid()) {
-            throw new EntityArgumentException(errors);
+            throw new EntityArgumentException(getErrors());
         }
     }
 
+    /**
+     * Конструктор для відновлення збереженого користувача без повторної валідації.
+     *
+     * @param id         унікальний ідентифікатор користувача.
+     * @param password   зашифрований пароль користувача.
+     * @param username   логін користувача.
+     * @param email      електронна пошта користувача.
+     * @param createdAt  дата створення облікового запису.
+     * @param portfolios ідентифікатори портфелів користувача.
+     */
+    private User(UUID id, String password, String username, String email,
+        LocalDateTime createdAt, Set<UUID> portfolios) {
+        super(id);
+        this.password = password;
+        this.username = username;
+        this.email = email;
+        this.createdAt = createdAt;
+        setPortfolios(portfolios);
+    }
+
+    /**
+     * Відновлює збереженого користувача без повторної валідації. Пароль у сховищі вже
+     * зашифрований, тому перевірка складності пароля до нього не застосовується.
+     *
+     * @param id         унікальний ідентифікатор користувача.
+     * @param password   зашифрований пароль користувача.
+     * @param username   логін користувача.
+     * @param email      електронна пошта користувача.
+     * @param createdAt  дата створення облікового запису.
+     * @param portfolios ідентифікатори портфелів користувача.
+     * @return відновлений користувач.
+     */
+    public static User restore(UUID id, String password, String username, String email,
+        LocalDateTime createdAt, Set<UUID> portfolios) {
+        return new User(id, password, username, email, createdAt, portfolios);
+    }
+
     /**
      * Додає транзакцію до портфеля користувача.
      *
@@ -99,7 +136,7 @@ public class User extends Entity implements Comparable<User> {
      */
     public boolean removePortfolio(Portfolio portfolio) {
         if (portfolio == null || !portfolios.remove(portfolio)) {
-            errors.add("Портфель не знайдено у списку.");
+            addError("Портфель не знайдено у списку.");
             return false;
         }
         return true;
@@ -115,14 +152,14 @@ public class User extends Entity implements Comparable<User> {
         final String templateName = "пароля";
 
         if (password == null || password.trim().isEmpty()) {
-            errors.add(ErrorTemplates.REQUIRED.getTemplate().formatted(templateName));
+            addError(ErrorTemplates.REQUIRED.getTemplate().formatted(templateName));
         }
         if (password.length() < 8) {
-            errors.add(ErrorTemplates.MIN_LENGTH.getTemplate().formatted(templateName, 8));
+            addError(ErrorTemplates.MIN_LENGTH.getTemplate().formatted(templateName, 8));
         }
         var pattern = Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d).+$");
         if (!pattern.matcher(password).matches()) {
-            errors.add(ErrorTemplates.PASSWORD.getTemplate().formatted(templateName));
+            addError(ErrorTemplates.PASSWORD.getTemplate().formatted(templateName));
         }
 
         return password;
@@ -165,9 +202,9 @@ public class User extends Entity implements Comparable<User> {
     public void setUsername(String username) {
         final String templateName = "логіну";
         username = username != null ? username.trim() : null;
-        ValidationUtils.validateRequired(username, templateName, errors);
-        ValidationUtils.validateLength(username, 4, 24, templateName, errors);
-        ValidationUtils.validatePattern(username, "^[a-zA-Z0-9_]+$", templateName, errors);
+        ValidationUtils.validateRequired(username, templateName, this::addError);
+        ValidationUtils.validateLength(username, 4, 24, templateName, this::addError);
+        ValidationUtils.validatePattern(username, "^[a-zA-Z0-9_]+$", templateName, this::addError);
         this.username = username;
     }
 
@@ -196,7 +233,7 @@ public class User extends Entity implements Comparable<User> {
      */
     public void setPortfolios(Set<UUID> portfolios) {
         this.portfolios =
-            portfolios != null ? new LinkedHashSet<>(portfolios) : new LinkedHashSet<>();
+            portfolios != null ? new CompactUuidSet(portfolios) : new CompactUuidSet();
     }
 
     /**
@@ -216,9 +253,9 @@ public class User extends Entity implements Comparable<User> {
     public void setEmail(String email) {
         final String templateName = "електронної пошти";
         email = email != null ? email.trim() : null;
-        ValidationUtils.validateRequired(email, templateName, errors);
+        ValidationUtils.validateRequired(email, templateName, this::addError);
         ValidationUtils.validatePattern(email, "^[\\w.%+-]+@[\\w.-]+\\.[a-zA-Z]{2,}$",
-            templateName, errors);
+            templateName, this::addError);
         this.email = email;
     }
 
@@ -230,12 +267,12 @@ public class User extends Entity implements Comparable<User> {
      */
     public boolean addPortfolio(UUID portfolioId) {
         if (portfolioId == null) {
-            errors.add("ID портфеля не може бути null.");
+            addError("ID портфеля не може бути null.");
             return false;
         }
 
         if (portfolios.contains(portfolioId)) {
-            errors.add("Портфель із цим ID вже існує у користувача.");
+            addError("Портфель із цим ID вже існує у користувача.");
             return false;
         }
 
@@ -251,7 +288,7 @@ public class User extends Entity implements Comparable<User> {
      */
     public boolean removePortfolio(UUID portfolioId) {
         if (portfolioId == null || !portfolios.contains(portfolioId)) {
-            errors.add("Портфель із таким ID не знайдено у користувача.");
+            addError("Портфель із таким ID не знайдено у користувача.");
             return false;
         }
 
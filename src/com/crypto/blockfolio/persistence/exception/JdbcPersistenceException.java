@@ -0,0 +1,30 @@
+package com.crypto.blockfolio.persistence.exception;
+
+/**
+ * Виключення, що вказує на помилки під час роботи з реляційною базою даних через JDBC.
+ * Використовується для обробки ситуацій, коли не вдається отримати з'єднання, виконати запит або
+ * зафіксувати транзакцію.
+ */
+public class JdbcPersistenceException extends RuntimeException {
+
+    /**
+     * Створює новий екземпляр {@link JdbcPersistenceException} із вказаним повідомленням про
+     * помилку.
+     *
+     * @param message текст помилки, що пояснює причину виключення.
+     */
+    public JdbcPersistenceException(String message) {
+        super(message);
+    }
+
+    /**
+     * Створює новий екземпляр {@link JdbcPersistenceException} із вказаним повідомленням і
+     * причиною.
+     *
+     * @param message текст помилки, що пояснює причину виключення.
+     * @param cause   причина виключення (інше виключення).
+     */
+    public JdbcPersistenceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
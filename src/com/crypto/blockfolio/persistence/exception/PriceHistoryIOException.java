@@ -0,0 +1,30 @@
+package com.crypto.blockfolio.persistence.exception;
+
+/**
+ * Виключення, що вказує на помилки введення/виведення під час роботи з файлами історії цін.
+ * Використовується, коли не вдається створити, відобразити в пам'ять або прочитати сегмент
+ * історії.
+ */
+public class PriceHistoryIOException extends RuntimeException {
+
+    /**
+     * Створює новий екземпляр {@link PriceHistoryIOException} із вказаним повідомленням про
+     * помилку.
+     *
+     * @param message текст помилки, що пояснює причину виключення.
+     */
+    public PriceHistoryIOException(String message) {
+        super(message);
+    }
+
+    /**
+     * Створює новий екземпляр {@link PriceHistoryIOException} із вказаним повідомленням і
+     * причиною.
+     *
+     * @param message текст помилки, що пояснює причину виключення.
+     * @param cause   причина виключення (інше виключення).
+     */
+    public PriceHistoryIOException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,5 +1,6 @@
 package com.crypto.blockfolio.persistence.repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -44,6 +45,13 @@ public interface Repository<E, ID> {
      */
     E add(E entity);
 
+    /**
+     * Додає або оновлює кілька об'єктів за одну операцію збереження.
+     *
+     * @param entities об'єкти для додавання.
+     */
+    void addAll(Collection<E> entities);
+
     /**
      * Видаляє об'єкт із репозиторію.
      *
@@ -2,10 +2,13 @@ package com.crypto.blockfolio.persistence.repository;
 
 import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
 import com.crypto.blockfolio.persistence.repository.contracts.PortfolioRepository;
+import com.crypto.blockfolio.persistence.repository.contracts.PriceHistoryRepository;
 import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
 import com.crypto.blockfolio.persistence.repository.contracts.UserRepository;
+import com.crypto.blockfolio.persistence.repository.impl.jdbc.JdbcRepositoryFactory;
 import com.crypto.blockfolio.persistence.repository.impl.json.AuthDataRepository;
 import com.crypto.blockfolio.persistence.repository.impl.json.JsonRepositoryFactory;
+import com.crypto.blockfolio.persistence.repository.impl.mapped.MappedPriceHistoryRepository;
 import jdk.jshell.spi.ExecutionControl.NotImplementedException;
 
 /**
@@ -25,7 +28,8 @@ public abstract class RepositoryFactory {
     public static final int XML = 2;
 
     /**
-     * Константа для позначення типу фабрики, що працює з PostgreSQL.
+     * Константа для позначення типу фабрики, що працює з PostgreSQL або іншою реляційною базою
+     * даних через JDBC.
      */
     public static final int POSTGRESQL = 3;
 
@@ -41,8 +45,7 @@ public abstract class RepositoryFactory {
         return switch (whichFactory) {
             case JSON -> JsonRepositoryFactory.getInstance();
             case XML -> throw new NotImplementedException("Робота з XML файлами не реалізована.");
-            case POSTGRESQL -> throw new NotImplementedException(
-                "Робота з СУБД PostgreSQL не реалізована.");
+            case POSTGRESQL -> JdbcRepositoryFactory.getInstance();
             default -> throw new IllegalArgumentException(
                 "Помилка при виборі фабрики репозиторіїв.");
         };
@@ -83,6 +86,16 @@ public abstract class RepositoryFactory {
      */
     public abstract AuthDataRepository getAuthDataRepository();
 
+    /**
+     * Повертає сховище історії цін. Історія зберігається у файлах, відображених у пам'ять,
+     * незалежно від типу фабрики.
+     *
+     * @return реалізація {@link PriceHistoryRepository}.
+     */
+    public PriceHistoryRepository getPriceHistoryRepository() {
+        return MappedPriceHistoryRepository.getInstance();
+    }
+
     /**
      * Зберігає всі зміни у репозиторіях.
      */
@@ -2,6 +2,7 @@ package com.crypto.blockfolio.persistence.repository.contracts;
 
 import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
 import com.crypto.blockfolio.persistence.repository.Repository;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -31,7 +32,7 @@ public interface CryptocurrencyRepository extends Repository<Cryptocurrency, Str
      * Знаходить усі криптовалюти, ринкова капіталізація яких більша за вказане значення.
      *
      * @param marketCap значення ринкової капіталізації для фільтрації.
-     * @return набір криптовалют, які відповідають критерію.
+     * @return набір криптовалют, які відповідають критерію, у порядку спадання капіталізації.
      */
     Set<Cryptocurrency> findAllByMarketCapGreaterThan(double marketCap);
 
@@ -39,10 +40,44 @@ public interface CryptocurrencyRepository extends Repository<Cryptocurrency, Str
      * Знаходить усі криптовалюти, обсяг торгів за 24 години яких більший за вказане значення.
      *
      * @param volume24h значення обсягу торгів за 24 години для фільтрації.
-     * @return набір криптовалют, які відповідають критерію.
+     * @return набір криптовалют, які відповідають критерію, у порядку спадання обсягу торгів.
      */
     Set<Cryptocurrency> findAllByVolume24hGreaterThan(double volume24h);
 
+    /**
+     * Знаходить усі криптовалюти, ринкова капіталізація яких належить діапазону.
+     *
+     * @param from нижня межа капіталізації (включно).
+     * @param to   верхня межа капіталізації (включно).
+     * @return список криптовалют у порядку спадання капіталізації.
+     */
+    List<Cryptocurrency> findAllByMarketCapBetween(double from, double to);
+
+    /**
+     * Знаходить усі криптовалюти, обсяг торгів за 24 години яких належить діапазону.
+     *
+     * @param from нижня межа обсягу торгів (включно).
+     * @param to   верхня межа обсягу торгів (включно).
+     * @return список криптовалют у порядку спадання обсягу торгів.
+     */
+    List<Cryptocurrency> findAllByVolume24hBetween(double from, double to);
+
+    /**
+     * Повертає криптовалюти з найбільшою ринковою капіталізацією.
+     *
+     * @param limit максимальна кількість криптовалют.
+     * @return список криптовалют у порядку спадання капіталізації.
+     */
+    List<Cryptocurrency> findTopByMarketCap(int limit);
+
+    /**
+     * Повертає криптовалюти з найбільшим обсягом торгів за 24 години.
+     *
+     * @param limit максимальна кількість криптовалют.
+     * @return список криптовалют у порядку спадання обсягу торгів.
+     */
+    List<Cryptocurrency> findTopByVolume24h(int limit);
+
     /**
      * Оновлює дані криптовалюти.
      *
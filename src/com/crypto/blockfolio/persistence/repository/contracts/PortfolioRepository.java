@@ -30,23 +30,6 @@ public interface PortfolioRepository extends Repository<Portfolio, UUID> {
      */
     Optional<Cryptocurrency> findCryptocurrencyBySymbol(String symbol);
 
-    /**
-     * Додає криптовалюту до портфеля.
-     *
-     * @param portfolioId          ідентифікатор портфеля.
-     * @param cryptocurrencySymbol символ криптовалюти.
-     * @param amount               кількість криптовалюти для додавання.
-     */
-    void addCryptocurrency(UUID portfolioId, String cryptocurrencySymbol, BigDecimal amount);
-
-    /**
-     * Видаляє криптовалюту з портфеля.
-     *
-     * @param portfolioId          ідентифікатор портфеля.
-     * @param cryptocurrencySymbol символ криптовалюти.
-     */
-    void removeCryptocurrency(UUID portfolioId, String cryptocurrencySymbol);
-
     /**
      * Додає транзакцію до портфеля.
      *
@@ -0,0 +1,65 @@
+package com.crypto.blockfolio.persistence.repository.contracts;
+
+import com.crypto.blockfolio.persistence.OhlcSeries;
+import com.crypto.blockfolio.persistence.PriceResolution;
+import com.crypto.blockfolio.persistence.PriceSeries;
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import java.util.Collection;
+
+/**
+ * Інтерфейс сховища історії цін криптовалют. Історія кожної криптовалюти лише дописується: точка
+ * з моментом часу, не пізнішим за останню збережену точку, ігнорується. Моменти часу задаються в
+ * мілісекундах від епохи.
+ */
+public interface PriceHistoryRepository {
+
+    /**
+     * Дописує ціну криптовалюти до її історії.
+     *
+     * @param symbol    символ криптовалюти.
+     * @param timestamp момент часу в мілісекундах від епохи.
+     * @param price     ціна.
+     * @return {@code true}, якщо точку додано; {@code false}, якщо вона не новіша за останню.
+     */
+    boolean append(String symbol, long timestamp, double price);
+
+    /**
+     * Дописує поточні ціни криптовалют до їхньої історії з моментом часу останнього оновлення
+     * кожної криптовалюти.
+     *
+     * @param cryptocurrencies криптовалюти з оновленими цінами.
+     * @return кількість доданих точок.
+     */
+    int appendAll(Collection<Cryptocurrency> cryptocurrencies);
+
+    /**
+     * Повертає ціни криптовалюти за проміжок часу.
+     *
+     * @param symbol символ криптовалюти.
+     * @param from   початок проміжку (включно).
+     * @param to     кінець проміжку (не включно).
+     * @return ряд цін у порядку зростання часу.
+     */
+    PriceSeries findRange(String symbol, long from, long to);
+
+    /**
+     * Повертає останні ціни криптовалюти.
+     *
+     * @param symbol символ криптовалюти.
+     * @param count  максимальна кількість точок.
+     * @return ряд з не більш ніж {@code count} останніх цін у порядку зростання часу.
+     * @throws IllegalArgumentException якщо кількість від'ємна.
+     */
+    PriceSeries findLast(String symbol, int count);
+
+    /**
+     * Агрегує ціни криптовалюти за проміжок часу у свічки OHLC.
+     *
+     * @param symbol     символ криптовалюти.
+     * @param from       початок проміжку (включно).
+     * @param to         кінець проміжку (не включно).
+     * @param resolution роздільна здатність свічок.
+     * @return ряд свічок у порядку зростання часу.
+     */
+    OhlcSeries findOhlc(String symbol, long from, long to, PriceResolution resolution);
+}
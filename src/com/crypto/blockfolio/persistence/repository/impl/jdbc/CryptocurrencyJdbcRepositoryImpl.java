@@ -0,0 +1,246 @@
+package com.crypto.blockfolio.persistence.repository.impl.jdbc;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
+import com.crypto.blockfolio.persistence.repository.impl.jdbc.JdbcConnectionPool.PooledConnection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Реалізація репозиторію криптовалют для реляційної бази даних. Пошук за назвою та запити за
+ * ринковою капіталізацією й обсягом торгів виконуються за індексами таблиці
+ * {@code cryptocurrencies}.
+ */
+public final class CryptocurrencyJdbcRepositoryImpl extends
+    GenericJdbcRepository<Cryptocurrency, String> implements CryptocurrencyRepository {
+
+    /**
+     * Запит вибірки криптовалют без умови.
+     */
+    private static final String SELECT = "SELECT symbol, name, current_price, market_cap,"
+        + " volume_24h, percent_change_24h, last_updated FROM cryptocurrencies";
+
+    /**
+     * Запити пакетного збереження криптовалют.
+     */
+    private static final Upsert UPSERT = Upsert.of("cryptocurrencies", "symbol", "name",
+        "name_key", "current_price", "market_cap", "volume_24h", "percent_change_24h",
+        "last_updated");
+
+    /**
+     * Запит видалення криптовалюти.
+     */
+    private static final String DELETE = "DELETE FROM cryptocurrencies WHERE symbol = ?";
+
+    /**
+     * Конструктор, який ініціалізує репозиторій криптовалют.
+     *
+     * @param pool пул з'єднань з базою даних.
+     */
+    CryptocurrencyJdbcRepositoryImpl(JdbcConnectionPool pool) {
+        super(pool, Cryptocurrency::getSymbol, "symbol");
+    }
+
+    /**
+     * Знаходить криптовалюту за її символом без урахування регістру.
+     *
+     * @param symbol символ криптовалюти.
+     * @return {@link Optional}, що містить криптовалюту, якщо її знайдено.
+     */
+    @Override
+    public Optional<Cryptocurrency> findBySymbol(String symbol) {
+        if (symbol == null) {
+            return Optional.empty();
+        }
+        return findById(symbol.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Знаходить криптовалюту за її назвою без урахування регістру.
+     *
+     * @param name назва криптовалюти.
+     * @return {@link Optional}, що містить криптовалюту, якщо її знайдено.
+     */
+    @Override
+    public Optional<Cryptocurrency> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return select("name_key = ?",
+            statement -> statement.setString(1, name.toLowerCase(Locale.ROOT)))
+            .stream().findFirst();
+    }
+
+    /**
+     * Знаходить криптовалюти з ринковою капіталізацією, більшою за вказану, у порядку її
+     * спадання.
+     *
+     * @param marketCap мінімальна ринкова капіталізація (не включно).
+     * @return набір криптовалют.
+     */
+    @Override
+    public Set<Cryptocurrency> findAllByMarketCapGreaterThan(double marketCap) {
+        return new LinkedHashSet<>(select("market_cap > ? ORDER BY market_cap DESC",
+            statement -> statement.setDouble(1, marketCap)));
+    }
+
+    /**
+     * Знаходить криптовалюти з обсягом торгів за 24 години, більшим за вказаний, у порядку його
+     * спадання.
+     *
+     * @param volume24h мінімальний обсяг торгів (не включно).
+     * @return набір криптовалют.
+     */
+    @Override
+    public Set<Cryptocurrency> findAllByVolume24hGreaterThan(double volume24h) {
+        return new LinkedHashSet<>(select("volume_24h > ? ORDER BY volume_24h DESC",
+            statement -> statement.setDouble(1, volume24h)));
+    }
+
+    /**
+     * Знаходить криптовалюти з ринковою капіталізацією у заданому діапазоні у порядку її
+     * спадання.
+     *
+     * @param from нижня межа (включно).
+     * @param to   верхня межа (включно).
+     * @return список криптовалют; порожній, якщо нижня межа більша за верхню.
+     */
+    @Override
+    public List<Cryptocurrency> findAllByMarketCapBetween(double from, double to) {
+        return selectBetween("market_cap", from, to);
+    }
+
+    /**
+     * Знаходить криптовалюти з обсягом торгів за 24 години у заданому діапазоні у порядку його
+     * спадання.
+     *
+     * @param from нижня межа (включно).
+     * @param to   верхня межа (включно).
+     * @return список криптовалют; порожній, якщо нижня межа більша за верхню.
+     */
+    @Override
+    public List<Cryptocurrency> findAllByVolume24hBetween(double from, double to) {
+        return selectBetween("volume_24h", from, to);
+    }
+
+    /**
+     * Повертає криптовалюти з найбільшою ринковою капіталізацією.
+     *
+     * @param limit максимальна кількість криптовалют.
+     * @return список криптовалют у порядку спадання ринкової капіталізації.
+     * @throws IllegalArgumentException якщо ліміт від'ємний.
+     */
+    @Override
+    public List<Cryptocurrency> findTopByMarketCap(int limit) {
+        return selectTop("market_cap", limit);
+    }
+
+    /**
+     * Повертає криптовалюти з найбільшим обсягом торгів за 24 години.
+     *
+     * @param limit максимальна кількість криптовалют.
+     * @return список криптовалют у порядку спадання обсягу торгів.
+     * @throws IllegalArgumentException якщо ліміт від'ємний.
+     */
+    @Override
+    public List<Cryptocurrency> findTopByVolume24h(int limit) {
+        return selectTop("volume_24h", limit);
+    }
+
+    /**
+     * Оновлює дані криптовалюти.
+     *
+     * @param cryptocurrency криптовалюта з оновленими даними.
+     * @throws IllegalArgumentException якщо криптовалюта з таким символом не знайдена.
+     */
+    @Override
+    public void updateCryptocurrency(Cryptocurrency cryptocurrency) {
+        findBySymbol(cryptocurrency.getSymbol())
+            .orElseThrow(() -> new IllegalArgumentException(
+                "Криптовалюта з символом " + cryptocurrency.getSymbol() + " не знайдена."));
+        add(cryptocurrency);
+    }
+
+    @Override
+    protected List<Cryptocurrency> load(PooledConnection connection, String condition,
+        StatementBinder binder) throws SQLException {
+        PreparedStatement statement = connection.prepare(where(SELECT, condition));
+        binder.bind(statement);
+        List<Cryptocurrency> cryptocurrencies = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                cryptocurrencies.add(Cryptocurrency.restore(
+                    resultSet.getString("symbol"),
+                    resultSet.getString("name"),
+                    resultSet.getDouble("current_price"),
+                    resultSet.getDouble("market_cap"),
+                    resultSet.getDouble("volume_24h"),
+                    resultSet.getDouble("percent_change_24h"),
+                    getDateTime(resultSet, "last_updated")));
+            }
+        }
+        return cryptocurrencies;
+    }
+
+    @Override
+    protected void save(PooledConnection connection, List<Cryptocurrency> cryptocurrencies)
+        throws SQLException {
+        upsert(connection, UPSERT, cryptocurrencies, (statement, cryptocurrency) -> {
+            statement.setString(1, cryptocurrency.getName());
+            statement.setString(2, cryptocurrency.getName().toLowerCase(Locale.ROOT));
+            statement.setDouble(3, cryptocurrency.getCurrentPrice());
+            statement.setDouble(4, cryptocurrency.getMarketCap());
+            statement.setDouble(5, cryptocurrency.getVolume24h());
+            statement.setDouble(6, cryptocurrency.getPercentChange24h());
+            setDateTime(statement, 7, cryptocurrency.getLastUpdated());
+            statement.setString(8, cryptocurrency.getSymbol());
+        });
+    }
+
+    @Override
+    protected int delete(PooledConnection connection, List<String> symbols)
+        throws SQLException {
+        return executeForEach(connection, DELETE, symbols);
+    }
+
+    /**
+     * Знаходить криптовалюти, значення стовпця яких належить діапазону.
+     *
+     * @param column назва стовпця.
+     * @param from   нижня межа (включно).
+     * @param to     верхня межа (включно).
+     * @return список криптовалют у порядку спадання значення стовпця.
+     */
+    private List<Cryptocurrency> selectBetween(String column, double from, double to) {
+        if (from > to) {
+            return new ArrayList<>();
+        }
+        return select(column + " BETWEEN ? AND ? ORDER BY " + column + " DESC", statement -> {
+            statement.setDouble(1, from);
+            statement.setDouble(2, to);
+        });
+    }
+
+    /**
+     * Повертає криптовалюти з найбільшими значеннями стовпця.
+     *
+     * @param column назва стовпця.
+     * @param limit  максимальна кількість криптовалют.
+     * @return список криптовалют у порядку спадання значення стовпця.
+     * @throws IllegalArgumentException якщо ліміт від'ємний.
+     */
+    private List<Cryptocurrency> selectTop(String column, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Ліміт не може бути від'ємним.");
+        }
+        return select("1 = 1 ORDER BY " + column + " DESC LIMIT ?",
+            statement -> statement.setInt(1, limit));
+    }
+}
@@ -0,0 +1,508 @@
+package com.crypto.blockfolio.persistence.repository.impl.jdbc;
+
+import com.crypto.blockfolio.persistence.exception.JdbcPersistenceException;
+import com.crypto.blockfolio.persistence.repository.Repository;
+import com.crypto.blockfolio.persistence.repository.impl.jdbc.JdbcConnectionPool.PooledConnection;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Базовий клас JDBC-репозиторіїв. Зміни, зроблені через методи репозиторію, одразу записуються
+ * у базу даних в окремій транзакції, а запити виконуються базою даних з використанням її
+ * індексів.
+ *
+ * <p>Завантажені об'єкти зберігаються у карті ідентичності: повторний запит повертає той самий
+ * екземпляр, що й попередній. Це зберігає поведінку JSON-репозиторіїв, де сервіси змінюють
+ * отримані об'єкти на місці; такі зміни записуються у базу даних під час
+ * {@link JdbcRepositoryFactory#commit()}.
+ *
+ * @param <E>  тип сутності.
+ * @param <ID> тип ідентифікатора сутності.
+ */
+abstract class GenericJdbcRepository<E, ID> implements Repository<E, ID> {
+
+    /**
+     * Максимальна кількість записів в одному пакеті запитів.
+     */
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Пул з'єднань з базою даних.
+     */
+    protected final JdbcConnectionPool pool;
+
+    /**
+     * Функція для вилучення ідентифікатора з сутності.
+     */
+    private final Function<E, ID> identifierExtractor;
+
+    /**
+     * Завантажені та збережені сутності за ідентифікатором.
+     */
+    private final Map<ID, E> identityMap = new ConcurrentHashMap<>();
+
+    /**
+     * Умова пошуку за ідентифікатором.
+     */
+    private final String identifierCondition;
+
+    /**
+     * Створює репозиторій.
+     *
+     * @param pool                пул з'єднань з базою даних.
+     * @param identifierExtractor функція для вилучення ідентифікатора з сутності.
+     * @param identifierColumn    назва стовпця з ідентифікатором.
+     */
+    GenericJdbcRepository(JdbcConnectionPool pool, Function<E, ID> identifierExtractor,
+        String identifierColumn) {
+        this.pool = pool;
+        this.identifierExtractor = identifierExtractor;
+        this.identifierCondition = identifierColumn + " = ?";
+    }
+
+    /**
+     * Знаходить сутність за ідентифікатором. Завантажена раніше сутність повертається без
+     * звернення до бази даних.
+     *
+     * @param id ідентифікатор сутності.
+     * @return {@link Optional}, що містить сутність, якщо вона знайдена.
+     */
+    @Override
+    public Optional<E> findById(ID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        E cached = identityMap.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return select(identifierCondition, statement -> bindIdentifier(statement, 1, id))
+            .stream().findFirst();
+    }
+
+    /**
+     * Повертає всі сутності з бази даних.
+     *
+     * @return набір сутностей.
+     */
+    @Override
+    public Set<E> findAll() {
+        return new LinkedHashSet<>(select(null, statement -> {
+        }));
+    }
+
+    /**
+     * Повертає сутності, що відповідають фільтру.
+     *
+     * @param filter предикат для фільтрації.
+     * @return набір сутностей.
+     */
+    @Override
+    public Set<E> findAll(Predicate<E> filter) {
+        return findAll().stream().filter(filter).collect(Collectors.toSet());
+    }
+
+    /**
+     * Додає сутність або замінює існуючу з тим самим ідентифікатором.
+     *
+     * @param entity сутність для додавання.
+     * @return додана сутність.
+     * @throws JdbcPersistenceException у разі помилки бази даних.
+     */
+    @Override
+    public E add(E entity) {
+        pool.inTransaction(connection -> {
+            save(connection, List.of(entity));
+            return null;
+        });
+        identityMap.put(identifierExtractor.apply(entity), entity);
+        return entity;
+    }
+
+    /**
+     * Додає або замінює кілька сутностей пакетами в одній транзакції.
+     *
+     * @param entities сутності для додавання.
+     * @throws JdbcPersistenceException у разі помилки бази даних.
+     */
+    @Override
+    public void addAll(Collection<E> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        List<E> batch = List.copyOf(entities);
+        pool.inTransaction(connection -> {
+            for (int from = 0; from < batch.size(); from += BATCH_SIZE) {
+                save(connection, batch.subList(from, Math.min(from + BATCH_SIZE, batch.size())));
+            }
+            return null;
+        });
+        batch.forEach(entity -> identityMap.put(identifierExtractor.apply(entity), entity));
+    }
+
+    /**
+     * Видаляє сутність.
+     *
+     * @param entity сутність для видалення.
+     * @return {@code true}, якщо сутність була видалена.
+     * @throws JdbcPersistenceException у разі помилки бази даних.
+     */
+    @Override
+    public boolean remove(E entity) {
+        ID id = identifierExtractor.apply(entity);
+        boolean removed = pool.inTransaction(connection -> delete(connection, List.of(id)) > 0);
+        identityMap.remove(id);
+        return removed;
+    }
+
+    /**
+     * Записує всі завантажені сутності пакетами у межах переданого з'єднання. Так до бази даних
+     * потрапляють зміни, зроблені над сутностями на місці.
+     *
+     * @param connection з'єднання з відкритою транзакцією.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    void saveLoaded(PooledConnection connection) throws SQLException {
+        List<E> entities = new ArrayList<>(identityMap.values());
+        for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+            save(connection, entities.subList(from, Math.min(from + BATCH_SIZE,
+                entities.size())));
+        }
+    }
+
+    /**
+     * Виконує запит і повертає сутності з урахуванням карти ідентичності: якщо сутність уже
+     * завантажена, повертається наявний екземпляр.
+     *
+     * @param condition умова {@code WHERE} без ключового слова або {@code null} для всіх
+     *                  записів.
+     * @param binder    обробник, що встановлює параметри умови.
+     * @return список сутностей у порядку, визначеному запитом.
+     * @throws JdbcPersistenceException у разі помилки бази даних.
+     */
+    protected List<E> select(String condition, StatementBinder binder) {
+        List<E> loaded = afterLoad(pool.withConnection(
+            connection -> load(connection, condition, binder)));
+        List<E> result = new ArrayList<>(loaded.size());
+        for (E entity : loaded) {
+            E existing = identityMap.putIfAbsent(identifierExtractor.apply(entity), entity);
+            result.add(existing != null ? existing : entity);
+        }
+        return result;
+    }
+
+    /**
+     * Обробляє завантажені сутності після повернення з'єднання у пул. Дозволяє підкласам
+     * звертатися до інших репозиторіїв, не утримуючи з'єднання.
+     *
+     * @param entities завантажені сутності.
+     * @return оброблені сутності.
+     */
+    protected List<E> afterLoad(List<E> entities) {
+        return entities;
+    }
+
+    /**
+     * Завантажує сутності, що відповідають умові.
+     *
+     * @param connection з'єднання.
+     * @param condition  умова {@code WHERE} без ключового слова або {@code null}.
+     * @param binder     обробник, що встановлює параметри умови.
+     * @return список сутностей.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    protected abstract List<E> load(PooledConnection connection, String condition,
+        StatementBinder binder) throws SQLException;
+
+    /**
+     * Записує сутності разом із залежними записами.
+     *
+     * @param connection з'єднання з відкритою транзакцією.
+     * @param entities   сутності для запису.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    protected abstract void save(PooledConnection connection, List<E> entities)
+        throws SQLException;
+
+    /**
+     * Видаляє сутності разом із залежними записами.
+     *
+     * @param connection з'єднання з відкритою транзакцією.
+     * @param ids        ідентифікатори сутностей.
+     * @return кількість видалених сутностей.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    protected abstract int delete(PooledConnection connection, List<ID> ids)
+        throws SQLException;
+
+    /**
+     * Встановлює ідентифікатор як параметр запиту.
+     *
+     * @param statement запит.
+     * @param index     номер параметра.
+     * @param id        ідентифікатор.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    protected void bindIdentifier(PreparedStatement statement, int index, ID id)
+        throws SQLException {
+        statement.setString(index, id.toString());
+    }
+
+    /**
+     * Додає умову до запиту.
+     *
+     * @param sql       запит без умови.
+     * @param condition умова {@code WHERE} без ключового слова або {@code null}.
+     * @return запит з умовою.
+     */
+    static String where(String sql, String condition) {
+        return condition == null ? sql : sql + " WHERE " + condition;
+    }
+
+    /**
+     * Виконує пакетне збереження: спершу оновлює існуючі записи, а потім вставляє ті, яких ще
+     * немає. Такий підхід не залежить від діалекту SQL, на відміну від
+     * {@code ON CONFLICT}/{@code MERGE}.
+     *
+     * <p>Драйвер може повернути для пакета {@link Statement#SUCCESS_NO_INFO} замість кількості
+     * оновлених записів. Для таких записів оновлення повторюється окремим запитом, щоб точно
+     * визначити, чи існує запис; повторне оновлення тими самими значеннями нічого не змінює.
+     *
+     * @param connection з'єднання.
+     * @param upsert     запити оновлення та вставки.
+     * @param rows       записи.
+     * @param binder     обробник, що встановлює параметри запису.
+     * @param <T>        тип запису.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    static <T> void upsert(PooledConnection connection, Upsert upsert, List<T> rows,
+        RowBinder<T> binder) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        PreparedStatement update = connection.prepare(upsert.update());
+        for (T row : rows) {
+            binder.bind(update, row);
+            update.addBatch();
+        }
+        int[] counts = update.executeBatch();
+        PreparedStatement insert = null;
+        for (int i = 0; i < rows.size(); i++) {
+            int count = counts[i];
+            if (count == Statement.SUCCESS_NO_INFO) {
+                binder.bind(update, rows.get(i));
+                count = update.executeUpdate();
+            }
+            if (count <= 0) {
+                if (insert == null) {
+                    insert = connection.prepare(upsert.insert());
+                }
+                binder.bind(insert, rows.get(i));
+                insert.addBatch();
+            }
+        }
+        if (insert != null) {
+            insert.executeBatch();
+        }
+    }
+
+    /**
+     * Виконує пакет запитів з одним параметром-рядком для кожного значення.
+     *
+     * @param connection з'єднання.
+     * @param sql        запит з одним параметром.
+     * @param values     значення параметра.
+     * @return сумарна кількість змінених записів.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    static int executeForEach(PooledConnection connection, String sql, List<?> values)
+        throws SQLException {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        PreparedStatement statement = connection.prepare(sql);
+        for (Object value : values) {
+            statement.setString(1, value.toString());
+            statement.addBatch();
+        }
+        int total = 0;
+        for (int count : statement.executeBatch()) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Встановлює ідентифікатор {@link UUID} як параметр-рядок.
+     *
+     * @param statement запит.
+     * @param index     номер параметра.
+     * @param value     значення або {@code null}.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    static void setUuid(PreparedStatement statement, int index, UUID value)
+        throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, value.toString());
+        }
+    }
+
+    /**
+     * Встановлює число як параметр запиту.
+     *
+     * @param statement запит.
+     * @param index     номер параметра.
+     * @param value     значення або {@code null}.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    static void setDecimal(PreparedStatement statement, int index, BigDecimal value)
+        throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.NUMERIC);
+        } else {
+            statement.setBigDecimal(index, value);
+        }
+    }
+
+    /**
+     * Встановлює мітку часу як параметр запиту.
+     *
+     * @param statement запит.
+     * @param index     номер параметра.
+     * @param value     значення або {@code null}.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    static void setDateTime(PreparedStatement statement, int index, LocalDateTime value)
+        throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.TIMESTAMP);
+        } else {
+            statement.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+
+    /**
+     * Зчитує ідентифікатор {@link UUID} зі стовпця-рядка.
+     *
+     * @param resultSet результат запиту.
+     * @param column    назва стовпця.
+     * @return ідентифікатор або {@code null}.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    static UUID getUuid(ResultSet resultSet, String column) throws SQLException {
+        String value = resultSet.getString(column);
+        return value == null ? null : UUID.fromString(value);
+    }
+
+    /**
+     * Зчитує число без незначущих нулів дробової частини, які додає стовпець з фіксованим
+     * масштабом.
+     *
+     * @param resultSet результат запиту.
+     * @param column    назва стовпця.
+     * @return число або {@code null}.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    static BigDecimal getDecimal(ResultSet resultSet, String column) throws SQLException {
+        BigDecimal value = resultSet.getBigDecimal(column);
+        if (value == null) {
+            return null;
+        }
+        BigDecimal stripped = value.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+    /**
+     * Зчитує мітку часу.
+     *
+     * @param resultSet результат запиту.
+     * @param column    назва стовпця.
+     * @return мітка часу або {@code null}.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    static LocalDateTime getDateTime(ResultSet resultSet, String column) throws SQLException {
+        Timestamp value = resultSet.getTimestamp(column);
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    /**
+     * Обробник, що встановлює параметри запиту.
+     */
+    @FunctionalInterface
+    interface StatementBinder {
+
+        /**
+         * Встановлює параметри запиту.
+         *
+         * @param statement запит.
+         * @throws SQLException у разі помилки бази даних.
+         */
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * Обробник, що встановлює параметри запиту для одного запису.
+     *
+     * @param <T> тип запису.
+     */
+    @FunctionalInterface
+    interface RowBinder<T> {
+
+        /**
+         * Встановлює параметри запиту для запису.
+         *
+         * @param statement запит.
+         * @param row       запис.
+         * @throws SQLException у разі помилки бази даних.
+         */
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+
+    /**
+     * Пара запитів для пакетного збереження. Параметри обох запитів розташовані в однаковому
+     * порядку: спершу значення стовпців, потім ідентифікатор, тому для них використовується один
+     * обробник параметрів.
+     *
+     * @param update запит оновлення.
+     * @param insert запит вставки.
+     */
+    record Upsert(String update, String insert) {
+
+        /**
+         * Формує запити для таблиці.
+         *
+         * @param table            назва таблиці.
+         * @param identifierColumn назва стовпця з ідентифікатором.
+         * @param columns          назви інших стовпців.
+         * @return запити оновлення та вставки.
+         */
+        static Upsert of(String table, String identifierColumn, String... columns) {
+            String assignments = String.join(" = ?, ", columns) + " = ?";
+            String update = "UPDATE " + table + " SET " + assignments + " WHERE "
+                + identifierColumn + " = ?";
+            String insert = "INSERT INTO " + table + " (" + String.join(", ", columns) + ", "
+                + identifierColumn + ") VALUES (" + "?, ".repeat(columns.length) + "?)";
+            return new Upsert(update, insert);
+        }
+    }
+}
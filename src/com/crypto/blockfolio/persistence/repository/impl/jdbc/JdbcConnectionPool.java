@@ -0,0 +1,297 @@
+package com.crypto.blockfolio.persistence.repository.impl.jdbc;
+
+import com.crypto.blockfolio.persistence.exception.JdbcPersistenceException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пул JDBC-з'єднань фіксованого максимального розміру. З'єднання створюються за потреби та
+ * повертаються у пул після використання. Кожне з'єднання кешує підготовлені запити за їх текстом,
+ * тому повторні запити не розбираються базою даних заново.
+ *
+ * <p>З'єднання, на якому виникла помилка і яке більше не є робочим, закривається замість
+ * повернення у пул.
+ */
+final class JdbcConnectionPool implements AutoCloseable {
+
+    /**
+     * Максимальний час очікування вільного з'єднання у секундах.
+     */
+    private static final long BORROW_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Час у секундах для перевірки працездатності з'єднання після помилки.
+     */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    /**
+     * Адреса бази даних JDBC.
+     */
+    private final String url;
+
+    /**
+     * Ім'я користувача бази даних.
+     */
+    private final String user;
+
+    /**
+     * Пароль користувача бази даних.
+     */
+    private final String password;
+
+    /**
+     * Вільні з'єднання, готові до використання.
+     */
+    private final BlockingQueue<PooledConnection> idle = new LinkedBlockingQueue<>();
+
+    /**
+     * Дозволи на використання з'єднань; кількість дозволів дорівнює розміру пулу.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Ознака закритого пулу.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Створює пул з'єднань.
+     *
+     * @param url      адреса бази даних JDBC.
+     * @param user     ім'я користувача бази даних.
+     * @param password пароль користувача бази даних.
+     * @param maxSize  максимальна кількість одночасно відкритих з'єднань.
+     * @throws IllegalArgumentException якщо розмір пулу не додатний.
+     */
+    JdbcConnectionPool(String url, String user, String password, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Розмір пулу з'єднань має бути додатним.");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Виконує дію з з'єднанням з пулу в режимі автоматичної фіксації.
+     *
+     * @param action дія з з'єднанням.
+     * @param <R>    тип результату.
+     * @return результат дії.
+     * @throws JdbcPersistenceException у разі помилки бази даних.
+     */
+    <R> R withConnection(SqlFunction<PooledConnection, R> action) {
+        PooledConnection connection = borrow();
+        boolean broken = false;
+        try {
+            return action.apply(connection);
+        } catch (SQLException e) {
+            broken = !connection.isValid();
+            throw new JdbcPersistenceException("Помилка виконання запиту до бази даних.", e);
+        } finally {
+            release(connection, broken);
+        }
+    }
+
+    /**
+     * Виконує дію в межах однієї транзакції бази даних. У разі помилки транзакція відкочується.
+     *
+     * @param action дія з з'єднанням.
+     * @param <R>    тип результату.
+     * @return результат дії.
+     * @throws JdbcPersistenceException у разі помилки бази даних.
+     */
+    <R> R inTransaction(SqlFunction<PooledConnection, R> action) {
+        return withConnection(connection -> {
+            Connection jdbc = connection.connection();
+            jdbc.setAutoCommit(false);
+            try {
+                R result = action.apply(connection);
+                jdbc.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    jdbc.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                throw e;
+            } finally {
+                jdbc.setAutoCommit(true);
+            }
+        });
+    }
+
+    /**
+     * Закриває всі вільні з'єднання. З'єднання, що використовуються, закриваються під час
+     * повернення у пул.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Отримує з'єднання з пулу, створюючи нове, якщо вільних немає, а ліміт не вичерпано.
+     *
+     * @return з'єднання.
+     * @throws JdbcPersistenceException якщо пул закрито, вільне з'єднання не з'явилося вчасно
+     *                                  або не вдалося відкрити нове з'єднання.
+     */
+    private PooledConnection borrow() {
+        if (closed) {
+            throw new JdbcPersistenceException("Пул з'єднань закрито.");
+        }
+        try {
+            if (!permits.tryAcquire(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new JdbcPersistenceException("Немає вільних з'єднань з базою даних.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JdbcPersistenceException("Очікування з'єднання перервано.", e);
+        }
+        PooledConnection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        try {
+            return new PooledConnection(DriverManager.getConnection(url, user, password));
+        } catch (SQLException e) {
+            permits.release();
+            throw new JdbcPersistenceException("Не вдалося підключитися до бази даних.", e);
+        }
+    }
+
+    /**
+     * Повертає з'єднання у пул або закриває його, якщо воно пошкоджене чи пул закрито.
+     *
+     * @param connection з'єднання.
+     * @param broken     ознака пошкодженого з'єднання.
+     */
+    private void release(PooledConnection connection, boolean broken) {
+        if (broken || closed) {
+            connection.close();
+        } else {
+            idle.offer(connection);
+        }
+        permits.release();
+    }
+
+    /**
+     * Дія з об'єктом, що може завершитися помилкою бази даних.
+     *
+     * @param <T> тип аргументу.
+     * @param <R> тип результату.
+     */
+    @FunctionalInterface
+    interface SqlFunction<T, R> {
+
+        /**
+         * Виконує дію.
+         *
+         * @param argument аргумент.
+         * @return результат.
+         * @throws SQLException у разі помилки бази даних.
+         */
+        R apply(T argument) throws SQLException;
+    }
+
+    /**
+     * З'єднання пулу з кешем підготовлених запитів.
+     */
+    static final class PooledConnection {
+
+        /**
+         * JDBC-з'єднання.
+         */
+        private final Connection connection;
+
+        /**
+         * Підготовлені запити за їх текстом.
+         */
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        /**
+         * Створює з'єднання пулу.
+         *
+         * @param connection JDBC-з'єднання.
+         */
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Повертає JDBC-з'єднання.
+         *
+         * @return JDBC-з'єднання.
+         */
+        Connection connection() {
+            return connection;
+        }
+
+        /**
+         * Повертає підготовлений запит з кешу або готує новий. Параметри та пакет запиту
+         * очищуються перед поверненням.
+         *
+         * @param sql текст запиту.
+         * @return підготовлений запит.
+         * @throws SQLException у разі помилки підготовки запиту.
+         */
+        PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            } else {
+                statement.clearParameters();
+                statement.clearBatch();
+            }
+            return statement;
+        }
+
+        /**
+         * Перевіряє, чи з'єднання досі працездатне.
+         *
+         * @return {@code true}, якщо з'єднання можна використовувати далі.
+         */
+        private boolean isValid() {
+            try {
+                return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Закриває кешовані запити та з'єднання, ігноруючи помилки закриття.
+         */
+        private void close() {
+            for (PreparedStatement statement : statements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    // З'єднання однаково закривається.
+                }
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                // З'єднання вже недоступне.
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.crypto.blockfolio.persistence.repository.impl.jdbc;
+
+import com.crypto.blockfolio.persistence.exception.JdbcPersistenceException;
+import com.crypto.blockfolio.persistence.repository.RepositoryFactory;
+import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
+import com.crypto.blockfolio.persistence.repository.contracts.PortfolioRepository;
+import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
+import com.crypto.blockfolio.persistence.repository.contracts.UserRepository;
+import com.crypto.blockfolio.persistence.repository.impl.json.AuthDataRepository;
+import java.util.List;
+
+/**
+ * Фабрика JDBC-репозиторіїв. Підключається до бази даних за адресою із системної властивості
+ * {@value #URL_PROPERTY} (типово — локальний PostgreSQL). Для вбудованої бази даних достатньо
+ * вказати адресу H2 або SQLite, наприклад {@code jdbc:h2:./data/blockfolio}; драйвер бази даних
+ * має бути доступний у classpath.
+ *
+ * <p>Схема бази даних створюється під час запуску, якщо її ще немає.
+ */
+public class JdbcRepositoryFactory extends RepositoryFactory {
+
+    /**
+     * Назва системної властивості з адресою бази даних JDBC.
+     */
+    static final String URL_PROPERTY = "blockfolio.jdbc.url";
+
+    /**
+     * Назва системної властивості з ім'ям користувача бази даних.
+     */
+    static final String USER_PROPERTY = "blockfolio.jdbc.user";
+
+    /**
+     * Назва системної властивості з паролем користувача бази даних.
+     */
+    static final String PASSWORD_PROPERTY = "blockfolio.jdbc.password";
+
+    /**
+     * Назва системної властивості з максимальною кількістю з'єднань з базою даних.
+     */
+    static final String POOL_SIZE_PROPERTY = "blockfolio.jdbc.pool-size";
+
+    /**
+     * Типова адреса бази даних.
+     */
+    private static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/blockfolio";
+
+    /**
+     * Типова максимальна кількість з'єднань з базою даних.
+     */
+    private static final int DEFAULT_POOL_SIZE = 4;
+
+    /**
+     * Пул з'єднань з базою даних.
+     */
+    private final JdbcConnectionPool pool;
+
+    /**
+     * Репозиторій користувачів.
+     */
+    private final UserJdbcRepositoryImpl userJdbcRepositoryImpl;
+
+    /**
+     * Репозиторій криптовалют.
+     */
+    private final CryptocurrencyJdbcRepositoryImpl cryptocurrencyJdbcRepositoryImpl;
+
+    /**
+     * Репозиторій портфелів.
+     */
+    private final PortfolioJdbcRepositoryImpl portfolioJdbcRepositoryImpl;
+
+    /**
+     * Репозиторій транзакцій.
+     */
+    private final TransactionJdbcRepositoryImpl transactionJdbcRepositoryImpl;
+
+    /**
+     * Репозиторій аутентифікаційних даних.
+     */
+    private final AuthDataRepository authDataRepository;
+
+    /**
+     * Приватний конструктор для ініціалізації фабрики. Створює пул з'єднань, схему бази даних та
+     * репозиторії.
+     *
+     * @throws JdbcPersistenceException якщо не вдалося підключитися до бази даних або створити
+     *                                  схему.
+     */
+    private JdbcRepositoryFactory() {
+        pool = new JdbcConnectionPool(
+            System.getProperty(URL_PROPERTY, DEFAULT_URL),
+            System.getProperty(USER_PROPERTY),
+            System.getProperty(PASSWORD_PROPERTY),
+            Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE));
+        JdbcSchema.create(pool);
+
+        cryptocurrencyJdbcRepositoryImpl = new CryptocurrencyJdbcRepositoryImpl(pool);
+        portfolioJdbcRepositoryImpl = new PortfolioJdbcRepositoryImpl(pool);
+        transactionJdbcRepositoryImpl = new TransactionJdbcRepositoryImpl(pool,
+            cryptocurrencyJdbcRepositoryImpl);
+        userJdbcRepositoryImpl = new UserJdbcRepositoryImpl(pool);
+        this.authDataRepository = new AuthDataRepository();
+
+        Runtime.getRuntime().addShutdownHook(
+            new Thread(this::shutdown, "jdbc-repository-shutdown"));
+    }
+
+    /**
+     * Повертає єдиний екземпляр фабрики.
+     *
+     * @return екземпляр {@link JdbcRepositoryFactory}.
+     */
+    public static JdbcRepositoryFactory getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    @Override
+    public CryptocurrencyRepository getCryptocurrencyRepository() {
+        return cryptocurrencyJdbcRepositoryImpl;
+    }
+
+    @Override
+    public PortfolioRepository getPortfolioRepository() {
+        return portfolioJdbcRepositoryImpl;
+    }
+
+    @Override
+    public TransactionRepository getTransactionRepository() {
+        return transactionJdbcRepositoryImpl;
+    }
+
+    @Override
+    public UserRepository getUserRepository() {
+        return userJdbcRepositoryImpl;
+    }
+
+    @Override
+    public AuthDataRepository getAuthDataRepository() {
+        return authDataRepository;
+    }
+
+    /**
+     * Записує у базу даних зміни, зроблені над завантаженими сутностями на місці. Зміни, зроблені
+     * через методи репозиторіїв, уже збережені; тут вони повторно записуються пакетами в одній
+     * транзакції разом з усім іншим.
+     *
+     * @throws JdbcPersistenceException у разі помилки бази даних.
+     */
+    @Override
+    public void commit() {
+        pool.inTransaction(connection -> {
+            for (GenericJdbcRepository<?, ?> repository : repositories()) {
+                repository.saveLoaded(connection);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Фіксує зміни та закриває пул з'єднань під час завершення роботи програми.
+     */
+    private void shutdown() {
+        try {
+            commit();
+        } catch (RuntimeException e) {
+            System.err.printf("Не вдалося зберегти зміни під час завершення роботи: %s%n",
+                e.getMessage());
+        } finally {
+            pool.close();
+        }
+    }
+
+    /**
+     * Повертає всі JDBC-репозиторії фабрики.
+     *
+     * @return список репозиторіїв.
+     */
+    private List<GenericJdbcRepository<?, ?>> repositories() {
+        return List.of(userJdbcRepositoryImpl, cryptocurrencyJdbcRepositoryImpl,
+            portfolioJdbcRepositoryImpl, transactionJdbcRepositoryImpl);
+    }
+
+    /**
+     * Внутрішній клас для забезпечення Singleton фабрики.
+     */
+    private static class InstanceHolder {
+
+        /**
+         * Єдиний екземпляр фабрики {@link JdbcRepositoryFactory}.
+         */
+        public static final JdbcRepositoryFactory INSTANCE = new JdbcRepositoryFactory();
+    }
+}
@@ -0,0 +1,121 @@
+package com.crypto.blockfolio.persistence.repository.impl.jdbc;
+
+import com.crypto.blockfolio.persistence.exception.JdbcPersistenceException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Схема реляційної бази даних. Таблиці та індекси створюються, якщо їх ще немає. Використовуються
+ * лише конструкції, спільні для PostgreSQL, H2 та SQLite, тому одна схема підходить і для
+ * робочої, і для вбудованої бази даних.
+ *
+ * <p>Для пошуку без урахування регістру таблиці містять нормалізовані стовпці
+ * ({@code *_key}), за якими побудовано індекси. Грошові значення та кількості зберігаються з
+ * явним масштабом 18 знаків: без нього H2 округлює {@code NUMERIC} до цілих.
+ */
+final class JdbcSchema {
+
+    /**
+     * Інструкції створення таблиць та індексів.
+     */
+    private static final List<String> STATEMENTS = List.of(
+        """
+            CREATE TABLE IF NOT EXISTS cryptocurrencies (
+                symbol VARCHAR(32) PRIMARY KEY,
+                name VARCHAR(128) NOT NULL,
+                name_key VARCHAR(128) NOT NULL,
+                current_price DOUBLE PRECISION NOT NULL,
+                market_cap DOUBLE PRECISION NOT NULL,
+                volume_24h DOUBLE PRECISION NOT NULL,
+                percent_change_24h DOUBLE PRECISION NOT NULL,
+                last_updated TIMESTAMP
+            )""",
+        "CREATE INDEX IF NOT EXISTS idx_cryptocurrencies_name ON cryptocurrencies (name_key)",
+        "CREATE INDEX IF NOT EXISTS idx_cryptocurrencies_market_cap"
+            + " ON cryptocurrencies (market_cap)",
+        "CREATE INDEX IF NOT EXISTS idx_cryptocurrencies_volume_24h"
+            + " ON cryptocurrencies (volume_24h)",
+        """
+            CREATE TABLE IF NOT EXISTS users (
+                id VARCHAR(36) PRIMARY KEY,
+                password VARCHAR(128),
+                username VARCHAR(64),
+                username_key VARCHAR(64),
+                email VARCHAR(254),
+                email_key VARCHAR(254),
+                created_at TIMESTAMP
+            )""",
+        "CREATE INDEX IF NOT EXISTS idx_users_username ON users (username_key)",
+        "CREATE INDEX IF NOT EXISTS idx_users_email ON users (email_key)",
+        """
+            CREATE TABLE IF NOT EXISTS user_portfolios (
+                user_id VARCHAR(36) NOT NULL,
+                portfolio_id VARCHAR(36) NOT NULL,
+                ordinal INTEGER NOT NULL,
+                PRIMARY KEY (user_id, portfolio_id)
+            )""",
+        """
+            CREATE TABLE IF NOT EXISTS portfolios (
+                id VARCHAR(36) PRIMARY KEY,
+                owner_id VARCHAR(36),
+                name VARCHAR(64),
+                name_key VARCHAR(64),
+                created_at TIMESTAMP,
+                total_value NUMERIC(38, 18)
+            )""",
+        "CREATE INDEX IF NOT EXISTS idx_portfolios_name ON portfolios (name_key)",
+        """
+            CREATE TABLE IF NOT EXISTS portfolio_balances (
+                portfolio_id VARCHAR(36) NOT NULL,
+                symbol VARCHAR(32) NOT NULL,
+                amount NUMERIC(38, 18),
+                PRIMARY KEY (portfolio_id, symbol)
+            )""",
+        """
+            CREATE TABLE IF NOT EXISTS portfolio_transactions (
+                portfolio_id VARCHAR(36) NOT NULL,
+                transaction_id VARCHAR(36) NOT NULL,
+                ordinal INTEGER NOT NULL,
+                PRIMARY KEY (portfolio_id, transaction_id)
+            )""",
+        """
+            CREATE TABLE IF NOT EXISTS transactions (
+                id VARCHAR(36) PRIMARY KEY,
+                portfolio_id VARCHAR(36),
+                symbol VARCHAR(32),
+                execution_price NUMERIC(38, 18),
+                transaction_type VARCHAR(32),
+                amount NUMERIC(38, 18),
+                costs NUMERIC(38, 18),
+                profit NUMERIC(38, 18),
+                fees NUMERIC(38, 18),
+                description VARCHAR(256),
+                created_at TIMESTAMP
+            )""",
+        "CREATE INDEX IF NOT EXISTS idx_transactions_portfolio ON transactions (portfolio_id)",
+        "CREATE INDEX IF NOT EXISTS idx_transactions_symbol ON transactions (symbol)"
+    );
+
+    /**
+     * Приватний конструктор, щоб заборонити створення екземплярів утилітного класу.
+     */
+    private JdbcSchema() {
+    }
+
+    /**
+     * Створює відсутні таблиці та індекси.
+     *
+     * @param pool пул з'єднань з базою даних.
+     * @throws JdbcPersistenceException у разі помилки бази даних.
+     */
+    static void create(JdbcConnectionPool pool) {
+        pool.inTransaction(connection -> {
+            try (Statement statement = connection.connection().createStatement()) {
+                for (String sql : STATEMENTS) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,369 @@
+package com.crypto.blockfolio.persistence.repository.impl.jdbc;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.repository.contracts.PortfolioRepository;
+import com.crypto.blockfolio.persistence.repository.impl.jdbc.JdbcConnectionPool.PooledConnection;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Реалізація репозиторію портфелів для реляційної бази даних. Баланси та транзакції портфеля
+ * зберігаються в окремих таблицях, тому додавання чи видалення однієї транзакції або
+ * криптовалюти змінює лише один рядок, а не весь портфель.
+ */
+public final class PortfolioJdbcRepositoryImpl extends GenericJdbcRepository<Portfolio, UUID>
+    implements PortfolioRepository {
+
+    /**
+     * Запит вибірки портфелів без умови.
+     */
+    private static final String SELECT =
+        "SELECT id, owner_id, name, created_at, total_value FROM portfolios";
+
+    /**
+     * Запит вибірки балансів портфелів без умови.
+     */
+    private static final String SELECT_BALANCES =
+        "SELECT portfolio_id, symbol, amount FROM portfolio_balances";
+
+    /**
+     * Запит вибірки транзакцій портфелів без умови.
+     */
+    private static final String SELECT_TRANSACTIONS =
+        "SELECT portfolio_id, transaction_id FROM portfolio_transactions";
+
+    /**
+     * Запити пакетного збереження портфелів.
+     */
+    private static final Upsert UPSERT = Upsert.of("portfolios", "id", "owner_id", "name",
+        "name_key", "created_at", "total_value");
+
+    /**
+     * Запит збереження балансу криптовалюти у портфелі.
+     */
+    private static final String INSERT_BALANCE =
+        "INSERT INTO portfolio_balances (amount, portfolio_id, symbol) VALUES (?, ?, ?)";
+
+    /**
+     * Запит видалення балансів портфеля.
+     */
+    private static final String DELETE_BALANCES =
+        "DELETE FROM portfolio_balances WHERE portfolio_id = ?";
+
+    /**
+     * Запит видалення транзакцій портфеля.
+     */
+    private static final String DELETE_TRANSACTIONS =
+        "DELETE FROM portfolio_transactions WHERE portfolio_id = ?";
+
+    /**
+     * Запит вставки транзакції портфеля.
+     */
+    private static final String INSERT_TRANSACTION = "INSERT INTO portfolio_transactions"
+        + " (portfolio_id, transaction_id, ordinal) VALUES (?, ?, ?)";
+
+    /**
+     * Запит додавання транзакції в кінець списку транзакцій портфеля.
+     */
+    private static final String APPEND_TRANSACTION = "INSERT INTO portfolio_transactions"
+        + " (portfolio_id, transaction_id, ordinal) SELECT ?, ?, COALESCE(MAX(ordinal), -1) + 1"
+        + " FROM portfolio_transactions WHERE portfolio_id = ?";
+
+    /**
+     * Запит видалення однієї транзакції зі списку транзакцій портфеля.
+     */
+    private static final String REMOVE_TRANSACTION =
+        "DELETE FROM portfolio_transactions WHERE portfolio_id = ? AND transaction_id = ?";
+
+    /**
+     * Запит видалення портфеля.
+     */
+    private static final String DELETE = "DELETE FROM portfolios WHERE id = ?";
+
+    /**
+     * Конструктор для ініціалізації репозиторію портфелів.
+     *
+     * @param pool пул з'єднань з базою даних.
+     */
+    PortfolioJdbcRepositoryImpl(JdbcConnectionPool pool) {
+        super(pool, Portfolio::getId, "id");
+    }
+
+    /**
+     * Знаходить портфель за його назвою без урахування регістру.
+     *
+     * @param name назва портфеля.
+     * @return {@link Optional}, що містить портфель, якщо його знайдено.
+     */
+    @Override
+    public Optional<Portfolio> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return select("name_key = ?",
+            statement -> statement.setString(1, name.toLowerCase(Locale.ROOT)))
+            .stream().findFirst();
+    }
+
+    /**
+     * Додає транзакцію до портфеля.
+     *
+     * @param portfolioId   ідентифікатор портфеля.
+     * @param transactionId ідентифікатор транзакції.
+     */
+    @Override
+    public void addTransaction(UUID portfolioId, UUID transactionId) {
+        Portfolio portfolio = getPortfolio(portfolioId);
+
+        synchronized (portfolio) {
+            if (portfolio.getTransactionsList().contains(transactionId)) {
+                throw new IllegalArgumentException("Транзакція вже існує у портфоліо.");
+            }
+            pool.inTransaction(connection -> {
+                PreparedStatement statement = connection.prepare(APPEND_TRANSACTION);
+                setUuid(statement, 1, portfolioId);
+                setUuid(statement, 2, transactionId);
+                setUuid(statement, 3, portfolioId);
+                return statement.executeUpdate();
+            });
+            portfolio.getTransactionsList().add(transactionId);
+        }
+    }
+
+    /**
+     * Видаляє транзакцію з портфеля.
+     *
+     * @param portfolioId   ідентифікатор портфеля.
+     * @param transactionId ідентифікатор транзакції.
+     */
+    @Override
+    public void removeTransaction(UUID portfolioId, UUID transactionId) {
+        Portfolio portfolio = getPortfolio(portfolioId);
+
+        synchronized (portfolio) {
+            if (!portfolio.getTransactionsList().contains(transactionId)) {
+                throw new IllegalArgumentException("Транзакцію не знайдено у портфоліо.");
+            }
+            pool.inTransaction(connection -> {
+                PreparedStatement statement = connection.prepare(REMOVE_TRANSACTION);
+                setUuid(statement, 1, portfolioId);
+                setUuid(statement, 2, transactionId);
+                return statement.executeUpdate();
+            });
+            portfolio.getTransactionsList().remove(transactionId);
+        }
+    }
+
+    /**
+     * Повертає всі транзакції, пов'язані з портфелем.
+     *
+     * @param portfolioId ідентифікатор портфеля.
+     * @return набір ідентифікаторів транзакцій.
+     */
+    @Override
+    public Set<UUID> getTransactions(UUID portfolioId) {
+        return getPortfolio(portfolioId).getTransactionsList();
+    }
+
+    /**
+     * Обчислює загальну вартість портфеля.
+     *
+     * @param portfolioId ідентифікатор портфеля.
+     * @return загальна вартість портфеля.
+     */
+    @Override
+    public BigDecimal calculateTotalValue(UUID portfolioId) {
+        return getPortfolio(portfolioId).getBalances().values().stream()
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Повертає список криптовалют, які відстежуються у портфелі.
+     *
+     * @param portfolioId ідентифікатор портфеля.
+     * @return набір символів криптовалют.
+     */
+    @Override
+    public Set<String> getTrackedCryptocurrencies(UUID portfolioId) {
+        return getPortfolio(portfolioId).getBalances().keySet();
+    }
+
+    /**
+     * Знаходить криптовалюту у портфелях за її символом без урахування регістру.
+     *
+     * @param symbol символ криптовалюти.
+     * @return {@link Optional}, що містить криптовалюту, якщо її знайдено.
+     */
+    @Override
+    public Optional<Cryptocurrency> findCryptocurrencyBySymbol(String symbol) {
+        if (symbol == null) {
+            return Optional.empty();
+        }
+        Optional<String> stored = pool.withConnection(connection -> {
+            PreparedStatement statement = connection.prepare(
+                "SELECT symbol FROM portfolio_balances WHERE UPPER(symbol) = ?");
+            statement.setMaxRows(1);
+            statement.setString(1, symbol.toUpperCase(Locale.ROOT));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next()
+                    ? Optional.of(resultSet.getString("symbol")) : Optional.empty();
+            }
+        });
+        return stored.map(s -> new Cryptocurrency(s, s, 0.0, 0.0, 0.0, 0.0,
+            LocalDateTime.now()));
+    }
+
+    /**
+     * Оновлює дані портфеля у репозиторії.
+     *
+     * @param portfolio портфель для оновлення.
+     */
+    @Override
+    public void update(Portfolio portfolio) {
+        add(portfolio);
+    }
+
+    @Override
+    protected List<Portfolio> load(PooledConnection connection, String condition,
+        StatementBinder binder) throws SQLException {
+        Map<UUID, Row> rows = new LinkedHashMap<>();
+        PreparedStatement statement = connection.prepare(where(SELECT, condition));
+        binder.bind(statement);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                UUID id = getUuid(resultSet, "id");
+                rows.put(id, new Row(id, getUuid(resultSet, "owner_id"),
+                    resultSet.getString("name"), getDateTime(resultSet, "created_at"),
+                    getDecimal(resultSet, "total_value")));
+            }
+        }
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String childCondition = condition == null ? null
+            : "portfolio_id IN (SELECT id FROM portfolios WHERE " + condition + ")";
+
+        Map<UUID, Map<String, BigDecimal>> balances = new HashMap<>();
+        PreparedStatement balanceStatement =
+            connection.prepare(where(SELECT_BALANCES, childCondition));
+        binder.bind(balanceStatement);
+        try (ResultSet resultSet = balanceStatement.executeQuery()) {
+            while (resultSet.next()) {
+                balances.computeIfAbsent(getUuid(resultSet, "portfolio_id"),
+                    id -> new HashMap<>()).put(resultSet.getString("symbol").intern(),
+                    getDecimal(resultSet, "amount"));
+            }
+        }
+
+        Map<UUID, Set<UUID>> transactions = new HashMap<>();
+        PreparedStatement transactionStatement = connection.prepare(
+            where(SELECT_TRANSACTIONS, childCondition) + " ORDER BY portfolio_id, ordinal");
+        binder.bind(transactionStatement);
+        try (ResultSet resultSet = transactionStatement.executeQuery()) {
+            while (resultSet.next()) {
+                transactions.computeIfAbsent(getUuid(resultSet, "portfolio_id"),
+                    id -> new LinkedHashSet<>()).add(getUuid(resultSet, "transaction_id"));
+            }
+        }
+
+        List<Portfolio> portfolios = new ArrayList<>(rows.size());
+        for (Row row : rows.values()) {
+            portfolios.add(Portfolio.restore(row.id(), row.ownerId(), row.name(),
+                row.createdAt(), balances.get(row.id()), transactions.get(row.id()),
+                row.totalValue()));
+        }
+        return portfolios;
+    }
+
+    @Override
+    protected void save(PooledConnection connection, List<Portfolio> portfolios)
+        throws SQLException {
+        upsert(connection, UPSERT, portfolios, (statement, portfolio) -> {
+            setUuid(statement, 1, portfolio.getOwnerId());
+            statement.setString(2, portfolio.getName());
+            statement.setString(3, portfolio.getName() == null ? null
+                : portfolio.getName().toLowerCase(Locale.ROOT));
+            setDateTime(statement, 4, portfolio.getCreatedAt());
+            setDecimal(statement, 5, portfolio.getTotalValue());
+            setUuid(statement, 6, portfolio.getId());
+        });
+        List<UUID> ids = portfolios.stream().map(Portfolio::getId).toList();
+        executeForEach(connection, DELETE_BALANCES, ids);
+        executeForEach(connection, DELETE_TRANSACTIONS, ids);
+
+        PreparedStatement balanceInsert = connection.prepare(INSERT_BALANCE);
+        PreparedStatement transactionInsert = connection.prepare(INSERT_TRANSACTION);
+        boolean hasBalances = false;
+        boolean hasTransactions = false;
+        for (Portfolio portfolio : portfolios) {
+            for (Map.Entry<String, BigDecimal> balance : portfolio.getBalances().entrySet()) {
+                setDecimal(balanceInsert, 1, balance.getValue());
+                setUuid(balanceInsert, 2, portfolio.getId());
+                balanceInsert.setString(3, balance.getKey());
+                balanceInsert.addBatch();
+                hasBalances = true;
+            }
+            int ordinal = 0;
+            for (UUID transactionId : portfolio.getTransactionsList()) {
+                setUuid(transactionInsert, 1, portfolio.getId());
+                setUuid(transactionInsert, 2, transactionId);
+                transactionInsert.setInt(3, ordinal++);
+                transactionInsert.addBatch();
+                hasTransactions = true;
+            }
+        }
+        if (hasBalances) {
+            balanceInsert.executeBatch();
+        }
+        if (hasTransactions) {
+            transactionInsert.executeBatch();
+        }
+    }
+
+    @Override
+    protected int delete(PooledConnection connection, List<UUID> ids) throws SQLException {
+        executeForEach(connection, DELETE_BALANCES, ids);
+        executeForEach(connection, DELETE_TRANSACTIONS, ids);
+        return executeForEach(connection, DELETE, ids);
+    }
+
+    /**
+     * Повертає портфель за ідентифікатором.
+     *
+     * @param portfolioId ідентифікатор портфеля.
+     * @return портфель.
+     * @throws IllegalArgumentException якщо портфель не знайдено.
+     */
+    private Portfolio getPortfolio(UUID portfolioId) {
+        return findById(portfolioId)
+            .orElseThrow(() -> new IllegalArgumentException("Портфоліо не знайдено."));
+    }
+
+    /**
+     * Рядок таблиці {@code portfolios}.
+     *
+     * @param id         ідентифікатор портфеля.
+     * @param ownerId    ідентифікатор власника.
+     * @param name       назва портфеля.
+     * @param createdAt  час створення портфеля.
+     * @param totalValue загальна вартість портфеля.
+     */
+    private record Row(UUID id, UUID ownerId, String name, LocalDateTime createdAt,
+                       BigDecimal totalValue) {
+
+    }
+}
@@ -0,0 +1,233 @@
+package com.crypto.blockfolio.persistence.repository.impl.jdbc;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
+import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
+import com.crypto.blockfolio.persistence.repository.impl.jdbc.JdbcConnectionPool.PooledConnection;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Реалізація репозиторію транзакцій для реляційної бази даних. Транзакції зберігають лише символ
+ * криптовалюти; після завантаження кожна з них отримує актуальний об'єкт з репозиторію
+ * криптовалют. Пошук за портфелем і за символом виконується за індексами таблиці
+ * {@code transactions}.
+ */
+public final class TransactionJdbcRepositoryImpl extends GenericJdbcRepository<Transaction, UUID>
+    implements TransactionRepository {
+
+    /**
+     * Запит вибірки транзакцій без умови.
+     */
+    private static final String SELECT = "SELECT id, portfolio_id, symbol, execution_price,"
+        + " transaction_type, amount, costs, profit, fees, description, created_at"
+        + " FROM transactions";
+
+    /**
+     * Запити пакетного збереження транзакцій.
+     */
+    private static final Upsert UPSERT = Upsert.of("transactions", "id", "portfolio_id",
+        "symbol", "execution_price", "transaction_type", "amount", "costs", "profit", "fees",
+        "description", "created_at");
+
+    /**
+     * Запит видалення транзакції.
+     */
+    private static final String DELETE = "DELETE FROM transactions WHERE id = ?";
+
+    /**
+     * Репозиторій криптовалют для розв'язання посилань.
+     */
+    private final CryptocurrencyRepository cryptocurrencyRepository;
+
+    /**
+     * Конструктор для ініціалізації репозиторію транзакцій.
+     *
+     * @param pool                     пул з'єднань з базою даних.
+     * @param cryptocurrencyRepository репозиторій криптовалют для розв'язання посилань.
+     */
+    TransactionJdbcRepositoryImpl(JdbcConnectionPool pool,
+        CryptocurrencyRepository cryptocurrencyRepository) {
+        super(pool, Transaction::getId, "id");
+        this.cryptocurrencyRepository = cryptocurrencyRepository;
+    }
+
+    /**
+     * Знаходить всі транзакції, пов'язані з певним портфелем.
+     *
+     * @param portfolioId ідентифікатор портфеля.
+     * @return набір транзакцій, пов'язаних із вказаним портфелем.
+     */
+    @Override
+    public Set<Transaction> findByPortfolioId(UUID portfolioId) {
+        if (portfolioId == null) {
+            return new HashSet<>();
+        }
+        return new LinkedHashSet<>(select("portfolio_id = ?",
+            statement -> setUuid(statement, 1, portfolioId)));
+    }
+
+    /**
+     * Знаходить всі транзакції для певної криптовалюти за її символом.
+     *
+     * @param cryptocurrencySymbol символ криптовалюти.
+     * @return набір транзакцій, що відповідають вказаному символу криптовалюти.
+     */
+    @Override
+    public Set<Transaction> findByCryptocurrencySymbol(String cryptocurrencySymbol) {
+        if (cryptocurrencySymbol == null) {
+            return new HashSet<>();
+        }
+        return new LinkedHashSet<>(select("symbol = ?", statement -> statement.setString(1,
+            cryptocurrencySymbol.toUpperCase(Locale.ROOT))));
+    }
+
+    /**
+     * Додає транзакцію до портфеля.
+     *
+     * @param portfolioId ідентифікатор портфеля.
+     * @param transaction транзакція, яку потрібно додати.
+     * @throws IllegalArgumentException якщо транзакція або ID портфеля є {@code null}.
+     */
+    @Override
+    public void addTransactionToPortfolio(UUID portfolioId, Transaction transaction) {
+        if (transaction == null || portfolioId == null) {
+            throw new IllegalArgumentException("Транзакція або ID портфеля не можуть бути null.");
+        }
+
+        transaction.setPortfolioId(portfolioId);
+        add(transaction);
+    }
+
+    /**
+     * Видаляє транзакцію з портфеля.
+     *
+     * @param portfolioId   ідентифікатор портфеля.
+     * @param transactionId ідентифікатор транзакції, яку потрібно видалити.
+     * @throws IllegalArgumentException якщо транзакція не знайдена або не належить портфелю.
+     */
+    @Override
+    public void removeTransactionFromPortfolio(UUID portfolioId, UUID transactionId) {
+        Transaction transaction = findById(transactionId)
+            .orElseThrow(() -> new IllegalArgumentException("Транзакція не знайдена."));
+
+        if (!transaction.getPortfolioId().equals(portfolioId)) {
+            throw new IllegalArgumentException("Транзакція не належить вказаному портфелю.");
+        }
+
+        remove(transaction);
+    }
+
+    /**
+     * Оновлює дані транзакції у репозиторії.
+     *
+     * @param transactionId      ідентифікатор транзакції.
+     * @param updatedTransaction оновлена транзакція.
+     * @throws IllegalArgumentException якщо транзакція не знайдена.
+     */
+    @Override
+    public void updateTransaction(UUID transactionId, Transaction updatedTransaction) {
+        Transaction existingTransaction = findById(transactionId)
+            .orElseThrow(() -> new IllegalArgumentException("Транзакція не знайдена."));
+        synchronized (existingTransaction) {
+            if (updatedTransaction.getCryptocurrency() != null) {
+                existingTransaction.setCryptocurrency(updatedTransaction.getCryptocurrency());
+            }
+            existingTransaction.setAmount(updatedTransaction.getAmount());
+            existingTransaction.setCosts(updatedTransaction.getCosts());
+            existingTransaction.setFees(updatedTransaction.getFees());
+            existingTransaction.setTransactionType(updatedTransaction.getTransactionType());
+            existingTransaction.setDescription(updatedTransaction.getDescription());
+            add(existingTransaction);
+        }
+    }
+
+    @Override
+    protected List<Transaction> load(PooledConnection connection, String condition,
+        StatementBinder binder) throws SQLException {
+        PreparedStatement statement = connection.prepare(where(SELECT, condition));
+        binder.bind(statement);
+        List<Transaction> transactions = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                String symbol = resultSet.getString("symbol");
+                BigDecimal executionPrice = getDecimal(resultSet, "execution_price");
+                String type = resultSet.getString("transaction_type");
+                transactions.add(Transaction.restore(
+                    getUuid(resultSet, "id"),
+                    getUuid(resultSet, "portfolio_id"),
+                    symbol == null ? null : Cryptocurrency.restore(symbol, symbol,
+                        executionPrice == null ? 0.0 : executionPrice.doubleValue(),
+                        0.0, 0.0, 0.0, null),
+                    executionPrice,
+                    type == null ? null : TransactionType.valueOf(type),
+                    getDecimal(resultSet, "amount"),
+                    getDecimal(resultSet, "costs"),
+                    getDecimal(resultSet, "profit"),
+                    getDecimal(resultSet, "fees"),
+                    resultSet.getString("description"),
+                    getDateTime(resultSet, "created_at")));
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Замінює тимчасові об'єкти криптовалют, створені під час читання, актуальними об'єктами з
+     * репозиторію криптовалют, так що всі транзакції з однаковим символом посилаються на один
+     * об'єкт. Якщо криптовалюту не знайдено, транзакції отримують спільний тимчасовий об'єкт.
+     *
+     * @param transactions завантажені транзакції.
+     * @return ті самі транзакції.
+     */
+    @Override
+    protected List<Transaction> afterLoad(List<Transaction> transactions) {
+        Map<String, Cryptocurrency> shared = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            Cryptocurrency stub = transaction.getCryptocurrency();
+            if (stub != null) {
+                transaction.setCryptocurrency(shared.computeIfAbsent(stub.getSymbol(),
+                    symbol -> cryptocurrencyRepository.findBySymbol(symbol).orElse(stub)));
+            }
+        }
+        return transactions;
+    }
+
+    @Override
+    protected void save(PooledConnection connection, List<Transaction> transactions)
+        throws SQLException {
+        upsert(connection, UPSERT, transactions, (statement, transaction) -> {
+            setUuid(statement, 1, transaction.getPortfolioId());
+            statement.setString(2, transaction.getCryptocurrency() == null ? null
+                : transaction.getCryptocurrency().getSymbol());
+            setDecimal(statement, 3, transaction.getExecutionPrice());
+            statement.setString(4, transaction.getTransactionType() == null ? null
+                : transaction.getTransactionType().name());
+            setDecimal(statement, 5, transaction.getAmount());
+            setDecimal(statement, 6, transaction.getCosts());
+            setDecimal(statement, 7, transaction.getProfit());
+            setDecimal(statement, 8, transaction.getFees());
+            statement.setString(9, transaction.getDescription());
+            setDateTime(statement, 10, transaction.getCreatedAt());
+            setUuid(statement, 11, transaction.getId());
+        });
+    }
+
+    @Override
+    protected int delete(PooledConnection connection, List<UUID> ids) throws SQLException {
+        return executeForEach(connection, DELETE, ids);
+    }
+}
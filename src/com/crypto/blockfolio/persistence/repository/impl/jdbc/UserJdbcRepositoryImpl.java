@@ -0,0 +1,337 @@
+package com.crypto.blockfolio.persistence.repository.impl.jdbc;
+
+import com.crypto.blockfolio.persistence.entity.User;
+import com.crypto.blockfolio.persistence.repository.contracts.UserRepository;
+import com.crypto.blockfolio.persistence.repository.impl.jdbc.JdbcConnectionPool.PooledConnection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Реалізація репозиторію користувачів для реляційної бази даних. Пошук за логіном та
+ * електронною поштою виконується за індексами нормалізованих стовпців таблиці {@code users}, а
+ * портфелі користувача зберігаються у таблиці {@code user_portfolios}.
+ */
+public final class UserJdbcRepositoryImpl extends GenericJdbcRepository<User, UUID>
+    implements UserRepository {
+
+    /**
+     * Запит вибірки користувачів без умови.
+     */
+    private static final String SELECT =
+        "SELECT id, password, username, email, created_at FROM users";
+
+    /**
+     * Запит вибірки портфелів користувачів без умови.
+     */
+    private static final String SELECT_PORTFOLIOS =
+        "SELECT user_id, portfolio_id FROM user_portfolios";
+
+    /**
+     * Запити пакетного збереження користувачів.
+     */
+    private static final Upsert UPSERT = Upsert.of("users", "id", "password", "username",
+        "username_key", "email", "email_key", "created_at");
+
+    /**
+     * Запит видалення портфелів користувача.
+     */
+    private static final String DELETE_PORTFOLIOS =
+        "DELETE FROM user_portfolios WHERE user_id = ?";
+
+    /**
+     * Запит вставки портфеля користувача.
+     */
+    private static final String INSERT_PORTFOLIO =
+        "INSERT INTO user_portfolios (user_id, portfolio_id, ordinal) VALUES (?, ?, ?)";
+
+    /**
+     * Запит додавання портфеля в кінець списку портфелів користувача.
+     */
+    private static final String APPEND_PORTFOLIO = "INSERT INTO user_portfolios"
+        + " (user_id, portfolio_id, ordinal) SELECT ?, ?, COALESCE(MAX(ordinal), -1) + 1"
+        + " FROM user_portfolios WHERE user_id = ?";
+
+    /**
+     * Запит видалення одного портфеля зі списку портфелів користувача.
+     */
+    private static final String REMOVE_PORTFOLIO =
+        "DELETE FROM user_portfolios WHERE user_id = ? AND portfolio_id = ?";
+
+    /**
+     * Запит видалення користувача.
+     */
+    private static final String DELETE = "DELETE FROM users WHERE id = ?";
+
+    /**
+     * Конструктор для ініціалізації репозиторію користувачів.
+     *
+     * @param pool пул з'єднань з базою даних.
+     */
+    UserJdbcRepositoryImpl(JdbcConnectionPool pool) {
+        super(pool, User::getId, "id");
+    }
+
+    /**
+     * Знаходить користувача за логіном без урахування регістру.
+     *
+     * @param username логін користувача.
+     * @return {@link Optional}, що містить користувача, якщо його знайдено.
+     */
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return findByKey("username_key", username);
+    }
+
+    /**
+     * Знаходить користувача за електронною поштою без урахування регістру.
+     *
+     * @param email електронна пошта користувача.
+     * @return {@link Optional}, що містить користувача, якщо його знайдено.
+     */
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return findByKey("email_key", email);
+    }
+
+    /**
+     * Оновлює дані користувача.
+     *
+     * @param user користувач з оновленими даними.
+     * @throws IllegalArgumentException якщо користувача не знайдено.
+     */
+    @Override
+    public void update(User user) {
+        if (findById(user.getId()).isEmpty()) {
+            throw new IllegalArgumentException(
+                "Користувача з ID " + user.getId() + " не знайдено.");
+        }
+        add(user);
+    }
+
+    /**
+     * Додає портфель користувачу.
+     *
+     * @param userId      ідентифікатор користувача.
+     * @param portfolioId ідентифікатор портфеля.
+     * @throws IllegalArgumentException якщо користувача не знайдено або портфель вже належить
+     *                                  йому.
+     */
+    @Override
+    public void addPortfolio(UUID userId, UUID portfolioId) {
+        User user = getUser(userId);
+        synchronized (user) {
+            if (user.getPortfolios().contains(portfolioId)) {
+                throw new IllegalArgumentException("Це портфоліо вже належить користувачу.");
+            }
+            pool.inTransaction(connection -> {
+                PreparedStatement statement = connection.prepare(APPEND_PORTFOLIO);
+                setUuid(statement, 1, userId);
+                setUuid(statement, 2, portfolioId);
+                setUuid(statement, 3, userId);
+                return statement.executeUpdate();
+            });
+            user.addPortfolio(portfolioId);
+        }
+    }
+
+    /**
+     * Видаляє портфель користувача.
+     *
+     * @param userId      ідентифікатор користувача.
+     * @param portfolioId ідентифікатор портфеля.
+     * @throws IllegalArgumentException якщо користувача не знайдено або портфель йому не
+     *                                  належить.
+     */
+    @Override
+    public void removePortfolio(UUID userId, UUID portfolioId) {
+        User user = getUser(userId);
+        synchronized (user) {
+            if (!user.getPortfolios().contains(portfolioId)) {
+                throw new IllegalArgumentException("Це портфоліо не належить користувачу.");
+            }
+            pool.inTransaction(connection -> {
+                PreparedStatement statement = connection.prepare(REMOVE_PORTFOLIO);
+                setUuid(statement, 1, userId);
+                setUuid(statement, 2, portfolioId);
+                return statement.executeUpdate();
+            });
+            user.getPortfolios().remove(portfolioId);
+        }
+    }
+
+    /**
+     * Перевіряє, чи належить портфель користувачу.
+     *
+     * @param userId      ідентифікатор користувача.
+     * @param portfolioId ідентифікатор портфеля.
+     * @return {@code true}, якщо портфель належить користувачу.
+     */
+    @Override
+    public boolean ownsPortfolio(UUID userId, UUID portfolioId) {
+        return findById(userId)
+            .map(user -> user.getPortfolios().contains(portfolioId))
+            .orElse(false);
+    }
+
+    /**
+     * Повертає портфелі користувача.
+     *
+     * @param userId ідентифікатор користувача.
+     * @return набір ідентифікаторів портфелів.
+     * @throws IllegalArgumentException якщо користувача не знайдено.
+     */
+    @Override
+    public Set<UUID> getPortfolios(UUID userId) {
+        return getUser(userId).getPortfolios();
+    }
+
+    @Override
+    protected List<User> load(PooledConnection connection, String condition,
+        StatementBinder binder) throws SQLException {
+        Map<UUID, Row> rows = new LinkedHashMap<>();
+        PreparedStatement statement = connection.prepare(where(SELECT, condition));
+        binder.bind(statement);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                UUID id = getUuid(resultSet, "id");
+                rows.put(id, new Row(id, resultSet.getString("password"),
+                    resultSet.getString("username"), resultSet.getString("email"),
+                    getDateTime(resultSet, "created_at")));
+            }
+        }
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<UUID, Set<UUID>> portfolios = new HashMap<>();
+        PreparedStatement portfolioStatement = connection.prepare(where(SELECT_PORTFOLIOS,
+            condition == null ? null : "user_id IN (SELECT id FROM users WHERE " + condition
+                + ")") + " ORDER BY user_id, ordinal");
+        binder.bind(portfolioStatement);
+        try (ResultSet resultSet = portfolioStatement.executeQuery()) {
+            while (resultSet.next()) {
+                portfolios.computeIfAbsent(getUuid(resultSet, "user_id"),
+                    id -> new LinkedHashSet<>()).add(getUuid(resultSet, "portfolio_id"));
+            }
+        }
+
+        List<User> users = new ArrayList<>(rows.size());
+        for (Row row : rows.values()) {
+            users.add(User.restore(row.id(), row.password(), row.username(), row.email(),
+                row.createdAt(), portfolios.get(row.id())));
+        }
+        return users;
+    }
+
+    @Override
+    protected void save(PooledConnection connection, List<User> users) throws SQLException {
+        upsert(connection, UPSERT, users, (statement, user) -> {
+            statement.setString(1, user.getPassword());
+            statement.setString(2, user.getUsername());
+            statement.setString(3, normalize(user.getUsername()));
+            statement.setString(4, user.getEmail());
+            statement.setString(5, normalize(user.getEmail()));
+            setDateTime(statement, 6, user.getCreatedAt());
+            setUuid(statement, 7, user.getId());
+        });
+        executeForEach(connection, DELETE_PORTFOLIOS, users.stream().map(User::getId).toList());
+        PreparedStatement insert = connection.prepare(INSERT_PORTFOLIO);
+        boolean hasPortfolios = false;
+        for (User user : users) {
+            int ordinal = 0;
+            for (UUID portfolioId : user.getPortfolios()) {
+                bindPortfolio(insert, user.getId(), portfolioId, ordinal++);
+                insert.addBatch();
+                hasPortfolios = true;
+            }
+        }
+        if (hasPortfolios) {
+            insert.executeBatch();
+        }
+    }
+
+    @Override
+    protected int delete(PooledConnection connection, List<UUID> ids) throws SQLException {
+        executeForEach(connection, DELETE_PORTFOLIOS, ids);
+        return executeForEach(connection, DELETE, ids);
+    }
+
+    /**
+     * Знаходить користувача за нормалізованим стовпцем.
+     *
+     * @param column назва нормалізованого стовпця.
+     * @param value  значення для пошуку.
+     * @return {@link Optional}, що містить користувача, якщо його знайдено.
+     */
+    private Optional<User> findByKey(String column, String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        return select(column + " = ?", statement -> statement.setString(1, normalize(value)))
+            .stream().findFirst();
+    }
+
+    /**
+     * Повертає користувача за ідентифікатором.
+     *
+     * @param userId ідентифікатор користувача.
+     * @return користувач.
+     * @throws IllegalArgumentException якщо користувача не знайдено.
+     */
+    private User getUser(UUID userId) {
+        return findById(userId).orElseThrow(() -> new IllegalArgumentException(
+            "Користувача з ID " + userId + " не знайдено."));
+    }
+
+    /**
+     * Встановлює параметри запиту вставки портфеля користувача.
+     *
+     * @param statement   запит.
+     * @param userId      ідентифікатор користувача.
+     * @param portfolioId ідентифікатор портфеля.
+     * @param ordinal     порядковий номер портфеля у списку користувача.
+     * @throws SQLException у разі помилки бази даних.
+     */
+    private static void bindPortfolio(PreparedStatement statement, UUID userId,
+        UUID portfolioId, int ordinal) throws SQLException {
+        setUuid(statement, 1, userId);
+        setUuid(statement, 2, portfolioId);
+        statement.setInt(3, ordinal);
+    }
+
+    /**
+     * Нормалізує логін або електронну пошту для пошуку без урахування регістру.
+     *
+     * @param value значення.
+     * @return значення у нижньому регістрі або {@code null}.
+     */
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Рядок таблиці {@code users}.
+     *
+     * @param id        ідентифікатор користувача.
+     * @param password  зашифрований пароль.
+     * @param username  логін.
+     * @param email     електронна пошта.
+     * @param createdAt дата створення облікового запису.
+     */
+    private record Row(UUID id, String password, String username, String email,
+                       LocalDateTime createdAt) {
+
+    }
+}
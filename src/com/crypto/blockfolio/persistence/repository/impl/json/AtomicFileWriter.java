@@ -0,0 +1,132 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Утиліта для безпечного перезапису JSON-файлів. Дані спочатку записуються у тимчасовий файл поруч
+ * з оригіналом, примусово скидаються на диск і лише потім атомарно перейменовуються поверх
+ * оригіналу. Таким чином, у будь-який момент на диску лежить або попередня, або нова повна версія
+ * файлу.
+ */
+final class AtomicFileWriter {
+
+    /**
+     * Розширення тимчасового файлу, у який виконується запис.
+     */
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    /**
+     * Приватний конструктор, щоб заборонити створення екземплярів утилітного класу.
+     */
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * Атомарно перезаписує файл вмістом, який формує переданий обробник.
+     *
+     * @param target файл, який потрібно перезаписати.
+     * @param action обробник, що записує вміст файлу.
+     * @throws IOException у разі помилки запису, скидання на диск або перейменування.
+     */
+    static void write(Path target, WriteAction action) throws IOException {
+        Path temp = tempPath(target);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                Writer writer = new BufferedWriter(
+                    Channels.newWriter(channel, StandardCharsets.UTF_8));
+                action.write(writer);
+                writer.flush();
+                channel.force(true);
+            }
+            move(temp, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        forceDirectory(target);
+    }
+
+    /**
+     * Видаляє тимчасовий файл, що залишився після перерваного запису. Такий файл може бути
+     * неповним, тому його вміст ніколи не використовується: оригінальний файл залишається
+     * останньою повною версією даних.
+     *
+     * @param target файл, для якого виконується перевірка.
+     * @return {@code true}, якщо було знайдено та видалено незавершений тимчасовий файл.
+     * @throws IOException у разі помилки видалення файлу.
+     */
+    static boolean discardIncomplete(Path target) throws IOException {
+        return Files.deleteIfExists(tempPath(target));
+    }
+
+    /**
+     * Повертає шлях до тимчасового файлу для заданого файлу.
+     *
+     * @param target файл, який перезаписується.
+     * @return шлях до тимчасового файлу.
+     */
+    private static Path tempPath(Path target) {
+        return target.resolveSibling(target.getFileName() + TEMP_EXTENSION);
+    }
+
+    /**
+     * Перейменовує тимчасовий файл поверх оригіналу. Якщо файлова система не підтримує атомарне
+     * перейменування, виконується звичайна заміна.
+     *
+     * @param source тимчасовий файл.
+     * @param target оригінальний файл.
+     * @throws IOException у разі помилки перейменування.
+     */
+    static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Скидає на диск метадані каталогу, щоб перейменування пережило аварійне завершення. Не всі
+     * платформи дозволяють відкривати каталог як канал, тому помилки ігноруються.
+     *
+     * @param target файл, каталог якого потрібно синхронізувати.
+     */
+    private static void forceDirectory(Path target) {
+        Path directory = target.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Синхронізація каталогу не підтримується на цій платформі.
+        }
+    }
+
+    /**
+     * Дія, що записує вміст файлу.
+     */
+    @FunctionalInterface
+    interface WriteAction {
+
+        /**
+         * Записує вміст файлу.
+         *
+         * @param writer потік запису у тимчасовий файл.
+         * @throws IOException у разі помилки запису.
+         */
+        void write(Writer writer) throws IOException;
+    }
+}
@@ -3,7 +3,6 @@ package com.crypto.blockfolio.persistence.repository.impl.json;
 import com.crypto.blockfolio.persistence.exception.JsonFileIOException;
 import com.google.gson.Gson;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -41,8 +40,9 @@ public class AuthDataRepository {
      * @throws JsonFileIOException у разі помилки запису у файл.
      */
     public void save(String username, String passwordHash) {
-        try (FileWriter writer = new FileWriter(AUTH_DATA_FILE.toFile())) {
-            gson.toJson(new String[]{username, passwordHash}, writer);
+        try {
+            AtomicFileWriter.write(AUTH_DATA_FILE,
+                writer -> gson.toJson(new String[]{username, passwordHash}, writer));
         } catch (IOException e) {
             throw new JsonFileIOException("Failed to save auth data: " + e.getMessage());
         }
@@ -87,6 +87,7 @@ public class AuthDataRepository {
      */
     private void initializeFile() {
         try {
+            AtomicFileWriter.discardIncomplete(AUTH_DATA_FILE);
             if (!Files.exists(AUTH_DATA_FILE)) {
                 Files.createDirectories(AUTH_DATA_FILE.getParent());
                 Files.createFile(AUTH_DATA_FILE);
@@ -0,0 +1,198 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import com.crypto.blockfolio.persistence.exception.JsonFileIOException;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Маніфест спільної фіксації JSON-файлів. Фіксація відбувається у два етапи: спершу всі файли
+ * записуються у проміжні {@code *.pending} файли, а маніфест отримує стан
+ * {@link State#PREPARED}; потім проміжні файли перейменовуються поверх основних, і маніфест
+ * переходить у стан {@link State#COMMITTED}. Кожна успішна фіксація збільшує номер покоління.
+ *
+ * <p>Якщо процес перервався після підготовки, під час наступного запуску фіксація
+ * доводиться до кінця. Якщо процес перервався до підготовки, проміжні файли відкидаються, і всі
+ * файли залишаються у стані попереднього покоління.
+ */
+final class CommitManifest {
+
+    /**
+     * Розширення проміжного файлу, підготовленого до фіксації.
+     */
+    private static final String PENDING_EXTENSION = ".pending";
+
+    /**
+     * Об'єкт для серіалізації та десеріалізації маніфесту.
+     */
+    private final Gson gson;
+
+    /**
+     * Шлях до файлу маніфесту.
+     */
+    private final Path path;
+
+    /**
+     * Номер покоління останньої фіксації.
+     */
+    private long generation;
+
+    /**
+     * Створює маніфест для вказаного файлу.
+     *
+     * @param gson об'єкт для серіалізації та десеріалізації маніфесту.
+     * @param path шлях до файлу маніфесту.
+     */
+    CommitManifest(Gson gson, Path path) {
+        this.gson = gson;
+        this.path = path;
+    }
+
+    /**
+     * Повертає шлях до проміжного файлу для заданого файлу даних.
+     *
+     * @param target файл даних.
+     * @return шлях до проміжного файлу.
+     */
+    static Path pendingPath(Path target) {
+        return target.resolveSibling(target.getFileName() + PENDING_EXTENSION);
+    }
+
+    /**
+     * Відновлює узгоджений стан файлів після попереднього запуску. Перервана після підготовки
+     * фіксація доводиться до кінця, інакше проміжні файли видаляються.
+     *
+     * @param files файли даних, що беруть участь у фіксації.
+     * @throws JsonFileIOException у разі помилки роботи з файлами.
+     */
+    void recover(List<Path> files) {
+        Content content = read();
+        generation = content == null ? 0 : content.generation();
+        try {
+            if (content != null && content.state() == State.PREPARED) {
+                for (String file : content.files()) {
+                    Path target = Path.of(file);
+                    Path pending = pendingPath(target);
+                    if (Files.exists(pending)) {
+                        AtomicFileWriter.move(pending, target);
+                    }
+                }
+                write(new Content(generation, State.COMMITTED, content.files()));
+                System.err.printf("Незавершену фіксацію покоління %d відновлено.%n",
+                    generation);
+            }
+            for (Path file : files) {
+                Files.deleteIfExists(pendingPath(file));
+            }
+        } catch (IOException e) {
+            throw new JsonFileIOException(
+                "Не вдалося відновити фіксацію: %s".formatted(path.getFileName()), e);
+        }
+    }
+
+    /**
+     * Позначає, що всі проміжні файли нового покоління записані на диск.
+     *
+     * @param files файли даних, що беруть участь у фіксації.
+     * @throws JsonFileIOException у разі помилки запису маніфесту.
+     */
+    void prepared(List<Path> files) {
+        generation++;
+        write(new Content(generation, State.PREPARED, toStrings(files)));
+    }
+
+    /**
+     * Позначає, що всі проміжні файли поточного покоління перейменовано поверх основних.
+     *
+     * @param files файли даних, що беруть участь у фіксації.
+     * @throws JsonFileIOException у разі помилки запису маніфесту.
+     */
+    void committed(List<Path> files) {
+        write(new Content(generation, State.COMMITTED, toStrings(files)));
+    }
+
+    /**
+     * Повертає номер покоління останньої фіксації.
+     *
+     * @return номер покоління.
+     */
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * Зчитує вміст маніфесту.
+     *
+     * @return вміст маніфесту або {@code null}, якщо маніфест відсутній чи пошкоджений.
+     */
+    private Content read() {
+        if (Files.notExists(path)) {
+            return null;
+        }
+        try {
+            Content content = gson.fromJson(
+                Files.readString(path, StandardCharsets.UTF_8), Content.class);
+            return content == null || content.state() == null || content.files() == null
+                ? null : content;
+        } catch (IOException | JsonParseException e) {
+            System.err.printf("Пошкоджений маніфест %s ігноровано.%n", path.getFileName());
+            return null;
+        }
+    }
+
+    /**
+     * Атомарно записує вміст маніфесту.
+     *
+     * @param content вміст маніфесту.
+     * @throws JsonFileIOException у разі помилки запису.
+     */
+    private void write(Content content) {
+        try {
+            AtomicFileWriter.write(path, writer -> gson.toJson(content, Content.class, writer));
+        } catch (IOException e) {
+            throw new JsonFileIOException(
+                "Не вдалося записати маніфест: %s".formatted(path.getFileName()), e);
+        }
+    }
+
+    /**
+     * Перетворює шляхи файлів на рядки для збереження у маніфесті.
+     *
+     * @param files шляхи файлів.
+     * @return список рядків.
+     */
+    private static List<String> toStrings(List<Path> files) {
+        return files.stream().map(Path::toString).toList();
+    }
+
+    /**
+     * Стан фіксації, записаний у маніфесті.
+     */
+    enum State {
+
+        /**
+         * Усі проміжні файли записані, але ще не перейменовані поверх основних.
+         */
+        PREPARED,
+
+        /**
+         * Фіксацію завершено.
+         */
+        COMMITTED
+    }
+
+    /**
+     * Вміст файлу маніфесту.
+     *
+     * @param generation номер покоління.
+     * @param state      стан фіксації.
+     * @param files      файли даних, що беруть участь у фіксації.
+     */
+    private record Content(long generation, State state, List<String> files) {
+
+    }
+}
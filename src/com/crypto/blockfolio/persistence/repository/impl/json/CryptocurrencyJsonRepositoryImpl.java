@@ -5,9 +5,10 @@ import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepo
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Реалізація репозиторію для роботи з криптовалютами у форматі JSON. Забезпечує збереження, пошук,
@@ -17,18 +18,47 @@ public final class CryptocurrencyJsonRepositoryImpl
     extends GenericJsonRepository<Cryptocurrency, String>
     implements CryptocurrencyRepository {
 
+    /**
+     * Індекс криптовалют за символом у верхньому регістрі.
+     */
+    private final MultiValueIndex<String, Cryptocurrency, String> symbolIndex =
+        new MultiValueIndex<>(crypto -> normalizeSymbol(crypto.getSymbol()),
+            Cryptocurrency::getSymbol);
+
+    /**
+     * Індекс криптовалют за назвою у нижньому регістрі.
+     */
+    private final MultiValueIndex<String, Cryptocurrency, String> nameIndex =
+        new MultiValueIndex<>(crypto -> normalizeName(crypto.getName()),
+            Cryptocurrency::getSymbol);
+
+    /**
+     * Впорядкований індекс криптовалют за ринковою капіталізацією.
+     */
+    private final SortedIndex<Double, Cryptocurrency, String> marketCapIndex =
+        new SortedIndex<>(Cryptocurrency::getMarketCap, Cryptocurrency::getSymbol);
+
+    /**
+     * Впорядкований індекс криптовалют за обсягом торгів за 24 години.
+     */
+    private final SortedIndex<Double, Cryptocurrency, String> volume24hIndex =
+        new SortedIndex<>(Cryptocurrency::getVolume24h, Cryptocurrency::getSymbol);
+
     /**
      * Конструктор, який ініціалізує репозиторій криптовалют із вказаним об'єктом {@link Gson}.
      *
      * @param gson об'єкт для серіалізації та десеріалізації JSON.
+     * @param mode режим збереження змін.
      */
-    public CryptocurrencyJsonRepositoryImpl(Gson gson) {
+    public CryptocurrencyJsonRepositoryImpl(Gson gson, PersistenceMode mode) {
         super(
             gson,
             JsonPathFactory.CRYPTOCURRENCIES_FILE.getPath(),
             TypeToken.getParameterized(Set.class, Cryptocurrency.class).getType(),
-            Cryptocurrency::getSymbol
+            Cryptocurrency::getSymbol,
+            mode
         );
+        findAll().forEach(this::indexSecondary);
     }
 
     /**
@@ -39,9 +69,12 @@ public final class CryptocurrencyJsonRepositoryImpl
      */
     @Override
     public Optional<Cryptocurrency> findBySymbol(String symbol) {
-        return entities.stream()
-            .filter(crypto -> crypto.getSymbol().equalsIgnoreCase(symbol))
-            .findFirst();
+        if (symbol == null) {
+            return Optional.empty();
+        }
+        Optional<Cryptocurrency> exactMatch = findById(symbol);
+        return exactMatch.isPresent() ? exactMatch
+            : readOptimistically(() -> symbolIndex.findAny(normalizeSymbol(symbol)));
     }
 
     /**
@@ -52,45 +85,80 @@ public final class CryptocurrencyJsonRepositoryImpl
      */
     @Override
     public Optional<Cryptocurrency> findByName(String name) {
-        return entities.stream()
-            .filter(crypto -> crypto.getName().equalsIgnoreCase(name))
-            .findFirst();
+        if (name == null) {
+            return Optional.empty();
+        }
+        return readOptimistically(() -> nameIndex.findAny(normalizeName(name)));
     }
 
     /**
      * Знаходить усі криптовалюти, ринкова капіталізація яких більша за вказане значення.
      *
      * @param marketCap значення ринкової капіталізації для фільтрації.
-     * @return набір криптовалют, які відповідають критерію.
+     * @return набір криптовалют, які відповідають критерію, у порядку спадання капіталізації.
      */
     @Override
     public Set<Cryptocurrency> findAllByMarketCapGreaterThan(double marketCap) {
-        return entities.stream()
-            .filter(crypto -> crypto.getMarketCap() > marketCap)
-            .collect(Collectors.toSet());
+        return read(() -> new LinkedHashSet<>(marketCapIndex.greaterThan(marketCap)));
     }
 
     /**
      * Знаходить усі криптовалюти, обсяг торгів за 24 години яких більший за вказане значення.
      *
      * @param volume24h значення обсягу торгів за 24 години для фільтрації.
-     * @return набір криптовалют, які відповідають критерію.
+     * @return набір криптовалют, які відповідають критерію, у порядку спадання обсягу торгів.
      */
     @Override
     public Set<Cryptocurrency> findAllByVolume24hGreaterThan(double volume24h) {
-        return entities.stream()
-            .filter(crypto -> crypto.getVolume24h() > volume24h)
-            .collect(Collectors.toSet());
+        return read(() -> new LinkedHashSet<>(volume24hIndex.greaterThan(volume24h)));
+    }
+
+    /**
+     * Знаходить усі криптовалюти, ринкова капіталізація яких належить діапазону.
+     *
+     * @param from нижня межа капіталізації (включно).
+     * @param to   верхня межа капіталізації (включно).
+     * @return список криптовалют у порядку спадання капіталізації.
+     */
+    @Override
+    public List<Cryptocurrency> findAllByMarketCapBetween(double from, double to) {
+        return read(() -> marketCapIndex.between(from, to));
+    }
+
+    /**
+     * Знаходить усі криптовалюти, обсяг торгів за 24 години яких належить діапазону.
+     *
+     * @param from нижня межа обсягу торгів (включно).
+     * @param to   верхня межа обсягу торгів (включно).
+     * @return список криптовалют у порядку спадання обсягу торгів.
+     */
+    @Override
+    public List<Cryptocurrency> findAllByVolume24hBetween(double from, double to) {
+        return read(() -> volume24hIndex.between(from, to));
+    }
+
+    /**
+     * Повертає криптовалюти з найбільшою ринковою капіталізацією.
+     *
+     * @param limit максимальна кількість криптовалют.
+     * @return список криптовалют у порядку спадання капіталізації.
+     * @throws IllegalArgumentException якщо ліміт від'ємний.
+     */
+    @Override
+    public List<Cryptocurrency> findTopByMarketCap(int limit) {
+        return read(() -> marketCapIndex.top(limit));
     }
 
     /**
-     * Повертає всі криптовалюти, які є у репозиторії.
+     * Повертає криптовалюти з найбільшим обсягом торгів за 24 години.
      *
-     * @return набір усіх криптовалют.
+     * @param limit максимальна кількість криптовалют.
+     * @return список криптовалют у порядку спадання обсягу торгів.
+     * @throws IllegalArgumentException якщо ліміт від'ємний.
      */
     @Override
-    public Set<Cryptocurrency> findAll() {
-        return new LinkedHashSet<>(entities);
+    public List<Cryptocurrency> findTopByVolume24h(int limit) {
+        return read(() -> volume24hIndex.top(limit));
     }
 
     /**
@@ -101,15 +169,70 @@ public final class CryptocurrencyJsonRepositoryImpl
      */
     @Override
     public void updateCryptocurrency(Cryptocurrency cryptocurrency) {
-        Optional<Cryptocurrency> existingCrypto = findBySymbol(cryptocurrency.getSymbol());
-
-        if (existingCrypto.isPresent()) {
-            entities.remove(existingCrypto.get());
-            entities.add(cryptocurrency);
-            saveChanges();
-        } else {
-            throw new IllegalArgumentException(
-                "Криптовалюта з символом " + cryptocurrency.getSymbol() + " не знайдена.");
+        Cryptocurrency existingCrypto = findBySymbol(cryptocurrency.getSymbol())
+            .orElseThrow(() -> new IllegalArgumentException(
+                "Криптовалюта з символом " + cryptocurrency.getSymbol() + " не знайдена."));
+
+        if (!existingCrypto.getSymbol().equals(cryptocurrency.getSymbol())) {
+            remove(existingCrypto);
         }
+        add(cryptocurrency);
+    }
+
+    /**
+     * Додає криптовалюту до індексів репозиторію.
+     *
+     * @param cryptocurrency криптовалюта для індексації.
+     */
+    @Override
+    protected void index(Cryptocurrency cryptocurrency) {
+        super.index(cryptocurrency);
+        indexSecondary(cryptocurrency);
+    }
+
+    /**
+     * Видаляє криптовалюту з індексів репозиторію.
+     *
+     * @param cryptocurrency криптовалюта, яку потрібно вилучити з індексів.
+     */
+    @Override
+    protected void unindex(Cryptocurrency cryptocurrency) {
+        super.unindex(cryptocurrency);
+        symbolIndex.remove(cryptocurrency);
+        nameIndex.remove(cryptocurrency);
+        marketCapIndex.remove(cryptocurrency);
+        volume24hIndex.remove(cryptocurrency);
+    }
+
+    /**
+     * Додає криптовалюту до вторинних індексів або переносить її під актуальні ключі.
+     *
+     * @param cryptocurrency криптовалюта для індексації.
+     */
+    private void indexSecondary(Cryptocurrency cryptocurrency) {
+        symbolIndex.put(cryptocurrency);
+        nameIndex.put(cryptocurrency);
+        marketCapIndex.put(cryptocurrency);
+        volume24hIndex.put(cryptocurrency);
+    }
+
+    /**
+     * Нормалізує символ криптовалюти для пошуку без урахування регістру.
+     *
+     * @param symbol символ криптовалюти.
+     * @return символ у верхньому регістрі або {@code null}.
+     */
+    private static String normalizeSymbol(String symbol) {
+        return symbol == null ? null : symbol.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Нормалізує назву криптовалюти для пошуку без урахування регістру.
+     *
+     * @param name назва криптовалюти.
+     * @return назва у нижньому регістрі або {@code null}.
+     */
+    private static String normalizeName(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
     }
 }
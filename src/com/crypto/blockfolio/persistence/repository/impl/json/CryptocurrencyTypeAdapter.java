@@ -0,0 +1,53 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Потоковий адаптер для {@link Cryptocurrency}.
+ */
+final class CryptocurrencyTypeAdapter extends EntityTypeAdapter<Cryptocurrency> {
+
+    @Override
+    void writeFields(JsonWriter out, Cryptocurrency value) throws IOException {
+        out.name("currentPrice").value(value.getCurrentPrice());
+        out.name("marketCap").value(value.getMarketCap());
+        out.name("volume24h").value(value.getVolume24h());
+        out.name("percentChange24h").value(value.getPercentChange24h());
+        writeDateTime(out, "lastUpdated", value.getLastUpdated());
+        writeString(out, "symbol", value.getSymbol());
+        writeString(out, "name", value.getName());
+    }
+
+    @Override
+    Cryptocurrency readFields(JsonReader in) throws IOException {
+        double currentPrice = 0;
+        double marketCap = 0;
+        double volume24h = 0;
+        double percentChange24h = 0;
+        LocalDateTime lastUpdated = null;
+        String symbol = null;
+        String name = null;
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "currentPrice" -> currentPrice = in.nextDouble();
+                case "marketCap" -> marketCap = in.nextDouble();
+                case "volume24h" -> volume24h = in.nextDouble();
+                case "percentChange24h" -> percentChange24h = in.nextDouble();
+                case "lastUpdated" -> lastUpdated = readDateTime(in);
+                case "symbol" -> symbol = readString(in);
+                case "name" -> name = readString(in);
+                default -> in.skipValue();
+            }
+        }
+        if (symbol == null) {
+            throw new JsonParseException("Криптовалюта без символу.");
+        }
+        return Cryptocurrency.restore(symbol, name != null ? name : symbol, currentPrice,
+            marketCap, volume24h, percentChange24h, lastUpdated);
+    }
+}
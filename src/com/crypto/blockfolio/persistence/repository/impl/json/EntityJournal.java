@@ -0,0 +1,253 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import com.crypto.blockfolio.persistence.exception.JsonFileIOException;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Журнал змін JSON-репозиторію, що лише дописується. Кожен запис займає один рядок і містить тип
+ * операції та серіалізовану сутність, тому вартість запису не залежить від обсягу даних у
+ * репозиторії.
+ *
+ * <p>Під час ущільнення поточний журнал ротується у файл {@code *.journal.old}, після чого
+ * репозиторій записує свіжий знімок і видаляє ротований журнал. Якщо процес перервався між цими
+ * кроками, ротований журнал буде відтворено під час наступного запуску.
+ *
+ * @param <E> тип сутностей, зміни яких записуються у журнал.
+ */
+final class EntityJournal<E> {
+
+    /**
+     * Розширення файлу активного журналу.
+     */
+    private static final String JOURNAL_EXTENSION = ".journal";
+
+    /**
+     * Розширення файлу ротованого журналу, який очікує на ущільнення.
+     */
+    private static final String ROTATED_EXTENSION = ".journal.old";
+
+    /**
+     * Об'єкт для серіалізації та десеріалізації сутностей.
+     */
+    private final Gson gson;
+
+    /**
+     * Тип сутності, що зберігається у журналі.
+     */
+    private final Type entityType;
+
+    /**
+     * Шлях до активного журналу.
+     */
+    private final Path path;
+
+    /**
+     * Шлях до ротованого журналу.
+     */
+    private final Path rotatedPath;
+
+    /**
+     * Відкритий потік запису в активний журнал.
+     */
+    private Writer writer;
+
+    /**
+     * Кількість записів в активному журналі.
+     */
+    private int records;
+
+    /**
+     * Створює журнал для JSON-файлу репозиторію.
+     *
+     * @param gson       об'єкт для серіалізації сутностей.
+     * @param entityType тип сутності.
+     * @param dataPath   шлях до JSON-файлу, поруч із яким розміщується журнал.
+     */
+    EntityJournal(Gson gson, Type entityType, Path dataPath) {
+        this.gson = gson;
+        this.entityType = entityType;
+        this.path = dataPath.resolveSibling(dataPath.getFileName() + JOURNAL_EXTENSION);
+        this.rotatedPath = dataPath.resolveSibling(dataPath.getFileName() + ROTATED_EXTENSION);
+    }
+
+    /**
+     * Дописує операцію у журнал.
+     *
+     * @param operation тип операції.
+     * @param entity    сутність, до якої застосовано операцію.
+     * @throws JsonFileIOException у разі помилки запису.
+     */
+    synchronized void append(Operation operation, E entity) {
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            JsonWriter jsonWriter = new JsonWriter(writer);
+            jsonWriter.beginObject();
+            jsonWriter.name("op").value(operation.name());
+            jsonWriter.name("entity");
+            gson.toJson(entity, entityType, jsonWriter);
+            jsonWriter.endObject();
+            writer.write(System.lineSeparator());
+            writer.flush();
+            records++;
+        } catch (IOException e) {
+            throw new JsonFileIOException(
+                "Не вдалося записати зміни у журнал: %s".formatted(path.getFileName()), e);
+        }
+    }
+
+    /**
+     * Відтворює операції з ротованого та активного журналів у порядку їх запису. Пошкоджений хвіст
+     * журналу (наприклад, після аварійного завершення під час запису) ігнорується.
+     *
+     * @param consumer обробник, що застосовує операцію до стану репозиторію.
+     */
+    synchronized void replay(BiConsumer<Operation, E> consumer) {
+        records = 0;
+        for (Path file : List.of(rotatedPath, path)) {
+            if (Files.notExists(file)) {
+                continue;
+            }
+            int replayed = replayFile(file, consumer);
+            if (file.equals(path)) {
+                records = replayed;
+            }
+        }
+    }
+
+    /**
+     * Ротує активний журнал перед ущільненням. Якщо попереднє ущільнення не завершилося, записи
+     * активного журналу дописуються до вже існуючого ротованого журналу.
+     *
+     * @throws JsonFileIOException у разі помилки роботи з файлами журналу.
+     */
+    synchronized void rotate() {
+        try {
+            closeWriter();
+            if (Files.notExists(path)) {
+                return;
+            }
+            if (Files.exists(rotatedPath)) {
+                Files.write(rotatedPath, Files.readAllBytes(path), StandardOpenOption.APPEND);
+                Files.delete(path);
+            } else {
+                Files.move(path, rotatedPath);
+            }
+            records = 0;
+        } catch (IOException e) {
+            throw new JsonFileIOException(
+                "Не вдалося ротувати журнал: %s".formatted(path.getFileName()), e);
+        }
+    }
+
+    /**
+     * Видаляє ротований журнал після того, як його зміни увійшли до знімка.
+     *
+     * @throws JsonFileIOException у разі помилки видалення файлу.
+     */
+    synchronized void discardRotated() {
+        try {
+            Files.deleteIfExists(rotatedPath);
+        } catch (IOException e) {
+            throw new JsonFileIOException(
+                "Не вдалося видалити журнал: %s".formatted(rotatedPath.getFileName()), e);
+        }
+    }
+
+    /**
+     * Перевіряє, чи залишився ротований журнал від незавершеного ущільнення.
+     *
+     * @return {@code true}, якщо ротований журнал існує.
+     */
+    boolean hasRotated() {
+        return Files.exists(rotatedPath);
+    }
+
+    /**
+     * Повертає кількість записів в активному журналі.
+     *
+     * @return кількість записів.
+     */
+    synchronized int size() {
+        return records;
+    }
+
+    /**
+     * Відтворює операції з одного файлу журналу.
+     *
+     * @param file     файл журналу.
+     * @param consumer обробник операцій.
+     * @return кількість успішно відтворених записів.
+     */
+    private int replayFile(Path file, BiConsumer<Operation, E> consumer) {
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonObject record = JsonParser.parseString(line).getAsJsonObject();
+                    Operation operation = Operation.valueOf(record.get("op").getAsString());
+                    E entity = gson.fromJson(record.get("entity"), entityType);
+                    consumer.accept(operation, entity);
+                    replayed++;
+                } catch (JsonParseException | IllegalStateException | IllegalArgumentException
+                         | NullPointerException e) {
+                    System.err.printf("Пошкоджений запис у журналі %s ігноровано.%n",
+                        file.getFileName());
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new JsonFileIOException(
+                "Не вдалося прочитати журнал: %s".formatted(file.getFileName()), e);
+        }
+        return replayed;
+    }
+
+    /**
+     * Закриває потік запису в активний журнал.
+     *
+     * @throws IOException у разі помилки закриття потоку.
+     */
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * Операції, що записуються у журнал.
+     */
+    enum Operation {
+
+        /**
+         * Додавання або оновлення сутності.
+         */
+        PUT,
+
+        /**
+         * Видалення сутності.
+         */
+        REMOVE
+    }
+}
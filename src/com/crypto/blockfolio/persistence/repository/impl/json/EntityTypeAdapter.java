@@ -0,0 +1,233 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import com.crypto.blockfolio.persistence.CompactUuidSet;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Базовий клас потокових адаптерів сутностей. На відміну від рефлексивного адаптера Gson, поля
+ * записуються та зчитуються напряму через {@link JsonWriter} і {@link JsonReader}, а об'єкти
+ * відновлюються через фабричні методи {@code restore} сутностей. Поля зі значенням {@code null} не
+ * записуються, а невідомі поля під час читання пропускаються, тому формат файлів збігається з
+ * форматом рефлексивного адаптера.
+ *
+ * @param <T> тип сутності.
+ */
+abstract class EntityTypeAdapter<T> extends TypeAdapter<T> {
+
+    @Override
+    public final void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, value);
+        out.endObject();
+    }
+
+    @Override
+    public final T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        in.beginObject();
+        T value = readFields(in);
+        in.endObject();
+        return value;
+    }
+
+    /**
+     * Записує поля сутності всередині вже відкритого JSON-об'єкта.
+     *
+     * @param out   потік запису.
+     * @param value сутність.
+     * @throws IOException у разі помилки запису.
+     */
+    abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+    /**
+     * Зчитує всі поля вже відкритого JSON-об'єкта та відновлює сутність.
+     *
+     * @param in потік читання.
+     * @return відновлена сутність.
+     * @throws IOException у разі помилки читання.
+     */
+    abstract T readFields(JsonReader in) throws IOException;
+
+    /**
+     * Записує рядкове поле, якщо його значення не {@code null}.
+     *
+     * @param out   потік запису.
+     * @param name  назва поля.
+     * @param value значення поля.
+     * @throws IOException у разі помилки запису.
+     */
+    static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    /**
+     * Записує поле з ідентифікатором, якщо його значення не {@code null}.
+     *
+     * @param out   потік запису.
+     * @param name  назва поля.
+     * @param value значення поля.
+     * @throws IOException у разі помилки запису.
+     */
+    static void writeUuid(JsonWriter out, String name, UUID value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value.toString());
+        }
+    }
+
+    /**
+     * Записує числове поле, якщо його значення не {@code null}. Число записується у тому ж
+     * вигляді, що й {@link BigDecimal#toString()}.
+     *
+     * @param out   потік запису.
+     * @param name  назва поля.
+     * @param value значення поля.
+     * @throws IOException у разі помилки запису.
+     */
+    static void writeBigDecimal(JsonWriter out, String name, BigDecimal value)
+        throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    /**
+     * Записує поле з міткою часу, якщо його значення не {@code null}.
+     *
+     * @param out   потік запису.
+     * @param name  назва поля.
+     * @param value значення поля.
+     * @throws IOException у разі помилки запису.
+     */
+    static void writeDateTime(JsonWriter out, String name, LocalDateTime value)
+        throws IOException {
+        if (value != null) {
+            out.name(name).value(LocalDateTimeTypeAdapter.format(value));
+        }
+    }
+
+    /**
+     * Записує поле з набором ідентифікаторів, якщо набір не {@code null}.
+     *
+     * @param out    потік запису.
+     * @param name   назва поля.
+     * @param values набір ідентифікаторів.
+     * @throws IOException у разі помилки запису.
+     */
+    static void writeUuids(JsonWriter out, String name, Set<UUID> values) throws IOException {
+        if (values == null) {
+            return;
+        }
+        out.name(name).beginArray();
+        for (UUID value : values) {
+            out.value(value.toString());
+        }
+        out.endArray();
+    }
+
+    /**
+     * Зчитує рядок.
+     *
+     * @param in потік читання.
+     * @return рядок або {@code null}.
+     * @throws IOException у разі помилки читання.
+     */
+    static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    /**
+     * Зчитує ідентифікатор.
+     *
+     * @param in потік читання.
+     * @return ідентифікатор або {@code null}.
+     * @throws IOException у разі помилки читання.
+     */
+    static UUID readUuid(JsonReader in) throws IOException {
+        String value = readString(in);
+        try {
+            return value == null ? null : UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Некоректний ідентифікатор: " + value, e);
+        }
+    }
+
+    /**
+     * Зчитує число як {@link BigDecimal} безпосередньо з тексту JSON-значення, без проміжного
+     * {@code double}. Нульові значення, яких багато серед витрат і комісій, повертаються як
+     * спільний екземпляр {@link BigDecimal#ZERO}.
+     *
+     * @param in потік читання.
+     * @return число або {@code null}.
+     * @throws IOException у разі помилки читання.
+     */
+    static BigDecimal readBigDecimal(JsonReader in) throws IOException {
+        String value = readString(in);
+        try {
+            if (value == null) {
+                return null;
+            }
+            return "0".equals(value) ? BigDecimal.ZERO : new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new JsonParseException("Некоректне число: " + value, e);
+        }
+    }
+
+    /**
+     * Зчитує мітку часу.
+     *
+     * @param in потік читання.
+     * @return мітка часу або {@code null}.
+     * @throws IOException у разі помилки читання.
+     */
+    static LocalDateTime readDateTime(JsonReader in) throws IOException {
+        String value = readString(in);
+        try {
+            return value == null ? null : LocalDateTimeTypeAdapter.parse(value);
+        } catch (RuntimeException e) {
+            throw new JsonParseException("Некоректна мітка часу: " + value, e);
+        }
+    }
+
+    /**
+     * Зчитує масив ідентифікаторів.
+     *
+     * @param in потік читання.
+     * @return компактний набір ідентифікаторів у порядку запису або {@code null}.
+     * @throws IOException у разі помилки читання.
+     */
+    static Set<UUID> readUuids(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Set<UUID> values = new CompactUuidSet();
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(readUuid(in));
+        }
+        in.endArray();
+        return values;
+    }
+}
@@ -4,19 +4,38 @@ import com.crypto.blockfolio.persistence.Identifiable;
 import com.crypto.blockfolio.persistence.exception.JsonFileIOException;
 import com.crypto.blockfolio.persistence.repository.Repository;
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
-import java.io.FileWriter;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.StringReader;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -24,15 +43,51 @@ import java.util.stream.Collectors;
  * Репозиторій забезпечує функції збереження, завантаження, пошуку та видалення об'єктів у форматі
  * JSON.
  *
+ * <p>Репозиторій безпечний для одночасного використання з кількох потоків. Мутації виконуються під
+ * блокуванням запису {@link StampedLock}, пошук за ідентифікатором не потребує блокування, а
+ * {@link #findAll()} повертає незмінний знімок, який перебудовується лише після змін.
+ *
  * @param <E>  тип об'єкта, що зберігається у репозиторії.
  * @param <ID> тип ідентифікатора об'єкта.
  */
 class GenericJsonRepository<E extends Identifiable<ID>, ID> implements Repository<E, ID> {
 
     /**
-     * Колекція збережених об'єктів.
+     * Кількість записів у журналі, після якої запускається фонове ущільнення.
+     */
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 1_000;
+
+    /**
+     * Фоновий потік для ущільнення журналів і відкладеного запису змін усіх репозиторіїв.
+     */
+    private static final ScheduledExecutorService BACKGROUND_EXECUTOR =
+        Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "json-repository-background");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    /**
+     * Колекція збережених об'єктів. Доступ дозволений лише під блокуванням {@link #lock}.
+     */
+    private final Set<E> entities;
+
+    /**
+     * Індекс об'єктів за ідентифікатором. Підтримується узгодженим із {@link #entities} і дозволяє
+     * шукати об'єкт за ідентифікатором за сталий час без блокування.
+     */
+    private final Map<ID, E> identifierIndex;
+
+    /**
+     * Блокування, що захищає колекцію об'єктів та індекси репозиторію.
      */
-    protected final Set<E> entities;
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Незмінний знімок усіх об'єктів, що повертається {@link #findAll()}. Скидається після кожної
+     * мутації і перебудовується під час наступного звернення.
+     */
+    private volatile Set<E> snapshot;
 
     /**
      * Функція для вилучення ідентифікатора з об'єкта.
@@ -54,6 +109,45 @@ class GenericJsonRepository<E extends Identifiable<ID>, ID> implements Repositor
      */
     private final Type collectionType;
 
+    /**
+     * Режим збереження змін.
+     */
+    private final PersistenceMode mode;
+
+    /**
+     * Журнал змін. Записи додаються лише у режимі {@link PersistenceMode#JOURNAL}, але журнал,
+     * що залишився після роботи в цьому режимі, відтворюється за будь-якого режиму.
+     */
+    private final EntityJournal<E> journal;
+
+    /**
+     * Ознака того, що ущільнення журналу вже заплановане.
+     */
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    /**
+     * Ознака наявності змін, які ще не записані у файл. Використовується у режимі
+     * {@link PersistenceMode#WRITE_BEHIND}, а також у режимі {@link PersistenceMode#SNAPSHOT} для
+     * змін, відкладених до завершення спільної фіксації.
+     */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    /**
+     * Ознака спільної фіксації, що триває: встановлюється у {@link #prepareCommit(Path)} і
+     * знімається у {@link #unlockFlush()}.
+     */
+    private volatile boolean committing;
+
+    /**
+     * Об'єкт синхронізації, що впорядковує відкладені записи знімків та ущільнення журналу.
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Затримка відкладеного запису в мілісекундах.
+     */
+    private final long flushDelayMillis;
+
     /**
      * Конструктор, який ініціалізує репозиторій.
      *
@@ -61,14 +155,23 @@ class GenericJsonRepository<E extends Identifiable<ID>, ID> implements Repositor
      * @param path                шлях до файлу, де зберігаються дані.
      * @param collectionType      тип колекції, яка використовується для зберігання об'єктів.
      * @param identifierExtractor функція для отримання ідентифікатора з об'єкта.
+     * @param mode                режим збереження змін.
      */
     GenericJsonRepository(Gson gson, Path path, Type collectionType,
-        Function<E, ID> identifierExtractor) {
+        Function<E, ID> identifierExtractor, PersistenceMode mode) {
         this.gson = gson;
         this.path = path;
         this.collectionType = collectionType;
-        entities = loadAll();
         this.identifierExtractor = identifierExtractor;
+        this.mode = mode;
+        flushDelayMillis = mode == PersistenceMode.WRITE_BEHIND
+            ? PersistenceMode.flushDelayFromSystemProperties() : 0;
+        entities = loadAll();
+        identifierIndex = new ConcurrentHashMap<>();
+        entities.forEach(entity -> identifierIndex.put(identifierExtractor.apply(entity), entity));
+
+        journal = new EntityJournal<>(gson, elementType(collectionType), path);
+        recoverFromJournal();
     }
 
     /**
@@ -79,19 +182,28 @@ class GenericJsonRepository<E extends Identifiable<ID>, ID> implements Repositor
      */
     @Override
     public Optional<E> findById(ID id) {
-        return entities.stream()
-            .filter(e -> identifierExtractor.apply(e).equals(id))
-            .findFirst();
+        return Optional.ofNullable(identifierIndex.get(id));
     }
 
     /**
      * Повертає всі об'єкти з репозиторію.
      *
-     * @return набір всіх об'єктів.
+     * @return незмінний знімок усіх об'єктів.
      */
     @Override
     public Set<E> findAll() {
-        return entities;
+        Set<E> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long stamp = lock.readLock();
+        try {
+            current = Collections.unmodifiableSet(new LinkedHashSet<>(entities));
+            snapshot = current;
+            return current;
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     /**
@@ -102,7 +214,7 @@ class GenericJsonRepository<E extends Identifiable<ID>, ID> implements Repositor
      */
     @Override
     public Set<E> findAll(Predicate<E> filter) {
-        return entities.stream().filter(filter).collect(Collectors.toSet());
+        return findAll().stream().filter(filter).collect(Collectors.toSet());
     }
 
     /**
@@ -113,10 +225,58 @@ class GenericJsonRepository<E extends Identifiable<ID>, ID> implements Repositor
      */
     @Override
     public E add(E entity) {
+        long stamp = lockMutation();
+        try {
+            replace(entity);
+            snapshot = null;
+            persist(entity);
+        } finally {
+            unlockMutation(stamp);
+        }
+        return entity;
+    }
+
+    /**
+     * Додає або замінює кілька об'єктів під одним блокуванням запису. У режимі
+     * {@link PersistenceMode#SNAPSHOT} файл перезаписується один раз для всіх об'єктів.
+     *
+     * @param added об'єкти для додавання.
+     */
+    @Override
+    public void addAll(Collection<E> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        long stamp = lockMutation();
+        try {
+            added.forEach(this::replace);
+            snapshot = null;
+            switch (mode) {
+                case JOURNAL -> added.forEach(
+                    entity -> appendToJournal(EntityJournal.Operation.PUT, entity));
+                case WRITE_BEHIND -> markDirty();
+                default -> writeSnapshotOrDefer();
+            }
+        } finally {
+            unlockMutation(stamp);
+        }
+    }
+
+    /**
+     * Замінює збережений об'єкт з тим самим ідентифікатором і оновлює індекси. Викликається лише
+     * під блокуванням запису.
+     *
+     * @param entity новий об'єкт.
+     */
+    private void replace(E entity) {
+        E previous = identifierIndex.get(identifierExtractor.apply(entity));
+        if (previous != null) {
+            entities.remove(previous);
+            unindex(previous);
+        }
         entities.remove(entity);
         entities.add(entity);
-        saveChanges();
-        return entity;
+        index(entity);
     }
 
     /**
@@ -127,11 +287,162 @@ class GenericJsonRepository<E extends Identifiable<ID>, ID> implements Repositor
      */
     @Override
     public boolean remove(E entity) {
-        boolean removed = entities.remove(entity);
-        if (removed) {
-            saveChanges();
+        long stamp = lockMutation();
+        try {
+            boolean removed = entities.remove(entity);
+            if (removed) {
+                unindex(entity);
+                snapshot = null;
+                persistRemoval(entity);
+            }
+            return removed;
+        } finally {
+            unlockMutation(stamp);
+        }
+    }
+
+    /**
+     * Виконує читання вторинних індексів під блокуванням читання. Підходить для запитів, що
+     * обходять впорядковані структури або повертають багато об'єктів.
+     *
+     * @param reader дія, що читає стан репозиторію.
+     * @param <R>    тип результату.
+     * @return результат читання.
+     */
+    protected <R> R read(Supplier<R> reader) {
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Виконує коротке читання вторинних індексів без блокування. Якщо під час читання відбулася
+     * мутація, результат відкидається і читання повторюється під блокуванням читання.
+     *
+     * @param reader дія, що читає стан репозиторію.
+     * @param <R>    тип результату.
+     * @return результат читання.
+     */
+    protected <R> R readOptimistically(Supplier<R> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                R result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Стан змінився під час читання, повторюємо під блокуванням.
+            }
+        }
+        return read(reader);
+    }
+
+    /**
+     * Виконує мутацію об'єкта репозиторію на місці під блокуванням запису. Дія не повинна
+     * викликати {@link #add(Identifiable)} чи {@link #remove(Identifiable)}, оскільки блокування
+     * не є повторно вхідним.
+     *
+     * @param writer дія, що змінює стан репозиторію.
+     */
+    protected void write(Runnable writer) {
+        long stamp = lockMutation();
+        try {
+            writer.run();
+            snapshot = null;
+        } finally {
+            unlockMutation(stamp);
+        }
+    }
+
+    /**
+     * Захоплює блокування запису для мутації.
+     *
+     * @return штамп блокування запису.
+     */
+    private long lockMutation() {
+        return lock.writeLock();
+    }
+
+    /**
+     * Звільняє блокування, захоплене {@link #lockMutation()}, і записує зміну, відкладену
+     * {@link #writeSnapshotOrDefer()}. Запис чекає на {@link #flushLock}, тобто на завершення
+     * спільної фіксації.
+     *
+     * @param stamp штамп блокування запису.
+     */
+    private void unlockMutation(long stamp) {
+        lock.unlockWrite(stamp);
+        if (mode == PersistenceMode.SNAPSHOT && dirty.get()) {
+            flushPending();
+        }
+    }
+
+    /**
+     * Перезаписує основний файл у режимі {@link PersistenceMode#SNAPSHOT}. Між
+     * {@link #prepareCommit(Path)} і {@link #completeCommit(Path)} такий запис був би затертий
+     * старішим проміжним файлом, тому під час фіксації зміна лише позначається і записується
+     * після неї. Викликається лише під блокуванням запису.
+     */
+    private void writeSnapshotOrDefer() {
+        if (committing) {
+            dirty.set(true);
+        } else {
+            writeSnapshot(entities);
+        }
+    }
+
+    /**
+     * Зберігає зміни сутності, яка була додана до репозиторію або змінена на місці. У режимі
+     * {@link PersistenceMode#JOURNAL} зміна дописується у журнал, у режимі
+     * {@link PersistenceMode#WRITE_BEHIND} планується відкладений запис, інакше файл
+     * перезаписується повністю. Викликається лише під блокуванням запису, тобто всередині
+     * {@link #write(Runnable)}.
+     *
+     * @param entity додана або змінена сутність.
+     */
+    protected void persist(E entity) {
+        switch (mode) {
+            case JOURNAL -> appendToJournal(EntityJournal.Operation.PUT, entity);
+            case WRITE_BEHIND -> markDirty();
+            default -> writeSnapshotOrDefer();
         }
-        return removed;
+    }
+
+    /**
+     * Зберігає факт видалення сутності з репозиторію. Викликається лише під блокуванням запису.
+     *
+     * @param entity видалена сутність.
+     */
+    private void persistRemoval(E entity) {
+        switch (mode) {
+            case JOURNAL -> appendToJournal(EntityJournal.Operation.REMOVE, entity);
+            case WRITE_BEHIND -> markDirty();
+            default -> writeSnapshotOrDefer();
+        }
+    }
+
+    /**
+     * Додає об'єкт до індексів репозиторію. Підкласи, що підтримують власні індекси, мають
+     * перевизначати цей метод і викликати реалізацію базового класу.
+     *
+     * @param entity об'єкт для індексації.
+     */
+    protected void index(E entity) {
+        identifierIndex.put(identifierExtractor.apply(entity), entity);
+    }
+
+    /**
+     * Видаляє об'єкт з індексів репозиторію. Підкласи, що підтримують власні індекси, мають
+     * перевизначати цей метод і викликати реалізацію базового класу.
+     *
+     * @param entity об'єкт, який потрібно вилучити з індексів.
+     */
+    protected void unindex(E entity) {
+        identifierIndex.remove(identifierExtractor.apply(entity), entity);
     }
 
     /**
@@ -144,15 +455,23 @@ class GenericJsonRepository<E extends Identifiable<ID>, ID> implements Repositor
     }
 
     /**
-     * Завантажує всі об'єкти з файлу JSON.
+     * Завантажує всі об'єкти з файлу JSON за один потоковий прохід. Тимчасовий файл, що залишився
+     * після перерваного запису знімка, відкидається: оригінальний файл містить останню повну
+     * версію даних.
      *
      * @return набір об'єктів.
      */
     private Set<E> loadAll() {
         try {
+            if (AtomicFileWriter.discardIncomplete(path)) {
+                System.err.printf("Незавершений запис файлу %s відкинуто.%n",
+                    path.getFileName());
+            }
             fileNotFound();
-            var json = Files.readString(path);
-            return isValidJson(json) ? gson.fromJson(json, collectionType) : new HashSet<>();
+            try (JsonReader reader = new JsonReader(
+                Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+                return readEntities(reader);
+            }
         } catch (IOException e) {
             throw new JsonFileIOException("Помилка при роботі із файлом %s."
                 .formatted(path.getFileName()));
@@ -160,30 +479,266 @@ class GenericJsonRepository<E extends Identifiable<ID>, ID> implements Repositor
     }
 
     /**
-     * Зберігає всі зміни у файл JSON.
+     * Зберігає всі зміни у файл JSON. Мутації репозиторію очікують завершення запису.
      */
     protected void saveChanges() {
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            gson.toJson(entities, writer);
-            //System.out.println("Дані збережено у файл: " + path.toAbsolutePath());
+        flushLock.lock();
+        try {
+            long stamp = lock.readLock();
+            try {
+                writeSnapshot(entities);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Перевіряє, чи є відкладені зміни, які ще не записані у файл.
+     *
+     * @return {@code true}, якщо є незаписані зміни.
+     */
+    boolean hasPendingChanges() {
+        return dirty.get();
+    }
+
+    /**
+     * Захоплює блокування, що впорядковує записи знімків. Використовується фабрикою, щоб жоден
+     * фоновий запис не втрутився у спільну фіксацію.
+     */
+    void lockFlush() {
+        flushLock.lock();
+    }
+
+    /**
+     * Звільняє блокування, захоплене {@link #lockFlush()}.
+     */
+    void unlockFlush() {
+        committing = false;
+        flushLock.unlock();
+    }
+
+    /**
+     * Перший етап спільної фіксації: записує знімок поточного стану у проміжний файл і ротує
+     * журнал. Викликається лише тоді, коли фабрика утримує {@link #lockFlush()}.
+     *
+     * @param pendingPath шлях до проміжного файлу.
+     * @throws JsonFileIOException у разі помилки запису.
+     */
+    void prepareCommit(Path pendingPath) {
+        List<E> prepared;
+        long stamp = lock.writeLock();
+        try {
+            prepared = new ArrayList<>(entities);
+            journal.rotate();
+            dirty.set(false);
+            committing = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        try {
+            writeSnapshot(pendingPath, prepared);
+        } catch (RuntimeException e) {
+            if (mode == PersistenceMode.WRITE_BEHIND) {
+                dirty.set(true);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Другий етап спільної фіксації: перейменовує проміжний файл поверх основного та видаляє
+     * ротований журнал, зміни якого увійшли до знімка.
+     *
+     * @param pendingPath шлях до проміжного файлу.
+     * @throws JsonFileIOException у разі помилки перейменування.
+     */
+    void completeCommit(Path pendingPath) {
+        try {
+            AtomicFileWriter.move(pendingPath, path);
         } catch (IOException e) {
             throw new JsonFileIOException(
-                "Не вдалося зберегти зміни у файл: %s".formatted(path.getFileName()), e);
+                "Не вдалося зафіксувати файл: %s".formatted(path.getFileName()), e);
+        }
+        journal.discardRotated();
+    }
+
+    /**
+     * Записує відкладені зміни, якщо вони є. У режимі {@link PersistenceMode#JOURNAL} нічого не
+     * робить, оскільки зміни вже збережені на момент мутації.
+     */
+    void flushPending() {
+        flushLock.lock();
+        try {
+            if (!dirty.getAndSet(false)) {
+                return;
+            }
+            List<E> pending = read(() -> new ArrayList<>(entities));
+            try {
+                writeSnapshot(pending);
+            } catch (RuntimeException e) {
+                dirty.set(true);
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Ущільнює журнал: ротує його, записує свіжий знімок стану репозиторію та видаляє ротований
+     * журнал. Знімок і ротація виконуються атомарно відносно мутацій репозиторію.
+     */
+    void compact() {
+        flushLock.lock();
+        try {
+            List<E> compacted;
+            long stamp = lock.writeLock();
+            try {
+                compacted = new ArrayList<>(entities);
+                journal.rotate();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            writeSnapshot(compacted);
+            journal.discardRotated();
+        } finally {
+            flushLock.unlock();
         }
     }
 
     /**
-     * Перевіряє, чи є JSON-рядок валідним.
+     * Атомарно записує колекцію об'єктів у файл JSON репозиторію.
      *
-     * @param input JSON у вигляді рядка.
-     * @return {@code true}, якщо JSON валідний.
+     * @param snapshot колекція об'єктів для запису.
      */
-    private boolean isValidJson(String input) {
-        try (JsonReader reader = new JsonReader(new StringReader(input))) {
-            reader.skipValue();
-            return reader.peek() == JsonToken.END_DOCUMENT;
+    private void writeSnapshot(Collection<E> snapshot) {
+        writeSnapshot(path, snapshot);
+    }
+
+    /**
+     * Атомарно записує колекцію об'єктів у вказаний файл JSON.
+     *
+     * @param target   файл для запису.
+     * @param snapshot колекція об'єктів для запису.
+     */
+    private void writeSnapshot(Path target, Collection<E> snapshot) {
+        try {
+            AtomicFileWriter.write(target,
+                writer -> gson.toJson(snapshot, collectionType, writer));
         } catch (IOException e) {
-            return false;
+            throw new JsonFileIOException(
+                "Не вдалося зберегти зміни у файл: %s".formatted(target.getFileName()), e);
+        }
+    }
+
+    /**
+     * Дописує операцію у журнал і за потреби планує фонове ущільнення.
+     *
+     * @param operation тип операції.
+     * @param entity    сутність, до якої застосовано операцію.
+     */
+    private void appendToJournal(EntityJournal.Operation operation, E entity) {
+        journal.append(operation, entity);
+        if (journal.size() >= JOURNAL_COMPACTION_THRESHOLD
+            && compactionScheduled.compareAndSet(false, true)) {
+            BACKGROUND_EXECUTOR.execute(() -> {
+                try {
+                    compact();
+                } catch (RuntimeException e) {
+                    System.err.printf("Не вдалося ущільнити журнал %s: %s%n",
+                        path.getFileName(), e.getMessage());
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Позначає репозиторій як змінений і, якщо запис ще не запланований, планує його після
+     * затримки. Усі мутації, що відбулися до запису, потрапляють в один знімок.
+     */
+    private void markDirty() {
+        if (dirty.compareAndSet(false, true)) {
+            BACKGROUND_EXECUTOR.schedule(() -> {
+                try {
+                    flushPending();
+                } catch (RuntimeException e) {
+                    System.err.printf("Не вдалося записати відкладені зміни у файл %s: %s%n",
+                        path.getFileName(), e.getMessage());
+                }
+            }, flushDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Відтворює зміни з журналу поверх завантаженого знімка. Якщо після попереднього запуску
+     * залишився ротований журнал або журнал не використовується у поточному режимі, одразу
+     * виконує ущільнення.
+     */
+    private void recoverFromJournal() {
+        boolean interruptedCompaction = journal.hasRotated();
+        journal.replay((operation, entity) -> {
+            E previous = identifierIndex.remove(identifierExtractor.apply(entity));
+            if (previous != null) {
+                entities.remove(previous);
+            }
+            if (operation == EntityJournal.Operation.PUT) {
+                entities.add(entity);
+                identifierIndex.put(identifierExtractor.apply(entity), entity);
+            }
+        });
+        if (interruptedCompaction || mode != PersistenceMode.JOURNAL && journal.size() > 0) {
+            compact();
+        }
+    }
+
+    /**
+     * Визначає тип елементів колекції.
+     *
+     * @param collectionType параметризований тип колекції.
+     * @return тип елементів колекції.
+     */
+    private static Type elementType(Type collectionType) {
+        if (collectionType instanceof ParameterizedType parameterizedType) {
+            return parameterizedType.getActualTypeArguments()[0];
+        }
+        throw new IllegalArgumentException(
+            "Тип колекції має бути параметризованим: %s".formatted(collectionType));
+    }
+
+    /**
+     * Послідовно зчитує об'єкти з JSON-масиву, десеріалізуючи кожен елемент окремо. Порожній
+     * файл, документ, що не є масивом, або пошкоджений JSON дають порожній набір.
+     *
+     * @param reader потоковий читач JSON.
+     * @return набір об'єктів.
+     * @throws IOException у разі помилки читання файлу.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<E> readEntities(JsonReader reader) throws IOException {
+        TypeAdapter<E> adapter = (TypeAdapter<E>) gson.getAdapter(
+            TypeToken.get(elementType(collectionType)));
+        Set<E> result = new HashSet<>();
+        try {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                return new HashSet<>();
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                E entity = adapter.read(reader);
+                if (entity != null) {
+                    result.add(entity);
+                }
+            }
+            reader.endArray();
+            return reader.peek() == JsonToken.END_DOCUMENT ? result : new HashSet<>();
+        } catch (EOFException | MalformedJsonException | JsonParseException
+                 | IllegalStateException e) {
+            return new HashSet<>();
         }
     }
 
@@ -28,7 +28,12 @@ enum JsonPathFactory {
     /**
      * Файл з даними криптовалют.
      */
-    CRYPTOCURRENCIES_FILE("cryptocurrencies.json");
+    CRYPTOCURRENCIES_FILE("cryptocurrencies.json"),
+
+    /**
+     * Файл маніфесту спільної фіксації файлів даних.
+     */
+    COMMIT_MANIFEST_FILE("commit-manifest.json");
 
     /**
      * Базова директорія для зберігання файлів даних.
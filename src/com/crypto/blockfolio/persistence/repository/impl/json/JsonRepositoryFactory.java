@@ -1,6 +1,9 @@
 package com.crypto.blockfolio.persistence.repository.impl.json;
 
-import com.crypto.blockfolio.persistence.Identifiable;
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.User;
 import com.crypto.blockfolio.persistence.exception.JsonFileIOException;
 import com.crypto.blockfolio.persistence.repository.RepositoryFactory;
 import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
@@ -12,13 +15,18 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Фабрика для створення JSON-репозиторіїв. Забезпечує централізоване управління репозиторіями, їх
@@ -26,6 +34,11 @@ import java.util.Set;
  */
 public class JsonRepositoryFactory extends RepositoryFactory {
 
+    /**
+     * Назва системної властивості, що вмикає компактний (без відступів) формат JSON-файлів.
+     */
+    static final String COMPACT_OUTPUT_PROPERTY = "blockfolio.persistence.compact-json";
+
     /**
      * Об'єкт {@link Gson} для серіалізації та десеріалізації даних.
      */
@@ -56,24 +69,25 @@ public class JsonRepositoryFactory extends RepositoryFactory {
      */
     private final AuthDataRepository authDataRepository;
 
+    /**
+     * Маніфест спільної фіксації файлів даних.
+     */
+    private final CommitManifest commitManifest;
+
+    /**
+     * Пул потоків для паралельної серіалізації файлів під час фіксації.
+     */
+    private final ExecutorService commitExecutor;
+
     /**
      * Приватний конструктор для ініціалізації фабрики. Використовує адаптери для роботи з типами
-     * {@link LocalDateTime} та {@link LocalDate}.
+     * {@link LocalDateTime} та {@link LocalDate}, а також потокові адаптери сутностей, що не
+     * використовують рефлексію.
      */
     private JsonRepositoryFactory() {
         GsonBuilder gsonBuilder = new GsonBuilder();
 
-        gsonBuilder.registerTypeAdapter(LocalDateTime.class, new TypeAdapter<LocalDateTime>() {
-            @Override
-            public void write(JsonWriter out, LocalDateTime value) throws IOException {
-                out.value(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-            }
-
-            @Override
-            public LocalDateTime read(JsonReader in) throws IOException {
-                return LocalDateTime.parse(in.nextString(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-            }
-        });
+        gsonBuilder.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeTypeAdapter());
 
         gsonBuilder.registerTypeAdapter(LocalDate.class, new TypeAdapter<LocalDate>() {
             @Override
@@ -87,13 +101,61 @@ public class JsonRepositoryFactory extends RepositoryFactory {
             }
         });
 
-        gson = gsonBuilder.setPrettyPrinting().create();
+        CryptocurrencyTypeAdapter cryptocurrencyAdapter = new CryptocurrencyTypeAdapter();
+        TransactionTypeAdapter transactionAdapter =
+            new TransactionTypeAdapter(cryptocurrencyAdapter);
+        gsonBuilder.registerTypeAdapter(Cryptocurrency.class, cryptocurrencyAdapter);
+        gsonBuilder.registerTypeAdapter(Transaction.class, transactionAdapter);
+        gsonBuilder.registerTypeAdapter(Portfolio.class, new PortfolioTypeAdapter());
+        gsonBuilder.registerTypeAdapter(User.class, new UserTypeAdapter());
+
+        if (!Boolean.getBoolean(COMPACT_OUTPUT_PROPERTY)) {
+            gsonBuilder.setPrettyPrinting();
+        }
+        gson = gsonBuilder.create();
 
-        cryptocurrencyJsonRepositoryImpl = new CryptocurrencyJsonRepositoryImpl(gson);
-        portfolioJsonRepositoryImpl = new PortfolioJsonRepositoryImpl(gson);
-        transactionJsonRepositoryImpl = new TransactionJsonRepositoryImpl(gson);
-        userJsonRepositoryImpl = new UserJsonRepositoryImpl(gson);
+        commitManifest = new CommitManifest(gson, JsonPathFactory.COMMIT_MANIFEST_FILE.getPath());
+        commitManifest.recover(List.of(JsonPathFactory.USERS_FILE.getPath(),
+            JsonPathFactory.CRYPTOCURRENCIES_FILE.getPath(),
+            JsonPathFactory.PORTFOLIOS_FILE.getPath(),
+            JsonPathFactory.TRANSACTIONS_FILE.getPath()));
+
+        PersistenceMode mode = PersistenceMode.fromSystemProperties();
+        cryptocurrencyJsonRepositoryImpl = new CryptocurrencyJsonRepositoryImpl(gson, mode);
+        portfolioJsonRepositoryImpl = new PortfolioJsonRepositoryImpl(gson, mode);
+        transactionJsonRepositoryImpl = new TransactionJsonRepositoryImpl(gson, mode,
+            cryptocurrencyJsonRepositoryImpl);
+        if (transactionAdapter.drainLegacyRecords() > 0) {
+            migrateTransactionReferences();
+        }
+        userJsonRepositoryImpl = new UserJsonRepositoryImpl(gson, mode);
         this.authDataRepository = new AuthDataRepository();
+
+        commitExecutor = Executors.newFixedThreadPool(repositories().size(), runnable -> {
+            Thread thread = new Thread(runnable, "json-repository-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(
+            new Thread(this::flushPending, "json-repository-shutdown-flush"));
+    }
+
+    /**
+     * Переводить транзакції з попереднього формату із вбудованими криптовалютами у формат з
+     * посиланнями. Криптовалюти, яких немає у репозиторії криптовалют, додаються до нього з
+     * даних транзакції, щоб посилання не втратили назву монети. Після цього файл транзакцій
+     * перезаписується у новому форматі.
+     */
+    private void migrateTransactionReferences() {
+        for (Transaction transaction : transactionJsonRepositoryImpl.findAll()) {
+            Cryptocurrency cryptocurrency = transaction.getCryptocurrency();
+            if (cryptocurrency != null && cryptocurrencyJsonRepositoryImpl
+                .findBySymbol(cryptocurrency.getSymbol()).isEmpty()) {
+                cryptocurrencyJsonRepositoryImpl.add(cryptocurrency);
+            }
+        }
+        transactionJsonRepositoryImpl.resolveCryptocurrencies(cryptocurrencyJsonRepositoryImpl);
+        transactionJsonRepositoryImpl.compact();
     }
 
     /**
@@ -131,38 +193,96 @@ public class JsonRepositoryFactory extends RepositoryFactory {
     }
 
     /**
-     * Зберігає всі зміни у файли JSON для всіх репозиторіїв.
+     * Зберігає всі зміни у файли JSON для всіх репозиторіїв як одне узгоджене покоління. Файли
+     * серіалізуються паралельно у проміжні файли, після чого маніфест фіксує покоління, а
+     * проміжні файли перейменовуються поверх основних. Тривалість фіксації визначається
+     * найбільшим файлом, а не сумою всіх файлів.
+     *
+     * @throws JsonFileIOException якщо не вдалося записати хоча б один файл.
      */
     public void commit() {
-        serializeEntities(userJsonRepositoryImpl.getPath(), userJsonRepositoryImpl.findAll());
-        serializeEntities(cryptocurrencyJsonRepositoryImpl.getPath(),
-            cryptocurrencyJsonRepositoryImpl.findAll());
-        serializeEntities(portfolioJsonRepositoryImpl.getPath(),
-            portfolioJsonRepositoryImpl.findAll());
-        serializeEntities(transactionJsonRepositoryImpl.getPath(),
-            transactionJsonRepositoryImpl.findAll());
+        List<GenericJsonRepository<?, ?>> repositories = repositories();
+        List<Path> files = repositories.stream().map(GenericJsonRepository::getPath).toList();
+        repositories.forEach(GenericJsonRepository::lockFlush);
+        try {
+            prepareInParallel(repositories);
+            commitManifest.prepared(files);
+            repositories.forEach(repository -> repository.completeCommit(
+                CommitManifest.pendingPath(repository.getPath())));
+            commitManifest.committed(files);
+        } finally {
+            for (int i = repositories.size() - 1; i >= 0; i--) {
+                repositories.get(i).unlockFlush();
+            }
+        }
     }
 
     /**
-     * Серіалізує колекцію об'єктів у JSON і зберігає у файл.
+     * Паралельно записує знімки всіх репозиторіїв у проміжні файли. Якщо хоча б один запис
+     * завершився помилкою, усі проміжні файли видаляються, а основні файли залишаються без змін.
      *
-     * @param path     шлях до файлу.
-     * @param entities колекція об'єктів для серіалізації.
-     * @param <E>      тип об'єктів.
-     * @param <ID>     тип ідентифікатора об'єктів.
-     */
-    private <E extends Identifiable<ID>, ID> void serializeEntities(Path path, Set<E> entities) {
-        try (FileWriter writer = new FileWriter(path.toFile())) {
-            // Скидуємо файл перед збереженням
-            writer.write("");
-            // Перетворення колекції у JSON та запис у файл
-            gson.toJson(entities, writer);
-        } catch (IOException e) {
-            throw new JsonFileIOException("Не вдалося зберегти дані у json-файл. Детальніше: %s"
-                .formatted(e.getMessage()));
+     * @param repositories репозиторії, що беруть участь у фіксації.
+     * @throws JsonFileIOException якщо не вдалося записати хоча б один файл.
+     */
+    private void prepareInParallel(List<GenericJsonRepository<?, ?>> repositories) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (GenericJsonRepository<?, ?> repository : repositories) {
+            tasks.add(CompletableFuture.runAsync(() -> repository.prepareCommit(
+                CommitManifest.pendingPath(repository.getPath())), commitExecutor));
+        }
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            discardPending(repositories);
+            if (e.getCause() instanceof JsonFileIOException cause) {
+                throw cause;
+            }
+            throw new JsonFileIOException("Не вдалося зафіксувати зміни у json-файли.",
+                e.getCause());
         }
     }
 
+    /**
+     * Видаляє проміжні файли незавершеної фіксації.
+     *
+     * @param repositories репозиторії, що брали участь у фіксації.
+     */
+    private void discardPending(List<GenericJsonRepository<?, ?>> repositories) {
+        for (GenericJsonRepository<?, ?> repository : repositories) {
+            try {
+                Files.deleteIfExists(CommitManifest.pendingPath(repository.getPath()));
+            } catch (IOException e) {
+                System.err.printf("Не вдалося видалити проміжний файл %s.%n",
+                    repository.getPath().getFileName());
+            }
+        }
+    }
+
+    /**
+     * Фіксує відкладені зміни під час завершення роботи програми, якщо вони є.
+     */
+    private void flushPending() {
+        if (repositories().stream().noneMatch(GenericJsonRepository::hasPendingChanges)) {
+            return;
+        }
+        try {
+            commit();
+        } catch (RuntimeException e) {
+            System.err.printf("Не вдалося зберегти зміни під час завершення роботи: %s%n",
+                e.getMessage());
+        }
+    }
+
+    /**
+     * Повертає всі JSON-репозиторії фабрики.
+     *
+     * @return список репозиторіїв.
+     */
+    private List<GenericJsonRepository<?, ?>> repositories() {
+        return List.of(userJsonRepositoryImpl, cryptocurrencyJsonRepositoryImpl,
+            portfolioJsonRepositoryImpl, transactionJsonRepositoryImpl);
+    }
+
     /**
      * Внутрішній клас для забезпечення Singleton фабрики.
      */
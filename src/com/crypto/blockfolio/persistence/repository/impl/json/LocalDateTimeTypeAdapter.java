@@ -0,0 +1,175 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Адаптер для типу {@link LocalDateTime} у форматі ISO-8601 ({@code yyyy-MM-ddTHH:mm:ss.n}).
+ * Значення форматуються та розбираються вручну, без {@link DateTimeFormatter}, оскільки мітки часу
+ * є у кожному записі сховища. Результат збігається з
+ * {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: секунди виводяться завжди, а дробова частина —
+ * без кінцевих нулів. Значення поза швидким форматом (наприклад, роки поза межами 0000–9999 або
+ * час без секунд) обробляються стандартним форматером.
+ */
+final class LocalDateTimeTypeAdapter extends TypeAdapter<LocalDateTime> {
+
+    /**
+     * Довжина мітки часу без дробової частини секунд.
+     */
+    private static final int SECONDS_LENGTH = 19;
+
+    /**
+     * Максимальна кількість цифр дробової частини секунд.
+     */
+    private static final int MAX_FRACTION_DIGITS = 9;
+
+    @Override
+    public void write(JsonWriter out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(format(value));
+    }
+
+    @Override
+    public LocalDateTime read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String text = in.nextString();
+        try {
+            return parse(text);
+        } catch (DateTimeException e) {
+            throw new JsonParseException("Некоректна мітка часу: " + text, e);
+        }
+    }
+
+    /**
+     * Форматує мітку часу у форматі ISO-8601.
+     *
+     * @param value мітка часу.
+     * @return рядкове представлення.
+     */
+    static String format(LocalDateTime value) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+        char[] buffer = new char[SECONDS_LENGTH + 1 + MAX_FRACTION_DIGITS];
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano == 0) {
+            return new String(buffer, 0, SECONDS_LENGTH);
+        }
+        buffer[SECONDS_LENGTH] = '.';
+        writeDigits(buffer, SECONDS_LENGTH + 1, nano, MAX_FRACTION_DIGITS);
+        int length = buffer.length;
+        while (buffer[length - 1] == '0') {
+            length--;
+        }
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Розбирає мітку часу у форматі ISO-8601.
+     *
+     * @param text рядкове представлення.
+     * @return мітка часу.
+     * @throws DateTimeException якщо рядок не є коректною міткою часу.
+     */
+    static LocalDateTime parse(String text) {
+        int length = text.length();
+        if (length < SECONDS_LENGTH || length == SECONDS_LENGTH + 1
+            || length > SECONDS_LENGTH + 1 + MAX_FRACTION_DIGITS
+            || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+            || text.charAt(13) != ':' || text.charAt(16) != ':'
+            || (length > SECONDS_LENGTH && text.charAt(SECONDS_LENGTH) != '.')) {
+            return parseStandard(text);
+        }
+        int year = readDigits(text, 0, 4);
+        int month = readDigits(text, 5, 2);
+        int day = readDigits(text, 8, 2);
+        int hour = readDigits(text, 11, 2);
+        int minute = readDigits(text, 14, 2);
+        int second = readDigits(text, 17, 2);
+        int nano = 0;
+        if (length > SECONDS_LENGTH) {
+            int digits = length - SECONDS_LENGTH - 1;
+            nano = readDigits(text, SECONDS_LENGTH + 1, digits);
+            for (int i = digits; i < MAX_FRACTION_DIGITS; i++) {
+                nano *= 10;
+            }
+        }
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            return parseStandard(text);
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    /**
+     * Розбирає мітку часу стандартним форматером.
+     *
+     * @param text рядкове представлення.
+     * @return мітка часу.
+     * @throws DateTimeParseException якщо рядок не є коректною міткою часу.
+     */
+    private static LocalDateTime parseStandard(String text) {
+        return LocalDateTime.parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    /**
+     * Записує невід'ємне число заданою кількістю цифр з провідними нулями.
+     *
+     * @param buffer буфер символів.
+     * @param offset позиція першої цифри.
+     * @param value  число.
+     * @param digits кількість цифр.
+     */
+    private static void writeDigits(char[] buffer, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Зчитує десяткове число із заданої кількості цифр.
+     *
+     * @param text   рядок.
+     * @param offset позиція першої цифри.
+     * @param digits кількість цифр.
+     * @return число або {@code -1}, якщо серед символів є не цифри.
+     */
+    private static int readDigits(String text, int offset, int digits) {
+        int value = 0;
+        for (int i = offset; i < offset + digits; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
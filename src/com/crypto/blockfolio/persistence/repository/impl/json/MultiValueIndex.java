@@ -0,0 +1,122 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Вторинний індекс репозиторію, що зіставляє ключ з набором об'єктів. Для кожного об'єкта
+ * запам'ятовується ключ, під яким він був проіндексований, тому об'єкт можна коректно
+ * переіндексувати навіть після того, як його поле-ключ змінилося на місці.
+ *
+ * @param <K>  тип ключа індексу.
+ * @param <E>  тип об'єктів, що індексуються.
+ * @param <ID> тип ідентифікатора об'єкта.
+ */
+class MultiValueIndex<K, E, ID> {
+
+    /**
+     * Функція для обчислення ключа індексу з об'єкта.
+     */
+    private final Function<E, K> keyExtractor;
+
+    /**
+     * Функція для вилучення ідентифікатора з об'єкта.
+     */
+    private final Function<E, ID> identifierExtractor;
+
+    /**
+     * Об'єкти, згруповані за ключем індексу.
+     */
+    private final Map<K, Map<ID, E>> buckets;
+
+    /**
+     * Ключі, під якими проіндексовано об'єкти, за ідентифікатором об'єкта.
+     */
+    private final Map<ID, K> keys = new HashMap<>();
+
+    /**
+     * Створює порожній індекс.
+     *
+     * @param keyExtractor        функція для обчислення ключа з об'єкта.
+     * @param identifierExtractor функція для вилучення ідентифікатора з об'єкта.
+     */
+    MultiValueIndex(Function<E, K> keyExtractor, Function<E, ID> identifierExtractor) {
+        this(keyExtractor, identifierExtractor, new HashMap<>());
+    }
+
+    /**
+     * Створює порожній індекс поверх заданої структури для груп об'єктів. Дозволяє підкласам
+     * обирати, наприклад, впорядковану структуру.
+     *
+     * @param keyExtractor        функція для обчислення ключа з об'єкта.
+     * @param identifierExtractor функція для вилучення ідентифікатора з об'єкта.
+     * @param buckets             порожня структура для груп об'єктів за ключем.
+     */
+    MultiValueIndex(Function<E, K> keyExtractor, Function<E, ID> identifierExtractor,
+        Map<K, Map<ID, E>> buckets) {
+        this.keyExtractor = keyExtractor;
+        this.identifierExtractor = identifierExtractor;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Додає об'єкт до індексу або переносить його під актуальний ключ. Об'єкти з ключем
+     * {@code null} не індексуються.
+     *
+     * @param entity об'єкт для індексації.
+     */
+    void put(E entity) {
+        remove(entity);
+        K key = keyExtractor.apply(entity);
+        if (key == null) {
+            return;
+        }
+        ID id = identifierExtractor.apply(entity);
+        buckets.computeIfAbsent(key, k -> new HashMap<>()).put(id, entity);
+        keys.put(id, key);
+    }
+
+    /**
+     * Видаляє об'єкт з індексу за ключем, під яким його було проіндексовано.
+     *
+     * @param entity об'єкт, який потрібно вилучити з індексу.
+     */
+    void remove(E entity) {
+        ID id = identifierExtractor.apply(entity);
+        K key = keys.remove(id);
+        if (key == null) {
+            return;
+        }
+        Map<ID, E> bucket = buckets.get(key);
+        bucket.remove(id);
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    /**
+     * Повертає всі об'єкти з вказаним ключем.
+     *
+     * @param key ключ індексу.
+     * @return новий набір об'єктів; порожній, якщо об'єктів з таким ключем немає.
+     */
+    Set<E> get(K key) {
+        Map<ID, E> bucket = buckets.get(key);
+        return bucket == null ? new HashSet<>() : new HashSet<>(bucket.values());
+    }
+
+    /**
+     * Повертає довільний об'єкт з вказаним ключем без копіювання всього набору.
+     *
+     * @param key ключ індексу.
+     * @return {@link Optional}, що містить об'єкт, якщо він знайдений.
+     */
+    Optional<E> findAny(K key) {
+        Map<ID, E> bucket = buckets.get(key);
+        return bucket == null ? Optional.empty() : bucket.values().stream().findFirst();
+    }
+}
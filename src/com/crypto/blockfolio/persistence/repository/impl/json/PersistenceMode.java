@@ -0,0 +1,84 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+/**
+ * Перелічення режимів збереження змін у JSON-репозиторіях. Визначає, як мутації сутностей
+ * потрапляють на диск.
+ */
+public enum PersistenceMode {
+
+    /**
+     * Кожна зміна повністю перезаписує JSON-файл репозиторію.
+     */
+    SNAPSHOT,
+
+    /**
+     * Кожна зміна дописується у журнал поруч із JSON-файлом, а фоновий крок періодично ущільнює
+     * журнал у свіжий знімок.
+     */
+    JOURNAL,
+
+    /**
+     * Зміни лише позначають репозиторій як змінений, а файл перезаписується один раз після
+     * короткої затримки, під час явного збереження або під час завершення роботи програми.
+     */
+    WRITE_BEHIND;
+
+    /**
+     * Назва системної властивості, що задає режим збереження.
+     */
+    static final String PROPERTY = "blockfolio.persistence.mode";
+
+    /**
+     * Назва системної властивості, що задає затримку відкладеного запису в мілісекундах.
+     */
+    static final String FLUSH_DELAY_PROPERTY = "blockfolio.persistence.flush-delay-ms";
+
+    /**
+     * Затримка відкладеного запису за замовчуванням у мілісекундах.
+     */
+    static final long DEFAULT_FLUSH_DELAY_MILLIS = 250;
+
+    /**
+     * Визначає режим збереження за системною властивістю {@value #PROPERTY}. Якщо властивість не
+     * задана, використовується {@link #SNAPSHOT}.
+     *
+     * @return обраний режим збереження.
+     * @throws IllegalArgumentException якщо значення властивості не відповідає жодному режиму.
+     */
+    static PersistenceMode fromSystemProperties() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isBlank()) {
+            return SNAPSHOT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Невідомий режим збереження даних: %s".formatted(value), e);
+        }
+    }
+
+    /**
+     * Визначає затримку відкладеного запису за системною властивістю
+     * {@value #FLUSH_DELAY_PROPERTY}.
+     *
+     * @return затримка в мілісекундах.
+     * @throws IllegalArgumentException якщо значення властивості не є невід'ємним числом.
+     */
+    static long flushDelayFromSystemProperties() {
+        String value = System.getProperty(FLUSH_DELAY_PROPERTY);
+        if (value == null || value.isBlank()) {
+            return DEFAULT_FLUSH_DELAY_MILLIS;
+        }
+        try {
+            long delay = Long.parseLong(value.trim());
+            if (delay < 0) {
+                throw new NumberFormatException();
+            }
+            return delay;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                "Некоректна затримка відкладеного запису: %s".formatted(value), e);
+        }
+    }
+}
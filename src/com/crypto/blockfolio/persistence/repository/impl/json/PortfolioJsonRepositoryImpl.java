@@ -22,13 +22,15 @@ public final class PortfolioJsonRepositoryImpl extends
      * Конструктор для ініціалізації репозиторію портфелів.
      *
      * @param gson об'єкт для серіалізації та десеріалізації JSON.
+     * @param mode режим збереження змін.
      */
-    public PortfolioJsonRepositoryImpl(Gson gson) {
+    public PortfolioJsonRepositoryImpl(Gson gson, PersistenceMode mode) {
         super(
             gson,
             JsonPathFactory.PORTFOLIOS_FILE.getPath(),
             TypeToken.getParameterized(Set.class, Portfolio.class).getType(),
-            Portfolio::getId
+            Portfolio::getId,
+            mode
         );
     }
 
@@ -40,43 +42,11 @@ public final class PortfolioJsonRepositoryImpl extends
      */
     @Override
     public Optional<Portfolio> findByName(String name) {
-        return entities.stream()
+        return findAll().stream()
             .filter(portfolio -> portfolio.getName().equalsIgnoreCase(name))
             .findFirst();
     }
 
-    /**
-     * Додає криптовалюту до портфеля.
-     *
-     * @param portfolioId          ідентифікатор портфеля.
-     * @param cryptocurrencySymbol символ криптовалюти.
-     * @param amount               кількість криптовалюти для додавання.
-     */
-    @Override
-    public void addCryptocurrency(UUID portfolioId, String cryptocurrencySymbol,
-        BigDecimal amount) {
-        Portfolio portfolio = findById(portfolioId)
-            .orElseThrow(() -> new IllegalArgumentException("Портфоліо не знайдено."));
-
-        portfolio.getBalances().merge(cryptocurrencySymbol, amount, BigDecimal::add);
-        saveChanges();
-    }
-
-    /**
-     * Видаляє криптовалюту з портфеля.
-     *
-     * @param portfolioId          ідентифікатор портфеля.
-     * @param cryptocurrencySymbol символ криптовалюти.
-     */
-    @Override
-    public void removeCryptocurrency(UUID portfolioId, String cryptocurrencySymbol) {
-        Portfolio portfolio = findById(portfolioId)
-            .orElseThrow(() -> new IllegalArgumentException("Портфоліо не знайдено."));
-
-        portfolio.getBalances().remove(cryptocurrencySymbol);
-        saveChanges();
-    }
-
     /**
      * Додає транзакцію до портфеля.
      *
@@ -88,10 +58,12 @@ public final class PortfolioJsonRepositoryImpl extends
         Portfolio portfolio = findById(portfolioId)
             .orElseThrow(() -> new IllegalArgumentException("Портфоліо не знайдено."));
 
-        if (!portfolio.getTransactionsList().add(transactionId)) {
-            throw new IllegalArgumentException("Транзакція вже існує у портфоліо.");
-        }
-        saveChanges();
+        write(() -> {
+            if (!portfolio.getTransactionsList().add(transactionId)) {
+                throw new IllegalArgumentException("Транзакція вже існує у портфоліо.");
+            }
+            persist(portfolio);
+        });
     }
 
     /**
@@ -105,10 +77,12 @@ public final class PortfolioJsonRepositoryImpl extends
         Portfolio portfolio = findById(portfolioId)
             .orElseThrow(() -> new IllegalArgumentException("Портфоліо не знайдено."));
 
-        if (!portfolio.getTransactionsList().remove(transactionId)) {
-            throw new IllegalArgumentException("Транзакцію не знайдено у портфоліо.");
-        }
-        saveChanges();
+        write(() -> {
+            if (!portfolio.getTransactionsList().remove(transactionId)) {
+                throw new IllegalArgumentException("Транзакцію не знайдено у портфоліо.");
+            }
+            persist(portfolio);
+        });
     }
 
     /**
@@ -162,7 +136,7 @@ public final class PortfolioJsonRepositoryImpl extends
      */
     @Override
     public Optional<Cryptocurrency> findCryptocurrencyBySymbol(String symbol) {
-        return entities.stream()
+        return findAll().stream()
             .flatMap(portfolio -> portfolio.getBalances().keySet().stream())
             .filter(s -> s.equalsIgnoreCase(symbol))
             .map(s -> new Cryptocurrency(s, s, 0.0, 0.0, 0.0, 0.0, LocalDateTime.now()))
@@ -176,10 +150,7 @@ public final class PortfolioJsonRepositoryImpl extends
      */
     @Override
     public void update(Portfolio portfolio) {
-        UUID id = portfolio.getId();
-        entities.removeIf(existingPortfolio -> existingPortfolio.getId().equals(id));
-        entities.add(portfolio);
-        saveChanges();
+        add(portfolio);
     }
 
 }
@@ -0,0 +1,83 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Потоковий адаптер для {@link Portfolio}.
+ */
+final class PortfolioTypeAdapter extends EntityTypeAdapter<Portfolio> {
+
+    @Override
+    void writeFields(JsonWriter out, Portfolio value) throws IOException {
+        writeUuid(out, "ownerId", value.getOwnerId());
+        writeDateTime(out, "createdAt", value.getCreatedAt());
+        if (value.getBalances() != null) {
+            out.name("balances").beginObject();
+            for (Map.Entry<String, BigDecimal> balance : value.getBalances().entrySet()) {
+                writeBigDecimal(out, balance.getKey(), balance.getValue());
+            }
+            out.endObject();
+        }
+        writeUuids(out, "transactionsList", value.getTransactionsList());
+        writeBigDecimal(out, "totalValue", value.getTotalValue());
+        writeString(out, "name", value.getName());
+        writeUuid(out, "id", value.getId());
+    }
+
+    @Override
+    Portfolio readFields(JsonReader in) throws IOException {
+        UUID id = null;
+        UUID ownerId = null;
+        LocalDateTime createdAt = null;
+        Map<String, BigDecimal> balances = null;
+        Set<UUID> transactionsList = null;
+        BigDecimal totalValue = null;
+        String name = null;
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = readUuid(in);
+                case "ownerId" -> ownerId = readUuid(in);
+                case "createdAt" -> createdAt = readDateTime(in);
+                case "balances" -> balances = readBalances(in);
+                case "transactionsList" -> transactionsList = readUuids(in);
+                case "totalValue" -> totalValue = readBigDecimal(in);
+                case "name" -> name = readString(in);
+                default -> in.skipValue();
+            }
+        }
+        return Portfolio.restore(id, ownerId, name, createdAt, balances, transactionsList,
+            totalValue);
+    }
+
+    /**
+     * Зчитує баланси криптовалют.
+     *
+     * @param in потік читання.
+     * @return баланси за символом криптовалюти або {@code null}. Символи інтернуються, як і
+     * символи криптовалют.
+     * @throws IOException у разі помилки читання.
+     */
+    private static Map<String, BigDecimal> readBalances(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Map<String, BigDecimal> balances = new HashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            balances.put(in.nextName().intern(), readBigDecimal(in));
+        }
+        in.endObject();
+        return balances;
+    }
+}
@@ -0,0 +1,107 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Впорядкований вторинний індекс репозиторію. Окрім пошуку за ключем, дозволяє отримувати
+ * діапазони та найбільші значення як представлення впорядкованої структури, без повного перебору
+ * та сортування об'єктів.
+ *
+ * @param <K>  тип ключа індексу.
+ * @param <E>  тип об'єктів, що індексуються.
+ * @param <ID> тип ідентифікатора об'єкта.
+ */
+final class SortedIndex<K extends Comparable<? super K>, E, ID>
+    extends MultiValueIndex<K, E, ID> {
+
+    /**
+     * Об'єкти, впорядковані за ключем індексу.
+     */
+    private final NavigableMap<K, Map<ID, E>> sortedBuckets;
+
+    /**
+     * Створює порожній впорядкований індекс.
+     *
+     * @param keyExtractor        функція для обчислення ключа з об'єкта.
+     * @param identifierExtractor функція для вилучення ідентифікатора з об'єкта.
+     */
+    SortedIndex(Function<E, K> keyExtractor, Function<E, ID> identifierExtractor) {
+        this(keyExtractor, identifierExtractor, new TreeMap<>());
+    }
+
+    /**
+     * Створює порожній впорядкований індекс поверх заданої структури.
+     *
+     * @param keyExtractor        функція для обчислення ключа з об'єкта.
+     * @param identifierExtractor функція для вилучення ідентифікатора з об'єкта.
+     * @param sortedBuckets       порожня впорядкована структура для груп об'єктів.
+     */
+    private SortedIndex(Function<E, K> keyExtractor, Function<E, ID> identifierExtractor,
+        NavigableMap<K, Map<ID, E>> sortedBuckets) {
+        super(keyExtractor, identifierExtractor, sortedBuckets);
+        this.sortedBuckets = sortedBuckets;
+    }
+
+    /**
+     * Повертає об'єкти, ключ яких більший за вказаний, у порядку спадання ключа.
+     *
+     * @param key нижня межа (не включно).
+     * @return список об'єктів.
+     */
+    List<E> greaterThan(K key) {
+        return collectDescending(sortedBuckets.tailMap(key, false), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Повертає об'єкти, ключ яких належить діапазону, у порядку спадання ключа.
+     *
+     * @param from нижня межа (включно).
+     * @param to   верхня межа (включно).
+     * @return список об'єктів; порожній, якщо нижня межа більша за верхню.
+     */
+    List<E> between(K from, K to) {
+        if (from.compareTo(to) > 0) {
+            return new ArrayList<>();
+        }
+        return collectDescending(sortedBuckets.subMap(from, true, to, true), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Повертає задану кількість об'єктів з найбільшими ключами у порядку спадання ключа.
+     *
+     * @param limit максимальна кількість об'єктів.
+     * @return список об'єктів.
+     * @throws IllegalArgumentException якщо ліміт від'ємний.
+     */
+    List<E> top(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Ліміт не може бути від'ємним.");
+        }
+        return collectDescending(sortedBuckets, limit);
+    }
+
+    /**
+     * Збирає об'єкти з представлення індексу, починаючи з найбільшого ключа.
+     *
+     * @param view  представлення впорядкованої структури.
+     * @param limit максимальна кількість об'єктів.
+     * @return список об'єктів.
+     */
+    private List<E> collectDescending(NavigableMap<K, Map<ID, E>> view, int limit) {
+        List<E> result = new ArrayList<>();
+        for (Map<ID, E> bucket : view.descendingMap().values()) {
+            for (E entity : bucket.values()) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+}
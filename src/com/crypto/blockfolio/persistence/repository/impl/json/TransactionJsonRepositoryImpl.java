@@ -1,12 +1,19 @@
 package com.crypto.blockfolio.persistence.repository.impl.json;
 
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
 import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
 import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Реалізація репозиторію для роботи з транзакціями у форматі JSON. Забезпечує збереження, пошук,
@@ -17,17 +24,36 @@ public final class TransactionJsonRepositoryImpl
     implements TransactionRepository {
 
     /**
-     * Конструктор для ініціалізації репозиторію транзакцій.
+     * Індекс транзакцій за ідентифікатором портфеля.
+     */
+    private final MultiValueIndex<UUID, Transaction, UUID> portfolioIndex =
+        new MultiValueIndex<>(Transaction::getPortfolioId, Transaction::getId);
+
+    /**
+     * Індекс транзакцій за символом криптовалюти у верхньому регістрі.
+     */
+    private final MultiValueIndex<String, Transaction, UUID> symbolIndex =
+        new MultiValueIndex<>(TransactionJsonRepositoryImpl::symbolKey, Transaction::getId);
+
+    /**
+     * Конструктор для ініціалізації репозиторію транзакцій. Транзакції зберігають лише символ
+     * криптовалюти, тому після завантаження кожна з них отримує актуальний об'єкт з репозиторію
+     * криптовалют.
      *
-     * @param gson об'єкт для серіалізації та десеріалізації JSON.
+     * @param gson                     об'єкт для серіалізації та десеріалізації JSON.
+     * @param mode                     режим збереження змін.
+     * @param cryptocurrencyRepository репозиторій криптовалют для розв'язання посилань.
      */
-    public TransactionJsonRepositoryImpl(Gson gson) {
+    public TransactionJsonRepositoryImpl(Gson gson, PersistenceMode mode,
+        CryptocurrencyRepository cryptocurrencyRepository) {
         super(
             gson,
             JsonPathFactory.TRANSACTIONS_FILE.getPath(),
             TypeToken.getParameterized(Set.class, Transaction.class).getType(),
-            Transaction::getId
+            Transaction::getId,
+            mode
         );
+        resolveCryptocurrencies(cryptocurrencyRepository);
     }
 
     /**
@@ -38,9 +64,7 @@ public final class TransactionJsonRepositoryImpl
      */
     @Override
     public Set<Transaction> findByPortfolioId(UUID portfolioId) {
-        return entities.stream()
-            .filter(transaction -> transaction.getPortfolioId().equals(portfolioId))
-            .collect(Collectors.toSet());
+        return read(() -> portfolioIndex.get(portfolioId));
     }
 
     /**
@@ -51,10 +75,11 @@ public final class TransactionJsonRepositoryImpl
      */
     @Override
     public Set<Transaction> findByCryptocurrencySymbol(String cryptocurrencySymbol) {
-        return entities.stream()
-            .filter(transaction -> transaction.getCryptocurrency() != null &&
-                transaction.getCryptocurrency().getSymbol().equalsIgnoreCase(cryptocurrencySymbol))
-            .collect(Collectors.toSet());
+        if (cryptocurrencySymbol == null) {
+            return new HashSet<>();
+        }
+        String symbol = cryptocurrencySymbol.toUpperCase(Locale.ROOT);
+        return read(() -> symbolIndex.get(symbol));
     }
 
     /**
@@ -72,7 +97,6 @@ public final class TransactionJsonRepositoryImpl
 
         transaction.setPortfolioId(portfolioId);
         add(transaction);
-        saveChanges();
     }
 
     /**
@@ -92,7 +116,6 @@ public final class TransactionJsonRepositoryImpl
         }
 
         remove(transaction);
-        saveChanges();
     }
 
     /**
@@ -106,11 +129,92 @@ public final class TransactionJsonRepositoryImpl
     public void updateTransaction(UUID transactionId, Transaction updatedTransaction) {
         Transaction existingTransaction = findById(transactionId)
             .orElseThrow(() -> new IllegalArgumentException("Транзакція не знайдена."));
-        existingTransaction.setAmount(updatedTransaction.getAmount());
-        existingTransaction.setCosts(updatedTransaction.getCosts());
-        existingTransaction.setFees(updatedTransaction.getFees());
-        existingTransaction.setTransactionType(updatedTransaction.getTransactionType());
-        existingTransaction.setDescription(updatedTransaction.getDescription());
-        saveChanges();
+        write(() -> {
+            if (updatedTransaction.getCryptocurrency() != null) {
+                existingTransaction.setCryptocurrency(updatedTransaction.getCryptocurrency());
+            }
+            existingTransaction.setAmount(updatedTransaction.getAmount());
+            existingTransaction.setCosts(updatedTransaction.getCosts());
+            existingTransaction.setFees(updatedTransaction.getFees());
+            existingTransaction.setTransactionType(updatedTransaction.getTransactionType());
+            existingTransaction.setDescription(updatedTransaction.getDescription());
+            indexSecondary(existingTransaction);
+            persist(existingTransaction);
+        });
+    }
+
+    /**
+     * Додає транзакцію до індексів репозиторію.
+     *
+     * @param transaction транзакція для індексації.
+     */
+    @Override
+    protected void index(Transaction transaction) {
+        super.index(transaction);
+        indexSecondary(transaction);
+    }
+
+    /**
+     * Видаляє транзакцію з індексів репозиторію.
+     *
+     * @param transaction транзакція, яку потрібно вилучити з індексів.
+     */
+    @Override
+    protected void unindex(Transaction transaction) {
+        super.unindex(transaction);
+        portfolioIndex.remove(transaction);
+        symbolIndex.remove(transaction);
+    }
+
+    /**
+     * Додає транзакцію до вторинних індексів або переносить її під актуальні ключі.
+     *
+     * @param transaction транзакція для індексації.
+     */
+    private void indexSecondary(Transaction transaction) {
+        portfolioIndex.put(transaction);
+        symbolIndex.put(transaction);
+    }
+
+    /**
+     * Замінює тимчасові об'єкти криптовалют, отримані під час читання, актуальними об'єктами з
+     * репозиторію криптовалют, так що всі транзакції з однаковим символом посилаються на один
+     * об'єкт. Якщо криптовалюту не знайдено, транзакції з цим символом отримують спільний
+     * тимчасовий об'єкт найновішої з них.
+     *
+     * @param cryptocurrencyRepository репозиторій криптовалют.
+     */
+    void resolveCryptocurrencies(CryptocurrencyRepository cryptocurrencyRepository) {
+        Set<Transaction> transactions = findAll();
+        Map<String, Cryptocurrency> shared = new HashMap<>();
+        transactions.stream()
+            .filter(transaction -> transaction.getCryptocurrency() != null)
+            .sorted(Comparator.comparing(Transaction::getCreatedAt,
+                Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed())
+            .forEach(transaction -> shared.computeIfAbsent(
+                transaction.getCryptocurrency().getSymbol(),
+                symbol -> cryptocurrencyRepository.findBySymbol(symbol)
+                    .orElse(transaction.getCryptocurrency())));
+        write(() -> transactions.forEach(transaction -> {
+            if (transaction.getCryptocurrency() != null) {
+                transaction.setCryptocurrency(
+                    shared.get(transaction.getCryptocurrency().getSymbol()));
+            }
+            indexSecondary(transaction);
+        }));
+    }
+
+    /**
+     * Обчислює ключ індексу за символом криптовалюти транзакції.
+     *
+     * @param transaction транзакція.
+     * @return символ у верхньому регістрі або {@code null}, якщо криптовалюта не вказана.
+     */
+    private static String symbolKey(Transaction transaction) {
+        if (transaction.getCryptocurrency() == null
+            || transaction.getCryptocurrency().getSymbol() == null) {
+            return null;
+        }
+        return transaction.getCryptocurrency().getSymbol().toUpperCase(Locale.ROOT);
     }
 }
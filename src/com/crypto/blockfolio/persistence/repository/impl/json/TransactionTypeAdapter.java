@@ -0,0 +1,137 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Потоковий адаптер для {@link Transaction}, що зберігає транзакції у форматі з посиланням на
+ * криптовалюту. Замість повного об'єкта {@link Cryptocurrency} у файл записується лише символ, а
+ * ціна на момент виконання зберігається у полі {@code executionPrice} транзакції.
+ *
+ * <p>Під час читання транзакція отримує тимчасовий об'єкт криптовалюти з символом і ціною
+ * виконання, який репозиторій транзакцій замінює актуальним об'єктом з репозиторію криптовалют.
+ * Записи у попередньому форматі із вбудованою криптовалютою також підтримуються; їх кількість
+ * підраховується, щоб фабрика репозиторіїв могла перезаписати файл у новому форматі.
+ */
+final class TransactionTypeAdapter extends EntityTypeAdapter<Transaction> {
+
+    /**
+     * Адаптер для вбудованої криптовалюти у попередньому форматі.
+     */
+    private final CryptocurrencyTypeAdapter cryptocurrencyAdapter;
+
+    /**
+     * Кількість прочитаних записів у попередньому форматі.
+     */
+    private final AtomicInteger legacyRecords = new AtomicInteger();
+
+    /**
+     * Створює адаптер транзакцій.
+     *
+     * @param cryptocurrencyAdapter адаптер для вбудованої криптовалюти у попередньому форматі.
+     */
+    TransactionTypeAdapter(CryptocurrencyTypeAdapter cryptocurrencyAdapter) {
+        this.cryptocurrencyAdapter = cryptocurrencyAdapter;
+    }
+
+    /**
+     * Повертає кількість записів у попередньому форматі, прочитаних з моменту попереднього
+     * виклику, і скидає лічильник.
+     *
+     * @return кількість записів у попередньому форматі.
+     */
+    int drainLegacyRecords() {
+        return legacyRecords.getAndSet(0);
+    }
+
+    @Override
+    void writeFields(JsonWriter out, Transaction value) throws IOException {
+        writeUuid(out, "portfolioId", value.getPortfolioId());
+        writeDateTime(out, "createdAt", value.getCreatedAt());
+        writeBigDecimal(out, "executionPrice", value.getExecutionPrice());
+        if (value.getTransactionType() != null) {
+            out.name("transactionType").value(value.getTransactionType().name());
+        }
+        writeBigDecimal(out, "amount", value.getAmount());
+        writeBigDecimal(out, "costs", value.getCosts());
+        writeBigDecimal(out, "profit", value.getProfit());
+        writeBigDecimal(out, "fees", value.getFees());
+        writeString(out, "description", value.getDescription());
+        writeUuid(out, "id", value.getId());
+        if (value.getCryptocurrency() != null) {
+            out.name("symbol").value(value.getCryptocurrency().getSymbol());
+        }
+    }
+
+    @Override
+    Transaction readFields(JsonReader in) throws IOException {
+        UUID id = null;
+        UUID portfolioId = null;
+        LocalDateTime createdAt = null;
+        Cryptocurrency cryptocurrency = null;
+        String symbol = null;
+        BigDecimal executionPrice = null;
+        TransactionType transactionType = null;
+        BigDecimal amount = null;
+        BigDecimal costs = null;
+        BigDecimal profit = null;
+        BigDecimal fees = null;
+        String description = null;
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = readUuid(in);
+                case "portfolioId" -> portfolioId = readUuid(in);
+                case "createdAt" -> createdAt = readDateTime(in);
+                case "cryptocurrency" -> cryptocurrency = cryptocurrencyAdapter.read(in);
+                case "symbol" -> symbol = readString(in);
+                case "executionPrice" -> executionPrice = readBigDecimal(in);
+                case "transactionType" -> transactionType = readTransactionType(in);
+                case "amount" -> amount = readBigDecimal(in);
+                case "costs" -> costs = readBigDecimal(in);
+                case "profit" -> profit = readBigDecimal(in);
+                case "fees" -> fees = readBigDecimal(in);
+                case "description" -> description = readString(in);
+                default -> in.skipValue();
+            }
+        }
+        if (cryptocurrency != null) {
+            legacyRecords.incrementAndGet();
+            if (executionPrice == null) {
+                executionPrice = BigDecimal.valueOf(cryptocurrency.getCurrentPrice());
+            }
+        } else if (symbol != null) {
+            cryptocurrency = Cryptocurrency.restore(symbol, symbol,
+                executionPrice != null ? executionPrice.doubleValue() : 0, 0, 0, 0, null);
+        }
+        return Transaction.restore(id, portfolioId, cryptocurrency, executionPrice,
+            transactionType, amount, costs, profit, fees, description, createdAt);
+    }
+
+    /**
+     * Зчитує тип транзакції. Невідомі значення, як і в стандартному адаптері Gson, зчитуються
+     * як {@code null}.
+     *
+     * @param in потік читання.
+     * @return тип транзакції або {@code null}.
+     * @throws IOException у разі помилки читання.
+     */
+    private static TransactionType readTransactionType(JsonReader in) throws IOException {
+        String value = readString(in);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return TransactionType.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.crypto.blockfolio.persistence.entity.User;
 import com.crypto.blockfolio.persistence.repository.contracts.UserRepository;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -15,18 +16,33 @@ import java.util.UUID;
 public final class UserJsonRepositoryImpl extends GenericJsonRepository<User, UUID> implements
     UserRepository {
 
+    /**
+     * Індекс користувачів за логіном у нижньому регістрі.
+     */
+    private final MultiValueIndex<String, User, UUID> usernameIndex =
+        new MultiValueIndex<>(user -> normalize(user.getUsername()), User::getId);
+
+    /**
+     * Індекс користувачів за електронною поштою у нижньому регістрі.
+     */
+    private final MultiValueIndex<String, User, UUID> emailIndex =
+        new MultiValueIndex<>(user -> normalize(user.getEmail()), User::getId);
+
     /**
      * Конструктор для ініціалізації репозиторію користувачів.
      *
      * @param gson об'єкт для серіалізації та десеріалізації JSON.
+     * @param mode режим збереження змін.
      */
-    public UserJsonRepositoryImpl(Gson gson) {
+    public UserJsonRepositoryImpl(Gson gson, PersistenceMode mode) {
         super(
             gson,
             JsonPathFactory.USERS_FILE.getPath(),
             TypeToken.getParameterized(Set.class, User.class).getType(),
-            User::getId
+            User::getId,
+            mode
         );
+        findAll().forEach(this::indexSecondary);
     }
 
     /**
@@ -37,10 +53,10 @@ public final class UserJsonRepositoryImpl extends GenericJsonRepository<User, UU
      */
     @Override
     public Optional<User> findByUsername(String username) {
-        return entities.stream()
-            .filter(
-                user -> user.getUsername() != null && user.getUsername().equalsIgnoreCase(username))
-            .findFirst();
+        if (username == null) {
+            return Optional.empty();
+        }
+        return readOptimistically(() -> usernameIndex.findAny(normalize(username)));
     }
 
     /**
@@ -51,9 +67,10 @@ public final class UserJsonRepositoryImpl extends GenericJsonRepository<User, UU
      */
     @Override
     public Optional<User> findByEmail(String email) {
-        return entities.stream()
-            .filter(user -> user.getEmail() != null && user.getEmail().equalsIgnoreCase(email))
-            .findFirst();
+        if (email == null) {
+            return Optional.empty();
+        }
+        return readOptimistically(() -> emailIndex.findAny(normalize(email)));
     }
 
     /**
@@ -67,9 +84,7 @@ public final class UserJsonRepositoryImpl extends GenericJsonRepository<User, UU
         Optional<User> existingUser = findById(user.getId());
 
         if (existingUser.isPresent()) {
-            entities.remove(existingUser.get());
-            entities.add(user);
-            saveChanges();
+            add(user);
         } else {
             throw new IllegalArgumentException(
                 "Користувача з ID " + user.getId() + " не знайдено.");
@@ -85,13 +100,13 @@ public final class UserJsonRepositoryImpl extends GenericJsonRepository<User, UU
      */
     @Override
     public void addPortfolio(UUID userId, UUID portfolioId) {
-        findById(userId).ifPresentOrElse(user -> {
+        findById(userId).ifPresentOrElse(user -> write(() -> {
             if (user.getPortfolios().contains(portfolioId)) {
                 throw new IllegalArgumentException("Це портфоліо вже належить користувачу.");
             }
             user.addPortfolio(portfolioId);
-            saveChanges();
-        }, () -> {
+            persist(user);
+        }), () -> {
             throw new IllegalArgumentException("Користувача з ID " + userId + " не знайдено.");
         });
     }
@@ -106,12 +121,12 @@ public final class UserJsonRepositoryImpl extends GenericJsonRepository<User, UU
      */
     @Override
     public void removePortfolio(UUID userId, UUID portfolioId) {
-        findById(userId).ifPresentOrElse(user -> {
+        findById(userId).ifPresentOrElse(user -> write(() -> {
             if (!user.getPortfolios().remove(portfolioId)) {
                 throw new IllegalArgumentException("Це портфоліо не належить користувачу.");
             }
-            saveChanges();
-        }, () -> {
+            persist(user);
+        }), () -> {
             throw new IllegalArgumentException("Користувача з ID " + userId + " не знайдено.");
         });
     }
@@ -144,4 +159,47 @@ public final class UserJsonRepositoryImpl extends GenericJsonRepository<User, UU
             .orElseThrow(
                 () -> new IllegalArgumentException("Користувача з ID " + userId + " не знайдено."));
     }
+
+    /**
+     * Додає користувача до індексів репозиторію.
+     *
+     * @param user користувач для індексації.
+     */
+    @Override
+    protected void index(User user) {
+        super.index(user);
+        indexSecondary(user);
+    }
+
+    /**
+     * Видаляє користувача з індексів репозиторію.
+     *
+     * @param user користувач, якого потрібно вилучити з індексів.
+     */
+    @Override
+    protected void unindex(User user) {
+        super.unindex(user);
+        usernameIndex.remove(user);
+        emailIndex.remove(user);
+    }
+
+    /**
+     * Додає користувача до вторинних індексів або переносить його під актуальні ключі.
+     *
+     * @param user користувач для індексації.
+     */
+    private void indexSecondary(User user) {
+        usernameIndex.put(user);
+        emailIndex.put(user);
+    }
+
+    /**
+     * Нормалізує логін або електронну пошту для пошуку без урахування регістру.
+     *
+     * @param value логін або електронна пошта.
+     * @return значення у нижньому регістрі або {@code null}.
+     */
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,47 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import com.crypto.blockfolio.persistence.entity.User;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Потоковий адаптер для {@link User}.
+ */
+final class UserTypeAdapter extends EntityTypeAdapter<User> {
+
+    @Override
+    void writeFields(JsonWriter out, User value) throws IOException {
+        writeString(out, "password", value.getPassword());
+        writeDateTime(out, "createdAt", value.getCreatedAt());
+        writeString(out, "username", value.getUsername());
+        writeString(out, "email", value.getEmail());
+        writeUuids(out, "portfolios", value.getPortfolios());
+        writeUuid(out, "id", value.getId());
+    }
+
+    @Override
+    User readFields(JsonReader in) throws IOException {
+        UUID id = null;
+        String password = null;
+        LocalDateTime createdAt = null;
+        String username = null;
+        String email = null;
+        Set<UUID> portfolios = null;
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> id = readUuid(in);
+                case "password" -> password = readString(in);
+                case "createdAt" -> createdAt = readDateTime(in);
+                case "username" -> username = readString(in);
+                case "email" -> email = readString(in);
+                case "portfolios" -> portfolios = readUuids(in);
+                default -> in.skipValue();
+            }
+        }
+        return User.restore(id, password, username, email, createdAt, portfolios);
+    }
+}
@@ -0,0 +1,208 @@
+package com.crypto.blockfolio.persistence.repository.impl.mapped;
+
+import com.crypto.blockfolio.persistence.OhlcSeries;
+import com.crypto.blockfolio.persistence.PriceResolution;
+import com.crypto.blockfolio.persistence.PriceSeries;
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.repository.contracts.PriceHistoryRepository;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сховище історії цін у сегментах, відображених у пам'ять. Історія кожної криптовалюти
+ * зберігається в окремій директорії як послідовність сегментів фіксованої місткості зі
+ * стовпцями моментів часу та цін. Запити за проміжком часу знаходять межі двійковим пошуком і
+ * читають значення напряму з відображених буферів.
+ *
+ * <p>Записи потрапляють у сторінковий кеш операційної системи одразу після додавання точки, тому
+ * історія зберігається навіть після аварійного завершення програми.
+ */
+public final class MappedPriceHistoryRepository implements PriceHistoryRepository {
+
+    /**
+     * Директорія історії цін за замовчуванням.
+     */
+    private static final Path DEFAULT_DIRECTORY = Path.of("data", "price-history");
+
+    /**
+     * Коренева директорія історії цін.
+     */
+    private final Path directory;
+
+    /**
+     * Місткість нових сегментів.
+     */
+    private final int segmentCapacity;
+
+    /**
+     * Відкриті історії за нормалізованим символом криптовалюти.
+     */
+    private final Map<String, SymbolPriceHistory> histories = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор сховища з місткістю сегментів за замовчуванням.
+     *
+     * @param directory коренева директорія історії цін.
+     */
+    public MappedPriceHistoryRepository(Path directory) {
+        this(directory, PriceSegment.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Конструктор сховища.
+     *
+     * @param directory       коренева директорія історії цін.
+     * @param segmentCapacity місткість нових сегментів.
+     * @throws IllegalArgumentException якщо місткість не додатна.
+     */
+    MappedPriceHistoryRepository(Path directory, int segmentCapacity) {
+        if (segmentCapacity <= 0) {
+            throw new IllegalArgumentException("Місткість сегмента має бути додатною.");
+        }
+        this.directory = directory;
+        this.segmentCapacity = segmentCapacity;
+    }
+
+    /**
+     * Повертає спільне сховище історії цін у директорії даних.
+     *
+     * @return сховище історії цін.
+     */
+    public static MappedPriceHistoryRepository getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Дописує ціну криптовалюти до її історії.
+     *
+     * @param symbol    символ криптовалюти.
+     * @param timestamp момент часу в мілісекундах від епохи.
+     * @param price     ціна.
+     * @return {@code true}, якщо точку додано; {@code false}, якщо вона не новіша за останню.
+     */
+    @Override
+    public boolean append(String symbol, long timestamp, double price) {
+        return history(symbol).append(timestamp, price);
+    }
+
+    /**
+     * Дописує поточні ціни криптовалют до їхньої історії з моментом часу останнього оновлення
+     * кожної криптовалюти.
+     *
+     * @param cryptocurrencies криптовалюти з оновленими цінами.
+     * @return кількість доданих точок.
+     */
+    @Override
+    public int appendAll(Collection<Cryptocurrency> cryptocurrencies) {
+        int appended = 0;
+        for (Cryptocurrency cryptocurrency : cryptocurrencies) {
+            LocalDateTime lastUpdated = cryptocurrency.getLastUpdated() != null
+                ? cryptocurrency.getLastUpdated() : LocalDateTime.now();
+            long timestamp = lastUpdated.atZone(ZoneId.systemDefault()).toInstant()
+                .toEpochMilli();
+            if (append(cryptocurrency.getSymbol(), timestamp,
+                cryptocurrency.getCurrentPrice())) {
+                appended++;
+            }
+        }
+        return appended;
+    }
+
+    /**
+     * Повертає ціни криптовалюти за проміжок часу.
+     *
+     * @param symbol символ криптовалюти.
+     * @param from   початок проміжку (включно).
+     * @param to     кінець проміжку (не включно).
+     * @return ряд цін у порядку зростання часу.
+     */
+    @Override
+    public PriceSeries findRange(String symbol, long from, long to) {
+        return history(symbol).range(from, to);
+    }
+
+    /**
+     * Повертає останні ціни криптовалюти.
+     *
+     * @param symbol символ криптовалюти.
+     * @param count  максимальна кількість точок.
+     * @return ряд з не більш ніж {@code count} останніх цін у порядку зростання часу.
+     * @throws IllegalArgumentException якщо кількість від'ємна.
+     */
+    @Override
+    public PriceSeries findLast(String symbol, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Кількість точок не може бути від'ємною.");
+        }
+        return count == 0 ? PriceSeries.EMPTY : history(symbol).last(count);
+    }
+
+    /**
+     * Агрегує ціни криптовалюти за проміжок часу у свічки OHLC.
+     *
+     * @param symbol     символ криптовалюти.
+     * @param from       початок проміжку (включно).
+     * @param to         кінець проміжку (не включно).
+     * @param resolution роздільна здатність свічок.
+     * @return ряд свічок у порядку зростання часу.
+     */
+    @Override
+    public OhlcSeries findOhlc(String symbol, long from, long to, PriceResolution resolution) {
+        OhlcSeries.Builder builder = OhlcSeries.builder(resolution);
+        history(symbol).forEach(from, to, builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Повертає історію криптовалюти, відкриваючи її під час першого звернення.
+     *
+     * @param symbol символ криптовалюти.
+     * @return історія цін.
+     * @throws IllegalArgumentException якщо символ порожній.
+     */
+    private SymbolPriceHistory history(String symbol) {
+        if (symbol == null || symbol.isBlank()) {
+            throw new IllegalArgumentException("Символ криптовалюти не може бути порожнім.");
+        }
+        String key = symbol.toUpperCase(Locale.ROOT);
+        return histories.computeIfAbsent(key,
+            k -> new SymbolPriceHistory(directory.resolve(directoryName(k)), segmentCapacity));
+    }
+
+    /**
+     * Перетворює символ криптовалюти на безпечне ім'я директорії: латинські літери та цифри
+     * залишаються, інші символи замінюються кодом.
+     *
+     * @param symbol нормалізований символ криптовалюти.
+     * @return ім'я директорії.
+     */
+    private static String directoryName(String symbol) {
+        StringBuilder name = new StringBuilder(symbol.length());
+        for (int i = 0; i < symbol.length(); i++) {
+            char c = symbol.charAt(i);
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                name.append(c);
+            } else {
+                name.append('_').append(String.format("%04x", (int) c));
+            }
+        }
+        return name.toString();
+    }
+
+    /**
+     * Внутрішній клас для забезпечення Singleton сховища.
+     */
+    private static class InstanceHolder {
+
+        /**
+         * Єдиний екземпляр сховища {@link MappedPriceHistoryRepository}.
+         */
+        public static final MappedPriceHistoryRepository INSTANCE =
+            new MappedPriceHistoryRepository(DEFAULT_DIRECTORY);
+    }
+}
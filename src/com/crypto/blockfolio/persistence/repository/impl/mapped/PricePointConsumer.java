@@ -0,0 +1,16 @@
+package com.crypto.blockfolio.persistence.repository.impl.mapped;
+
+/**
+ * Отримувач точок історії цін без упаковування значень.
+ */
+@FunctionalInterface
+interface PricePointConsumer {
+
+    /**
+     * Обробляє точку історії.
+     *
+     * @param timestamp момент часу в мілісекундах від епохи.
+     * @param price     ціна.
+     */
+    void accept(long timestamp, double price);
+}
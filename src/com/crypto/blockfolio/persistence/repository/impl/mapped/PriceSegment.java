@@ -0,0 +1,205 @@
+package com.crypto.blockfolio.persistence.repository.impl.mapped;
+
+import com.crypto.blockfolio.persistence.exception.PriceHistoryIOException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Сегмент історії цін фіксованої місткості у файлі, відображеному в пам'ять. Файл містить
+ * заголовок, стовпець моментів часу ({@code long}) і стовпець цін ({@code double}), тому читання
+ * точки — це два звернення до відображеного буфера без створення об'єктів.
+ *
+ * <p>Заголовок складається з сигнатури, місткості та кількості точок. Кількість записується
+ * після самої точки, тому незавершений запис не потрапляє до сегмента. Клас не є
+ * потокобезпечним; доступ синхронізує {@link SymbolPriceHistory}.
+ */
+final class PriceSegment {
+
+    /**
+     * Місткість нового сегмента за замовчуванням.
+     */
+    static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * Найбільша місткість, за якої сегмент поміщається в один відображений буфер.
+     */
+    static final int MAX_CAPACITY = (Integer.MAX_VALUE - 16) / (Long.BYTES + Double.BYTES);
+
+    /**
+     * Сигнатура файлу сегмента.
+     */
+    private static final int MAGIC = 0x42465048;
+
+    /**
+     * Розмір заголовка в байтах.
+     */
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * Зміщення місткості в заголовку.
+     */
+    private static final int CAPACITY_OFFSET = 4;
+
+    /**
+     * Зміщення кількості точок у заголовку.
+     */
+    private static final int SIZE_OFFSET = 8;
+
+    /**
+     * Відображений у пам'ять вміст файлу.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Максимальна кількість точок.
+     */
+    private final int capacity;
+
+    /**
+     * Зміщення стовпця цін.
+     */
+    private final int pricesOffset;
+
+    /**
+     * Кількість записаних точок.
+     */
+    private int size;
+
+    /**
+     * Конструктор сегмента.
+     *
+     * @param buffer   відображений у пам'ять вміст файлу.
+     * @param capacity максимальна кількість точок.
+     * @param size     кількість записаних точок.
+     */
+    private PriceSegment(MappedByteBuffer buffer, int capacity, int size) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.pricesOffset = HEADER_BYTES + capacity * Long.BYTES;
+        this.size = size;
+    }
+
+    /**
+     * Відкриває сегмент або створює новий. Місткість наявного сегмента береться з його
+     * заголовка. Файл без сигнатури і точок, який залишився після збою між створенням файлу і
+     * записом заголовка, відкривається як новий порожній сегмент.
+     *
+     * @param file     файл сегмента.
+     * @param capacity місткість нового сегмента.
+     * @return відкритий сегмент.
+     * @throws PriceHistoryIOException якщо файл неможливо відкрити або він пошкоджений.
+     */
+    static PriceSegment open(Path file, int capacity) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean created = channel.size() == 0;
+            if (!created) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                channel.read(header, 0);
+                created = header.getInt(0) == 0 && header.getInt(SIZE_OFFSET) == 0;
+                if (!created && header.getInt(0) != MAGIC) {
+                    throw new PriceHistoryIOException("Файл не є сегментом історії цін: " + file);
+                }
+                if (!created) {
+                    capacity = header.getInt(CAPACITY_OFFSET);
+                }
+            }
+            if (capacity <= 0 || capacity > MAX_CAPACITY) {
+                throw new PriceHistoryIOException("Пошкоджений сегмент історії цін: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0,
+                HEADER_BYTES + (long) capacity * (Long.BYTES + Double.BYTES));
+            if (created) {
+                // Сигнатура записується останньою: заголовок без неї і без точок вважається
+                // незаписаним.
+                buffer.putInt(CAPACITY_OFFSET, capacity);
+                buffer.putInt(SIZE_OFFSET, 0);
+                buffer.putInt(0, MAGIC);
+            }
+            int size = buffer.getInt(SIZE_OFFSET);
+            if (size < 0 || size > capacity) {
+                throw new PriceHistoryIOException("Пошкоджений сегмент історії цін: " + file);
+            }
+            return new PriceSegment(buffer, capacity, size);
+        } catch (IOException e) {
+            throw new PriceHistoryIOException(
+                "Не вдалося відкрити сегмент історії цін: " + file, e);
+        }
+    }
+
+    /**
+     * Повертає кількість точок сегмента.
+     *
+     * @return кількість точок.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Перевіряє, чи заповнений сегмент.
+     *
+     * @return {@code true}, якщо до сегмента не можна додати точку.
+     */
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Повертає момент часу точки.
+     *
+     * @param index індекс точки.
+     * @return момент часу в мілісекундах від епохи.
+     */
+    long timestamp(int index) {
+        return buffer.getLong(HEADER_BYTES + index * Long.BYTES);
+    }
+
+    /**
+     * Повертає ціну точки.
+     *
+     * @param index індекс точки.
+     * @return ціна.
+     */
+    double price(int index) {
+        return buffer.getDouble(pricesOffset + index * Double.BYTES);
+    }
+
+    /**
+     * Дописує точку в кінець сегмента.
+     *
+     * @param timestamp момент часу в мілісекундах від епохи.
+     * @param price     ціна.
+     */
+    void append(long timestamp, double price) {
+        buffer.putLong(HEADER_BYTES + size * Long.BYTES, timestamp);
+        buffer.putDouble(pricesOffset + size * Double.BYTES, price);
+        size++;
+        buffer.putInt(SIZE_OFFSET, size);
+    }
+
+    /**
+     * Знаходить першу точку, момент часу якої не менший за вказаний.
+     *
+     * @param timestamp момент часу в мілісекундах від епохи.
+     * @return індекс точки або кількість точок, якщо такої точки немає.
+     */
+    int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamp(middle) < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,194 @@
+package com.crypto.blockfolio.persistence.repository.impl.mapped;
+
+import com.crypto.blockfolio.persistence.PriceSeries;
+import com.crypto.blockfolio.persistence.exception.PriceHistoryIOException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Історія цін однієї криптовалюти: послідовність сегментів у власній директорії. Точки
+ * дописуються в останній сегмент; заповнений сегмент більше не змінюється, а наступна точка
+ * відкриває новий. Моменти часу в історії строго зростають, тому пошук у сегменті виконується
+ * двійковим пошуком.
+ *
+ * <p>Директорія створюється під час додавання першої точки. Методи класу синхронізовані на
+ * екземплярі.
+ */
+final class SymbolPriceHistory {
+
+    /**
+     * Розширення файлів сегментів.
+     */
+    private static final String SEGMENT_EXTENSION = ".seg";
+
+    /**
+     * Директорія історії.
+     */
+    private final Path directory;
+
+    /**
+     * Місткість нових сегментів.
+     */
+    private final int segmentCapacity;
+
+    /**
+     * Сегменти історії у порядку зростання часу.
+     */
+    private final List<PriceSegment> segments = new ArrayList<>();
+
+    /**
+     * Конструктор, що відкриває наявні сегменти історії.
+     *
+     * @param directory       директорія історії.
+     * @param segmentCapacity місткість нових сегментів.
+     * @throws PriceHistoryIOException якщо сегменти неможливо прочитати.
+     */
+    SymbolPriceHistory(Path directory, int segmentCapacity) {
+        this.directory = directory;
+        this.segmentCapacity = segmentCapacity;
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_EXTENSION))
+                    .sorted()
+                    .forEach(file -> segments.add(PriceSegment.open(file, segmentCapacity)));
+            } catch (IOException e) {
+                throw new PriceHistoryIOException(
+                    "Не вдалося прочитати історію цін: " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Дописує точку, якщо вона новіша за останню точку історії.
+     *
+     * @param timestamp момент часу в мілісекундах від епохи.
+     * @param price     ціна.
+     * @return {@code true}, якщо точку додано.
+     * @throws PriceHistoryIOException якщо не вдалося створити новий сегмент.
+     */
+    synchronized boolean append(long timestamp, double price) {
+        PriceSegment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last != null && last.size() > 0 && timestamp <= last.timestamp(last.size() - 1)) {
+            return false;
+        }
+        if (last == null || last.isFull()) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new PriceHistoryIOException(
+                    "Не вдалося створити директорію історії цін: " + directory, e);
+            }
+            last = PriceSegment.open(directory.resolve(
+                "%08d%s".formatted(segments.size(), SEGMENT_EXTENSION)), segmentCapacity);
+            segments.add(last);
+        }
+        last.append(timestamp, price);
+        return true;
+    }
+
+    /**
+     * Повертає точки історії за проміжок часу.
+     *
+     * @param from початок проміжку (включно).
+     * @param to   кінець проміжку (не включно).
+     * @return ряд цін.
+     */
+    synchronized PriceSeries range(long from, long to) {
+        int[] starts = new int[segments.size()];
+        int[] ends = new int[segments.size()];
+        int total = bounds(from, to, starts, ends);
+        long[] timestamps = new long[total];
+        double[] prices = new double[total];
+        int position = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            PriceSegment segment = segments.get(i);
+            for (int j = starts[i]; j < ends[i]; j++) {
+                timestamps[position] = segment.timestamp(j);
+                prices[position] = segment.price(j);
+                position++;
+            }
+        }
+        return new PriceSeries(timestamps, prices);
+    }
+
+    /**
+     * Передає отримувачу точки історії за проміжок часу в порядку зростання часу.
+     *
+     * @param from     початок проміжку (включно).
+     * @param to       кінець проміжку (не включно).
+     * @param consumer отримувач точок.
+     */
+    synchronized void forEach(long from, long to, PricePointConsumer consumer) {
+        int[] starts = new int[segments.size()];
+        int[] ends = new int[segments.size()];
+        bounds(from, to, starts, ends);
+        for (int i = 0; i < segments.size(); i++) {
+            PriceSegment segment = segments.get(i);
+            for (int j = starts[i]; j < ends[i]; j++) {
+                consumer.accept(segment.timestamp(j), segment.price(j));
+            }
+        }
+    }
+
+    /**
+     * Повертає останні точки історії.
+     *
+     * @param count максимальна кількість точок.
+     * @return ряд з не більш ніж {@code count} останніх точок.
+     * @throws IllegalArgumentException якщо кількість від'ємна.
+     */
+    synchronized PriceSeries last(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Кількість точок не може бути від'ємною.");
+        }
+        int segmentIndex = segments.size();
+        int offset = 0;
+        int remaining = count;
+        while (remaining > 0 && segmentIndex > 0) {
+            segmentIndex--;
+            int size = segments.get(segmentIndex).size();
+            offset = Math.max(0, size - remaining);
+            remaining -= size - offset;
+        }
+        long[] timestamps = new long[count - remaining];
+        double[] prices = new double[count - remaining];
+        int position = 0;
+        for (int i = segmentIndex; i < segments.size(); i++) {
+            PriceSegment segment = segments.get(i);
+            for (int j = i == segmentIndex ? offset : 0; j < segment.size(); j++) {
+                timestamps[position] = segment.timestamp(j);
+                prices[position] = segment.price(j);
+                position++;
+            }
+        }
+        return new PriceSeries(timestamps, prices);
+    }
+
+    /**
+     * Обчислює межі точок проміжку в кожному сегменті.
+     *
+     * @param from   початок проміжку (включно).
+     * @param to     кінець проміжку (не включно).
+     * @param starts індекси перших точок проміжку за сегментами.
+     * @param ends   індекси після останніх точок проміжку за сегментами.
+     * @return загальна кількість точок проміжку.
+     */
+    private int bounds(long from, long to, int[] starts, int[] ends) {
+        int total = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            PriceSegment segment = segments.get(i);
+            if (segment.size() == 0 || from >= to
+                || segment.timestamp(segment.size() - 1) < from || segment.timestamp(0) >= to) {
+                continue;
+            }
+            starts[i] = segment.lowerBound(from);
+            ends[i] = segment.lowerBound(to);
+            total += ends[i] - starts[i];
+        }
+        return total;
+    }
+}
@@ -1,7 +1,7 @@
 package com.crypto.blockfolio.persistence.validation;
 
 import com.crypto.blockfolio.persistence.entity.ErrorTemplates;
-import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 /**
@@ -15,11 +15,12 @@ public class ValidationUtils {
      *
      * @param value     значення для перевірки.
      * @param fieldName назва поля (використовується для повідомлення про помилки).
-     * @param errors    набір для зберігання повідомлень про помилки.
+     * @param errors    обробник повідомлень про помилки.
      */
-    public static void validateRequired(String value, String fieldName, Set<String> errors) {
+    public static void validateRequired(String value, String fieldName,
+        Consumer<String> errors) {
         if (value == null || value.trim().isEmpty()) {
-            errors.add(ErrorTemplates.REQUIRED.getTemplate().formatted(fieldName));
+            errors.accept(ErrorTemplates.REQUIRED.getTemplate().formatted(fieldName));
         }
     }
 
@@ -30,16 +31,16 @@ public class ValidationUtils {
      * @param min       мінімальна довжина.
      * @param max       максимальна довжина.
      * @param fieldName назва поля (використовується для повідомлення про помилки).
-     * @param errors    набір для зберігання повідомлень про помилки.
+     * @param errors    обробник повідомлень про помилки.
      */
     public static void validateLength(String value, int min, int max, String fieldName,
-        Set<String> errors) {
+        Consumer<String> errors) {
         if (value != null) {
             if (value.length() < min) {
-                errors.add(ErrorTemplates.MIN_LENGTH.getTemplate().formatted(fieldName, min));
+                errors.accept(ErrorTemplates.MIN_LENGTH.getTemplate().formatted(fieldName, min));
             }
             if (value.length() > max) {
-                errors.add(ErrorTemplates.MAX_LENGTH.getTemplate().formatted(fieldName, max));
+                errors.accept(ErrorTemplates.MAX_LENGTH.getTemplate().formatted(fieldName, max));
             }
         }
     }
@@ -50,14 +51,14 @@ public class ValidationUtils {
      * @param value     значення для перевірки.
      * @param regex     регулярний вираз.
      * @param fieldName назва поля (використовується для повідомлення про помилки).
-     * @param errors    набір для зберігання повідомлень про помилки.
+     * @param errors    обробник повідомлень про помилки.
      */
     public static void validatePattern(String value, String regex, String fieldName,
-        Set<String> errors) {
+        Consumer<String> errors) {
         if (value != null) {
             var pattern = Pattern.compile(regex);
             if (!pattern.matcher(value).matches()) {
-                errors.add(ErrorTemplates.ONLY_LATIN.getTemplate().formatted(fieldName));
+                errors.accept(ErrorTemplates.ONLY_LATIN.getTemplate().formatted(fieldName));
             }
         }
     }
@@ -67,11 +68,12 @@ public class ValidationUtils {
      *
      * @param value     значення для перевірки.
      * @param fieldName назва поля (використовується для повідомлення про помилки).
-     * @param errors    набір для зберігання повідомлень про помилки.
+     * @param errors    обробник повідомлень про помилки.
      */
-    public static void validatePositiveNumber(Number value, String fieldName, Set<String> errors) {
+    public static void validatePositiveNumber(Number value, String fieldName,
+        Consumer<String> errors) {
         if (value == null || value.doubleValue() <= 0) {
-            errors.add("Значення %s має бути додатним.".formatted(fieldName));
+            errors.accept("Значення %s має бути додатним.".formatted(fieldName));
         }
     }
 }
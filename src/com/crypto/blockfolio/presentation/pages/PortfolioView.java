@@ -4,6 +4,7 @@ import com.crypto.blockfolio.domain.contract.AuthService;
 import com.crypto.blockfolio.domain.contract.CryptocurrencyService;
 import com.crypto.blockfolio.domain.contract.PortfolioService;
 import com.crypto.blockfolio.domain.dto.PortfolioAddDto;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl;
 import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
 import com.crypto.blockfolio.persistence.entity.Portfolio;
 import com.crypto.blockfolio.persistence.entity.User;
@@ -234,8 +235,11 @@ public class PortfolioView implements ViewService {
                 Comparator.reverseOrder()))
             .collect(Collectors.toList());
 
-        user.setPortfolios(new HashSet<>(validPortfolioIds));
-        authService.updateUser(user);
+        // Користувач зберігається лише тоді, коли з нього видалено некоректні посилання
+        if (validPortfolioIds.size() != user.getPortfolios().size()) {
+            user.setPortfolios(new HashSet<>(validPortfolioIds));
+            authService.updateUser(user);
+        }
 
         return portfolios;
     }
@@ -350,7 +354,8 @@ public class PortfolioView implements ViewService {
                 .multiply(BigDecimal.valueOf(100))
                 : BigDecimal.ZERO;
 
-            BigDecimal totalPnl = portfolio.calculateTotalPnl();
+            PortfolioPnl pnl = portfolioService.calculatePnl(portfolio.getId());
+            BigDecimal totalPnl = pnl.total().total();
             System.out.println("\n📊 АНАЛІТИКА ПОРТФЕЛЯ: " + portfolio.getName());
             System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━");
             System.out.printf("💰 Загальна вартість: $%.2f%n", totalPortfolioValue);
@@ -397,8 +402,6 @@ public class PortfolioView implements ViewService {
                     if (cryptoOpt.isPresent()) {
                         Cryptocurrency crypto = cryptoOpt.get();
 
-                        BigDecimal pnl = portfolio.calculatePnlForCryptocurrency(symbol);
-
                         System.out.printf(
                             "%-4d %-15s %-8s $%-11.2f %-10.4f $%-14.2f $%-14.2f %s%-9.2f $%-9.2f%n",
                             index++,
@@ -410,7 +413,7 @@ public class PortfolioView implements ViewService {
                             crypto.getMarketCap(),
                             (crypto.getPercentChange24h() > 0 ? "+" : ""),
                             crypto.getPercentChange24h(),
-                            pnl);
+                            pnl.forSymbol(symbol).total());
                     } else {
                         System.out.printf("%-4d %-15s %-8s ⚠️ Дані тимчасово недоступні%n",
                             index++, symbol, symbol);
@@ -468,8 +471,7 @@ public class PortfolioView implements ViewService {
                 return;
             }
 
-            portfolio.getBalances().put(normalizedSymbol, BigDecimal.ZERO);
-            portfolioService.calculateTotalValue(portfolio);
+            portfolioService.addCryptocurrencyToPortfolio(portfolio.getId(), crypto);
             System.out.printf("✅ %s успішно додано до портфеля '%s'%n",
                 crypto.getName(), portfolio.getName());
         } else {
@@ -508,10 +510,13 @@ public class PortfolioView implements ViewService {
             return;
         }
 
-        portfolio.getBalances().remove(normalizedSymbol);
-        portfolioService.calculateTotalValue(portfolio);
-        System.out.printf("✅ %s успішно видалено з портфеля '%s'%n",
-            crypto.getName(), portfolio.getName());
+        try {
+            portfolioService.removeCryptocurrencyFromPortfolio(portfolio.getId(), crypto);
+            System.out.printf("✅ %s успішно видалено з портфеля '%s'%n",
+                crypto.getName(), portfolio.getName());
+        } catch (IllegalArgumentException e) {
+            System.out.println("\uD83D\uDCBC Помилка: " + e.getMessage());
+        }
     }
 
 }
@@ -128,19 +128,10 @@ public class TransactionsView {
         BigDecimal costs, BigDecimal fees, String description) {
         BigDecimal currentBalance = portfolio.getBalances().getOrDefault(crypto, BigDecimal.ZERO);
 
-        switch (type) {
-            case BUY, TRANSFER_DEPOSIT -> {
-                portfolio.getBalances().put(crypto, currentBalance.add(amount));
-                System.out.printf("✅ Баланс %s збільшено на %.4f%n", crypto, amount);
-            }
-            case SELL, TRANSFER_WITHDRAWAL -> {
-                if (currentBalance.compareTo(amount) < 0) {
-                    System.out.println("⚠️ Недостатньо коштів для проведення операції");
-                    return;
-                }
-                portfolio.getBalances().put(crypto, currentBalance.subtract(amount));
-                System.out.printf("✅ Баланс %s зменшено на %.4f%n", crypto, amount);
-            }
+        if ((type == TransactionType.SELL || type == TransactionType.TRANSFER_WITHDRAWAL)
+            && currentBalance.compareTo(amount) < 0) {
+            System.out.println("⚠️ Недостатньо коштів для проведення операції");
+            return;
         }
 
         TransactionAddDto transactionAddDto = new TransactionAddDto(
@@ -154,9 +145,13 @@ public class TransactionsView {
             description         // Опис
         );
 
-        // Оновлення загальної вартості портфеля
-        ApplicationContext.getPortfolioService().calculateTotalValue(portfolio);
+        // Баланс і загальна вартість портфеля оновлюються сервісом транзакцій
         ApplicationContext.getTransactionService().addTransaction(transactionAddDto);
+        if (type == TransactionType.BUY || type == TransactionType.TRANSFER_DEPOSIT) {
+            System.out.printf("✅ Баланс %s збільшено на %.4f%n", crypto, amount);
+        } else {
+            System.out.printf("✅ Баланс %s зменшено на %.4f%n", crypto, amount);
+        }
         System.out.println("✅ Транзакцію успішно створено!");
     }
 
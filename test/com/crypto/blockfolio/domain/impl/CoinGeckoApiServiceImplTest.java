@@ -0,0 +1,165 @@
+package com.crypto.blockfolio.domain.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
+import com.crypto.blockfolio.persistence.repository.contracts.PriceHistoryRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Перевіряє завантаження ринку з локального сервера-заглушки, що віддає стиснені gzip сторінки
+ * з монетами без ціни.
+ */
+class CoinGeckoApiServiceImplTest {
+
+    private static final Pattern PAGE = Pattern.compile("[?&]page=(\\d+)");
+
+    private final Map<String, Cryptocurrency> stored = new LinkedHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private int fullPages;
+    private int status;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fullPages = 2;
+        status = 200;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/coins/markets", this::respond);
+        server.start();
+        System.setProperty(CoinGeckoApiServiceImpl.BASE_URL_PROPERTY,
+            "http://127.0.0.1:" + server.getAddress().getPort());
+        System.setProperty(CoinGeckoApiServiceImpl.REQUESTS_PER_MINUTE_PROPERTY, "6000");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        System.clearProperty(CoinGeckoApiServiceImpl.BASE_URL_PROPERTY);
+        System.clearProperty(CoinGeckoApiServiceImpl.REQUESTS_PER_MINUTE_PROPERTY);
+        System.clearProperty(CoinGeckoApiServiceImpl.MAX_PAGES_PROPERTY);
+    }
+
+    @Test
+    void loadsOnlyConfiguredNumberOfPages() {
+        System.setProperty(CoinGeckoApiServiceImpl.MAX_PAGES_PROPERTY, "1");
+
+        List<Cryptocurrency> cryptocurrencies = service().getAllCryptocurrencies();
+
+        assertEquals(1, requests.get());
+        assertEquals(249, cryptocurrencies.size());
+        assertEquals("P1C0", cryptocurrencies.get(0).getSymbol());
+        assertFalse(stored.containsKey("P1C7"));
+        assertEquals(249, stored.size());
+    }
+
+    @Test
+    void loadsPagesByDefaultUntilFirstPartialPage() {
+        List<Cryptocurrency> cryptocurrencies = service().getAllCryptocurrencies();
+
+        assertTrue(requests.get() >= 3, "requests: " + requests.get());
+        assertEquals(2 * 249 + 9, cryptocurrencies.size());
+        assertEquals("P3C9", cryptocurrencies.get(cryptocurrencies.size() - 1).getSymbol());
+    }
+
+    @Test
+    void fallsBackToRepositoryWhenFirstPageFails() {
+        Cryptocurrency bitcoin = Cryptocurrency.restore("BTC", "Bitcoin", 1.0, 1.0, 1.0, 0.0,
+            LocalDateTime.now());
+        stored.put(bitcoin.getSymbol(), bitcoin);
+        status = 429;
+
+        assertEquals(List.of(bitcoin), service().getAllCryptocurrencies());
+    }
+
+    private CoinGeckoApiServiceImpl service() {
+        CryptocurrencyRepository repository = (CryptocurrencyRepository) Proxy.newProxyInstance(
+            CryptocurrencyRepository.class.getClassLoader(),
+            new Class<?>[]{CryptocurrencyRepository.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "findAll" -> {
+                        synchronized (stored) {
+                            return new LinkedHashSet<>(stored.values());
+                        }
+                    }
+                    case "addAll" -> {
+                        synchronized (stored) {
+                            for (Object entity : (Collection<?>) args[0]) {
+                                Cryptocurrency cryptocurrency = (Cryptocurrency) entity;
+                                stored.put(cryptocurrency.getSymbol(), cryptocurrency);
+                            }
+                        }
+                        return null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        PriceHistoryRepository priceHistory = (PriceHistoryRepository) Proxy.newProxyInstance(
+            PriceHistoryRepository.class.getClassLoader(),
+            new Class<?>[]{PriceHistoryRepository.class}, (proxy, method, args) -> {
+                if (method.getName().equals("appendAll")) {
+                    return 0;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        return new CoinGeckoApiServiceImpl(repository,
+            new PriceSnapshots(repository, priceHistory));
+    }
+
+    /**
+     * Віддає повні сторінки до {@link #fullPages} включно, а наступну — з десяти монет. На кожній
+     * сторінці монета з індексом 7 не має ціни.
+     */
+    private void respond(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        Matcher matcher = PAGE.matcher(exchange.getRequestURI().getQuery());
+        int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+        int count = page <= fullPages ? 250 : page == fullPages + 1 ? 10 : 0;
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"symbol\":\"p").append(page).append('c').append(i)
+                .append("\",\"name\":\"Coin ").append(page).append('-').append(i)
+                .append("\",\"current_price\":").append(i == 7 ? "null" : 1.0 + i)
+                .append(",\"market_cap\":").append(1e9 - page * 1e6 - i)
+                .append(",\"total_volume\":1000,\"price_change_percentage_24h\":null}");
+        }
+        json.append(']');
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            gzip.write(json.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        exchange.sendResponseHeaders(status, body.size());
+        exchange.getResponseBody().write(body.toByteArray());
+        exchange.close();
+    }
+}
@@ -0,0 +1,47 @@
+package com.crypto.blockfolio.domain.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.crypto.blockfolio.domain.dto.CostBasisMethod;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl.SymbolPnl;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CostBasisBooksTest {
+
+    @Test
+    void ignoresTransactionsMissingFromPortfolioList() {
+        InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+        UUID portfolioId = UUID.randomUUID();
+        Cryptocurrency bitcoin = Cryptocurrency.restore("BTC", "Bitcoin", 150, 1, 1, 0,
+            LocalDateTime.now());
+        Transaction listed = transactions.add(buy(portfolioId, bitcoin, "1", "100"));
+        transactions.add(buy(portfolioId, bitcoin, "4", "800"));
+        Portfolio portfolio = Portfolio.restore(portfolioId, UUID.randomUUID(), "Main",
+            LocalDateTime.now(), Map.of(), Set.of(listed.getId()), BigDecimal.ZERO);
+
+        SymbolPnl pnl = new CostBasisBooks(transactions).forPortfolio(portfolio)
+            .pnl(CostBasisMethod.FIFO, PriceSnapshot.of(1, List.of(bitcoin)))
+            .forSymbol("BTC");
+
+        assertEquals(new BigDecimal("50.00"), pnl.unrealized());
+    }
+
+    private static Transaction buy(UUID portfolioId, Cryptocurrency cryptocurrency,
+        String amount, String costs) {
+        return Transaction.restore(UUID.randomUUID(), portfolioId, cryptocurrency,
+            BigDecimal.valueOf(cryptocurrency.getCurrentPrice()), TransactionType.BUY,
+            new BigDecimal(amount), new BigDecimal(costs), null, BigDecimal.ZERO, null,
+            LocalDateTime.now());
+    }
+}
@@ -0,0 +1,80 @@
+package com.crypto.blockfolio.domain.impl;
+
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.repository.contracts.TransactionRepository;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Репозиторій транзакцій у пам'яті для тестів доменних сервісів.
+ */
+final class InMemoryTransactionRepository implements TransactionRepository {
+
+    private final Map<UUID, Transaction> transactions = new LinkedHashMap<>();
+
+    @Override
+    public Optional<Transaction> findById(UUID id) {
+        return Optional.ofNullable(transactions.get(id));
+    }
+
+    @Override
+    public Set<Transaction> findAll() {
+        return new LinkedHashSet<>(transactions.values());
+    }
+
+    @Override
+    public Set<Transaction> findAll(Predicate<Transaction> filter) {
+        return transactions.values().stream().filter(filter)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Override
+    public Transaction add(Transaction transaction) {
+        transactions.put(transaction.getId(), transaction);
+        return transaction;
+    }
+
+    @Override
+    public void addAll(Collection<Transaction> added) {
+        added.forEach(this::add);
+    }
+
+    @Override
+    public boolean remove(Transaction transaction) {
+        return transactions.remove(transaction.getId()) != null;
+    }
+
+    @Override
+    public Set<Transaction> findByPortfolioId(UUID portfolioId) {
+        return findAll(transaction -> portfolioId.equals(transaction.getPortfolioId()));
+    }
+
+    @Override
+    public Set<Transaction> findByCryptocurrencySymbol(String cryptocurrencySymbol) {
+        return findAll(transaction -> transaction.getCryptocurrency() != null
+            && transaction.getCryptocurrency().getSymbol().equals(cryptocurrencySymbol));
+    }
+
+    @Override
+    public void addTransactionToPortfolio(UUID portfolioId, Transaction transaction) {
+        transaction.setPortfolioId(portfolioId);
+        add(transaction);
+    }
+
+    @Override
+    public void removeTransactionFromPortfolio(UUID portfolioId, UUID transactionId) {
+        transactions.remove(transactionId);
+    }
+
+    @Override
+    public void updateTransaction(UUID transactionId, Transaction updatedTransaction) {
+        transactions.put(transactionId, updatedTransaction);
+    }
+}
@@ -0,0 +1,78 @@
+package com.crypto.blockfolio.domain.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.crypto.blockfolio.domain.dto.CostBasisMethod;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl;
+import com.crypto.blockfolio.domain.dto.PortfolioPnl.SymbolPnl;
+import com.crypto.blockfolio.persistence.PriceSnapshot;
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class PnlEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final InMemoryTransactionRepository transactions =
+        new InMemoryTransactionRepository();
+    private final UUID portfolioId = UUID.randomUUID();
+    private final Cryptocurrency bitcoin = Cryptocurrency.restore("BTC", "Bitcoin", 120, 1, 1,
+        0, START);
+    private final PriceSnapshot prices = PriceSnapshot.of(1, List.of(bitcoin));
+
+    @Test
+    void sellReducesHeldAmount() {
+        Portfolio portfolio = portfolio(
+            trade(TransactionType.SELL, "1", "150", "0", 2),
+            trade(TransactionType.BUY, "2", "200", "0", 1));
+
+        SymbolPnl pnl = new PnlEngine(transactions).calculate(portfolio, prices)
+            .forSymbol("BTC");
+
+        assertEquals(new BigDecimal("50.00"), pnl.realized());
+        assertEquals(new BigDecimal("20.00"), pnl.unrealized());
+    }
+
+    @Test
+    void matchesAverageCostBooksAndIgnoresUnlistedTransactions() {
+        Portfolio portfolio = portfolio(
+            trade(TransactionType.BUY, "3", "240", "3", 1),
+            trade(TransactionType.TRANSFER_DEPOSIT, "1", "0", "0", 2),
+            trade(TransactionType.SELL, "2", "260", "2", 3),
+            trade(TransactionType.TRANSFER_WITHDRAWAL, "1", "0", "1", 4));
+        transactions.add(trade(TransactionType.BUY, "100", "1", "0", 5));
+
+        PortfolioPnl pnl = new PnlEngine(transactions).calculate(portfolio, prices);
+        PortfolioPnl books = new PortfolioCostBasis(
+            PortfolioTransactions.of(transactions, portfolio))
+            .pnl(CostBasisMethod.AVERAGE_COST, prices);
+
+        assertEquals(books.total(), pnl.total());
+        assertEquals(books.bySymbol(), pnl.bySymbol());
+    }
+
+    private Portfolio portfolio(Transaction... listed) {
+        for (Transaction transaction : listed) {
+            transactions.add(transaction);
+        }
+        return Portfolio.restore(portfolioId, UUID.randomUUID(), "Main", START, Map.of(),
+            List.of(listed).stream().map(Transaction::getId).collect(Collectors.toSet()),
+            BigDecimal.ZERO);
+    }
+
+    private Transaction trade(TransactionType type, String amount, String costs, String fees,
+        int day) {
+        return Transaction.restore(UUID.randomUUID(), portfolioId, bitcoin,
+            BigDecimal.valueOf(bitcoin.getCurrentPrice()), type, new BigDecimal(amount),
+            new BigDecimal(costs), null, new BigDecimal(fees), null, START.plusDays(day));
+    }
+}
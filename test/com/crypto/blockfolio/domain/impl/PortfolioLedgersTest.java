@@ -0,0 +1,90 @@
+package com.crypto.blockfolio.domain.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PortfolioLedgersTest {
+
+    private final InMemoryTransactionRepository transactions =
+        new InMemoryTransactionRepository();
+
+    @Test
+    void ignoresTransactionsMissingFromPortfolioList() {
+        UUID portfolioId = UUID.randomUUID();
+        Transaction listed = transactions.add(buy(portfolioId, "1"));
+        transactions.add(buy(portfolioId, "5"));
+        Portfolio portfolio = Portfolio.restore(portfolioId, UUID.randomUUID(), "Main",
+            LocalDateTime.now(), Map.of("BTC", BigDecimal.ONE), Set.of(listed.getId()),
+            BigDecimal.ZERO);
+        PortfolioLedgers ledgers = new PortfolioLedgers(transactions);
+
+        assertEquals(Map.of(), ledgers.verify(portfolio));
+
+        portfolio.getTransactionsList().remove(listed.getId());
+        ledgers.project(portfolio, ledgers.forPortfolio(portfolio).recordRemoved(listed.getId()));
+
+        assertEquals(Map.of(), ledgers.verify(portfolio));
+        assertEquals(0, portfolio.getBalances().get("BTC").signum());
+    }
+
+    @Test
+    void removedHoldingStaysRemovedAfterLaterTransactions() {
+        UUID portfolioId = UUID.randomUUID();
+        Portfolio portfolio = Portfolio.restore(portfolioId, UUID.randomUUID(), "Main",
+            LocalDateTime.now(), Map.of("ETH", new BigDecimal("3")), Set.of(),
+            BigDecimal.ZERO);
+        PortfolioLedgers ledgers = new PortfolioLedgers(transactions);
+        PortfolioLedger ledger = ledgers.forPortfolio(portfolio);
+
+        ledgers.project(portfolio, ledger.recordHoldingRemoved("ETH"));
+        Transaction bought = transactions.add(buy(portfolioId, "2"));
+        portfolio.getTransactionsList().add(bought.getId());
+        ledgers.project(portfolio, ledger.recordAdded(bought));
+
+        assertEquals(Set.of("BTC"), portfolio.getBalances().keySet());
+        assertEquals(Map.of(), ledgers.verify(portfolio));
+        assertThrows(IllegalArgumentException.class, () -> ledger.recordHoldingRemoved("BTC"));
+
+        ledgers.project(portfolio, ledger.recordHoldingAdded("ETH"));
+        assertEquals(0, portfolio.getBalances().get("ETH").signum());
+    }
+
+    @Test
+    void verificationReplaysEventsAfterLastSnapshot() {
+        UUID portfolioId = UUID.randomUUID();
+        Portfolio portfolio = Portfolio.restore(portfolioId, UUID.randomUUID(), "Main",
+            LocalDateTime.now(), Map.of(), Set.of(), BigDecimal.ZERO);
+        PortfolioLedgers ledgers = new PortfolioLedgers(transactions);
+        PortfolioLedger ledger = ledgers.forPortfolio(portfolio);
+        int count = PortfolioLedger.SNAPSHOT_INTERVAL * 2 + 10;
+
+        for (int i = 0; i < count; i++) {
+            Transaction bought = transactions.add(buy(portfolioId, "1"));
+            portfolio.getTransactionsList().add(bought.getId());
+            ledgers.project(portfolio, ledger.recordAdded(bought));
+        }
+
+        assertEquals(Map.of(), ledgers.verify(portfolio));
+        assertEquals(count, ledger.version());
+        assertEquals(0, BigDecimal.valueOf(count).compareTo(ledger.balance("BTC")));
+    }
+
+    private static Transaction buy(UUID portfolioId, String amount) {
+        Cryptocurrency bitcoin = Cryptocurrency.restore("BTC", "Bitcoin", 100, 1, 1, 0,
+            LocalDateTime.now());
+        return Transaction.restore(UUID.randomUUID(), portfolioId, bitcoin,
+            BigDecimal.valueOf(100), TransactionType.BUY, new BigDecimal(amount),
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, null, LocalDateTime.now());
+    }
+}
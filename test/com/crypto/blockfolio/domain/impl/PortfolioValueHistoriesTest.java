@@ -0,0 +1,90 @@
+package com.crypto.blockfolio.domain.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.crypto.blockfolio.persistence.OhlcSeries;
+import com.crypto.blockfolio.persistence.PriceResolution;
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import com.crypto.blockfolio.persistence.repository.contracts.CryptocurrencyRepository;
+import com.crypto.blockfolio.persistence.repository.contracts.PriceHistoryRepository;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PortfolioValueHistoriesTest {
+
+    private static final Cryptocurrency BTC = coin("BTC", 100.0);
+    private static final Cryptocurrency ETH = coin("ETH", 10.0);
+
+    private final InMemoryTransactionRepository transactions =
+        new InMemoryTransactionRepository();
+    private final PortfolioValueHistories histories = new PortfolioValueHistories(transactions,
+        priceHistory(), new PriceSnapshots(cryptocurrencies(), priceHistory()));
+
+    @Test
+    void rebuildsSeriesWhenBalancesChangeOutsideLedger() {
+        Portfolio portfolio = portfolio();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        assertEquals(new BigDecimal("200.00"), histories.valueOn(portfolio, today));
+
+        portfolio.getBalances().put("ETH", BigDecimal.ONE);
+        assertEquals(new BigDecimal("210.00"), histories.valueOn(portfolio, today));
+
+        portfolio.getBalances().remove("BTC");
+        assertEquals(new BigDecimal("10.00"), histories.valueOn(portfolio, today));
+    }
+
+    @Test
+    void ignoresTransactionsMissingFromPortfolioList() {
+        Portfolio portfolio = portfolio();
+        transactions.add(Transaction.restore(UUID.randomUUID(), portfolio.getId(), BTC,
+            BigDecimal.valueOf(100), TransactionType.BUY, BigDecimal.ONE,
+            BigDecimal.valueOf(100), BigDecimal.ZERO, BigDecimal.ZERO, "",
+            LocalDateTime.now().minusDays(3)));
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        assertEquals(new BigDecimal("0.00"), histories.valueOn(portfolio, today.minusDays(1)));
+        assertEquals(new BigDecimal("200.00"), histories.valueOn(portfolio, today));
+    }
+
+    private static Portfolio portfolio() {
+        return Portfolio.restore(UUID.randomUUID(), UUID.randomUUID(), "Main",
+            LocalDateTime.now(), Map.of("BTC", BigDecimal.valueOf(2)), Set.of(),
+            BigDecimal.ZERO);
+    }
+
+    private static Cryptocurrency coin(String symbol, double price) {
+        return Cryptocurrency.restore(symbol, symbol, price, 1e9, 1e6, 0.0, LocalDateTime.now());
+    }
+
+    private static CryptocurrencyRepository cryptocurrencies() {
+        return (CryptocurrencyRepository) Proxy.newProxyInstance(
+            CryptocurrencyRepository.class.getClassLoader(),
+            new Class<?>[]{CryptocurrencyRepository.class}, (proxy, method, args) -> {
+                if (method.getName().equals("findAll")) {
+                    return Set.of(BTC, ETH);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    private static PriceHistoryRepository priceHistory() {
+        return (PriceHistoryRepository) Proxy.newProxyInstance(
+            PriceHistoryRepository.class.getClassLoader(),
+            new Class<?>[]{PriceHistoryRepository.class}, (proxy, method, args) -> {
+                if (method.getName().equals("findOhlc")) {
+                    return OhlcSeries.builder(PriceResolution.DAY).build();
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
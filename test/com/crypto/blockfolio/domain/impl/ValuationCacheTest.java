@@ -0,0 +1,42 @@
+package com.crypto.blockfolio.domain.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ValuationCacheTest {
+
+    @Test
+    void recomputesAfterLedgerEventOrPriceChange() {
+        ValuationCache cache = new ValuationCache(4);
+        UUID portfolioId = UUID.randomUUID();
+        PortfolioLedger ledger = new PortfolioLedger(Map.of("BTC", BigDecimal.ONE), List.of());
+        AtomicInteger computed = new AtomicInteger();
+
+        assertEquals(1, value(cache, portfolioId, ledger, 1L, computed));
+        assertEquals(1, value(cache, portfolioId, ledger, 1L, computed));
+        assertEquals(1, computed.get());
+
+        ledger.recordHoldingAdded("ETH");
+        assertEquals(2, value(cache, portfolioId, ledger, 1L, computed));
+
+        ledger.recordHoldingRemoved("ETH");
+        assertEquals(1, value(cache, portfolioId, ledger, 1L, computed));
+        assertEquals(1, value(cache, portfolioId, ledger, 2L, computed));
+        assertEquals(4, computed.get());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    private static int value(ValuationCache cache, UUID portfolioId, PortfolioLedger ledger,
+        long priceVersion, AtomicInteger computed) {
+        return cache.get(portfolioId, ledger.version(), priceVersion, () -> {
+            computed.incrementAndGet();
+            return BigDecimal.valueOf(ledger.balances().size());
+        }).intValue();
+    }
+}
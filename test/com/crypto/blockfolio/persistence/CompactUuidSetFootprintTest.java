@@ -0,0 +1,83 @@
+package com.crypto.blockfolio.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Перевіряє пам'ять, яку займають ідентифікатори сутностей, за допомогою JOL, а також поведінку
+ * {@link CompactUuidSet} порівняно з {@link LinkedHashSet}.
+ */
+class CompactUuidSetFootprintTest {
+
+    private static final int SIZE = 1_000;
+
+    @Test
+    void compactSetUsesLessThanHalfOfLinkedHashSet() {
+        List<UUID> ids = randomIds(SIZE);
+        // Копії ідентифікаторів, щоб розмір LinkedHashSet враховував власні об'єкти UUID,
+        // як після завантаження з JSON.
+        Set<UUID> linked = new LinkedHashSet<>();
+        ids.forEach(id -> linked.add(new UUID(id.getMostSignificantBits(),
+            id.getLeastSignificantBits())));
+        CompactUuidSet compact = new CompactUuidSet();
+        compact.addAll(ids);
+
+        long linkedBytes = GraphLayout.parseInstance(linked).totalSize();
+        long compactBytes = GraphLayout.parseInstance(compact).totalSize();
+
+        assertTrue(compactBytes * 2 < linkedBytes,
+            "%d UUID: CompactUuidSet %d B, LinkedHashSet %d B"
+                .formatted(SIZE, compactBytes, linkedBytes));
+    }
+
+    @Test
+    void validEntityDoesNotAllocateErrorSet() {
+        Cryptocurrency cryptocurrency = new Cryptocurrency("BTC", "Bitcoin", 1.0, 1.0, 1.0, 0.0,
+            LocalDateTime.now());
+
+        assertTrue(cryptocurrency.isValid());
+        assertNull(cryptocurrency.errors);
+    }
+
+    @Test
+    void keepsInsertionOrderAndSetSemantics() {
+        List<UUID> ids = randomIds(SIZE);
+        Set<UUID> linked = new LinkedHashSet<>();
+        CompactUuidSet compact = new CompactUuidSet();
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            assertEquals(linked.add(id), compact.add(id));
+            if (i % 3 == 0) {
+                UUID removed = ids.get(i / 2);
+                assertEquals(linked.remove(removed), compact.remove(removed));
+            }
+            assertEquals(linked.add(id), compact.add(id));
+        }
+
+        assertEquals(new ArrayList<>(linked), new ArrayList<>(compact));
+        assertEquals(linked, compact);
+        assertEquals(linked.hashCode(), compact.hashCode());
+        for (UUID id : ids) {
+            assertEquals(linked.contains(id), compact.contains(id));
+        }
+    }
+
+    private static List<UUID> randomIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,332 @@
+package com.crypto.blockfolio.persistence.repository.impl.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.crypto.blockfolio.persistence.entity.Portfolio;
+import com.crypto.blockfolio.persistence.entity.Transaction;
+import com.crypto.blockfolio.persistence.entity.TransactionType;
+import com.crypto.blockfolio.persistence.entity.User;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Перевіряє JDBC-репозиторії на вбудованій базі даних H2 у пам'яті: записані сутності мають
+ * повертатися без змін репозиторієм з порожньою картою ідентичності.
+ */
+class JdbcRepositoryRoundTripTest {
+
+    /**
+     * Префікс адреси драйвера, який повертає {@link Statement#SUCCESS_NO_INFO} для пакетів
+     * оновлення, як це роблять деякі драйвери.
+     */
+    private static final String NO_INFO_PREFIX = "jdbc:noinfo:";
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 12, 30, 15);
+
+    private JdbcConnectionPool pool;
+    private CryptocurrencyJdbcRepositoryImpl cryptocurrencies;
+    private PortfolioJdbcRepositoryImpl portfolios;
+    private TransactionJdbcRepositoryImpl transactions;
+    private UserJdbcRepositoryImpl users;
+
+    @BeforeAll
+    static void registerNoInfoDriver() throws SQLException {
+        DriverManager.registerDriver(new NoInfoDriver());
+    }
+
+    @BeforeEach
+    void setUp() {
+        open("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void cryptocurrenciesRoundTripAndUseIndexedQueries() {
+        cryptocurrencies.add(coin("BTC", "Bitcoin", 60_000, 1_200e9, 30e9));
+        cryptocurrencies.addAll(List.of(
+            coin("ETH", "Ethereum", 3_000, 360e9, 15e9),
+            coin("SOL", "Solana", 150, 70e9, 3e9)));
+
+        CryptocurrencyJdbcRepositoryImpl reopened = new CryptocurrencyJdbcRepositoryImpl(pool);
+        Cryptocurrency bitcoin = reopened.findById("BTC").orElseThrow();
+        assertEquals("Bitcoin", bitcoin.getName());
+        assertEquals(60_000, bitcoin.getCurrentPrice());
+        assertEquals(CREATED_AT, bitcoin.getLastUpdated());
+        assertSame(bitcoin, reopened.findBySymbol("btc").orElseThrow());
+        assertEquals("ETH", reopened.findByName("ethereum").orElseThrow().getSymbol());
+        assertEquals(List.of("BTC", "ETH"), symbols(reopened.findTopByMarketCap(2)));
+        assertEquals(List.of("ETH", "SOL"),
+            symbols(reopened.findAllByMarketCapBetween(50e9, 400e9)));
+        assertEquals(Set.of("BTC", "ETH"), reopened.findAllByVolume24hGreaterThan(10e9)
+            .stream().map(Cryptocurrency::getSymbol).collect(Collectors.toSet()));
+
+        assertTrue(reopened.remove(bitcoin));
+        assertFalse(new CryptocurrencyJdbcRepositoryImpl(pool).findById("BTC").isPresent());
+    }
+
+    @Test
+    void addAllUpdatesExistingRowsAndInsertsNewOnes() {
+        cryptocurrencies.addAll(List.of(coin("BTC", "Bitcoin", 1, 1, 1),
+            coin("ETH", "Ethereum", 1, 1, 1)));
+        cryptocurrencies.addAll(List.of(coin("BTC", "Bitcoin", 2, 2, 2),
+            coin("XRP", "Ripple", 3, 3, 3)));
+
+        assertStoredPrices(Map.of("BTC", 2.0, "ETH", 1.0, "XRP", 3.0));
+    }
+
+    @Test
+    void upsertInsertsMissingRowsWhenDriverReturnsNoInfo() {
+        pool.close();
+        open(NO_INFO_PREFIX + "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+
+        cryptocurrencies.addAll(List.of(coin("BTC", "Bitcoin", 1, 1, 1)));
+        cryptocurrencies.addAll(List.of(coin("BTC", "Bitcoin", 2, 2, 2),
+            coin("ETH", "Ethereum", 3, 3, 3)));
+
+        assertStoredPrices(Map.of("BTC", 2.0, "ETH", 3.0));
+    }
+
+    @Test
+    void portfoliosRoundTripWithBalancesAndTransactions() {
+        UUID id = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        balances.put("BTC", new BigDecimal("1.25"));
+        balances.put("ETH", new BigDecimal("10"));
+        portfolios.add(Portfolio.restore(id, UUID.randomUUID(), "Main", CREATED_AT, balances,
+            new LinkedHashSet<>(List.of(first, second)), new BigDecimal("100.50")));
+
+        Portfolio stored = portfolios.findById(id).orElseThrow();
+        stored.getBalances().merge("BTC", new BigDecimal("0.75"), BigDecimal::add);
+        stored.getBalances().put("SOL", new BigDecimal("3"));
+        stored.getBalances().remove("ETH");
+        portfolios.update(stored);
+        UUID third = UUID.randomUUID();
+        portfolios.addTransaction(id, third);
+        portfolios.removeTransaction(id, first);
+
+        Portfolio reloaded = new PortfolioJdbcRepositoryImpl(pool).findById(id).orElseThrow();
+        assertEquals("Main", reloaded.getName());
+        assertEquals(CREATED_AT, reloaded.getCreatedAt());
+        assertEquals(0, new BigDecimal("100.50").compareTo(reloaded.getTotalValue()));
+        assertEquals(Set.of("BTC", "SOL"), reloaded.getBalances().keySet());
+        assertEquals(0, new BigDecimal("2.00").compareTo(reloaded.getBalances().get("BTC")));
+        assertEquals(List.of(second, third), List.copyOf(reloaded.getTransactionsList()));
+        assertEquals(id, new PortfolioJdbcRepositoryImpl(pool).findByName("MAIN")
+            .orElseThrow().getId());
+    }
+
+    @Test
+    void usersRoundTripWithPortfolios() {
+        UUID id = UUID.randomUUID();
+        UUID portfolioId = UUID.randomUUID();
+        users.add(User.restore(id, "hash", "Alice", "Alice@Example.com", CREATED_AT,
+            Set.of()));
+        users.addPortfolio(id, portfolioId);
+
+        UserJdbcRepositoryImpl reopened = new UserJdbcRepositoryImpl(pool);
+        User user = reopened.findByUsername("alice").orElseThrow();
+        assertEquals(id, user.getId());
+        assertEquals("hash", user.getPassword());
+        assertEquals(CREATED_AT, user.getCreatedAt());
+        assertSame(user, reopened.findByEmail("alice@example.com").orElseThrow());
+        assertTrue(reopened.ownsPortfolio(id, portfolioId));
+
+        reopened.removePortfolio(id, portfolioId);
+        assertEquals(Set.of(), new UserJdbcRepositoryImpl(pool).getPortfolios(id));
+    }
+
+    @Test
+    void transactionsShareStoredCryptocurrency() {
+        Cryptocurrency bitcoin = coin("BTC", "Bitcoin", 60_000, 1, 1);
+        cryptocurrencies.add(bitcoin);
+        UUID portfolioId = UUID.randomUUID();
+        Transaction buy = transaction(portfolioId, bitcoin, TransactionType.BUY, "0.5");
+        Transaction sell = transaction(portfolioId, bitcoin, TransactionType.SELL, "0.2");
+        transactions.addAll(List.of(buy, sell));
+        transactions.add(transaction(UUID.randomUUID(), bitcoin, TransactionType.BUY, "1"));
+
+        TransactionJdbcRepositoryImpl reopened =
+            new TransactionJdbcRepositoryImpl(pool, cryptocurrencies);
+        Set<Transaction> loaded = reopened.findByPortfolioId(portfolioId);
+        assertEquals(Set.of(buy.getId(), sell.getId()),
+            loaded.stream().map(Transaction::getId).collect(Collectors.toSet()));
+        Transaction reloadedBuy = reopened.findById(buy.getId()).orElseThrow();
+        assertNotSame(buy, reloadedBuy);
+        assertSame(bitcoin, reloadedBuy.getCryptocurrency());
+        assertEquals(TransactionType.BUY, reloadedBuy.getTransactionType());
+        assertEquals(0, new BigDecimal("0.5").compareTo(reloadedBuy.getAmount()));
+        assertEquals(CREATED_AT, reloadedBuy.getCreatedAt());
+        assertEquals(3, reopened.findByCryptocurrencySymbol("btc").size());
+
+        reopened.removeTransactionFromPortfolio(portfolioId, sell.getId());
+        assertEquals(1, new TransactionJdbcRepositoryImpl(pool, cryptocurrencies)
+            .findByPortfolioId(portfolioId).size());
+    }
+
+    @Test
+    void saveLoadedWritesInPlaceChanges() {
+        UUID id = UUID.randomUUID();
+        portfolios.add(Portfolio.restore(id, UUID.randomUUID(), "Main", CREATED_AT,
+            Map.of("BTC", BigDecimal.ONE), Set.of(), BigDecimal.ZERO));
+        portfolios.findById(id).orElseThrow().getBalances().put("ETH", BigDecimal.TEN);
+
+        pool.inTransaction(connection -> {
+            portfolios.saveLoaded(connection);
+            return null;
+        });
+
+        assertEquals(Set.of("BTC", "ETH"), new PortfolioJdbcRepositoryImpl(pool).findById(id)
+            .orElseThrow().getBalances().keySet());
+    }
+
+    private void open(String url) {
+        pool = new JdbcConnectionPool(url, null, null, 2);
+        JdbcSchema.create(pool);
+        cryptocurrencies = new CryptocurrencyJdbcRepositoryImpl(pool);
+        portfolios = new PortfolioJdbcRepositoryImpl(pool);
+        transactions = new TransactionJdbcRepositoryImpl(pool, cryptocurrencies);
+        users = new UserJdbcRepositoryImpl(pool);
+    }
+
+    private void assertStoredPrices(Map<String, Double> expected) {
+        Map<String, Double> stored = new CryptocurrencyJdbcRepositoryImpl(pool).findAll()
+            .stream()
+            .collect(Collectors.toMap(Cryptocurrency::getSymbol,
+                Cryptocurrency::getCurrentPrice));
+        assertEquals(expected, stored);
+    }
+
+    private static Cryptocurrency coin(String symbol, String name, double price,
+        double marketCap, double volume24h) {
+        return Cryptocurrency.restore(symbol, name, price, marketCap, volume24h, 1.5,
+            CREATED_AT);
+    }
+
+    private static Transaction transaction(UUID portfolioId, Cryptocurrency cryptocurrency,
+        TransactionType type, String amount) {
+        return Transaction.restore(UUID.randomUUID(), portfolioId, cryptocurrency,
+            BigDecimal.valueOf(cryptocurrency.getCurrentPrice()), type, new BigDecimal(amount),
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, "test", CREATED_AT);
+    }
+
+    private static List<String> symbols(List<Cryptocurrency> cryptocurrencies) {
+        return cryptocurrencies.stream().map(Cryptocurrency::getSymbol).toList();
+    }
+
+    /**
+     * Драйвер-обгортка над H2, який замінює кількості оновлених записів у пакетах
+     * {@code UPDATE} на {@link Statement#SUCCESS_NO_INFO}.
+     */
+    private static final class NoInfoDriver implements Driver {
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            Connection connection = DriverManager.getConnection(
+                url.substring(NO_INFO_PREFIX.length()), info);
+            return proxy(Connection.class, connection, (method, args) -> {
+                Object result = method.invoke(connection, args);
+                if (method.getName().equals("prepareStatement")
+                    && ((String) args[0]).startsWith("UPDATE")) {
+                    PreparedStatement statement = (PreparedStatement) result;
+                    return proxy(PreparedStatement.class, statement, (inner, innerArgs) -> {
+                        Object value = inner.invoke(statement, innerArgs);
+                        if (inner.getName().equals("executeBatch")) {
+                            int[] counts = (int[]) value;
+                            Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+                        }
+                        return value;
+                    });
+                }
+                return result;
+            });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith(NO_INFO_PREFIX);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                try {
+                    return invocation.invoke(method, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(),
+                new Class<?>[]{type}, handler));
+        }
+
+        @FunctionalInterface
+        private interface Invocation {
+
+            Object invoke(Method method, Object[] args) throws Exception;
+        }
+    }
+}
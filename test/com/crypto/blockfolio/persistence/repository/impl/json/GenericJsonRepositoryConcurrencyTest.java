@@ -0,0 +1,253 @@
+package com.crypto.blockfolio.persistence.repository.impl.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.crypto.blockfolio.persistence.entity.Cryptocurrency;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Навантажувальні тести репозиторіїв JSON: кілька потоків одночасно додають, видаляють і шукають
+ * об'єкти, після чого перевіряється узгодженість індексів та збереженого файлу.
+ */
+class GenericJsonRepositoryConcurrencyTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int OPERATIONS_PER_WRITER = 600;
+    private static final Type COLLECTION_TYPE =
+        TypeToken.getParameterized(Set.class, Cryptocurrency.class).getType();
+
+    private final Gson gson = new GsonBuilder()
+        .registerTypeAdapter(Cryptocurrency.class, new CryptocurrencyTypeAdapter())
+        .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeTypeAdapter())
+        .create();
+
+    private Path directory;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("json-repository");
+        executor = Executors.newFixedThreadPool(WRITERS + READERS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdownNow();
+        // Фонове ущільнення журналу може ще писати у директорію, тому видалення не обов'язкове.
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PersistenceMode.class)
+    void concurrentMutationsKeepIndexAndFileConsistent(PersistenceMode mode) throws Exception {
+        Path path = directory.resolve("cryptocurrencies.json");
+        GenericJsonRepository<Cryptocurrency, String> repository = open(path, mode);
+        Set<String> expected = ConcurrentHashMap.newKeySet();
+        CyclicBarrier start = new CyclicBarrier(WRITERS + READERS);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int owner = writer;
+            writers.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                write(repository, owner, expected);
+                return null;
+            }));
+        }
+        for (int reader = 0; reader < READERS; reader++) {
+            readers.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                while (!allDone(writers)) {
+                    read(repository);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : writers) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        for (Future<?> future : readers) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        assertEquals(expected, symbols(repository.findAll()));
+        for (String symbol : expected) {
+            assertEquals(symbol, repository.findById(symbol).orElseThrow().getSymbol());
+        }
+
+        repository.flushPending();
+        repository.compact();
+        assertEquals(expected, symbols(open(path, mode).findAll()));
+    }
+
+    @Test
+    void secondaryIndexesStayConsistentUnderConcurrentUpdates() throws Exception {
+        Files.createDirectories(Path.of("data"));
+        Files.deleteIfExists(JsonPathFactory.CRYPTOCURRENCIES_FILE.getPath());
+        CryptocurrencyJsonRepositoryImpl repository =
+            new CryptocurrencyJsonRepositoryImpl(gson, PersistenceMode.SNAPSHOT);
+        CyclicBarrier start = new CyclicBarrier(WRITERS + READERS);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int owner = writer;
+            writers.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 100; i++) {
+                    String symbol = "T" + owner + "-" + random.nextInt(10);
+                    if (random.nextInt(4) == 0) {
+                        repository.findById(symbol).ifPresent(repository::remove);
+                    } else if (repository.findById(symbol).isPresent()) {
+                        repository.updateCryptocurrency(coin(symbol, random.nextDouble(1, 1e6)));
+                    } else {
+                        repository.add(coin(symbol, random.nextDouble(1, 1e6)));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (int reader = 0; reader < READERS; reader++) {
+            readers.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                while (!allDone(writers)) {
+                    List<Cryptocurrency> top = repository.findTopByMarketCap(5);
+                    for (int i = 1; i < top.size(); i++) {
+                        assertTrue(top.get(i - 1).getMarketCap() >= top.get(i).getMarketCap());
+                    }
+                    repository.findBySymbol("t0-1");
+                    repository.findAllByMarketCapBetween(1, 5e5);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : writers) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        for (Future<?> future : readers) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        Set<Cryptocurrency> all = repository.findAll();
+        List<String> byMarketCap = all.stream()
+            .sorted(Comparator.comparingDouble(Cryptocurrency::getMarketCap).reversed())
+            .map(Cryptocurrency::getSymbol)
+            .toList();
+        assertEquals(byMarketCap, repository.findTopByMarketCap(all.size()).stream()
+            .map(Cryptocurrency::getSymbol)
+            .toList());
+        for (Cryptocurrency cryptocurrency : all) {
+            assertEquals(cryptocurrency,
+                repository.findBySymbol(cryptocurrency.getSymbol().toLowerCase()).orElseThrow());
+        }
+    }
+
+    @Test
+    void mutationBetweenCommitPhasesIsNotLost() throws Exception {
+        Path path = directory.resolve("cryptocurrencies.json");
+        GenericJsonRepository<Cryptocurrency, String> repository =
+            open(path, PersistenceMode.SNAPSHOT);
+        repository.add(coin("OLD", 1.0));
+        Path pending = CommitManifest.pendingPath(path);
+
+        Future<?> mutation;
+        repository.lockFlush();
+        try {
+            repository.prepareCommit(pending);
+            mutation = executor.submit(() -> repository.add(coin("NEW", 2.0)));
+            Thread.sleep(200);
+            assertFalse(mutation.isDone());
+            repository.completeCommit(pending);
+        } finally {
+            repository.unlockFlush();
+        }
+        mutation.get(10, TimeUnit.SECONDS);
+
+        assertEquals(Set.of("OLD", "NEW"),
+            symbols(open(path, PersistenceMode.SNAPSHOT).findAll()));
+    }
+
+    private GenericJsonRepository<Cryptocurrency, String> open(Path path, PersistenceMode mode) {
+        return new GenericJsonRepository<>(gson, path, COLLECTION_TYPE,
+            Cryptocurrency::getSymbol, mode);
+    }
+
+    /**
+     * Кожен записувач працює лише зі своїми символами, тому очікуваний підсумковий набір
+     * визначений незалежно від порядку виконання потоків.
+     */
+    private static void write(GenericJsonRepository<Cryptocurrency, String> repository,
+        int owner, Set<String> expected) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<String> owned = new HashSet<>();
+        for (int i = 0; i < OPERATIONS_PER_WRITER; i++) {
+            String symbol = "W" + owner + "-" + random.nextInt(50);
+            if (owned.contains(symbol) && random.nextInt(3) == 0) {
+                assertTrue(repository.remove(repository.findById(symbol).orElseThrow()));
+                owned.remove(symbol);
+            } else {
+                repository.add(coin(symbol, random.nextDouble(1, 1e6)));
+                owned.add(symbol);
+            }
+        }
+        expected.addAll(owned);
+    }
+
+    private static void read(GenericJsonRepository<Cryptocurrency, String> repository) {
+        Set<Cryptocurrency> all = repository.findAll();
+        assertEquals(all.size(), symbols(all).size());
+        for (Cryptocurrency cryptocurrency : all) {
+            repository.findById(cryptocurrency.getSymbol())
+                .ifPresent(found -> assertEquals(cryptocurrency.getSymbol(), found.getSymbol()));
+        }
+    }
+
+    private static boolean allDone(List<Future<?>> futures) {
+        return futures.stream().allMatch(Future::isDone);
+    }
+
+    private static Set<String> symbols(Set<Cryptocurrency> cryptocurrencies) {
+        return cryptocurrencies.stream()
+            .map(Cryptocurrency::getSymbol)
+            .collect(Collectors.toSet());
+    }
+
+    private static Cryptocurrency coin(String symbol, double marketCap) {
+        return new Cryptocurrency(symbol, "Coin " + symbol, 1.0, marketCap, 10.0, 0.0,
+            LocalDateTime.now());
+    }
+}
@@ -0,0 +1,54 @@
+package com.crypto.blockfolio.persistence.repository.impl.mapped;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.crypto.blockfolio.persistence.exception.PriceHistoryIOException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PriceSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void opensFileWithoutHeaderAsEmptySegment() throws IOException {
+        Path file = directory.resolve("00000000.seg");
+        Files.write(file, new byte[16 + 8 * 16]);
+
+        PriceSegment segment = PriceSegment.open(file, 8);
+        assertEquals(0, segment.size());
+        segment.append(1L, 2.0);
+
+        PriceSegment reopened = PriceSegment.open(file, 4);
+        assertEquals(1, reopened.size());
+        assertEquals(2.0, reopened.price(0));
+    }
+
+    @Test
+    void rejectsNonPositiveCapacityInHeader() throws IOException {
+        Path file = directory.resolve("00000000.seg");
+        PriceSegment.open(file, 8);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, -1), 4);
+        }
+
+        assertThrows(PriceHistoryIOException.class, () -> PriceSegment.open(file, 8));
+    }
+
+    @Test
+    void rejectsNegativeCount() {
+        SymbolPriceHistory history = new SymbolPriceHistory(directory.resolve("BTC"), 4);
+        history.append(1L, 2.0);
+
+        assertThrows(IllegalArgumentException.class, () -> history.last(-1));
+        assertEquals(1, history.last(5).size());
+    }
+}